@@ -5,8 +5,13 @@ import ranger.core.*;
 import ranger.core.arithmetic.*;
 import ranger.core.csv.*;
 import ranger.distribution.Distribution;
+import ranger.distribution.ExponentialDistribution;
+import ranger.distribution.LogNormalDistribution;
 import ranger.distribution.NormalDistribution;
+import ranger.distribution.ParetoDistribution;
+import ranger.distribution.PoissonDistribution;
 import ranger.distribution.UniformDistribution;
+import ranger.distribution.ZipfDistribution;
 import ranger.parser.ConfigurationParser;
 import ranger.parser.ValueExpressionParser;
 
@@ -207,6 +212,94 @@ public class BuilderMethods {
         throw new IllegalArgumentException("Type: " + beginning.getClass().getName() + " not supported.");
     }
 
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates uniformly distributed {@code int} values within
+     * specified range. Use {@link ObjectGenerator#nextInt()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @return An instance of {@link ObjectGenerator} which generates uniformly distributed values within specified
+     *         range.
+     */
+    public static ObjectGenerator<Integer> randomIntWithin(int beginning, int end) {
+        return randomIntWithin(beginning, end, RangeValue.defaultUseEdgeCases(), RangeValue.defaultDistrbution());
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code int} values distributed by specified
+     * distribution within specified range and can force generating edge cases first. Use
+     * {@link ObjectGenerator#nextInt()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param useEdgeCases Determines whether to generate use cases first or not.
+     * @param distribution Distribution to use.
+     * @return An instance of {@link ObjectGenerator} which generates values distributed by specified distribution
+     *         within specified range.
+     */
+    public static ObjectGenerator<Integer> randomIntWithin(int beginning, int end, boolean useEdgeCases, Distribution distribution) {
+        return objectGeneratorOf(new RangeValueInt(new Range<>(beginning, end), useEdgeCases, distribution));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates uniformly distributed {@code long} values within
+     * specified range. Use {@link ObjectGenerator#nextLong()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @return An instance of {@link ObjectGenerator} which generates uniformly distributed values within specified
+     *         range.
+     */
+    public static ObjectGenerator<Long> randomLongWithin(long beginning, long end) {
+        return randomLongWithin(beginning, end, RangeValue.defaultUseEdgeCases(), RangeValue.defaultDistrbution());
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code long} values distributed by specified
+     * distribution within specified range and can force generating edge cases first. Use
+     * {@link ObjectGenerator#nextLong()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param useEdgeCases Determines whether to generate use cases first or not.
+     * @param distribution Distribution to use.
+     * @return An instance of {@link ObjectGenerator} which generates values distributed by specified distribution
+     *         within specified range.
+     */
+    public static ObjectGenerator<Long> randomLongWithin(long beginning, long end, boolean useEdgeCases, Distribution distribution) {
+        return objectGeneratorOf(new RangeValueLong(new Range<>(beginning, end), useEdgeCases, distribution));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates uniformly distributed {@code double} values within
+     * specified range. Use {@link ObjectGenerator#nextDouble()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @return An instance of {@link ObjectGenerator} which generates uniformly distributed values within specified
+     *         range.
+     */
+    public static ObjectGenerator<Double> randomDoubleWithin(double beginning, double end) {
+        return randomDoubleWithin(beginning, end, RangeValue.defaultUseEdgeCases(), RangeValue.defaultDistrbution());
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code double} values distributed by specified
+     * distribution within specified range and can force generating edge cases first. Use
+     * {@link ObjectGenerator#nextDouble()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param useEdgeCases Determines whether to generate use cases first or not.
+     * @param distribution Distribution to use.
+     * @return An instance of {@link ObjectGenerator} which generates values distributed by specified distribution
+     *         within specified range.
+     */
+    public static ObjectGenerator<Double> randomDoubleWithin(double beginning, double end, boolean useEdgeCases, Distribution distribution) {
+        return objectGeneratorOf(new RangeValueDouble(new Range<>(beginning, end), useEdgeCases, distribution));
+    }
+
     
     //CIRCULAR WITH RANGE
     
@@ -273,6 +366,51 @@ public class BuilderMethods {
         return objectGeneratorOf(new CircularRangeValueDate(new Range<>(beginning, end), step));
     }
 
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code int} values in sequence within
+     * specified range with specified step. When values from the range are depleted, it starts again from the
+     * beginning of the range. Use {@link ObjectGenerator#nextInt()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param step the step
+     * @return An instance of {@link ObjectGenerator} which generates values in sequence within specified range with
+     *         specified step.
+     */
+    public static ObjectGenerator<Integer> circularIntWithin(int beginning, int end, int step) {
+        return objectGeneratorOf(new CircularRangeValueInt(new Range<>(beginning, end), step));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code long} values in sequence within
+     * specified range with specified step. When values from the range are depleted, it starts again from the
+     * beginning of the range. Use {@link ObjectGenerator#nextLong()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param step the step
+     * @return An instance of {@link ObjectGenerator} which generates values in sequence within specified range with
+     *         specified step.
+     */
+    public static ObjectGenerator<Long> circularLongWithin(long beginning, long end, long step) {
+        return objectGeneratorOf(new CircularRangeValueLong(new Range<>(beginning, end), step));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates {@code double} values in sequence within
+     * specified range with specified step. When values from the range are depleted, it starts again from the
+     * beginning of the range. Use {@link ObjectGenerator#nextDouble()} to retrieve values without boxing.
+     *
+     * @param beginning beginning of range
+     * @param end end of range
+     * @param step the step
+     * @return An instance of {@link ObjectGenerator} which generates values in sequence within specified range with
+     *         specified step.
+     */
+    public static ObjectGenerator<Double> circularDoubleWithin(double beginning, double end, double step) {
+        return objectGeneratorOf(new CircularRangeValueDouble(new Range<>(beginning, end), step));
+    }
+
 
     //WEIGHTED AND EXACTLY
 
@@ -339,6 +477,45 @@ public class BuilderMethods {
         return objectGeneratorOf(new ExactWeightedValue<>(pairs));
     }
 
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates each value exactly specified number of times.
+     * If <code>shuffle</code> is true, values are generated in order of a random permutation of all counts, which
+     * allows generating objects at any index (see {@link ObjectGenerator#generateAt(long)}) and in parallel.
+     * When all values are generated specified number of times and {@link ObjectGenerator#next()} is invoked,
+     * {@link ranger.core.ExactWeightedValue.ExactWeightedValueDepletedException
+     * ExactWeightedValueDepletedException} is thrown.
+     *
+     * @param shuffle Determines whether to generate values in order of a random permutation of all counts.
+     * @param pairs Values with corresponding counts.
+     * @param <T> Type instance of {@link ObjectGenerator} will generate.
+     * @return An instance of {@link ObjectGenerator} which generates each value exactly specified number of times.
+     */
+    @SafeVarargs
+    public static <T> ObjectGenerator<T> exactly(boolean shuffle, CountValuePair<T>... pairs) {
+        List<CountValuePair<T>> pairList = new ArrayList<>(pairs.length);
+        for (CountValuePair<T> pair : pairs) {  //copied, passing the generic array on is unchecked
+            pairList.add(pair);
+        }
+        return exactly(pairList, shuffle);
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which generates each value exactly specified number of times.
+     * If <code>shuffle</code> is true, values are generated in order of a random permutation of all counts, which
+     * allows generating objects at any index (see {@link ObjectGenerator#generateAt(long)}) and in parallel.
+     * When all values are generated specified number of times and {@link ObjectGenerator#next()} is invoked,
+     * {@link ranger.core.ExactWeightedValue.ExactWeightedValueDepletedException
+     * ExactWeightedValueDepletedException} is thrown.
+     *
+     * @param pairs List of values with corresponding counts.
+     * @param shuffle Determines whether to generate values in order of a random permutation of all counts.
+     * @param <T> Type instance of {@link ObjectGenerator} will generate.
+     * @return An instance of {@link ObjectGenerator} which generates each value exactly specified number of times.
+     */
+    public static <T> ObjectGenerator<T> exactly(List<CountValuePair<T>> pairs, boolean shuffle) {
+        return objectGeneratorOf(new ExactWeightedValue<>(pairs, shuffle));
+    }
+
     /**
      * Returns CountPair for use with exactly()
      * @param value the value
@@ -381,6 +558,90 @@ public class BuilderMethods {
         return new NormalDistribution(mean, standardDeviation, lower, upper);
     }
 
+    /**
+     * Returns Log-normal distribution with <code>mu=0</code>, <code>sigma=1</code>, <code>lower=0</code> and
+     * <code>upper=10</code>.
+     */
+    public static LogNormalDistribution lognormal() {
+        return new LogNormalDistribution();
+    }
+
+    /**
+     * Returns Log-normal distribution with specified <code>mu</code>, <code>sigma</code>, <code>lower</code> and
+     * <code>upper</code>.
+     * @param mu Mean of the logarithm of values.
+     * @param sigma Standard deviation of the logarithm of values.
+     * @param lower Lower bound, no values lower than this will be generated.
+     * @param upper Upper bound, no values higher than this will be generated.
+     */
+    public static LogNormalDistribution lognormal(double mu, double sigma, double lower, double upper) {
+        return new LogNormalDistribution(mu, sigma, lower, upper);
+    }
+
+    /**
+     * Returns Exponential distribution with <code>lambda=1</code>, <code>lower=0</code> and <code>upper=5</code>.
+     */
+    public static ExponentialDistribution exponential() {
+        return new ExponentialDistribution();
+    }
+
+    /**
+     * Returns Exponential distribution with specified <code>lambda</code>, <code>lower</code> and <code>upper</code>.
+     * @param lambda Rate of the distribution, mean is <code>1 / lambda</code>.
+     * @param lower Lower bound, no values lower than this will be generated.
+     * @param upper Upper bound, no values higher than this will be generated.
+     */
+    public static ExponentialDistribution exponential(double lambda, double lower, double upper) {
+        return new ExponentialDistribution(lambda, lower, upper);
+    }
+
+    /**
+     * Returns Pareto distribution with <code>alpha=1.16</code>, <code>lower=1</code> and <code>upper=100</code>.
+     */
+    public static ParetoDistribution pareto() {
+        return new ParetoDistribution();
+    }
+
+    /**
+     * Returns Pareto distribution with specified <code>alpha</code>, <code>lower</code> and <code>upper</code>.
+     * @param alpha Shape of the distribution, smaller values give heavier tails.
+     * @param lower Lower bound and scale of the distribution, its most probable value.
+     * @param upper Upper bound, no values higher than this will be generated.
+     */
+    public static ParetoDistribution pareto(double alpha, double lower, double upper) {
+        return new ParetoDistribution(alpha, lower, upper);
+    }
+
+    /**
+     * Returns Poisson distribution with <code>lambda=1</code>.
+     */
+    public static PoissonDistribution poisson() {
+        return new PoissonDistribution();
+    }
+
+    /**
+     * Returns Poisson distribution with specified <code>lambda</code>.
+     * @param lambda Mean of the distribution.
+     */
+    public static PoissonDistribution poisson(double lambda) {
+        return new PoissonDistribution(lambda);
+    }
+
+    /**
+     * Returns Zipf distribution with <code>exponent=1</code>.
+     */
+    public static ZipfDistribution zipf() {
+        return new ZipfDistribution();
+    }
+
+    /**
+     * Returns Zipf distribution with specified <code>exponent</code>.
+     * @param exponent Exponent of the distribution, greater values make the first values more probable.
+     */
+    public static ZipfDistribution zipf(double exponent) {
+        return new ZipfDistribution(exponent);
+    }
+
 
     //RANDOM CONTENT STRING
 
@@ -960,6 +1221,166 @@ public class BuilderMethods {
         return objectGeneratorOf(new WeightedCsvReaderValue(new CSVParserSettings(URLof(path), delimiter, withHeader, recordSeparator, trim, quote, commentMarker, ignoreEmptyLines, nullString), weightField));
     }
 
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key
+     *
+     * @param path Path to the CSV file.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvLookup(String path, String keyField, ObjectGenerator<?> key) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path)), keyField, key.value));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvLookup(String path, char delimiter, String keyField, ObjectGenerator<?> key) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter), keyField, key.value));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file.
+     * @param withHeader Specifies if the first record should be interpreted as header.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvLookup(String path, char delimiter, boolean withHeader, String keyField, ObjectGenerator<?> key) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter, withHeader), keyField, key.value));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file
+     * @param withHeader Specifies if the first record should be interpreted as header.
+     * @param recordSeparator Delimiter of records within CSV file.
+     * @param trim True if each column value is to be trimmed for leading and trailing whitespace, otherwise
+     *            <code>false</code>.
+     * @param quote Character that will be stripped from beginning and end of each column if present. If set to
+     *            <code>null</code>, no characters will be stripped (nothing will be used as quote character).
+     * @param commentMarker Character to use as a comment marker, everything after it is considered comment.
+     * @param ignoreEmptyLines True if empty lines are to be ignored, otherwise <code>false</code>.
+     * @param nullString Converts string with given value to <code>null</code>. If set to <code>null</code>, no
+     *            conversion will be done.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvLookup(String path, char delimiter, boolean withHeader, String recordSeparator, boolean trim, Character quote, char commentMarker, boolean ignoreEmptyLines, String nullString, String keyField, ObjectGenerator<?> key) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter, withHeader, recordSeparator, trim, quote, commentMarker, ignoreEmptyLines, nullString), keyField, key.value));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key, with respect to record's weight
+     *
+     * @param path Path to the CSV file.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @param weightField The csv column containing the weight values
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField or weightField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvWeightedLookup(String path, String keyField, ObjectGenerator<?> key, String weightField) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path)), keyField, key.value, weightField));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key, with respect to record's weight
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @param weightField The csv column containing the weight values
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField or weightField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvWeightedLookup(String path, char delimiter, String keyField, ObjectGenerator<?> key, String weightField) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter), keyField, key.value, weightField));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key, with respect to record's weight
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file.
+     * @param withHeader Specifies if the first record should be interpreted as header.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @param weightField The csv column containing the weight values
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField or weightField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvWeightedLookup(String path, char delimiter, boolean withHeader, String keyField, ObjectGenerator<?> key, String weightField) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter, withHeader), keyField, key.value, weightField));
+    }
+
+    /**
+     * Creates an instance of {@link ObjectGenerator} which reads CSV file and returns random record on each iteration
+     * whose keyField equals the value generated by key, with respect to record's weight
+     *
+     * @param path Path to the CSV file.
+     * @param delimiter Delimiter of columns within CSV file
+     * @param withHeader Specifies if the first record should be interpreted as header.
+     * @param recordSeparator Delimiter of records within CSV file.
+     * @param trim True if each column value is to be trimmed for leading and trailing whitespace, otherwise
+     *            <code>false</code>.
+     * @param quote Character that will be stripped from beginning and end of each column if present. If set to
+     *            <code>null</code>, no characters will be stripped (nothing will be used as quote character).
+     * @param commentMarker Character to use as a comment marker, everything after it is considered comment.
+     * @param ignoreEmptyLines True if empty lines are to be ignored, otherwise <code>false</code>.
+     * @param nullString Converts string with given value to <code>null</code>. If set to <code>null</code>, no
+     *            conversion will be done.
+     * @param keyField The csv column compared with the value of key
+     * @param key Generator whose values are looked up in keyField
+     * @param weightField The csv column containing the weight values
+     * @return An instance of {@link ObjectGenerator} which reads CSV file.
+     * @throws ValueException if CSV file does not contain keyField or weightField
+     * @throws ValueException if key generates null or a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static ObjectGenerator<Map<String, String>> csvWeightedLookup(String path, char delimiter, boolean withHeader, String recordSeparator, boolean trim, Character quote, char commentMarker, boolean ignoreEmptyLines, String nullString, String keyField, ObjectGenerator<?> key, String weightField) {
+        return objectGeneratorOf(new CsvLookupValue(new CSVParserSettings(URLof(path), delimiter, withHeader, recordSeparator, trim, quote, commentMarker, ignoreEmptyLines, nullString), keyField, key.value, weightField));
+    }
+
 
 
     //DEPENDENT VALUES
@@ -0,0 +1,102 @@
+package ranger;
+
+import ranger.distribution.Seeds;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over objects of an {@link ObjectGenerator}. Each split part generates its objects with its own clone of
+ * the generator, so parts can be traversed by different threads concurrently. If objects of the generator only depend
+ * on their index (see {@link ObjectGenerator#generateAt(long)}), a finite spliterator is split by index and preserves
+ * order. Otherwise parts of a seeded generator are seeded with seeds derived from its seed, so they do not repeat each
+ * other's random values.
+ *
+ * @param <T> Type of objects to be generated.
+ */
+final class GeneratorSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * Parts with fewer remaining objects are not split any further.
+     */
+    static final long MIN_SPLIT_SIZE = 1024;
+
+    private final ObjectGenerator<T> generator;
+    private final boolean infinite;
+    private final boolean seekable;
+    private long remaining;
+    private long splits;
+
+    /**
+     * Constructs spliterator over <code>numberOfObjects</code> objects of <code>generator</code>.
+     *
+     * @param generator Generator used for traversal, other threads must not use it meanwhile.
+     * @param numberOfObjects Number of objects to be generated, or negative for infinitely many objects.
+     */
+    GeneratorSpliterator(ObjectGenerator<T> generator, long numberOfObjects) {
+        this.generator = generator;
+        this.infinite = numberOfObjects < 0;
+        this.remaining = infinite ? Long.MAX_VALUE : numberOfObjects;
+        this.seekable = !infinite && generator.isSeekable();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (remaining <= 0) {
+            return false;
+        }
+        if (!infinite) {
+            remaining--;
+        }
+        action.accept(generator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (infinite) {
+            while (true) {
+                action.accept(generator.next());
+            }
+        }
+        for (; remaining > 0; remaining--) {
+            action.accept(generator.next());
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (remaining < 2 * MIN_SPLIT_SIZE) {
+            return null;
+        }
+        if (infinite) {
+            ObjectGenerator<T> part = generator.getParallelClone();
+            if (generator.isSeeded()) {     // indexes cannot be divided, so part generates its own sequence
+                part.setSeed(Seeds.mix(generator.getSeed(), Long.MIN_VALUE + splits++));    //salts below any index
+            }
+            return new GeneratorSpliterator<>(part, -1);
+        }
+        long half = remaining / 2;
+        remaining -= half;
+        ObjectGenerator<T> prefix = generator.getParallelClone();
+        if (seekable) {     // split off part generates the first half of the indexes, this part continues after it
+            generator.setIndex(generator.getIndex() + half);
+        } else if (generator.isSeeded()) {  // part generates its own sequence, derived from where it is split off
+            prefix.setSeed(Seeds.mix(generator.getSeed(), generator.getIndex() + half));
+        }
+        return new GeneratorSpliterator<>(prefix, half);
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        if (infinite) {
+            return 0;
+        }
+        return seekable ? SIZED | SUBSIZED | ORDERED : SIZED | SUBSIZED;
+    }
+}
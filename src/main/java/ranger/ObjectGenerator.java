@@ -1,10 +1,21 @@
 package ranger;
 
 
+import ranger.core.ColumnBatch;
+import ranger.core.EvaluationPlan;
+import ranger.core.RecordSink;
 import ranger.core.Value;
+import ranger.core.ValueCompiler;
+import ranger.core.ValueException;
+import ranger.distribution.RandomAlgorithm;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Generates objects of type {@code <T>}.
@@ -14,6 +25,11 @@ import java.util.List;
 public class ObjectGenerator<T> {
 
     final Value<T> value;
+    private EvaluationPlan plan;
+    private RandomAlgorithm randomAlgorithm = RandomAlgorithm.defaultAlgorithm();
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private boolean seeded;
+    private long index;
 
     /**
      * Constructs object generator out of specified <code>value</code>.
@@ -52,24 +68,315 @@ public class ObjectGenerator<T> {
         return result;
     }
 
+    /**
+     * Returns sequential stream of infinitely many generated objects. Objects are generated lazily while the stream is
+     * consumed, which advances this generator. A parallel stream generates the objects of each split part with its own
+     * clone of this generator (see {@link #getParallelClone()}), so values with sequential state, like circular values,
+     * repeat across parts and order of objects is not preserved. Sequentially read CSV files are shared by all parts,
+     * so each record is still read once. A finite stream of a seeded generator (see
+     * {@link #setSeed(long)}) whose objects only depend on their index is split by index and is ordered, so it
+     * generates the same objects in parallel as sequentially. Other parts of seeded generators are seeded with seeds
+     * derived from the seed, so they do not repeat each other's random values.
+     *
+     * @return Infinite stream of generated objects.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(new GeneratorSpliterator<>(this, -1), false);
+    }
+
+    /**
+     * Returns sequential stream of specified <code>numberOfObjects</code> generated objects. Objects are generated
+     * lazily while the stream is consumed, see {@link #stream()}.
+     *
+     * @param numberOfObjects Number of objects to be generated.
+     * @return Stream of generated objects.
+     * @throws IllegalArgumentException if numberOfObjects is negative
+     */
+    public Stream<T> stream(long numberOfObjects) {
+        return StreamSupport.stream(spliterator(numberOfObjects), false);
+    }
+
+    /**
+     * Returns spliterator over specified <code>numberOfObjects</code> generated objects. Traversal advances this
+     * generator, each part split off generates its objects with its own clone of this generator.
+     *
+     * @param numberOfObjects Number of objects to be generated.
+     * @return Spliterator over generated objects.
+     * @throws IllegalArgumentException if numberOfObjects is negative
+     */
+    public Spliterator<T> spliterator(long numberOfObjects) {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        return new GeneratorSpliterator<>(this, numberOfObjects);
+    }
+
+    /**
+     * Generates specified <code>numberOfObjects</code> into columns, one column per property, without creating a map
+     * for each object. Properties whose values are not shared with other properties are filled at once, numeric ones
+     * into primitive arrays. The batch holds the same objects as {@link #generate(int)}, seeded generators advance
+     * their index by <code>numberOfObjects</code>.
+     *
+     * @param numberOfObjects Number of objects to be generated.
+     * @return Batch holding a column for each property.
+     * @throws IllegalArgumentException if numberOfObjects is negative
+     * @throws ValueException if contained value does not generate maps
+     */
+    public ColumnBatch generateBatch(int numberOfObjects) {
+        if (numberOfObjects < 0) {
+            throw new IllegalArgumentException(
+                    "Cannot generate negative number of objects. numberOfObjects: " + numberOfObjects);
+        }
+        if (seeded) {
+            ColumnBatch batch = ColumnBatch.generate(value, getEvaluationPlan(), numberOfObjects, seed, index);
+            index += numberOfObjects;
+            return batch;
+        }
+        return ColumnBatch.generate(value, getEvaluationPlan(), numberOfObjects);
+    }
+
     /**
      * Generates next object.
      *
      * @return An instance of {@code <T>}.
      */
     public T next() {
+        seekIfSeeded();
         T result = value.get();
-        value.reset();
+        getEvaluationPlan().invalidate();
+        return result;
+    }
+
+    /**
+     * Generates next object and pushes it to <code>sink</code> as one record, without building the Maps and Lists the
+     * object would consist of. Generates the same objects as {@link #next()}.
+     *
+     * @param sink Sink to push the object to.
+     * @throws IOException if sink fails to write the object
+     */
+    public void next(RecordSink sink) throws IOException {
+        seekIfSeeded();
+        sink.beginRecord();
+        value.writeTo(sink);
+        sink.endRecord();
+        getEvaluationPlan().invalidate();
+    }
+
+    /**
+     * Generates next object as primitive int, without boxing if contained value evaluates to a primitive number.
+     *
+     * @return Next object as primitive int.
+     * @throws ValueException if contained value does not evaluate to a number
+     */
+    public int nextInt() {
+        seekIfSeeded();
+        int result = value.getInt();
+        getEvaluationPlan().invalidate();
         return result;
     }
 
+    /**
+     * Generates next object as primitive long, without boxing if contained value evaluates to a primitive number.
+     *
+     * @return Next object as primitive long.
+     * @throws ValueException if contained value does not evaluate to a number
+     */
+    public long nextLong() {
+        seekIfSeeded();
+        long result = value.getLong();
+        getEvaluationPlan().invalidate();
+        return result;
+    }
+
+    /**
+     * Generates next object as primitive double, without boxing if contained value evaluates to a primitive number.
+     *
+     * @return Next object as primitive double.
+     * @throws ValueException if contained value does not evaluate to a number
+     */
+    public double nextDouble() {
+        seekIfSeeded();
+        double result = value.getDouble();
+        getEvaluationPlan().invalidate();
+        return result;
+    }
+
+    /**
+     * Generates object at specified <code>index</code> of the sequence this generator generates once seeded, without
+     * generating the objects before it. The object only depends on the seed (see {@link #setSeed(long)}, random if
+     * not set) and the index, so any range of objects can be generated independently, for example by different
+     * threads or machines. Circular values and edge cases are positioned at the index, objects are generated
+     * sequentially from the index on.
+     *
+     * @param index Index of the object.
+     * @return Object at the index.
+     * @throws IllegalArgumentException if index is negative
+     * @throws ValueException if contained value generates values depending on previously generated values in a way
+     *                        that cannot be computed from the index, like sequentially read CSV files or exactly
+     */
+    public T generateAt(long index) {
+        startAt(index);
+        return next();
+    }
+
+    /**
+     * Generates object at specified <code>index</code> like {@link #generateAt(long)} and pushes it to
+     * <code>sink</code> like {@link #next(RecordSink)}.
+     *
+     * @param index Index of the object.
+     * @param sink Sink to push the object to.
+     * @throws IllegalArgumentException if index is negative
+     * @throws ValueException if contained value generates values depending on previously generated values
+     * @throws IOException if sink fails to write the object
+     */
+    public void generateAt(long index, RecordSink sink) throws IOException {
+        startAt(index);
+        next(sink);
+    }
+
+    private void startAt(long index) {
+        if (index < 0) { throw new IllegalArgumentException("Index cannot be negative. index: " + index); }
+        if (getEvaluationPlan().hasSequentialState()) {
+            throw new ValueException("Cannot generate object at index, configuration contains values depending on " +
+                    "previously generated values");
+        }
+        seeded = true;
+        this.index = index;
+    }
+
+    /**
+     * Seeds this generator. From then on, object at each index of the generated sequence is derived from seed and
+     * index only (see {@link #generateAt(long)}), so generators of equal configuration, including clones, generate
+     * the same objects after being seeded with the same seed. Values with sequential state, like sequentially read
+     * CSV files, continue where they are. Values depending on current time are not reproducible.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+        this.index = 0;
+    }
+
+    /**
+     * Selects algorithm of the random generator all values of this generator draw from. Seeded generators generate
+     * different objects with different algorithms.
+     *
+     * @param randomAlgorithm The algorithm.
+     * @throws ValueException if randomAlgorithm is null
+     */
+    public void setRandomAlgorithm(RandomAlgorithm randomAlgorithm) {
+        if (randomAlgorithm == null) { throw new ValueException("randomAlgorithm cannot be null"); }
+        this.randomAlgorithm = randomAlgorithm;
+        if (plan != null) {
+            plan.setRandom(randomAlgorithm.create());
+        }
+    }
+
+    /**
+     * @return Algorithm of the random generator all values of this generator draw from.
+     */
+    public RandomAlgorithm getRandomAlgorithm() {
+        return randomAlgorithm;
+    }
+
+    /**
+     * @return true if seeded, false otherwise.
+     */
+    boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @return true if seeded and every object can be generated from its index alone.
+     */
+    boolean isSeekable() {
+        return seeded && !getEvaluationPlan().hasSequentialState();
+    }
+
+    /**
+     * @return Seed of this generator, random unless set.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Index of the object generated next once seeded.
+     */
+    long getIndex() {
+        return index;
+    }
+
+    void setIndex(long index) {
+        this.index = index;
+    }
+
+    private void seekIfSeeded() {
+        if (seeded) {
+            getEvaluationPlan().seek(seed, index++);
+        }
+    }
+
+    /**
+     * Returns evaluation plan of contained value. Plan is built on first use, when value hierarchy is complete.
+     *
+     * @return Evaluation plan of contained value.
+     */
+    public EvaluationPlan getEvaluationPlan() {
+        if (plan == null) {
+            plan = EvaluationPlan.of(value, randomAlgorithm.create());
+        }
+        return plan;
+    }
+
+    /**
+     * Returns object generator which generates the same objects as this one through a class compiled at runtime
+     * for contained value hierarchy (see {@link ValueCompiler}). Both generators share the value hierarchy. If the
+     * hierarchy cannot be compiled, this generator is returned.
+     *
+     * @return Compiled object generator, or this if value hierarchy cannot be compiled.
+     */
+    public ObjectGenerator<T> compile() {
+        try {
+            ObjectGenerator<T> compiled = new ObjectGenerator<>(ValueCompiler.compile(value));
+            compiled.copySettingsOf(this);
+            return compiled;
+        } catch (ValueException e) {
+            return this;
+        }
+    }
+
     /**
      * Returns new instance of ObjectGenerator generating the same type of objects
      *
      * @return new instance of this
      */
     public ObjectGenerator<T> getClone() {
-        return new ObjectGenerator<>(value.getClone());
+        ObjectGenerator<T> clone = new ObjectGenerator<>(value.getClone());
+        clone.copySettingsOf(this);
+        return clone;
+    }
+
+    /**
+     * Returns new instance of ObjectGenerator generating another part of the same sequence of objects, for example on
+     * another thread. Unlike {@link #getClone()}, this generator and its parallel clones share sequentially read CSV
+     * files, so together they read each record once (see {@link Value#getParallelClone()}).
+     *
+     * @return new instance of this sharing sequentially read CSV files
+     */
+    public ObjectGenerator<T> getParallelClone() {
+        ObjectGenerator<T> clone = new ObjectGenerator<>(value.getParallelClone());
+        clone.copySettingsOf(this);
+        return clone;
+    }
+
+    private void copySettingsOf(ObjectGenerator<?> source) {
+        randomAlgorithm = source.randomAlgorithm;
+        seed = source.seed;
+        seeded = source.seeded;
+        index = source.index;
     }
 
 }
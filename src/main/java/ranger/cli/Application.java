@@ -21,6 +21,7 @@ public class Application {
         }
         // parse args again and show error message if parameters are missing or invalid
         CommandLine commandLine = new CommandLine(new RangerCLI())
+                .setCaseInsensitiveEnumValuesAllowed(true)
                 .setUsageHelpWidth(90)
                 .setUsageHelpLongOptionsMaxWidth(40)
                 .setUsageHelpAutoWidth(true);
@@ -0,0 +1,90 @@
+package ranger.cli;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hands out chunks of object indexes to generation tasks. Tasks take the next chunk whenever they finished their
+ * previous one, so fast tasks take over the work of slow ones and all tasks finish at about the same time.
+ * Tasks that must write their chunks in chunk order wait for their turn (see {@link #awaitTurn(long)}).
+ */
+public class Chunks {
+
+    public static final int DEFAULT_SIZE = 10_000;
+
+    private final long total;
+    private final int size;
+    private final long count;
+    private long next = 0;
+    private long written = 0;
+    private Exception failure;
+
+    /**
+     * @param counts Counts of objects per output, chunks cover the largest count.
+     */
+    public Chunks(List<Long> counts) {
+        this(counts, DEFAULT_SIZE);
+    }
+
+    /**
+     * @param counts Counts of objects per output, chunks cover the largest count.
+     * @param size Count of objects per chunk.
+     */
+    public Chunks(List<Long> counts, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("chunk size must be greater than 0");
+        }
+        this.total = Collections.max(counts);
+        this.size = size;
+        this.count = (total + size - 1) / size;
+    }
+
+    /**
+     * @return Index of the next chunk, or -1 if all chunks are taken or a task failed.
+     */
+    synchronized long next() {
+        return failure == null && next < count ? next++ : -1;
+    }
+
+    /**
+     * @return Index of the first object of chunk.
+     */
+    long first(long chunk) {
+        return chunk * size;
+    }
+
+    /**
+     * @return Count of objects of chunk, only the last chunk may be smaller than the chunk size.
+     */
+    int size(long chunk) {
+        return (int) Math.min(size, total - first(chunk));
+    }
+
+    synchronized void awaitTurn(long chunk) throws InterruptedException {
+        while (written != chunk) {
+            if (failure != null) { throw new InterruptedException("generation failed in another task"); }
+            wait();
+        }
+    }
+
+    synchronized void complete(long chunk) {
+        written = chunk + 1;
+        notifyAll();
+    }
+
+    synchronized void fail(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+        notifyAll();
+    }
+
+    /**
+     * @throws RuntimeException wrapping the first failure of any task
+     */
+    public synchronized void checkFailure() {
+        if (failure != null) {
+            throw failure instanceof RuntimeException ? (RuntimeException) failure : new RuntimeException(failure);
+        }
+    }
+}
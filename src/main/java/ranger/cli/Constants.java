@@ -45,7 +45,13 @@ public class Constants {
     public static final String OUTPUT_COUNT_PATH = OUTPUT_OPTIONS_PATH + ".count";
     public static final String OUTPUT_FORMAT_PATH = OUTPUT_OPTIONS_PATH + ".format";
     public static final String OUTPUT_CSV_DELIMITER_PATH = OUTPUT_OPTIONS_PATH + ".csv.delimiter";
+    public static final String OUTPUT_CSV_FLATTEN_PATH = OUTPUT_OPTIONS_PATH + ".csv.flatten";
     public static final String OUTPUT_ELASTIC_INDEX_PATH = OUTPUT_OPTIONS_PATH + ".elastic_json.index";
+    public static final String OUTPUT_COMPILE_PATH = OUTPUT_OPTIONS_PATH + ".compile";
+    public static final String OUTPUT_SEED_PATH = OUTPUT_OPTIONS_PATH + ".seed";
+    public static final String OUTPUT_RNG_PATH = OUTPUT_OPTIONS_PATH + ".rng";
+    public static final String OUTPUT_THREADS_PATH = OUTPUT_OPTIONS_PATH + ".threads";
+    public static final String OUTPUT_CHUNK_SIZE_PATH = OUTPUT_OPTIONS_PATH + ".chunk_size";
     public static final String OUTPUT_REFERENCE_PATTERN = "\\$(.)+";
     public static final String OUTPUT_LIST_PATTERN = String.format("list\\(\\[%s(, %s)*\\]\\)",
             OUTPUT_REFERENCE_PATTERN, OUTPUT_REFERENCE_PATTERN);
@@ -3,19 +3,35 @@ package ranger.cli;
 import me.tongfei.progressbar.ProgressBar;
 import ranger.ObjectGenerator;
 import ranger.cli.writer.OutputWriter;
+import ranger.core.RecordBuffer;
+import ranger.core.RecordSink;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
 
+/**
+ * Generates objects and writes them to the writers, pushing each object straight from the value hierarchy (see
+ * {@link ObjectGenerator#next(RecordSink)}). Tasks sharing the same {@link Chunks} take chunks until all chunks are
+ * generated. Each chunk is generated into a {@link RecordBuffer} of the task and written as a whole, so tasks only
+ * hold the writers while writing a chunk. Chunks are written in the order they are completed.
+ * Failures are reported to the chunks, which stop handing out chunks to other tasks (see
+ * {@link Chunks#checkFailure()}).
+ */
 public class GenerationTask extends Thread {
-    private final ObjectGenerator<?> generator;
-    private final List<OutputWriter> writers;
-    private final List<Long> counts;
-    private final ProgressBar progressBar;
+
+    protected final ObjectGenerator<?> generator;
+    protected final List<OutputWriter> writers;
+    protected final List<Long> counts;
+    protected final ProgressBar progressBar;
+    protected final Chunks chunks;
 
     public GenerationTask(ObjectGenerator<?> generator, List<OutputWriter> writers, List<Long> counts,
                           ProgressBar progressBar) {
+        this(generator, writers, counts, progressBar, new Chunks(counts));
+    }
+
+    public GenerationTask(ObjectGenerator<?> generator, List<OutputWriter> writers, List<Long> counts,
+                          ProgressBar progressBar, Chunks chunks) {
         if (writers.size() != counts.size()) {
             throw new IllegalArgumentException("writers and counts must be equally sized");
         }
@@ -23,36 +39,61 @@ public class GenerationTask extends Thread {
         this.writers = writers;
         this.counts = counts;
         this.progressBar = progressBar;
+        this.chunks = chunks;
     }
 
     @Override
     public void run() {
         try {
-            generateObjects();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            generateChunks();
+        } catch (Exception e) {
+            chunks.fail(e);
+        }
+    }
+
+    private void generateChunks() throws IOException, InterruptedException {
+        prepare();
+        RecordBuffer generatedObjects = new RecordBuffer();
+        long chunk;
+        while ((chunk = chunks.next()) >= 0) {
+            generatedObjects.clear();
+            generateChunk(chunk, generatedObjects);
+            writeChunk(chunk, generatedObjects);
+            if (progressBar != null) { progressBar.stepBy(generatedObjects.size()); }
+        }
+    }
+
+    /*
+    Prepares the generator before the first chunk
+     */
+    protected void prepare() {
+    }
+
+    protected void generateChunk(long chunk, RecordBuffer generatedObjects) throws IOException {
+        int size = chunks.size(chunk);
+        while (generatedObjects.size() < size) {
+            generator.next(generatedObjects);
+        }
+    }
+
+    protected void writeChunk(long chunk, RecordBuffer generatedObjects) throws IOException, InterruptedException {
+        synchronized (writers) {
+            writeObjects(generatedObjects, chunks.first(chunk));
         }
     }
 
-    private void generateObjects() throws IOException {
-        long remaining = Collections.max(counts);
-        while (remaining > 0) {
-            Object generatedObject = generator.next();
-            if (writers.size() == 1) {    // process single output
-                writers.get(0).writeObject(generatedObject);
-            } else {   // process multiple outputs
-                for (int i = 0; i < writers.size(); i++) {
-                    long count = counts.get(i);
-                    if (count > 0) {
-                        OutputWriter writer = writers.get(i);
-                        writer.writeObject(((List<?>) generatedObject).get(i));
-                        counts.set(i, count - 1);
-                        writer.writeObject(generatedObject);
-                    }
-                }
+    /*
+    Writes objects starting at index first, each output takes objects until its count is reached
+     */
+    protected void writeObjects(RecordBuffer generatedObjects, long first) throws IOException {
+        if (writers.size() == 1) {    // process single output
+            generatedObjects.replay(writers.get(0));
+        } else {
+            long[] remaining = new long[writers.size()];
+            for (int i = 0; i < writers.size(); i++) {
+                remaining[i] = Math.max(0, counts.get(i) - first);
             }
-            if (progressBar != null) { progressBar.step(); }
-            remaining--;
+            generatedObjects.replay(new OutputSplitter(writers, remaining));
         }
     }
 
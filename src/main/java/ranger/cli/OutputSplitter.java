@@ -0,0 +1,158 @@
+package ranger.cli;
+
+import ranger.core.RecordSink;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Splits records generated for multiple outputs, which are lists with one element per output, into one record per
+ * output: element i of each record is pushed to sink i as a record of its own, as long as the sink's count is not
+ * reached. Elements of outputs whose count is reached are skipped.
+ */
+class OutputSplitter implements RecordSink {
+
+    private final List<? extends RecordSink> sinks;
+    private final long[] remaining;
+    private int depth;              //1 within the list of outputs
+    private int output;             //index of current element
+    private RecordSink target;      //sink of current element, null if skipped
+
+    /**
+     * @param sinks Sink of each output.
+     * @param remaining Number of records each output still takes, decremented for each record pushed.
+     */
+    OutputSplitter(List<? extends RecordSink> sinks, long[] remaining) {
+        if (sinks.size() != remaining.length) {
+            throw new IllegalArgumentException("sinks and remaining must be equally sized");
+        }
+        this.sinks = sinks;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public void beginRecord() {
+        depth = 0;
+        output = 0;
+    }
+
+    @Override
+    public void endRecord() {
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        RecordSink sink = element();
+        depth++;
+        if (sink != null) { sink.beginObject(); }
+    }
+
+    @Override
+    public void name(String name) throws IOException {
+        if (target != null) { target.name(name); }
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        depth--;
+        if (target != null) { target.endObject(); }
+        completed();
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        if (depth == 0) {
+            depth = 1;
+            return;
+        }
+        RecordSink sink = element();
+        depth++;
+        if (sink != null) { sink.beginList(); }
+    }
+
+    @Override
+    public void endList() throws IOException {
+        depth--;
+        if (depth == 0) {
+            return;
+        }
+        if (target != null) { target.endList(); }
+        completed();
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.value(value); }
+        completed();
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.value(value); }
+        completed();
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.value(value); }
+        completed();
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.value(value); }
+        completed();
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.value(value); }
+        completed();
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.nullValue(); }
+        completed();
+    }
+
+    @Override
+    public void otherValue(Object value) throws IOException {
+        RecordSink sink = element();
+        if (sink != null) { sink.otherValue(value); }
+        completed();
+    }
+
+    /*
+    Returns sink of the value starting at current depth, beginning its record if the value is an element
+     */
+    private RecordSink element() throws IOException {
+        if (depth == 0) {
+            throw new IllegalArgumentException("Object generated for multiple outputs must be a list");
+        }
+        if (depth == 1) {
+            target = output < sinks.size() && remaining[output] > 0 ? sinks.get(output) : null;
+            if (target != null) { target.beginRecord(); }
+        }
+        return target;
+    }
+
+    /*
+    Ends record of the element if the value ending at current depth is an element
+     */
+    private void completed() throws IOException {
+        if (depth == 1) {
+            if (target != null) {
+                target.endRecord();
+                remaining[output]--;
+            }
+            output++;
+        }
+    }
+}
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 
 import static ranger.cli.Constants.*;
 import static ranger.cli.writer.OutputWriterFactory.produceWriters;
@@ -51,9 +50,19 @@ public class RangerCLI extends RangerCLIOptions implements Callable<Integer> {
             // parse the output file names
             fileNames = parseOutputFileNames(yamlConfig);
             validateArgs();
+            RangerConfig.setCsvMemoryLimit(csvMemoryLimit << 20);
             // produce the output writers
-            writers = produceWriters(fileNames, outputDir, format, csvDelimiter, elasticsearchIndex, encoding, dryRun);
+            writers = produceWriters(fileNames, outputDir, format, csvDelimiter, csvFlatten, elasticsearchIndex,
+                    encoding, dryRun);
             ObjectGenerator generator = new ConfigurationParser(yamlFile, VALUES_PATH, OUTPUT_VALUE_PATH).build();
+            if (compile) {
+                ObjectGenerator compiledGenerator = generator.compile();
+                if (compiledGenerator == generator) {
+                    System.err.println("Configuration could not be compiled, falling back to interpreted generation");
+                }
+                generator = compiledGenerator;
+            }
+            generator.setRandomAlgorithm(rng);
             // generate the elements
             System.out.printf("Generating %,d elements from \"%s\" and saving output to ", numObjects, yamlFile);
             System.out.println(dryRun ? "console" : '"' + outputDir.getAbsolutePath() + '"');
@@ -78,28 +87,32 @@ public class RangerCLI extends RangerCLIOptions implements Callable<Integer> {
         PrintStream progressBarOutput = dryRun ? new PrintStream(OutputStream.nullOutputStream()) : System.err;
         try (ProgressBar progressBar = new ProgressBar("Generated", numObjects, 500, progressBarOutput,
                 ProgressBarStyle.ASCII, "", 1L, false, null, ChronoUnit.SECONDS, 0L, Duration.ZERO)) {
-            if (!parallelProcessing) {
-                GenerationTask task = new GenerationTask(generator, writers, counts, progressBar);
-                task.run();
+            Chunks chunks = new Chunks(counts, chunkSize);
+            int numThreads = threads != null ? threads
+                    : parallelProcessing ? Runtime.getRuntime().availableProcessors() : 1;
+            if (seed != null && numThreads > 1 && generator.getEvaluationPlan().hasSequentialState()) {
+                System.err.println("Configuration contains values depending on previously generated values " +
+                        "(e.g. csv or exactly), generating on a single thread to keep output reproducible");
+                numThreads = 1;
+            }
+            List<GenerationTask> tasks = new ArrayList<>(numThreads);
+            for (int i = 0; i < numThreads; i++) {  // Threads take chunks until all chunks are generated
+                ObjectGenerator<?> taskGenerator = numThreads == 1 ? generator : generator.getParallelClone();
+                tasks.add(seed != null
+                        ? new SeededGenerationTask(taskGenerator, writers, counts, progressBar, seed, chunks)
+                        : new GenerationTask(taskGenerator, writers, counts, progressBar, chunks));
+            }
+            if (numThreads == 1) {
+                tasks.get(0).run();
             } else {
-                int numThreads = Runtime.getRuntime().availableProcessors();
-                List<GenerationTask> tasks = new ArrayList<>(numThreads);
-                for (int i = 1; i <= numThreads; i++) {     // Split the work across threads
-                    List<Long> counts;
-                    if (i < numThreads) {
-                        counts = this.counts.stream().map(c -> c / numThreads).collect(Collectors.toList());
-                    } else {
-                        counts = this.counts.stream().map(c -> c - (numThreads - 1) * (c / numThreads))
-                                .collect(Collectors.toList());
-                    }
-                    GenerationTask task = new GenerationTask(generator.getClone(), writers, counts, progressBar);
+                for (GenerationTask task : tasks) {
                     task.start();
-                    tasks.add(task);
                 }
                 for (GenerationTask task : tasks) {
                     task.join();
                 }
             }
+            chunks.checkFailure();
         }
     }
 
@@ -0,0 +1,53 @@
+package ranger.cli;
+
+import me.tongfei.progressbar.ProgressBar;
+import ranger.ObjectGenerator;
+import ranger.cli.writer.OutputWriter;
+import ranger.core.RecordBuffer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Generates objects of a seeded generator in chunks. Each chunk starts at its first index
+ * (see {@link ObjectGenerator#generateAt(long, ranger.core.RecordSink)}), so each object only depends on the seed and
+ * its index. Objects are pushed into a {@link RecordBuffer} instead of being built. Tasks sharing the same
+ * {@link Chunks} write their chunks in chunk order, so output is identical for any number of tasks and any chunk size.
+ * Generators with sequential state cannot start at an index and must be run by a single task.
+ */
+public class SeededGenerationTask extends GenerationTask {
+
+    private final long seed;
+    private boolean seekable;
+
+    public SeededGenerationTask(ObjectGenerator<?> generator, List<OutputWriter> writers, List<Long> counts,
+                                ProgressBar progressBar, long seed, Chunks chunks) {
+        super(generator, writers, counts, progressBar, chunks);
+        this.seed = seed;
+    }
+
+    @Override
+    protected void prepare() {
+        seekable = !generator.getEvaluationPlan().hasSequentialState();
+        generator.setSeed(seed);
+    }
+
+    @Override
+    protected void generateChunk(long chunk, RecordBuffer generatedObjects) throws IOException {
+        if (seekable) {     // otherwise chunks are taken in order by a single task
+            generator.generateAt(chunks.first(chunk), generatedObjects);
+        }
+        super.generateChunk(chunk, generatedObjects);
+    }
+
+    @Override
+    protected void writeChunk(long chunk, RecordBuffer generatedObjects) throws IOException, InterruptedException {
+        chunks.awaitTurn(chunk);
+        try {
+            writeObjects(generatedObjects, chunks.first(chunk));
+        } finally {
+            chunks.complete(chunk);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package ranger.cli.option;
 
 import ranger.cli.Constants;
+import ranger.distribution.RandomAlgorithm;
 import ranger.util.UrlUtils;
 import ranger.util.YamlUtils;
 
@@ -46,6 +47,10 @@ public class RangerCLIOptions {
     @Option(names = "--csv-delimiter", description = "The csv delimiter character (for csv format)")
     protected Character csvDelimiter;
 
+    @Option(names = "--csv-flatten", description = "Write nested objects as columns named by their path, like " +
+            "address.city, instead of JSON (for csv format)")
+    protected boolean csvFlatten;
+
     @Option(names = "--elastic-index", description = "The elasticsearch index (for elastic_json format)")
     protected String elasticsearchIndex;
 
@@ -56,16 +61,49 @@ public class RangerCLIOptions {
     @Option(names = "--dry-run", description = "Print output to console and not to file")
     protected boolean dryRun;
 
-    @Option(names = "-m", description = "Enable multi core processing " +
+    @Option(names = "--compile", description = "Compile configuration to bytecode before generating " +
+            "(faster for large counts)")
+    protected boolean compile;
+
+    @Option(names = "--seed", description = "Seed for reproducible generation " +
+            "(output is identical for any number of threads)")
+    protected Long seed;
+
+    @Option(names = "--rng", description = "The random generator algorithm. Must be one of " +
+            "[${COMPLETION-CANDIDATES}] (default: ${DEFAULT-VALUE})", defaultValue = "SPLITMIX64")
+    protected RandomAlgorithm rng;
+
+    @Option(names = "--csv-memory-limit", description = "Size in MB up to which randomly read CSV files are loaded " +
+            "into memory, larger files are indexed on disk (default: ${DEFAULT-VALUE})", defaultValue = "256")
+    protected long csvMemoryLimit;
+
+    @Option(names = "-m", description = "Enable multi core processing with one thread per processor " +
             "(experimental, use only if order of generated objects is not important)")
     protected boolean parallelProcessing;
 
+    @Option(names = "--threads", description = "The number of threads generating objects " +
+            "(default: 1, or one per processor with -m)")
+    protected Integer threads;
+
+    @Option(names = "--chunk-size", description = "The count of objects a thread generates before writing them " +
+            "(default: ${DEFAULT-VALUE})", defaultValue = "10000")
+    protected int chunkSize;
+
     public void validateArgs() {
         for (Long count : counts) {
             if (count < 1) {
                 throw new ParameterException("counts must be greater than 0");
             }
         }
+        if (csvMemoryLimit < 0) {
+            throw new ParameterException("csv-memory-limit must not be negative");
+        }
+        if (threads != null && threads < 1) {
+            throw new ParameterException("threads must be greater than 0");
+        }
+        if (chunkSize < 1) {
+            throw new ParameterException("chunk-size must be greater than 0");
+        }
         if (format == Constants.OutputFormat.elastic_json && elasticsearchIndex == null) {
             throw new ParameterException("You must specify the elastic search index " +
                     "when using elastic_json output format");
@@ -86,11 +124,23 @@ public class RangerCLIOptions {
                 Object countObject = getSection(yamlConfig, Constants.OUTPUT_COUNT_PATH);
                 Object formatObject = getSection(yamlConfig, Constants.OUTPUT_FORMAT_PATH);
                 Object csvDelimiter = getSection(yamlConfig, Constants.OUTPUT_CSV_DELIMITER_PATH);
+                Object csvFlatten = getSection(yamlConfig, Constants.OUTPUT_CSV_FLATTEN_PATH);
                 Object elasticsearchIndex = getSection(yamlConfig, Constants.OUTPUT_ELASTIC_INDEX_PATH);
+                Object compile = getSection(yamlConfig, Constants.OUTPUT_COMPILE_PATH);
+                Object seed = getSection(yamlConfig, Constants.OUTPUT_SEED_PATH);
+                Object rng = getSection(yamlConfig, Constants.OUTPUT_RNG_PATH);
+                Object threads = getSection(yamlConfig, Constants.OUTPUT_THREADS_PATH);
+                Object chunkSize = getSection(yamlConfig, Constants.OUTPUT_CHUNK_SIZE_PATH);
                 OPTIONS.put("--counts", stringOf(countObject));
                 OPTIONS.put("--output-format", stringOf(formatObject));
                 OPTIONS.put("--csv-delimiter", stringOf(csvDelimiter));
+                OPTIONS.put("--csv-flatten", stringOf(csvFlatten));
                 OPTIONS.put("--elastic-index", stringOf(elasticsearchIndex));
+                OPTIONS.put("--compile", stringOf(compile));
+                OPTIONS.put("--seed", stringOf(seed));
+                OPTIONS.put("--rng", stringOf(rng));
+                OPTIONS.put("--threads", stringOf(threads));
+                OPTIONS.put("--chunk-size", stringOf(chunkSize));
             }
         }
 
@@ -0,0 +1,126 @@
+package ranger.cli.writer;
+
+import com.google.gson.Gson;
+import ranger.util.GsonSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer that encodes pushed records straight to UTF-8 JSON bytes with a {@link JsonEncoder}, producing the same JSON
+ * as serializing the assembled objects with Gson. Only values of types Gson serializes by reflection are serialized
+ * through Gson. Output in other charsets and to Writers is transcoded from UTF-8. Subclasses separate the records.
+ */
+public abstract class AbstractJsonWriter extends OutputWriter {
+
+    protected static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    protected final Gson gson;
+    final JsonEncoder json;
+    private final boolean flushRecords;
+
+    /**
+     * @param out Stream the JSON is written to, encoder buffers the bytes itself.
+     * @param charset Charset of the output.
+     */
+    protected AbstractJsonWriter(OutputStream out, Charset charset) {
+        this.gson = GsonSerializer.newGsonInstance();
+        this.json = new JsonEncoder(Utf8Encoder.transcoding(out, charset), gson);
+        this.flushRecords = false;
+    }
+
+    /**
+     * @param writer Writer the JSON is written to, each record is written when completed, so Writers can be shared.
+     */
+    protected AbstractJsonWriter(Writer writer) {
+        this.gson = GsonSerializer.newGsonInstance();
+        this.json = new JsonEncoder(Utf8Encoder.transcoding(writer), gson);
+        this.flushRecords = true;
+    }
+
+    @Override
+    public void beginRecord() throws IOException {
+        json.reset();
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        if (flushRecords) {
+            json.flushBuffer();
+        }
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        json.beginObject();
+    }
+
+    @Override
+    public void name(String name) throws IOException {
+        json.name(name);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        json.endObject();
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        json.beginArray();
+    }
+
+    @Override
+    public void endList() throws IOException {
+        json.endArray();
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        json.value(value);
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        json.value(value);
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        json.value(value);
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        json.value(value);
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        json.value(value);
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        json.nullValue();
+    }
+
+    @Override
+    public void otherValue(Object value) throws IOException {
+        json.otherValue(value);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        json.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.close();
+    }
+
+}
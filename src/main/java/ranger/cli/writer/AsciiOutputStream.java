@@ -0,0 +1,48 @@
+package ranger.cli.writer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream that writes UTF-8 bytes written to it in US-ASCII, replacing each non-ASCII character by '?' like Java's
+ * encoder does. Bytes are passed on as they are unless they contain non-ASCII characters.
+ */
+class AsciiOutputStream extends FilterOutputStream {
+
+    private byte[] replaced = new byte[0];
+
+    AsciiOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        int i = off;
+        while (i < end && b[i] >= 0) {
+            i++;
+        }
+        if (i == end) {
+            out.write(b, off, len);
+            return;
+        }
+        if (replaced.length < len) {
+            replaced = new byte[len];
+        }
+        int length = 0;
+        for (i = off; i < end; i++) {
+            if (b[i] >= 0) {
+                replaced[length++] = b[i];
+            } else if ((b[i] & 0xC0) == 0xC0) {     //first byte of a non-ASCII character, others are skipped
+                replaced[length++] = '?';
+            }
+        }
+        out.write(replaced, 0, length);
+    }
+}
@@ -0,0 +1,163 @@
+package ranger.cli.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stream that writes to a file channel from a dedicated thread, so the thread producing the bytes does not wait for
+ * write calls and generation and disk I/O overlap. Bytes are collected in one of two large direct buffers: while one
+ * is filled, the other one is written. Writing blocks only if the disk is slower than the producer and both buffers
+ * are full. Errors of the writing thread are thrown by the next call of the producer.
+ * A stream must not be used by several threads at once.
+ */
+final class ChannelOutputStream extends OutputStream {
+
+    static final int BUFFER_SIZE = 4 << 20;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);   //stops the writing thread
+
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(2);
+    private final BlockingQueue<ByteBuffer> empty = new ArrayBlockingQueue<>(2);
+    private final Thread writer;
+    private volatile IOException failure;
+    private ByteBuffer current;
+    private boolean closed;
+
+    /**
+     * @param file File to write to, created if it does not exist.
+     * @param append Whether to append to the file instead of truncating it.
+     */
+    ChannelOutputStream(File file, boolean append) throws IOException {
+        this(file, append, BUFFER_SIZE);
+    }
+
+    ChannelOutputStream(File file, boolean append, int bufferSize) throws IOException {
+        OpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        this.current = ByteBuffer.allocateDirect(bufferSize);
+        this.empty.add(ByteBuffer.allocateDirect(bufferSize));
+        this.writer = new Thread(this::writeBuffers, "writer-" + file.getName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        current.put((byte) b);
+        if (!current.hasRemaining()) {
+            submit();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int length = Math.min(len, current.remaining());
+            current.put(b, off, length);
+            off += length;
+            len -= length;
+            if (!current.hasRemaining()) {
+                submit();
+            }
+        }
+    }
+
+    /**
+     * Waits until all bytes written so far are written to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (current.position() > 0) {
+            submit();
+        }
+        try {
+            empty.put(empty.take());    //other buffer is returned once written
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        checkFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            try {
+                filled.put(END);
+                writer.join();
+            } catch (InterruptedException e) {
+                throw interrupted(e);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /*
+    Hands current buffer to the writing thread and continues with the other one once it is written
+     */
+    private void submit() throws IOException {
+        current.flip();
+        try {
+            filled.put(current);
+            current = empty.take();
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        checkFailure();
+    }
+
+    private void writeBuffers() {
+        try {
+            for (ByteBuffer buffer = filled.take(); buffer != END; buffer = filled.take()) {
+                try {
+                    while (failure == null && buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    failure = e;        //buffers are still returned, so the producer does not wait forever
+                }
+                buffer.clear();
+                empty.put(buffer);
+            }
+        } catch (InterruptedException e) {
+            failure = interrupted(e);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static InterruptedIOException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException exception = new InterruptedIOException(e.getMessage());
+        exception.initCause(e);
+        return exception;
+    }
+}
@@ -0,0 +1,295 @@
+package ranger.cli.writer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes CSV fields straight to UTF-8 bytes in a reusable buffer, producing the same bytes as printing them with a
+ * {@link CSVPrinter} of the format. Fields are quoted like Commons CSV's minimal quote mode does. Strings can be
+ * escaped like in JSON strings in the same pass, which the CSV writer does to keep its fields on one line.
+ * Formats with other quote modes, an escape character or a non-ASCII delimiter are printed with a CSVPrinter whose
+ * output is encoded.
+ */
+final class CsvEncoder extends Utf8Encoder {
+
+    private static final byte[][] QUOTE_ESCAPES = new byte[128][];    //quotes are doubled within quotes
+
+    static {
+        QUOTE_ESCAPES['"'] = ascii("\"\"");
+    }
+
+    private final char delimiter;
+    private final byte[] recordSeparator;
+    private final CSVPrinter printer;               //null if fields are encoded directly
+    private final StringBuilder printed;            //output of printer
+    private final boolean[] quotedJsonChars = new boolean[128];   //JSON escape of ASCII char requires quotes
+    private final byte[][] quotedJsonEscapes;       //JSON escapes within quotes
+    private final boolean quotedSeparators;         //JSON escapes of line and paragraph separator require quotes
+    private final boolean quotedNumbers;            //digits of integers require quotes
+    private boolean newRecord = true;
+
+    /**
+     * @param out Stream the bytes are written to when the buffer is full or flushed.
+     * @param format The CSV format, its header and header comments are printed right away.
+     */
+    CsvEncoder(OutputStream out, CSVFormat format) throws IOException {
+        super(out);
+        this.delimiter = format.getDelimiter();
+        this.recordSeparator = format.getRecordSeparator() == null ? null
+                : format.getRecordSeparator().getBytes(StandardCharsets.UTF_8);
+        this.quotedJsonEscapes = JSON_ESCAPES.clone();
+        for (int c = 0; c < 128; c++) {
+            byte[] escaped = JSON_ESCAPES[c] != null ? JSON_ESCAPES[c] : new byte[]{(byte) c};
+            String chunk = new String(escaped, StandardCharsets.US_ASCII);
+            quotedJsonChars[c] = containsQuoted(chunk);
+            if (JSON_ESCAPES[c] != null && chunk.indexOf('"') >= 0) {
+                quotedJsonEscapes[c] = ascii(chunk.replace("\"", "\"\""));
+            }
+        }
+        this.quotedSeparators = containsQuoted("\\u2028") || containsQuoted("\\u2029");
+        this.quotedNumbers = delimiter == '-' || Character.isDigit(delimiter);
+        if (isEncodedDirectly(format)) {
+            this.printer = null;
+            this.printed = null;
+        } else {
+            this.printed = new StringBuilder();
+            this.printer = new CSVPrinter(printed, format);
+            drain();
+        }
+    }
+
+    /*
+    Whether encoding fields directly is equal to printing them in format
+     */
+    private static boolean isEncodedDirectly(CSVFormat format) {
+        char delimiter = format.getDelimiter();
+        return format.getQuoteCharacter() != null && format.getQuoteCharacter() == '"'
+                && !format.isEscapeCharacterSet() && !format.getTrim() && !format.getTrailingDelimiter()
+                && (format.getQuoteMode() == null || format.getQuoteMode() == QuoteMode.MINIMAL)
+                && format.getNullString() == null && format.getHeaderComments() == null
+                && (format.getHeader() == null || format.getSkipHeaderRecord())
+                && delimiter < 0x80 && delimiter != '"' && delimiter != '\n' && delimiter != '\r';
+    }
+
+    /**
+     * Encodes string field, escaping its characters like in JSON strings without the surrounding quotes.
+     */
+    void string(String value) throws IOException {
+        if (printer != null) {
+            printer.print(escape(value));
+            drain();
+            return;
+        }
+        boolean quote = jsonRequiresQuotes(value);
+        beforeField();
+        if (quote) {
+            put('"');
+            encode(value, quotedJsonEscapes, true);
+            put('"');
+        } else {
+            encode(value, JSON_ESCAPES, true);
+        }
+    }
+
+    /**
+     * Encodes field as it is.
+     */
+    void text(String text) throws IOException {
+        if (printer != null) {
+            printer.print(text);
+            drain();
+            return;
+        }
+        boolean quote = requiresQuotes(text);
+        beforeField();
+        if (quote) {
+            put('"');
+            encode(text, QUOTE_ESCAPES, false);
+            put('"');
+        } else {
+            encode(text, null, false);
+        }
+    }
+
+    void number(long value) throws IOException {
+        if (printer != null) {
+            printer.print(value);
+            drain();
+        } else if (quotedNumbers) {
+            text(Long.toString(value));
+        } else {
+            beforeField();
+            digits(value);
+        }
+    }
+
+    void number(double value) throws IOException {
+        if (printer != null) {
+            printer.print(value);
+            drain();
+        } else {
+            text(Double.toString(value));
+        }
+    }
+
+    /**
+     * Encodes field of a primitive wrapper, like a Boolean.
+     */
+    void other(Object value) throws IOException {
+        if (printer != null) {
+            printer.print(value);
+            drain();
+        } else {
+            text(value.toString());
+        }
+    }
+
+    /**
+     * Encodes field of UTF-8 encoded JSON.
+     */
+    void json(byte[] json, int length) throws IOException {
+        if (printer != null) {
+            printer.print(new String(json, 0, length, StandardCharsets.UTF_8));
+            drain();
+            return;
+        }
+        boolean quote = requiresQuotes(json, length);
+        beforeField();
+        if (!quote) {
+            raw(json, 0, length);
+            return;
+        }
+        put('"');
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (json[i] == '"') {       //UTF-8 bytes of other characters are not ASCII
+                raw(json, start, i + 1 - start);
+                start = i;
+            }
+        }
+        raw(json, start, length - start);
+        put('"');
+    }
+
+    void nullField() throws IOException {
+        if (printer != null) {
+            printer.print(null);
+            drain();
+        } else {
+            beforeField();
+        }
+    }
+
+    void endRecord() throws IOException {
+        if (printer != null) {
+            printer.println();
+            drain();
+        } else if (recordSeparator != null) {
+            raw(recordSeparator);
+        }
+        newRecord = true;
+    }
+
+    /**
+     * @return value escaped like in JSON strings, without surrounding quotes.
+     */
+    static String escape(String value) {
+        int i = 0;
+        while (i < value.length() && !isJsonEscaped(value.charAt(i))) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && JSON_ESCAPES[c] != null) {
+                escaped.append(new String(JSON_ESCAPES[c], StandardCharsets.US_ASCII));
+            } else if (c == '\u2028' || c == '\u2029') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void beforeField() throws IOException {
+        if (!newRecord) {
+            put(delimiter);
+        }
+        newRecord = false;
+    }
+
+    private void drain() throws IOException {
+        encode(printed.toString(), null, false);
+        printed.setLength(0);
+    }
+
+    /*
+    Whether text contains a character that requires quotes anywhere in a field
+     */
+    private boolean containsQuoted(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '"' || c == delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    Whether printing text requires quotes in minimal quote mode
+     */
+    private boolean requiresQuotes(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return newRecord;       //empty line would be skipped
+        }
+        return text.charAt(0) <= '#' || text.charAt(length - 1) <= ' ' || containsQuoted(text);
+    }
+
+    /*
+    Whether printing value escaped like in JSON requires quotes in minimal quote mode
+     */
+    private boolean jsonRequiresQuotes(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return newRecord;
+        }
+        char first = value.charAt(0);
+        if (first <= '#' && !isJsonEscaped(first) || value.charAt(length - 1) == ' ') {    //escapes start with '\'
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 ? quotedJsonChars[c] : quotedSeparators && (c == '\u2028' || c == '\u2029')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean requiresQuotes(byte[] text, int length) {
+        if (length == 0) {
+            return newRecord;
+        }
+        if ((text[0] & 0xFF) <= '#' || (text[length - 1] & 0xFF) <= ' ') {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = text[i];
+            if (b == '\n' || b == '\r' || b == '"' || b == delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
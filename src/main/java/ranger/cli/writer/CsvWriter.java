@@ -2,20 +2,21 @@ package ranger.cli.writer;
 
 import com.google.gson.Gson;
 import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.lang3.ClassUtils;
 import ranger.util.GsonSerializer;
 
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.util.Collections;
-import java.util.Map;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 
 import static ranger.cli.Constants.CSV_FORMAT_DEFAULT;
@@ -25,14 +26,33 @@ import static ranger.cli.Constants.EXTENSION_CSV;
  * Writer designed to write multiple Objects generated by ObjectGenerator into a CSV file.
  * It automatically prints header names if not appending to an existing file.
  * It infers header names from first Map object supplied to writeObject()
+ * Fields are encoded straight to bytes by a {@link CsvEncoder}. Fields of other types, like dates, are encoded by an
+ * encoder per column, resolved from the first record and again only if the type of a column changes. Nested objects
+ * and lists are written as JSON, or nested objects are flattened to columns named by their path, like "address.city".
  */
 public class CsvWriter extends OutputWriter {
 
     private String filename;
-    private final CSVPrinter printer;
-    private final Gson gson;
+    private final CSVFormat format;
+    private final CsvEncoder csv;
+    private final Gson gson = GsonSerializer.newGsonInstance();
     private boolean firstWrite = true;
     private final boolean printHeader;
+    private final boolean flatten;
+    private final boolean flushRecords;
+    private final FieldBuffer nestedJson = new FieldBuffer();
+    private final JsonEncoder nested = new JsonEncoder(nestedJson, gson);   //serializes objects and lists in fields
+    private int depth;
+    private int nestedDepth = -1;       //depth of the field serialized to JSON, -1 if none
+    private boolean objectRecord;       //whether fields of current record are properties of an object
+    private final List<String> path = new ArrayList<>();   //names of flattened objects containing current field
+    private String name;                //name of current field
+    private int column;
+    private Class<?>[] columnTypes = new Class<?>[0];
+    private ColumnEncoder[] columnEncoders = new ColumnEncoder[0];
+    private CsvEncoder fields;          //encoder of the fields of current record
+    private List<String> header;        //names of the fields of the first record, until it ends
+    private FieldBuffer firstRecord;    //fields of the first record, written after the header
 
     public CsvWriter(String filename, Charset charset) throws IOException {
         this(filename, charset, false);
@@ -43,74 +63,304 @@ public class CsvWriter extends OutputWriter {
     }
 
     public CsvWriter(String filename, Charset charset, boolean append, CSVFormat format) throws IOException {
+        this(filename, charset, append, format, false);
+    }
+
+    /**
+     * @param flatten Whether nested objects are flattened to columns instead of being written as JSON.
+     */
+    public CsvWriter(String filename, Charset charset, boolean append, CSVFormat format, boolean flatten)
+            throws IOException {
         this.filename = Objects.requireNonNull(filename);
-        Objects.requireNonNull(format);
+        this.format = Objects.requireNonNull(format);
         File file = new File(filename + EXTENSION_CSV);
         if (!file.exists() && file.toPath().getParent() != null) {
             Files.createDirectories(file.toPath().getParent());
         }
-        this.printer = new CSVPrinter(
-                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append), charset)), format);
-        this.gson = GsonSerializer.newGsonInstance();
+        this.csv = new CsvEncoder(Utf8Encoder.transcoding(new ChannelOutputStream(file, append), charset), format);
         this.printHeader = !(file.exists() && append);
+        this.flatten = flatten;
+        this.flushRecords = false;
     }
 
     public CsvWriter(Writer writer, CSVFormat format) throws IOException {
-        this.printer = new CSVPrinter(writer, format);
-        this.gson = GsonSerializer.newGsonInstance();
+        this(writer, format, false);
+    }
+
+    /**
+     * @param writer Writer the CSV is written to, each record is written when completed, so Writers can be shared.
+     * @param flatten Whether nested objects are flattened to columns instead of being written as JSON.
+     */
+    public CsvWriter(Writer writer, CSVFormat format, boolean flatten) throws IOException {
+        this.format = Objects.requireNonNull(format);
+        this.csv = new CsvEncoder(Utf8Encoder.transcoding(writer), format);
         this.printHeader = true;
+        this.flatten = flatten;
+        this.flushRecords = true;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     /*
      * Writes object to CSV file.
      * If object is instance of Map, the function automatically extracts the CSV header out of first written object.
      */
     public synchronized CsvWriter writeObject(Object entry) throws IOException {
-        if (entry instanceof Map) {
-            Map<Object, Object> map = (Map<Object, Object>) entry;
-            if (firstWrite && printHeader) {
-                writeRecord(map.keySet());     //add header
-                firstWrite = false;
-            }
-            writeRecord(map.values());
-        } else {    //entry is single object
-            if (firstWrite && printHeader) {
-                if (filename != null) {
-                    writeRecord(Collections.singletonList(new File(filename).getName()));   //add header
+        record(entry);
+        return this;
+    }
+
+    @Override
+    public void beginRecord() throws IOException {
+        depth = 0;
+        nestedDepth = -1;
+        objectRecord = false;
+        path.clear();
+        column = 0;
+        fields = csv;
+        if (firstWrite && printHeader) {    //header is printed before first record once its names are known
+            header = new ArrayList<>();
+            firstRecord = new FieldBuffer();
+            fields = new CsvEncoder(firstRecord, format.withHeaderComments((Object[]) null).withSkipHeaderRecord());
+        }
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        if (header != null) {
+            if (objectRecord) {
+                for (String field : header) {
+                    csv.string(field);
                 }
-                firstWrite = false;
+                csv.endRecord();
+            } else if (filename != null) {
+                csv.string(new File(filename).getName());
+                csv.endRecord();
             }
-            writeRecord(Collections.singletonList(entry));
+            fields.flushBuffer();
+            csv.raw(firstRecord.bytes(), 0, firstRecord.size());
+            header = null;
+            firstRecord = null;
         }
-        return this;
+        csv.endRecord();
+        if (flushRecords) {
+            csv.flushBuffer();
+        }
+        firstWrite = false;
     }
 
-    private void writeRecord(Iterable<Object> entry) throws IOException {
-        Objects.requireNonNull(entry);
-        for (Object value : entry) {
-            if (ClassUtils.isPrimitiveOrWrapper(value.getClass())) {     // value is primitive
-                printer.print(value);
-            } else {    //value is other Object like Date, Map, List, so serialize with Gson
-                String jsonValue = gson.toJson(value);
-                if (jsonValue.startsWith("\"") && jsonValue.endsWith("\"")) {
-                    jsonValue = jsonValue.substring(1, jsonValue.length() - 1);
-                }
-                printer.print(jsonValue);
+    @Override
+    public void beginObject() throws IOException {
+        if (nestedDepth < 0) {
+            if (depth == 0 && !objectRecord) {  //properties of the record are fields
+                objectRecord = true;
+                depth = 1;
+                return;
+            }
+            if (flatten && objectRecord) {      //properties of the object are fields
+                path.add(name);
+                depth++;
+                return;
+            }
+            beginNested();
+        }
+        depth++;
+        nested.beginObject();
+    }
+
+    @Override
+    public void name(String name) throws IOException {
+        if (nestedDepth < 0) {
+            this.name = name;
+        } else {
+            nested.name(name);
+        }
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        depth--;
+        if (nestedDepth >= 0) {
+            nested.endObject();
+            endNested();
+        } else if (depth > 0) {
+            path.remove(path.size() - 1);
+        }
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        if (nestedDepth < 0) {
+            beginNested();
+        }
+        depth++;
+        nested.beginArray();
+    }
+
+    @Override
+    public void endList() throws IOException {
+        depth--;
+        nested.endArray();
+        endNested();
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        if (nestedDepth >= 0) {
+            nested.value(value);
+        } else {
+            field();
+            if (value == null) {
+                fields.nullField();
+            } else {
+                fields.string(value);
             }
         }
-        printer.println();
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        value((long) value);
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        if (nestedDepth >= 0) {
+            nested.value(value);
+        } else {
+            field();
+            fields.number(value);
+        }
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        if (nestedDepth >= 0) {
+            nested.value(value);
+        } else {
+            field();
+            fields.number(value);
+        }
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        if (nestedDepth >= 0) {
+            nested.value(value);
+        } else {
+            field();
+            fields.other(value);
+        }
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        if (nestedDepth >= 0) {
+            nested.nullValue();
+        } else {
+            field();
+            fields.nullField();
+        }
+    }
+
+    @Override
+    public void otherValue(Object value) throws IOException {
+        if (nestedDepth >= 0) {
+            nested.otherValue(value);
+        } else {
+            columnEncoder(field(), value.getClass()).write(fields, value);
+        }
+    }
+
+    /*
+    Starts serializing an object or list field to JSON
+     */
+    private void beginNested() {
+        nestedDepth = depth;
+        nested.reset();
+    }
+
+    /*
+    Writes the JSON field once the object or list it started with ends
+     */
+    private void endNested() throws IOException {
+        if (depth == nestedDepth) {
+            nestedDepth = -1;
+            nested.flushBuffer();
+            field();
+            fields.json(nestedJson.bytes(), nestedJson.size());
+            nestedJson.reset();
+        }
+    }
+
+    /*
+    Adds name of current field to the header of the first record, returns its column
+     */
+    private int field() {
+        if (header != null && objectRecord) {
+            header.add(path.isEmpty() ? name : String.join(".", path) + "." + name);
+        }
+        return column++;
+    }
+
+    private ColumnEncoder columnEncoder(int column, Class<?> type) {
+        if (column >= columnTypes.length) {
+            columnTypes = Arrays.copyOf(columnTypes, column + 1);
+            columnEncoders = Arrays.copyOf(columnEncoders, column + 1);
+        }
+        if (columnTypes[column] != type) {
+            columnTypes[column] = type;
+            columnEncoders[column] = encoderOf(type);
+        }
+        return columnEncoders[column];
+    }
+
+    /*
+    Resolves encoder of fields of type, writing them like Gson serializes them without quotes
+     */
+    private ColumnEncoder encoderOf(Class<?> type) {
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return (csv, value) -> csv.number(((Number) value).longValue());
+        } else if (ClassUtils.isPrimitiveOrWrapper(type)) {
+            return CsvEncoder::other;
+        } else if (type == Date.class) {
+            return (csv, value) -> csv.string(GsonSerializer.formatDate((Date) value));
+        } else if (type == LocalDate.class) {
+            return (csv, value) -> csv.string(GsonSerializer.formatLocalDate((LocalDate) value));
+        } else if (type == LocalDateTime.class) {
+            return (csv, value) -> csv.string(GsonSerializer.formatLocalDateTime((LocalDateTime) value));
+        }
+        return (csv, value) -> csv.text(unquote(gson.toJson(value)));
+    }
+
+    private static String unquote(String json) {
+        if (json.startsWith("\"") && json.endsWith("\"")) {
+            return json.substring(1, json.length() - 1);
+        }
+        return json;
     }
 
     @Override
     public void flush() throws IOException {
-        printer.flush();
+        csv.flush();
     }
 
     @Override
     public void close() throws IOException {
-        printer.close(true);
+        csv.close();
+    }
+
+    @FunctionalInterface
+    private interface ColumnEncoder {
+        void write(CsvEncoder csv, Object value) throws IOException;
+    }
+
+    /*
+    Byte array stream whose bytes can be read without copying them
+     */
+    private static class FieldBuffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
     }
 
 }
@@ -0,0 +1,62 @@
+package ranger.cli.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stream that decodes UTF-8 bytes written to it and writes the chars to a Writer, so byte-oriented encoders can write
+ * to Writers and in other charsets. Bytes of a char split across writes are kept until the char is complete.
+ */
+class DecodingOutputStream extends OutputStream {
+
+    private final Writer writer;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final CharBuffer chars = CharBuffer.allocate(8192);
+    private final ByteBuffer incomplete = ByteBuffer.allocate(4);  //bytes of char split across writes
+
+    DecodingOutputStream(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(b, off, len);
+        if (incomplete.position() > 0) {
+            incomplete.flip();
+            bytes = ByteBuffer.allocate(incomplete.remaining() + len).put(incomplete).put(bytes);
+            bytes.flip();
+            incomplete.clear();
+        }
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, false);
+            if (result.isError()) {
+                result.throwException();
+            }
+            writer.write(chars.array(), 0, chars.position());
+            chars.clear();
+        } while (result.isOverflow());
+        incomplete.put(bytes);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -3,6 +3,7 @@ package ranger.cli.writer;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Writer designed to write multiple Objects into JSON file that can be imported via Elasticsearch's BULK API
@@ -10,7 +11,7 @@ import java.nio.charset.Charset;
  */
 public class ElasticJsonWriter extends JsonlWriter {
 
-    private final String indexName;
+    private final byte[] indexLine;    //bulk action preceding each record, encoded once
 
     public ElasticJsonWriter(String filename, Charset charset, String indexName) throws IOException {
         this(filename, charset, false, indexName);
@@ -18,18 +19,23 @@ public class ElasticJsonWriter extends JsonlWriter {
 
     public ElasticJsonWriter(String filename, Charset charset, boolean append, String indexName) throws IOException {
         super(filename, charset, append);
-        this.indexName = indexName;
+        this.indexLine = indexLine(indexName);
     }
 
     public ElasticJsonWriter(Writer writer, String indexName) {
         super(writer);
-        this.indexName = indexName;
+        this.indexLine = indexLine(indexName);
+    }
+
+    private static byte[] indexLine(String indexName) {
+        return ("{\"index\":{\"_index\":\"" + indexName + "\"}}" + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
-    public synchronized JsonlWriter writeObject(Object object) throws IOException {
-        writer.write("{\"index\":{\"_index\":\"" + indexName + "\"}}" + System.lineSeparator());
-        return super.writeObject(object);
+    public void beginRecord() throws IOException {
+        super.beginRecord();
+        json.raw(indexLine);
     }
 
 }
@@ -0,0 +1,201 @@
+package ranger.cli.writer;
+
+import com.google.gson.Gson;
+import ranger.util.GsonSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes JSON values straight to UTF-8 bytes in a reusable buffer, producing the same bytes as serializing them with
+ * Gson instances of {@link GsonSerializer} and encoding the result in UTF-8: properties with null values are left out
+ * and HTML characters are escaped. Values of other types are serialized by a serializer resolved once per class;
+ * types Gson serializes by reflection are serialized by Gson.
+ */
+final class JsonEncoder extends Utf8Encoder {
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    private final Gson gson;
+    private final Map<Class<?>, Serializer> serializers = new HashMap<>();
+    private boolean[] nonEmpty = new boolean[32];   //whether container at depth contains a value
+    private int depth;
+    private String deferredName;                    //written with the next value, dropped if value is null
+
+    /**
+     * @param out Stream the bytes are written to when the buffer is full or flushed.
+     * @param gson Gson instance serializing values of types without own serializer.
+     */
+    JsonEncoder(OutputStream out, Gson gson) {
+        super(out);
+        this.gson = gson;
+    }
+
+    /**
+     * Prepares encoder for the next top-level value, discarding state of a value that was not completed.
+     */
+    void reset() {
+        depth = 0;
+        deferredName = null;
+    }
+
+    void beginObject() throws IOException {
+        beforeValue();
+        put('{');
+        push();
+    }
+
+    void name(String name) {
+        deferredName = name;
+    }
+
+    void endObject() throws IOException {
+        depth--;
+        put('}');
+    }
+
+    void beginArray() throws IOException {
+        beforeValue();
+        put('[');
+        push();
+    }
+
+    void endArray() throws IOException {
+        depth--;
+        put(']');
+    }
+
+    void value(String value) throws IOException {
+        if (value == null) {
+            nullValue();
+            return;
+        }
+        beforeValue();
+        string(value);
+    }
+
+    void value(long value) throws IOException {
+        beforeValue();
+        digits(value);
+    }
+
+    void value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification.");
+        }
+        beforeValue();
+        encode(Double.toString(value), null, false);
+    }
+
+    void value(boolean value) throws IOException {
+        beforeValue();
+        raw(value ? TRUE : FALSE);
+    }
+
+    void nullValue() throws IOException {
+        if (deferredName != null) {     //properties with null values are left out
+            deferredName = null;
+            return;
+        }
+        beforeValue();
+        raw(NULL);
+    }
+
+    /**
+     * Encodes value of any type, like a date.
+     *
+     * @param value The value, not null.
+     */
+    void otherValue(Object value) throws IOException {
+        Serializer serializer = serializers.get(value.getClass());
+        if (serializer == null) {
+            serializer = serializerOf(value.getClass());
+            serializers.put(value.getClass(), serializer);
+        }
+        serializer.write(this, value);
+    }
+
+    private void beforeValue() throws IOException {
+        if (depth > 0) {
+            if (nonEmpty[depth]) {
+                put(',');
+            }
+            nonEmpty[depth] = true;
+        }
+        if (deferredName != null) {
+            string(deferredName);
+            put(':');
+            deferredName = null;
+        }
+    }
+
+    private void push() {
+        depth++;
+        if (depth == nonEmpty.length) {
+            nonEmpty = Arrays.copyOf(nonEmpty, depth * 2);
+        }
+        nonEmpty[depth] = false;
+    }
+
+    private void string(String value) throws IOException {
+        put('"');
+        encode(value, JSON_ESCAPES, true);
+        put('"');
+    }
+
+    /*
+    Resolves serializer of values of type, matching the type adapters Gson uses for them
+     */
+    private Serializer serializerOf(Class<?> type) {
+        if (type == String.class) {
+            return (encoder, value) -> encoder.value((String) value);
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return (encoder, value) -> encoder.value(((Number) value).longValue());
+        } else if (type == Double.class) {
+            return (encoder, value) -> encoder.value((double) (Double) value);
+        } else if (type == Float.class) {
+            return (encoder, value) -> {
+                float f = (Float) value;
+                if (Float.isNaN(f) || Float.isInfinite(f)) {
+                    throw new IllegalArgumentException(f + " is not a valid double value as per JSON specification.");
+                }
+                encoder.beforeValue();
+                encoder.encode(Float.toString(f), null, false);
+            };
+        } else if (type == BigDecimal.class || type == BigInteger.class) {
+            return (encoder, value) -> {
+                encoder.beforeValue();
+                encoder.encode(value.toString(), null, false);
+            };
+        } else if (type == Boolean.class) {
+            return (encoder, value) -> encoder.value((boolean) (Boolean) value);
+        } else if (type == Character.class) {
+            return (encoder, value) -> encoder.value(String.valueOf(value));
+        } else if (type == Date.class) {
+            return (encoder, value) -> encoder.value(GsonSerializer.formatDate((Date) value));
+        } else if (type == LocalDate.class) {
+            return (encoder, value) -> encoder.value(GsonSerializer.formatLocalDate((LocalDate) value));
+        } else if (type == LocalDateTime.class) {
+            return (encoder, value) -> encoder.value(GsonSerializer.formatLocalDateTime((LocalDateTime) value));
+        }
+        return (encoder, value) -> {    //Gson's JSON is escaped already
+            encoder.beforeValue();
+            encoder.encode(gson.toJson(value), null, false);
+        };
+    }
+
+    @FunctionalInterface
+    private interface Serializer {
+        void write(JsonEncoder encoder, Object value) throws IOException;
+    }
+}
@@ -1,15 +1,12 @@
 package ranger.cli.writer;
 
-import com.google.gson.Gson;
 import ranger.util.GsonSerializer;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
@@ -21,10 +18,12 @@ import static ranger.cli.Constants.EXTENSION_JSON;
  * Writer designed to write multiple Objects generated by ObjectGenerator into a JSON array in JSON file
  * It can append to existing JSON file by reading the existing JSON array and writing it's objects to file again.
  */
-public class JsonWriter extends OutputWriter {
+public class JsonWriter extends AbstractJsonWriter {
+
+    private static final byte[] ARRAY_START = ("[" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = ("," + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = (System.lineSeparator() + "]").getBytes(StandardCharsets.UTF_8);
 
-    private final Gson gson;
-    private final Writer writer;
     private boolean firstWrite = true;
 
     public JsonWriter(String filename, Charset charset) throws IOException {
@@ -32,64 +31,80 @@ public class JsonWriter extends OutputWriter {
     }
 
     public JsonWriter(String filename, Charset charset, boolean append) throws IOException {
+        this(createFile(filename), charset, append);
+    }
+
+    private JsonWriter(File file, Charset charset, boolean append) throws IOException {
+        this(file, charset, append ? readPreviousObjects(file) : null);
+    }
+
+    private JsonWriter(File file, Charset charset, List<?> previousObjects) throws IOException {
+        super(new ChannelOutputStream(file, false), charset);
+        if (previousObjects != null) {
+            this.writeObjects(previousObjects);
+        }
+    }
+
+    public JsonWriter(Writer writer) {
+        super(writer);
+    }
+
+    private static File createFile(String filename) throws IOException {
         Objects.requireNonNull(filename);
         File file = new File(filename + EXTENSION_JSON);
-        this.gson = GsonSerializer.newGsonInstance();
         if (!file.exists() && file.toPath().getParent() != null) {
             Files.createDirectories(file.toPath().getParent());
         }
-        if (file.exists() && append) {
-            StringBuilder sb = new StringBuilder();
-            try (Scanner sc = new Scanner(file)) {  //read file to String
-                while (sc.hasNextLine()) {
-                    sb.append(sc.nextLine());
-                    if (sc.hasNextLine()) {
-                        sb.append(System.lineSeparator());
-                    }
+        return file;
+    }
+
+    /*
+    Returns the objects of the JSON array in file, or null if file does not exist
+     */
+    private static List<?> readPreviousObjects(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        try (Scanner sc = new Scanner(file)) {  //read file to String
+            while (sc.hasNextLine()) {
+                sb.append(sc.nextLine());
+                if (sc.hasNextLine()) {
+                    sb.append(System.lineSeparator());
                 }
             }
-            String content = sb.toString();
-            Object parsed = gson.fromJson(content, Object.class);
-            if (!(parsed instanceof List)) {
-                throw new IOException("Could not append to existing file " + file.getAbsolutePath() +
-                        " because it is not correctly formatted. Please delete it first.");
-            }
-            List<?> previousObjects = (List<?>) parsed;
-            this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), charset));
-            this.writeObjects(previousObjects);
-        } else {
-            this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), charset));
         }
-    }
-
-    public JsonWriter(Writer writer) {
-        this.gson = GsonSerializer.newGsonInstance();
-        this.writer = writer;
+        String content = sb.toString();
+        Object parsed = GsonSerializer.newGsonInstance().fromJson(content, Object.class);
+        if (!(parsed instanceof List)) {
+            throw new IOException("Could not append to existing file " + file.getAbsolutePath() +
+                    " because it is not correctly formatted. Please delete it first.");
+        }
+        return (List<?>) parsed;
     }
 
     @Override
     public synchronized JsonWriter writeObject(Object object) throws IOException {
         Objects.requireNonNull(object);
-        if (firstWrite) {
-            writer.write("[" + System.lineSeparator());
-            writer.write(gson.toJson(object));
-            firstWrite = false;
-        } else {
-            writer.write(',' + System.lineSeparator());
-            writer.write(gson.toJson(object));
-        }
+        record(object);
         return this;
     }
 
     @Override
-    public void flush() throws IOException {
-        writer.flush();
+    public void beginRecord() throws IOException {
+        super.beginRecord();
+        if (firstWrite) {
+            json.raw(ARRAY_START);
+            firstWrite = false;
+        } else {
+            json.raw(SEPARATOR);
+        }
     }
 
     @Override
     public void close() throws IOException {
-        writer.write(System.lineSeparator() + "]");
-        writer.close();
+        json.raw(ARRAY_END);
+        super.close();
     }
 
 
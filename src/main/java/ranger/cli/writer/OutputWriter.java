@@ -1,12 +1,29 @@
 package ranger.cli.writer;
 
 import org.apache.commons.lang3.NotImplementedException;
+import ranger.core.RecordSink;
 
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-public abstract class OutputWriter implements Closeable, Flushable {
+/**
+ * Writes generated objects to an output. Objects are either passed to {@link #writeObject(Object)} or pushed as
+ * records through the {@link RecordSink} methods. Writers override either of them: by default, pushed records are
+ * assembled to Maps and Lists and passed to writeObject, writers that serialize pushed records directly override the
+ * RecordSink methods and write objects by pushing them (see {@link RecordSink#record(Object)}).
+ */
+public abstract class OutputWriter implements RecordSink, Closeable, Flushable {
+
+    private final Deque<Object> containers = new ArrayDeque<>();   //Maps and Lists of the assembled record
+    private Object record;
+    private String name;
 
     public synchronized OutputWriter writeObject(Object o) throws IOException {
         throw new NotImplementedException("not implemented");
@@ -23,4 +40,91 @@ public abstract class OutputWriter implements Closeable, Flushable {
 
     public abstract void close() throws IOException;
 
+    @Override
+    public void beginRecord() throws IOException {
+        containers.clear();
+        record = null;
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        writeObject(record);
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        add(map);
+        containers.push(map);
+    }
+
+    @Override
+    public void name(String name) throws IOException {
+        this.name = name;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        containers.pop();
+    }
+
+    @Override
+    public void beginList() throws IOException {
+        List<Object> list = new ArrayList<>();
+        add(list);
+        containers.push(list);
+    }
+
+    @Override
+    public void endList() throws IOException {
+        containers.pop();
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        add(value);
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        add(value);
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        add(value);
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        add(value);
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        add(value);
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        add(null);
+    }
+
+    @Override
+    public void otherValue(Object value) throws IOException {
+        add(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(Object value) {
+        Object container = containers.peek();
+        if (container == null) {
+            record = value;
+        } else if (container instanceof Map) {
+            ((Map<String, Object>) container).put(name, value);
+        } else {
+            ((List<Object>) container).add(value);
+        }
+    }
+
 }
@@ -21,8 +21,8 @@ public class OutputWriterFactory {
      * in the given output format.
      */
     public static List<OutputWriter> produceWriters(List<String> fileNames, File outputDir, OutputFormat format,
-                                                    Charset charset, Character csvDelimiter, String elasticsearchIndex)
-            throws IOException {
+                                                    Charset charset, Character csvDelimiter, boolean csvFlatten,
+                                                    String elasticsearchIndex) throws IOException {
         List<OutputWriter> writers = new ArrayList<>();
         for (String fileName : fileNames) {
             fileName = new File(outputDir, fileName).getPath();
@@ -41,7 +41,7 @@ public class OutputWriterFactory {
                     if (csvDelimiter != null) {
                         csvFormat = csvFormat.withDelimiter(csvDelimiter);
                     }
-                    writers.add(new CsvWriter(fileName, charset, false, csvFormat));
+                    writers.add(new CsvWriter(fileName, charset, false, csvFormat, csvFlatten));
                     break;
             }
         }
@@ -52,8 +52,8 @@ public class OutputWriterFactory {
      * Produce OutputWriters that write the output to given Writer in given output format.
      */
     public static List<OutputWriter> produceWriters(List<String> fileNames, Writer writer, OutputFormat format,
-                                                    Character csvDelimiter, String elasticsearchIndex)
-            throws IOException {
+                                                    Character csvDelimiter, boolean csvFlatten,
+                                                    String elasticsearchIndex) throws IOException {
         List<OutputWriter> writers = new ArrayList<>();
         for (String ignored : fileNames) {
             switch (format) {
@@ -71,7 +71,7 @@ public class OutputWriterFactory {
                     if (csvDelimiter != null) {
                         csvFormat = csvFormat.withDelimiter(csvDelimiter);
                     }
-                    writers.add(new CsvWriter(writer, csvFormat));
+                    writers.add(new CsvWriter(writer, csvFormat, csvFlatten));
                     break;
             }
         }
@@ -79,14 +79,15 @@ public class OutputWriterFactory {
     }
 
     public static List<OutputWriter> produceWriters(List<String> fileNames, File outputDir, OutputFormat format,
-                                                    Character csvDelimiter, String elasticsearchIndex,
-                                                    Constants.Encoding encoding, boolean dryRun) throws IOException {
+                                                    Character csvDelimiter, boolean csvFlatten,
+                                                    String elasticsearchIndex, Constants.Encoding encoding,
+                                                    boolean dryRun) throws IOException {
         if (dryRun) {   // on dry run write output to console instead of file
             Writer console = new OutputStreamWriter(System.out);
-            return produceWriters(fileNames, console, format, csvDelimiter, elasticsearchIndex);
+            return produceWriters(fileNames, console, format, csvDelimiter, csvFlatten, elasticsearchIndex);
         } else {
             return produceWriters(fileNames, outputDir, format, encoding.getCharset(),
-                    csvDelimiter, elasticsearchIndex);
+                    csvDelimiter, csvFlatten, elasticsearchIndex);
         }
     }
 
@@ -0,0 +1,225 @@
+package ranger.cli.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base of encoders that write text as UTF-8 bytes into a reusable buffer, which is written to the stream when full or
+ * flushed. Strings are encoded with a table of escape sequences for ASCII characters: runs of ASCII characters that
+ * need no escaping are copied without further checks.
+ * An encoder must not be used by several threads at once.
+ */
+abstract class Utf8Encoder {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_CHAR_BYTES = 6;    //longest escape sequence
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] LINE_SEPARATOR_ESCAPE = ascii("\\u2028");
+    private static final byte[] PARAGRAPH_SEPARATOR_ESCAPE = ascii("\\u2029");
+
+    /**
+     * Escape sequences of ASCII characters in JSON strings as written by Gson, HTML characters included.
+     */
+    static final byte[][] JSON_ESCAPES = new byte[128][];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            JSON_ESCAPES[c] = ascii(String.format("\\u%04x", c));
+        }
+        JSON_ESCAPES['"'] = ascii("\\\"");
+        JSON_ESCAPES['\\'] = ascii("\\\\");
+        JSON_ESCAPES['\t'] = ascii("\\t");
+        JSON_ESCAPES['\b'] = ascii("\\b");
+        JSON_ESCAPES['\n'] = ascii("\\n");
+        JSON_ESCAPES['\r'] = ascii("\\r");
+        JSON_ESCAPES['\f'] = ascii("\\f");
+        for (char c : new char[]{'<', '>', '&', '=', '\''}) {  //HTML characters
+            JSON_ESCAPES[c] = ascii(String.format("\\u%04x", (int) c));
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    /**
+     * @param out Stream the bytes are written to when the buffer is full or flushed.
+     */
+    Utf8Encoder(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @return Stream that writes the UTF-8 bytes written to it to <code>out</code> in <code>charset</code>.
+     */
+    static OutputStream transcoding(OutputStream out, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return out;
+        } else if (StandardCharsets.US_ASCII.equals(charset)) {
+            return new AsciiOutputStream(out);
+        }
+        return new DecodingOutputStream(new OutputStreamWriter(out, charset));
+    }
+
+    /**
+     * @return Stream that writes the UTF-8 bytes written to it to <code>writer</code>.
+     */
+    static OutputStream transcoding(Writer writer) {
+        return new DecodingOutputStream(writer);
+    }
+
+    /**
+     * @return Whether JSON strings escape character <code>c</code>.
+     */
+    static boolean isJsonEscaped(char c) {
+        return c < 0x80 ? JSON_ESCAPES[c] != null : c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Appends bytes as they are, like separators between records.
+     */
+    void raw(byte[] bytes) throws IOException {
+        raw(bytes, 0, bytes.length);
+    }
+
+    void raw(byte[] bytes, int offset, int length) throws IOException {
+        ensure(length);
+        if (length > buffer.length) {
+            out.write(bytes, offset, length);
+            return;
+        }
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Writes buffered bytes to the stream, without flushing the stream.
+     */
+    void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    void close() throws IOException {
+        flushBuffer();
+        out.close();
+    }
+
+    /**
+     * Appends ASCII character.
+     */
+    void put(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    /**
+     * Appends decimal digits of value.
+     */
+    void digits(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            raw(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        for (int p = position + digits - 1; p >= position; p--) {
+            buffer[p] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Encodes chars of value in UTF-8. Unpaired surrogates are replaced by '?', like Java's UTF-8 encoder does.
+     *
+     * @param escapes Escape sequence of each ASCII character, null for characters written as they are. Null to write
+     *                all ASCII characters as they are.
+     * @param escapeSeparators Whether line and paragraph separators are escaped like in JSON.
+     */
+    void encode(String value, byte[][] escapes, boolean escapeSeparators) throws IOException {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            ensure(2 * MAX_CHAR_BYTES);
+            int end = Math.min(length, i + buffer.length - position - MAX_CHAR_BYTES);
+            char c = 0;
+            while (i < end) {       //fast path for ASCII that needs no escaping
+                c = value.charAt(i);
+                if (c >= 0x80 || escapes != null && escapes[c] != null) {
+                    break;
+                }
+                buffer[position++] = (byte) c;
+                i++;
+            }
+            if (i == end) {
+                continue;
+            }
+            i++;
+            if (c < 0x80) {
+                put(escapes[c]);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(value.charAt(i))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(i++));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    buffer[position++] = '?';
+                }
+            } else if (escapeSeparators && c == '\u2028') {
+                put(LINE_SEPARATOR_ESCAPE);
+            } else if (escapeSeparators && c == '\u2029') {
+                put(PARAGRAPH_SEPARATOR_ESCAPE);
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    static byte[] ascii(String value) {
+        byte[] bytes = new byte[value.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) value.charAt(i);
+        }
+        return bytes;
+    }
+
+    /*
+    Copies bytes that fit into the buffer
+     */
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+}
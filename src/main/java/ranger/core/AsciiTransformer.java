@@ -2,6 +2,7 @@ package ranger.core;
 
 
 import java.text.Normalizer;
+import java.util.function.Consumer;
 
 /**
  * Replaces all non ASCII characters like accents with their ASCII representation.
@@ -35,6 +36,11 @@ public class AsciiTransformer extends Transformer<String>{
         stringValue.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(stringValue);
+    }
+
     @Override
     protected void eval() {
         String string = stringValue.get();
@@ -1,5 +1,7 @@
 package ranger.core;
 
+import java.util.function.Consumer;
+
 
 /**
  * Creates a String with specified case from source String.
@@ -37,6 +39,11 @@ public class CaseTransformer extends Transformer<String>{
         stringValue.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(stringValue);
+    }
+
     @Override
     protected void eval() {
         String string = stringValue.get();
@@ -18,6 +18,8 @@ public abstract class CircularRangeValue<T extends Comparable<T>> extends Value<
      */
     protected final T increment;
 
+    private boolean started;
+
     /**
      * Constructs circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -43,8 +45,6 @@ public abstract class CircularRangeValue<T extends Comparable<T>> extends Value<
         }
         this.range = range;
         this.increment = increment;
-        this.val = range.getBeginning();
-        this.evaluated = true;
         if (isIncrementGreaterThanRangeSize()) {
             throw new ValueException("Range size must be greater than increment.");
         }
@@ -57,13 +57,37 @@ public abstract class CircularRangeValue<T extends Comparable<T>> extends Value<
         super(source);
         this.range = source.range;
         this.increment = source.increment;
+        this.started = source.started;
+    }
+
+    @Override
+    protected void seek(long index) {
+        moveTo(Math.floorMod(index - 1, cycleLength()));  //eval advances to index
+        started = true;
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return true;
     }
 
     @Override
     protected abstract CircularRangeValue<T> clone();
 
     @Override
-    protected void eval() {
+    protected final void eval() {
+        if (started) {
+            advance();
+        } else {    //first value is the beginning, whether or not the hierarchy was invalidated before
+            moveTo(0);
+            started = true;
+        }
+    }
+
+    /**
+     * Sets current value to the value following it, or to the beginning at the end of the range.
+     */
+    protected void advance() {
         T nextValue = peekNextValue();
         if (isValueInBounds(nextValue)) {
             val = nextValue;
@@ -91,6 +115,20 @@ public abstract class CircularRangeValue<T extends Comparable<T>> extends Value<
      */
     protected abstract boolean isIncrementGreaterThanRangeSize();
 
+    /**
+     * Returns number of values generated before starting over from the beginning.
+     *
+     * @return Number of values within range.
+     */
+    protected abstract long cycleLength();
+
+    /**
+     * Sets current value to value at specified <code>position</code> within range.
+     *
+     * @param position Number of increments from the beginning, less than {@link #cycleLength()}.
+     */
+    protected abstract void moveTo(long position);
+
     /**
      * Returns next value without changing state of <code>currentValue</code>.
      *
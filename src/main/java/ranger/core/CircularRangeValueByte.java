@@ -37,6 +37,16 @@ public class CircularRangeValueByte extends CircularRangeValue<Byte> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (range.getEnd() - range.getBeginning()) / increment + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        val = (byte) (range.getBeginning() + position * increment);
+    }
+
     @Override
     protected Byte peekNextValue() {
         return (byte) (val + increment);
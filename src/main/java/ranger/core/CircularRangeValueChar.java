@@ -47,6 +47,16 @@ public class CircularRangeValueChar extends CircularRangeValue<Character> {
         return Math.abs(range.getEnd() - range.getBeginning()) < Math.abs(intIncrement);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (range.getEnd() - range.getBeginning()) / intIncrement + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        val = (char) (range.getBeginning() + position * intIncrement);
+    }
+
     @Override
     protected Character peekNextValue() {
         int nextUnicode = (int) val + intIncrement;
@@ -50,6 +50,16 @@ public class CircularRangeValueDate extends CircularRangeValue<Date> {
         return Math.abs(range.getEnd().getTime()-range.getBeginning().getTime())/DAY_IN_MS < Math.abs(intIncrement);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (range.getEnd().getTime() - range.getBeginning().getTime()) / (intIncrement * DAY_IN_MS) + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        val = new Date(range.getBeginning().getTime() + position * intIncrement * DAY_IN_MS);
+    }
+
     @Override
     protected Date peekNextValue() {
         return new Date(val.getTime() + intIncrement*DAY_IN_MS);
@@ -1,10 +1,17 @@
 package ranger.core;
 
+import java.io.IOException;
+
 /**
  * Circular range value for double type.
  */
 public class CircularRangeValueDouble extends CircularRangeValue<Double> {
 
+    private final double beginning;
+    private final double end;
+    private final double step;
+    private double doubleVal;
+
     /**
      * Constructs double circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -13,6 +20,10 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
      */
     public CircularRangeValueDouble(Range<Double> range, Double increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.step = increment;
+        this.doubleVal = beginning;
     }
 
     /*
@@ -20,6 +31,10 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
      */
     private CircularRangeValueDouble(CircularRangeValueDouble source) {
         super(source);
+        this.beginning = source.beginning;
+        this.end = source.end;
+        this.step = source.step;
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -27,6 +42,59 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
         return new CircularRangeValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        double[] doubles = column.allocateDoubles();
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = getDouble();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
+    @Override
+    protected void advance() {
+        double next = doubleVal + step;
+        boolean inBounds = step > 0 ? next <= end : next >= end;
+        doubleVal = inBounds ? next : beginning;
+        val = null;
+    }
+
     @Override
     protected Double zero() {
         return 0d;
@@ -37,8 +105,19 @@ public class CircularRangeValueDouble extends CircularRangeValue<Double> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (long) ((end - beginning) / step) + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        doubleVal = beginning + position * step;
+        val = null;
+    }
+
     @Override
     protected Double peekNextValue() {
-        return val + increment;
+        return doubleVal + step;
     }
 }
@@ -37,6 +37,16 @@ public class CircularRangeValueFloat extends CircularRangeValue<Float> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (long) ((range.getEnd() - range.getBeginning()) / increment) + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        val = range.getBeginning() + position * increment;
+    }
+
     @Override
     protected Float peekNextValue() {
         return val + increment;
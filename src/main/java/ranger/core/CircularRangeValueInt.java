@@ -1,10 +1,17 @@
 package ranger.core;
 
+import java.io.IOException;
+
 /**
  * Circular range value for int type.
  */
 public class CircularRangeValueInt extends CircularRangeValue<Integer> {
 
+    private final int beginning;
+    private final int end;
+    private final int step;
+    private int intVal;
+
     /**
      * Constructs int circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -13,6 +20,10 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
      */
     public CircularRangeValueInt(Range<Integer> range, Integer increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.step = increment;
+        this.intVal = beginning;
     }
 
     /*
@@ -20,6 +31,10 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
      */
     private CircularRangeValueInt(CircularRangeValueInt source) {
         super(source);
+        this.beginning = source.beginning;
+        this.end = source.end;
+        this.step = source.step;
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -27,6 +42,59 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
         return new CircularRangeValueInt(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        int[] ints = column.allocateInts();
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = getInt();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
+    @Override
+    protected void advance() {
+        int next = intVal + step;
+        boolean inBounds = step > 0 ? next <= end : next >= end;
+        intVal = inBounds ? next : beginning;
+        val = null;
+    }
+
     @Override
     protected Integer zero() {
         return 0;
@@ -37,8 +105,19 @@ public class CircularRangeValueInt extends CircularRangeValue<Integer> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (end - (long) beginning) / step + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        intVal = (int) (beginning + position * step);
+        val = null;
+    }
+
     @Override
     protected Integer peekNextValue() {
-        return val + increment;
+        return intVal + step;
     }
 }
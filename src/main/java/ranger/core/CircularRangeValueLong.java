@@ -1,10 +1,17 @@
 package ranger.core;
 
+import java.io.IOException;
+
 /**
  * Circular range value for long type.
  */
 public class CircularRangeValueLong extends CircularRangeValue<Long> {
 
+    private final long beginning;
+    private final long end;
+    private final long step;
+    private long longVal;
+
     /**
      * Constructs long circular range value with specified <code>range</code> and <code>increment</code>.
      *
@@ -13,6 +20,10 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
      */
     public CircularRangeValueLong(Range<Long> range, Long increment) {
         super(range, increment);
+        this.beginning = range.getBeginning();
+        this.end = range.getEnd();
+        this.step = increment;
+        this.longVal = beginning;
     }
 
     /*
@@ -20,6 +31,10 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
      */
     private CircularRangeValueLong(CircularRangeValueLong source) {
         super(source);
+        this.beginning = source.beginning;
+        this.end = source.end;
+        this.step = source.step;
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -27,6 +42,59 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
         return new CircularRangeValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        long[] longs = column.allocateLongs();
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = getLong();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
+    @Override
+    protected void advance() {
+        long next = longVal + step;
+        boolean inBounds = step > 0 ? next <= end : next >= end;
+        longVal = inBounds ? next : beginning;
+        val = null;
+    }
+
     @Override
     protected Long zero() {
         return 0L;
@@ -37,8 +105,19 @@ public class CircularRangeValueLong extends CircularRangeValue<Long> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (end - beginning) / step + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        longVal = beginning + position * step;
+        val = null;
+    }
+
     @Override
     protected Long peekNextValue() {
-        return val + increment;
+        return longVal + step;
     }
 }
@@ -37,6 +37,16 @@ public class CircularRangeValueShort extends CircularRangeValue<Short> {
         return Math.abs(range.getBeginning() - range.getEnd()) < Math.abs(increment);
     }
 
+    @Override
+    protected long cycleLength() {
+        return (range.getEnd() - range.getBeginning()) / increment + 1;
+    }
+
+    @Override
+    protected void moveTo(long position) {
+        val = (short) (range.getBeginning() + position * increment);
+    }
+
     @Override
     protected Short peekNextValue() {
         return (short) (val + increment);
@@ -2,6 +2,7 @@ package ranger.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Returns values in order specified within <code>values</code> parameter. When end is reached, it starts over from the
@@ -52,6 +53,26 @@ public class CircularValue<T> extends Value<T> implements Switchable<T> {
         values.get(nextIndex()).reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.forEach(action);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return false;   //only the chosen value is evaluated
+    }
+
+    @Override
+    protected void seek(long index) {
+        currentIndex = (int) Math.floorMod(index - 1, (long) values.size());  //eval advances to index
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return true;
+    }
+
     @Override
     protected CircularValue<T> clone() {
         return new CircularValue<>(this);
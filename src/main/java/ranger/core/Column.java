@@ -0,0 +1,219 @@
+package ranger.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Column vector holding values of one property for a whole {@link ColumnBatch}. Numeric values filled natively are
+ * stored in primitive arrays, Strings in a String array and all other objects in an Object array.
+ */
+public final class Column {
+
+    /**
+     * Type of array a column stores its values in.
+     */
+    public enum Type {
+        INT, LONG, DOUBLE, STRING, OBJECT
+    }
+
+    private final String name;
+    private final int size;
+    private final BitSet nulls;
+    private Type type;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private String[] strings;
+    private Object[] objects;
+
+    /**
+     * Constructs empty column with specified <code>name</code> and number of rows.
+     *
+     * @param name Name of the column.
+     * @param size Number of rows.
+     */
+    Column(String name, int size) {
+        this.name = name;
+        this.size = size;
+        this.nulls = new BitSet(size);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Values of {@link Type#INT} column.
+     * @throws ValueException if column is of other type
+     */
+    public int[] getInts() {
+        checkType(Type.INT);
+        return ints;
+    }
+
+    /**
+     * @return Values of {@link Type#LONG} column.
+     * @throws ValueException if column is of other type
+     */
+    public long[] getLongs() {
+        checkType(Type.LONG);
+        return longs;
+    }
+
+    /**
+     * @return Values of {@link Type#DOUBLE} column.
+     * @throws ValueException if column is of other type
+     */
+    public double[] getDoubles() {
+        checkType(Type.DOUBLE);
+        return doubles;
+    }
+
+    /**
+     * @return Values of {@link Type#STRING} column.
+     * @throws ValueException if column is of other type
+     */
+    public String[] getStrings() {
+        checkType(Type.STRING);
+        return strings;
+    }
+
+    /**
+     * @return Values of {@link Type#OBJECT} column.
+     * @throws ValueException if column is of other type
+     */
+    public Object[] getObjects() {
+        checkType(Type.OBJECT);
+        return objects;
+    }
+
+    /**
+     * Returns value of specified <code>row</code>, boxing primitive values.
+     *
+     * @param row Index of the row.
+     * @return Value of the row.
+     */
+    public Object get(int row) {
+        switch (type) {
+            case INT: return ints[row];
+            case LONG: return longs[row];
+            case DOUBLE: return doubles[row];
+            case STRING: return strings[row];
+            default: return objects[row];
+        }
+    }
+
+    /**
+     * @param row Index of the row.
+     * @return true if value of the row is null, false otherwise.
+     */
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * @return Copy of the null bitmap, bit of each row with null value is set.
+     */
+    public BitSet getNulls() {
+        return (BitSet) nulls.clone();
+    }
+
+    /**
+     * Allocates values of {@link Type#INT} column, to be filled by a value.
+     *
+     * @return Array to fill.
+     */
+    public int[] allocateInts() {
+        allocate(Type.INT);
+        ints = new int[size];
+        return ints;
+    }
+
+    /**
+     * Allocates values of {@link Type#LONG} column, to be filled by a value.
+     *
+     * @return Array to fill.
+     */
+    public long[] allocateLongs() {
+        allocate(Type.LONG);
+        longs = new long[size];
+        return longs;
+    }
+
+    /**
+     * Allocates values of {@link Type#DOUBLE} column, to be filled by a value.
+     *
+     * @return Array to fill.
+     */
+    public double[] allocateDoubles() {
+        allocate(Type.DOUBLE);
+        doubles = new double[size];
+        return doubles;
+    }
+
+    /**
+     * Sets value of specified <code>row</code>. Column becomes {@link Type#STRING} column if first non-null value is a
+     * String and is widened to {@link Type#OBJECT} column as soon as a value is not a String.
+     *
+     * @param row Index of the row.
+     * @param value Value of the row.
+     * @throws ValueException if column is a primitive column
+     */
+    public void set(int row, Object value) {
+        if (value == null) {
+            nulls.set(row);
+            return;
+        }
+        if (type == null) {
+            if (value instanceof String) {
+                allocate(Type.STRING);
+                strings = new String[size];
+            } else {
+                allocate(Type.OBJECT);
+                objects = new Object[size];
+            }
+        }
+        if (type == Type.STRING) {
+            if (value instanceof String) {
+                strings[row] = (String) value;
+                return;
+            }
+            objects = Arrays.copyOf(strings, size, Object[].class);
+            strings = null;
+            type = Type.OBJECT;
+        }
+        if (type != Type.OBJECT) { throw new ValueException(String.format("Column '%s' of type %s cannot hold value: %s", name, type, value)); }
+        objects[row] = value;
+    }
+
+    /**
+     * Completes column after all rows are filled, columns containing only null values become {@link Type#OBJECT}
+     * columns.
+     */
+    void complete() {
+        if (type == null) {
+            type = Type.OBJECT;
+            objects = new Object[size];
+        }
+    }
+
+    private void allocate(Type type) {
+        if (this.type != null) { throw new ValueException(String.format("Column '%s' is already filled", name)); }
+        this.type = type;
+    }
+
+    private void checkType(Type type) {
+        if (this.type != type) { throw new ValueException(String.format("Column '%s' is of type %s, not %s", name, this.type, type)); }
+    }
+}
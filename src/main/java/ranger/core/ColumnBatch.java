@@ -0,0 +1,213 @@
+package ranger.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of generated objects stored column by column, one {@link Column} per property of the generated maps.
+ */
+public final class ColumnBatch {
+
+    private final int size;
+    private final Map<String, Column> columns;
+
+    private ColumnBatch(int size, Map<String, Column> columns) {
+        this.size = size;
+        this.columns = Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Columns by property name, in order of properties.
+     */
+    public Map<String, Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns column of specified <code>property</code>.
+     *
+     * @param property Name of the property.
+     * @return Column of the property.
+     * @throws ValueException if there is no such property
+     */
+    public Column getColumn(String property) {
+        Column column = columns.get(property);
+        if (column == null) { throw new ValueException("No column for property: " + property); }
+        return column;
+    }
+
+    /**
+     * Materializes specified <code>row</code> as map, the way the object would have been generated one at a time.
+     *
+     * @param row Index of the row.
+     * @return Map with property values of the row.
+     */
+    public Map<String, Object> getRow(int row) {
+        Map<String, Object> values = new LinkedHashMap<>(columns.size());
+        columns.forEach((name, column) -> values.put(name, column.get(row)));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Generates <code>size</code> objects of <code>root</code> into columns. Columns whose values are not read by any
+     * other column are filled by their values at once (see {@link Value#fill(Column)} and
+     * {@link Composite#fill(Map)}), all other columns are filled row by row, advancing the plan's epoch after each row.
+     * Values drawing random numbers (see {@link Value#drawsRandom()}) are only filled at once if no other value of
+     * the batch draws, so the batch holds the same objects as generating them one by one.
+     *
+     * @param root Composite value whose properties become columns.
+     * @param plan Evaluation plan of <code>root</code>.
+     * @param size Number of rows.
+     * @return Generated batch.
+     * @throws ValueException if root is not a composite value
+     */
+    public static ColumnBatch generate(Value<?> root, EvaluationPlan plan, int size) {
+        return generate(root, plan, size, false, 0, 0);
+    }
+
+    /**
+     * Generates <code>size</code> objects of <code>root</code> into columns like {@link #generate(Value,
+     * EvaluationPlan, int)}, each row being the object at its index of the sequence determined by <code>seed</code>
+     * (see {@link EvaluationPlan#seek(long, long)}). Columns of values drawing random numbers are filled row by row.
+     *
+     * @param root Composite value whose properties become columns.
+     * @param plan Evaluation plan of <code>root</code>.
+     * @param size Number of rows.
+     * @param seed Seed of the sequence.
+     * @param first Index of the object of the first row.
+     * @return Generated batch.
+     * @throws ValueException if root is not a composite value
+     */
+    public static ColumnBatch generate(Value<?> root, EvaluationPlan plan, int size, long seed, long first) {
+        return generate(root, plan, size, true, seed, first);
+    }
+
+    private static ColumnBatch generate(Value<?> root, EvaluationPlan plan, int size, boolean seeded, long seed,
+                                        long first) {
+        if (!(root instanceof Composite)) { throw new ValueException("Only composite values can be generated into columns"); }
+        Map<String, Value<?>> properties = ((Composite<?>) root).getValues();
+        Map<String, Column> columns = new LinkedHashMap<>(properties.size());
+        properties.keySet().forEach(name -> columns.put(name, new Column(name, size)));
+
+        // count in how many columns each value occurs
+        Map<String, Value<?>[]> subtrees = new LinkedHashMap<>(properties.size());
+        Map<Value<?>, Integer> occurrences = new IdentityHashMap<>();
+        properties.forEach((name, value) -> {
+            Value<?>[] subtree = EvaluationPlan.order(value);
+            subtrees.put(name, subtree);
+            for (Value<?> v : subtree) {
+                occurrences.merge(v, 1, Integer::sum);
+            }
+        });
+        // draws of a single value are in the same order whether filled at once or row by row
+        // seeded rows reseed the random generator, native fills would not
+        boolean randomFilled = !seeded && occurrences.keySet().stream().filter(Value::drawsRandom).count() <= 1;
+        if (seeded) {
+            plan.seek(seed, first);     //native fills continue from the first row
+        }
+
+        List<String> rowByRow = new ArrayList<>();
+        Map<Composite<?>, Map<String, Column>> groups = new IdentityHashMap<>();
+        for (String name : properties.keySet()) {
+            Value<?>[] subtree = subtrees.get(name);
+            Composite<?> source = groupSource(properties.get(name), subtree);
+            if (!randomFilled && drawsRandom(subtree)) {
+                rowByRow.add(name);
+            } else if (source != null && isExclusive(subtree, source, occurrences)) {
+                groups.computeIfAbsent(source, s -> new LinkedHashMap<>()).put(name, columns.get(name));
+            } else if (!isExclusive(subtree, null, occurrences) || !properties.get(name).fill(columns.get(name))) {
+                rowByRow.add(name);
+            }
+        }
+        groups.forEach((source, group) -> {
+            // source may also be read by other columns, or not fill a group of its sub values at once
+            if (occurrences.get(source) != group.size() || !source.fill(resolveKeys(source, group, properties))) {
+                rowByRow.addAll(group.keySet());
+            }
+        });
+
+        if (!rowByRow.isEmpty()) {
+            Value<?>[] values = rowByRow.stream().map(properties::get).toArray(Value<?>[]::new);
+            Column[] targets = rowByRow.stream().map(columns::get).toArray(Column[]::new);
+            for (int row = 0; row < size; row++) {
+                if (seeded && row > 0) {
+                    plan.seek(seed, first + row);
+                }
+                for (int i = 0; i < values.length; i++) {
+                    targets[i].set(row, values[i].get());
+                }
+                plan.invalidate();
+            }
+        }
+        plan.invalidate();
+        columns.values().forEach(Column::complete);
+        return new ColumnBatch(size, columns);
+    }
+
+    /**
+     * Returns composite the value of a column is read from if the value only forwards one sub value of that
+     * composite, like a column of a CSV file.
+     */
+    private static Composite<?> groupSource(Value<?> value, Value<?>[] subtree) {
+        Value<?> target = value;
+        int proxies = 0;
+        while (target instanceof ValueProxy) {
+            target = ((ValueProxy<?>) target).getDelegate();
+            proxies++;
+        }
+        // subtree holds source, target and proxies only, source is visited first
+        if (subtree.length != proxies + 2 || !(subtree[0] instanceof Composite)) { return null; }
+        Composite<?> source = (Composite<?>) subtree[0];
+        Value<?> forwarded = target;
+        return source.values.values().stream().anyMatch(v -> v == forwarded) ? source : null;
+    }
+
+    private static boolean drawsRandom(Value<?>[] subtree) {
+        for (Value<?> value : subtree) {
+            if (value.drawsRandom()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExclusive(Value<?>[] subtree, Value<?> except, Map<Value<?>, Integer> occurrences) {
+        for (Value<?> value : subtree) {
+            if (value != except && !value.isConstant() && occurrences.get(value) > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps columns of group from property names to keys of the sub values they forward.
+     */
+    private static Map<String, Column> resolveKeys(Composite<?> source, Map<String, Column> group, Map<String, Value<?>> properties) {
+        Map<String, Column> byKey = new LinkedHashMap<>(group.size());
+        group.forEach((name, column) -> {
+            Value<?> target = properties.get(name);
+            while (target instanceof ValueProxy) {
+                target = ((ValueProxy<?>) target).getDelegate();
+            }
+            for (Map.Entry<String, Value<?>> entry : source.values.entrySet()) {
+                if (entry.getValue() == target) {
+                    byKey.put(entry.getKey(), column);
+                    break;
+                }
+            }
+        });
+        return byKey;
+    }
+}
@@ -0,0 +1,69 @@
+package ranger.core;
+
+import org.slf4j.helpers.MessageFormatter;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Consumer;
+
+/**
+ * Base class of value classes generated by {@link ValueCompiler}. Generated subclass implements {@link #assemble()}
+ * with the whole object construction of the source value hierarchy unrolled into a single method.
+ *
+ * @param <T> Type this value would evaluate to.
+ */
+abstract class CompiledValue<T> extends Value<T> {
+
+    private final Value<T> source;
+    private final MethodHandle constructor;
+
+    protected CompiledValue(Value<T> source, MethodHandle constructor) {
+        this.source = source;
+        this.constructor = constructor;
+    }
+
+    /**
+     * @return Value hierarchy this value was compiled from.
+     */
+    Value<T> getSource() {
+        return source;
+    }
+
+    /**
+     * Evaluates the source value hierarchy.
+     *
+     * @return Evaluated object.
+     */
+    protected abstract Object assemble();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void eval() {
+        val = (T) assemble();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        source.reset();
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(source);
+    }
+
+    @Override
+    protected CompiledValue<T> clone() {
+        return ValueCompiler.instantiate(constructor, source.getClone());
+    }
+
+    /**
+     * Appends argument of a string template the same way {@link StringTransformer} does.
+     */
+    protected static StringBuilder appendArgument(StringBuilder builder, Object argument) {
+        if (argument != null && argument.getClass().isArray()) {
+            return builder.append(MessageFormatter.format("{}", argument).getMessage());
+        }
+        return builder.append(argument);
+    }
+}
@@ -3,6 +3,7 @@ package ranger.core;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Abstract Composite Value serving as common interface of CompositeValue and CsvReaderValue
@@ -34,6 +35,23 @@ public abstract class Composite<V> extends Value<Map<String, V>> {
         values.values().forEach(Value::reset);
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.values().forEach(action);
+    }
+
+    /**
+     * Fills columns of the sub values given by their keys at once, as if this value were evaluated once per row. Only
+     * called by {@link ColumnBatch} when these columns only forward sub values of this composite and no other column
+     * reads from it. Composites that cannot fill columns natively return false without touching the columns.
+     *
+     * @param columns Columns to fill by key of sub value.
+     * @return true if columns were filled, false otherwise.
+     */
+    protected boolean fill(Map<String, Column> columns) {
+        return false;
+    }
+
     public Map<String, Value<?>> getValues() {
         return Collections.unmodifiableMap(values);
     }
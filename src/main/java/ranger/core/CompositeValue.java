@@ -1,5 +1,6 @@
 package ranger.core;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -54,4 +55,14 @@ public class CompositeValue extends Composite<Object> {
         val = Collections.unmodifiableMap(evaluatedValues);
     }
 
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.beginObject();
+        for (Map.Entry<String, Value<?>> entry : values.entrySet()) {
+            sink.name(entry.getKey());
+            entry.getValue().writeTo(sink);
+        }
+        sink.endObject();
+    }
+
 }
@@ -32,4 +32,9 @@ public class ConstantValue<T> extends Value<T> {
     protected ConstantValue<T> clone() {
         return this;
     }
+
+    @Override
+    protected boolean isConstant() {
+        return true;
+    }
 }
@@ -1,10 +1,12 @@
 package ranger.core;
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Randomly selects one of the provided values following the specified distribution.
@@ -72,6 +74,32 @@ public class DiscreteValue<T> extends Value<T> implements Switchable<T> {
         values.forEach(Value::reset);
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.forEach(action);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return false;   //only the chosen value is evaluated
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        if (!values.stream().allMatch(Value::isConstant)) {
+            return false;
+        }
+        Object[] constants = values.stream().map(Value::get).toArray();
+        for (int i = 0; i < column.size(); i++) {
+            if (i > 0 || !isEvaluated()) {
+                currentIndex = distribution.nextInt(constants.length);
+            }
+            column.set(i, constants[currentIndex]);
+        }
+        setEvaluated(false);
+        return true;
+    }
+
     @Override
     protected void eval() {
         Value<T> chosenValue;
@@ -80,6 +108,16 @@ public class DiscreteValue<T> extends Value<T> implements Switchable<T> {
         val = chosenValue.get();
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected DiscreteValue<T> clone() {
         return new DiscreteValue<>(this);
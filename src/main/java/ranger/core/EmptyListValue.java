@@ -23,4 +23,9 @@ public class EmptyListValue<T> extends Value<List<T>> {
     protected EmptyListValue<T> clone() {
         return this;
     }
+
+    @Override
+    protected boolean isConstant() {
+        return true;
+    }
 }
@@ -24,4 +24,9 @@ public class EmptyMapValue<K, V> extends Value<Map<K, V>> {
     protected EmptyMapValue<K, V> clone() {
         return this;
     }
+
+    @Override
+    protected boolean isConstant() {
+        return true;
+    }
 }
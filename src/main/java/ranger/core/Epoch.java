@@ -0,0 +1,89 @@
+package ranger.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record counter shared by all values of one or more evaluation plans. A value is evaluated as long as the epoch
+ * it recorded on its last evaluation is the current one, so advancing the counter invalidates every attached value
+ * at once.
+ */
+final class Epoch {
+
+    /**
+     * Evaluation epoch of values that need to be reevaluated. Never equal to current epoch.
+     */
+    static final long STALE = 0;
+
+    /**
+     * Epoch of values that are not attached to any evaluation plan. It never advances.
+     */
+    static final Epoch DETACHED = new Epoch();
+
+    long current = 1;
+    private final List<Value<?>> members = new ArrayList<>();
+    private Epoch mergedInto;
+
+    /**
+     * Attaches given values to a common epoch. Values already attached to other epochs (because they are shared with
+     * another evaluation plan) get their epochs merged, so that advancing one plan invalidates the shared values as
+     * well. Whether a value is evaluated is preserved.
+     *
+     * @param values Values to attach.
+     * @return Epoch all given values are attached to.
+     */
+    static Epoch attach(Value<?>[] values) {
+        Epoch target = null;
+        for (Value<?> value : values) {
+            if (value.epoch != DETACHED) {
+                target = value.epoch;
+                break;
+            }
+        }
+        if (target == null) {
+            target = new Epoch();
+        }
+        for (Value<?> value : values) {
+            if (value.isConstant() || value.epoch == target) {
+                continue;
+            }
+            if (value.epoch == DETACHED) {
+                target.add(value);
+            } else {
+                value.epoch.mergeInto(target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * @return Epoch this epoch was merged into, or this epoch if it was not merged.
+     */
+    Epoch resolve() {
+        Epoch epoch = this;
+        while (epoch.mergedInto != null) {
+            epoch = epoch.mergedInto;
+        }
+        return epoch;
+    }
+
+    /**
+     * Invalidates all values attached to this epoch.
+     */
+    void advance() {
+        current++;
+    }
+
+    private void add(Value<?> value) {
+        boolean evaluated = value.isEvaluated();
+        value.epoch = this;
+        value.evaluatedAt = evaluated ? current : STALE;
+        members.add(value);
+    }
+
+    private void mergeInto(Epoch target) {
+        members.forEach(target::add);
+        members.clear();
+        mergedInto = target;
+    }
+}
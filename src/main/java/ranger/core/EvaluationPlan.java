@@ -0,0 +1,262 @@
+package ranger.core;
+
+import ranger.distribution.FastRandom;
+import ranger.distribution.RandomAlgorithm;
+import ranger.distribution.Seeds;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Flattened form of a value hierarchy. Each distinct value reachable from the root occupies exactly one slot, no
+ * matter how many parents reference it, and slots are ordered so that every value comes after the values it reads
+ * from. All values of a plan are attached to a common {@link Epoch}, so invalidating the whole hierarchy for the next
+ * object is a single counter increment instead of a recursive {@link Value#reset()} cascade that visits shared values
+ * once per reference. Likewise, all values draw from a common random generator, so seeding the hierarchy is a single
+ * reseed.
+ */
+public class EvaluationPlan {
+
+    private final Value<?> root;
+    private final Value<?>[] slots;
+    private final Value<?>[] positional;
+    private final boolean irregularPositional;
+    private Epoch epoch;
+    private FastRandom random;
+    private boolean sequenceSeeded;
+    private long sequenceSeed;
+
+    private EvaluationPlan(Value<?> root, Value<?>[] slots, FastRandom random) {
+        this.root = root;
+        this.slots = slots;
+        boolean[] irregular = irregular(slots);
+        this.positional = IntStream.range(0, slots.length).filter(i -> slots[i].isPositional() && !irregular[i])
+                .mapToObj(i -> slots[i]).toArray(Value<?>[]::new);
+        this.irregularPositional = IntStream.range(0, slots.length)
+                .anyMatch(i -> slots[i].isPositional() && irregular[i]);
+        this.epoch = Epoch.attach(slots);
+        setRandom(random);
+    }
+
+    /**
+     * Builds evaluation plan for value hierarchy starting at <code>root</code>, whose values draw from a new random
+     * generator of the default algorithm.
+     *
+     * @param root Root of the value hierarchy.
+     * @return Evaluation plan for given value hierarchy.
+     * @throws ValueException if root is null
+     */
+    public static EvaluationPlan of(Value<?> root) {
+        return of(root, RandomAlgorithm.defaultAlgorithm().create());
+    }
+
+    /**
+     * Builds evaluation plan for value hierarchy starting at <code>root</code>, whose values draw from
+     * <code>random</code>.
+     *
+     * @param root Root of the value hierarchy.
+     * @param random Random generator shared by all values of the hierarchy.
+     * @return Evaluation plan for given value hierarchy.
+     * @throws ValueException if root or random is null
+     */
+    public static EvaluationPlan of(Value<?> root, FastRandom random) {
+        if (root == null) { throw new ValueException("root cannot be null"); }
+        if (random == null) { throw new ValueException("random cannot be null"); }
+        return new EvaluationPlan(root, order(root), random);
+    }
+
+    /**
+     * Lists distinct values of hierarchy starting at <code>root</code>, each value after the values it reads from.
+     */
+    static Value<?>[] order(Value<?> root) {
+        Set<Value<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Value<?>> order = new ArrayList<>();
+        Deque<Value<?>> path = new ArrayDeque<>();
+        Deque<Iterator<Value<?>>> pending = new ArrayDeque<>();
+        visited.add(root);
+        path.push(root);
+        pending.push(childrenOf(root));
+        while (!pending.isEmpty()) {    //iterative post-order traversal, deep hierarchies must not overflow the stack
+            Iterator<Value<?>> children = pending.peek();
+            if (children.hasNext()) {
+                Value<?> child = children.next();
+                if (visited.add(child)) {
+                    path.push(child);
+                    pending.push(childrenOf(child));
+                }
+            } else {
+                pending.pop();
+                order.add(path.pop());
+            }
+        }
+        return order.toArray(new Value<?>[0]);
+    }
+
+    /**
+     * Calls <code>action</code> for each reference from a distinct value of the hierarchy starting at
+     * <code>root</code> to one of the values it reads from, without building a plan. Allows finding out how values
+     * are used before generating.
+     *
+     * @param root Root of the value hierarchy.
+     * @param action Action accepting the reading value and the value it reads from.
+     * @throws ValueException if root or action is null
+     */
+    public static void forEachReference(Value<?> root, BiConsumer<Value<?>, Value<?>> action) {
+        if (root == null) { throw new ValueException("root cannot be null"); }
+        if (action == null) { throw new ValueException("action cannot be null"); }
+        for (Value<?> value : order(root)) {
+            value.forEachChild(child -> action.accept(value, child));
+        }
+    }
+
+    /*
+    Marks slots that may be evaluated other than once per object, parents come after their children
+     */
+    private static boolean[] irregular(Value<?>[] slots) {
+        Map<Value<?>, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            indexes.put(slots[i], i);
+        }
+        boolean[] irregular = new boolean[slots.length];
+        for (int i = slots.length - 1; i >= 0; i--) {
+            Value<?> parent = slots[i];
+            boolean irregularParent = irregular[i];
+            parent.forEachChild(child -> {
+                if (irregularParent || !parent.evaluatesOnce(child)) {
+                    irregular[indexes.get(child)] = true;
+                }
+            });
+        }
+        return irregular;
+    }
+
+    private static Iterator<Value<?>> childrenOf(Value<?> value) {
+        List<Value<?>> children = new ArrayList<>();
+        value.forEachChild(child -> {
+            if (child == null) { throw new ValueException("child of " + value.getClass().getSimpleName() + " cannot be null"); }
+            children.add(child);
+        });
+        return children.iterator();
+    }
+
+    /**
+     * @return Root of the value hierarchy.
+     */
+    public Value<?> getRoot() {
+        return root;
+    }
+
+    /**
+     * @return Number of distinct values in the hierarchy.
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Returns value occupying slot at given <code>index</code>. Values a slot reads from always occupy lower slots.
+     *
+     * @param index Index of the slot.
+     * @return Value occupying the slot.
+     */
+    public Value<?> getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * @return Random generator shared by all values of the hierarchy.
+     */
+    public FastRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Makes all values of the hierarchy draw from <code>random</code> (see {@link Value#setRandom(FastRandom)}).
+     *
+     * @param random Random generator shared by all values of the hierarchy.
+     * @throws ValueException if random is null
+     */
+    public void setRandom(FastRandom random) {
+        if (random == null) { throw new ValueException("random cannot be null"); }
+        this.random = random;
+        for (Value<?> slot : slots) {
+            slot.setRandom(random);
+        }
+    }
+
+    /**
+     * Seeds the random generator of the hierarchy and state fixed for the whole sequence (see
+     * {@link Value#setSequenceSeed(long)}). Values draw in evaluation order, so hierarchies of equal structure, for
+     * example clones, generate the same objects after being seeded alike.
+     *
+     * @param seed Seed of the hierarchy.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+        seedSequence(seed);
+    }
+
+    /**
+     * Prepares the hierarchy to generate object at <code>index</code> of the sequence determined by <code>seed</code>.
+     * The random generator is seeded with a seed derived from <code>seed</code> and <code>index</code>, and every value
+     * is positioned at <code>index</code> (see {@link Value#seek(long)}), so the object only depends on seed and
+     * index, not on objects generated before. Values with sequential state (see {@link #hasSequentialState()}) keep
+     * their state.
+     *
+     * @param seed Seed of the sequence.
+     * @param index Index of the object generated next.
+     */
+    public void seek(long seed, long index) {
+        if (!sequenceSeeded || seed != sequenceSeed) {
+            seedSequence(seed);
+        }
+        random.setSeed(Seeds.mix(seed, index));
+        for (Value<?> slot : positional) {     //other values ignore seek or keep their state
+            slot.seek(index);
+        }
+        invalidate();
+    }
+
+    //negative salts never collide with the seeds of objects, slot order is the same for clones
+    private void seedSequence(long seed) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i].setSequenceSeed(Seeds.mix(seed, -1L - i));
+        }
+        sequenceSeed = seed;
+        sequenceSeeded = true;
+    }
+
+    /**
+     * @return true if any value in the hierarchy generates values depending on previously generated values in a way
+     * that cannot be restored by {@link #seek(long, long)} (like sequentially read CSV files, or circular values
+     * evaluated conditionally or repeatedly per object, see {@link Value#evaluatesOnce(Value)}), false otherwise.
+     */
+    public boolean hasSequentialState() {
+        if (irregularPositional) {
+            return true;
+        }
+        for (Value<?> slot : slots) {
+            if (slot.hasSequentialState()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enforces reevaluation of every value in the hierarchy on next {@link Value#get()} of the root.
+     */
+    public void invalidate() {
+        epoch = epoch.resolve();
+        epoch.advance();
+    }
+}
@@ -1,23 +1,38 @@
 package ranger.core;
 
+import ranger.distribution.FastRandom;
+import ranger.distribution.FenwickTree;
+import ranger.distribution.RandomPermutation;
 import ranger.distribution.UniformDistribution;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
- * Randomly selects one of the provided values using the provided counts as weights and as limit.
+ * Randomly selects one of the provided values using the provided counts as weights and as limit. Each value is
+ * generated exactly as many times as its count, in random order, until all counts are depleted.
+ * <p>
+ * By default values are drawn without replacement from remaining counts kept in a {@link FenwickTree}, so each draw
+ * takes <code>O(log n)</code> and depends on all draws before. In shuffle mode, the n-th generated value is the value
+ * at position n of a {@link RandomPermutation} of all counts instead, so values can be generated at any position
+ * (see {@link #seek(long)}) and in parallel, and any stretch of the sequence is an unbiased sample of the total mix.
+ * The permutation is derived from the seed of the sequence, so seeded sequences are reproducible.
  *
  * @param <T> Type this value would evaluate to.
  */
 public class ExactWeightedValue<T> extends Value<T> implements Switchable<T> {
 
     private final UniformDistribution distribution;
-    private final List<Long> counts;
-    private final List<Long> currentNumberOfValues;
     private final List<Value<T>> values;
-    private final int totalCount;
-    private int currentTotalCount;
+    private final long totalCount;
+    private final boolean shuffle;
+    private final FenwickTree remainingCounts;   //null in shuffle mode
+    private final long[] countEnds;              //running totals of counts, immutable and shared by clones
+    private RandomPermutation permutation;       //null unless in shuffle mode
+    private long position;
     private int currentIndex;
 
     /**
@@ -28,21 +43,42 @@ public class ExactWeightedValue<T> extends Value<T> implements Switchable<T> {
      * @throws ValueException if countValuePairs is null or empty
      */
     public ExactWeightedValue(List<CountValuePair<T>> countValuePairs) {
+        this(countValuePairs, false);
+    }
+
+    /**
+     * Constructs discrete weighted value with specified <code>values</code> and <code>weights</code>, drawing values
+     * from a random permutation of all counts if <code>shuffle</code> is true.
+     *
+     * @param countValuePairs List of values with their corresponding weights.
+     * @param shuffle Determines whether to generate values in order of a random permutation of all counts.
+     * @throws ExactWeightedValueDepletedException if you try to generate more values than sum of all counts in countValuePairs
+     * @throws ValueException if countValuePairs is null or empty or sum of all counts overflows
+     */
+    public ExactWeightedValue(List<CountValuePair<T>> countValuePairs, boolean shuffle) {
         if (countValuePairs == null || countValuePairs.isEmpty()) {
             throw new ValueException("List of count value pairs cannot be null nor empty.");
         }
         this.distribution = new UniformDistribution();
-        this.counts = new ArrayList<>();
-        this.currentNumberOfValues = new ArrayList<>();
-        this.values = new ArrayList<>();
-        this.currentTotalCount = 0;
-        for (CountValuePair<T> pair : countValuePairs) {
-            currentTotalCount += pair.getCount();
-            counts.add(pair.getCount());
-            currentNumberOfValues.add(0L);
+        this.values = new ArrayList<>(countValuePairs.size());
+        this.countEnds = new long[countValuePairs.size()];
+        long total = 0;
+        for (int i = 0; i < countValuePairs.size(); i++) {
+            CountValuePair<T> pair = countValuePairs.get(i);
+            try {
+                total = Math.addExact(total, pair.getCount());
+            } catch (ArithmeticException e) {
+                throw new ValueException("Sum of all counts cannot exceed " + Long.MAX_VALUE + ".", e);
+            }
+            countEnds[i] = total;
             values.add(pair.getValue());
         }
-        this.totalCount = currentTotalCount;
+        this.totalCount = total;
+        this.shuffle = shuffle;
+        this.remainingCounts = shuffle ? null
+                : new FenwickTree(countValuePairs.stream().mapToLong(CountValuePair::getCount).toArray());
+        this.permutation = shuffle ? new RandomPermutation(totalCount, ThreadLocalRandom.current().nextLong()) : null;
+        this.position = 0;
         this.currentIndex = -1;
     }
 
@@ -52,12 +88,14 @@ public class ExactWeightedValue<T> extends Value<T> implements Switchable<T> {
     private ExactWeightedValue(ExactWeightedValue<T> source) {
         super(source);
         this.distribution = source.distribution.clone();
-        this.counts = new ArrayList<>(source.counts);
-        this.currentNumberOfValues = new ArrayList<>(source.currentNumberOfValues);
         this.values = new ArrayList<>(source.values.size());
         source.values.forEach(v -> this.values.add(v.getClone()));
         this.totalCount = source.totalCount;
-        this.currentTotalCount = source.currentTotalCount;
+        this.shuffle = source.shuffle;
+        this.remainingCounts = shuffle ? null : new FenwickTree(source.remainingCounts);
+        this.countEnds = source.countEnds;
+        this.permutation = source.permutation;
+        this.position = source.position;
         this.currentIndex = source.currentIndex;
     }
 
@@ -69,10 +107,63 @@ public class ExactWeightedValue<T> extends Value<T> implements Switchable<T> {
         return values.size();
     }
 
+    /**
+     * @return true if values are generated in order of a random permutation of all counts, false otherwise.
+     */
+    public boolean isShuffle() {
+        return shuffle;
+    }
+
     @Override
     public void reset() {
         super.reset();
-        values.forEach(Value::reset);
+        if (currentIndex >= 0) {
+            values.get(currentIndex).reset();   //only the chosen value was evaluated
+        }
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.forEach(action);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return false;   //only the chosen value is evaluated
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected void setSequenceSeed(long seed) {
+        if (shuffle) {
+            permutation = new RandomPermutation(totalCount, seed);
+        }
+    }
+
+    @Override
+    protected void seek(long index) {
+        if (shuffle) {
+            position = index;
+        }
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return shuffle;
+    }
+
+    @Override
+    protected boolean hasSequentialState() {
+        return !shuffle;
     }
 
     @Override
@@ -82,35 +173,32 @@ public class ExactWeightedValue<T> extends Value<T> implements Switchable<T> {
 
     @Override
     protected void eval() {
-        currentIndex = sample();
+        currentIndex = shuffle ? nextShuffled() : nextRemaining();
         val = values.get(currentIndex).get();
-        currentNumberOfValues.set(currentIndex, currentNumberOfValues.get(currentIndex) + 1L);
-        if (currentNumberOfValues.get(currentIndex).equals(counts.get(currentIndex))) {
-            removeValue(currentIndex);
-        }
     }
 
-    private int sample() {
-        if (values.isEmpty()) {
-            throw new ExactWeightedValueDepletedException("Exact weighted value depleted."
-                    + " It is configured to generate " + totalCount + " elements in total.");
+    private int nextRemaining() {
+        long remaining = remainingCounts.total();
+        if (remaining == 0) {
+            throw depletedException();
         }
-        int randomValue = distribution.nextInt(currentTotalCount);
-        int sum = 0;
-        for (int i = 0; i < counts.size(); i++) {
-            sum += counts.get(i);
-            if (randomValue < sum) {
-                return i;
-            }
+        int index = remainingCounts.find(distribution.nextLong(remaining));
+        remainingCounts.add(index, -1);
+        return index;
+    }
+
+    private int nextShuffled() {
+        if (position >= totalCount) {
+            throw depletedException();
         }
-        throw new RuntimeException("If you see this exception. There is a bug in " + getClass().getName() + " class.");
+        long permuted = permutation.apply(position++);
+        int index = Arrays.binarySearch(countEnds, permuted);
+        return index >= 0 ? index + 1 : -index - 1;     //value i owns positions from countEnds[i - 1] to countEnds[i]
     }
 
-    private void removeValue(int index) {
-        values.remove(index);
-        currentNumberOfValues.remove(index);
-        currentTotalCount -= counts.get(index);
-        counts.remove(index);
+    private ExactWeightedValueDepletedException depletedException() {
+        return new ExactWeightedValueDepletedException("Exact weighted value depleted."
+                + " It is configured to generate " + totalCount + " elements in total.");
     }
 
     /**
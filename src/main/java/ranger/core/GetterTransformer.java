@@ -1,6 +1,7 @@
 package ranger.core;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Extracts property value for a given key from given composite value.
@@ -45,12 +46,24 @@ public class GetterTransformer<T> extends Transformer<T> {
         this.value = source.value.getClone();
     }
 
+    /**
+     * @return Name of property for which to attempt get.
+     */
+    public String getKeyName() {
+        return keyName;
+    }
+
     @Override
     public void reset() {
         super.reset();
         value.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(value);
+    }
+
     @Override
     protected GetterTransformer<T> clone() {
         return new GetterTransformer<>(this);
@@ -3,6 +3,8 @@ package ranger.core;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.function.Consumer;
+
 /**
  * Transforms value into its JSON representation.
  */
@@ -54,6 +56,11 @@ public class JsonTransformer extends Transformer<String> {
         value.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(value);
+    }
+
     @Override
     protected JsonTransformer clone() {
         return new JsonTransformer(this);
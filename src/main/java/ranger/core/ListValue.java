@@ -1,8 +1,10 @@
 package ranger.core;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Generates list out of specified values.
@@ -43,6 +45,11 @@ public class ListValue<T> extends Value<List<T>> {
         }
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.forEach(action);
+    }
+
     @Override
     protected void eval() {
         List<T> result = new ArrayList<>(values.size());
@@ -52,6 +59,15 @@ public class ListValue<T> extends Value<List<T>> {
         val = Collections.unmodifiableList(result);
     }
 
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.beginList();
+        for (Value<T> value : values) {
+            value.writeTo(sink);
+        }
+        sink.endList();
+    }
+
     @Override
     protected ListValue<T> clone() {
         return new ListValue<>(this);
@@ -2,6 +2,7 @@ package ranger.core;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * MapperValue selects from Values dependently on a source value.
@@ -62,6 +63,17 @@ public class MapperValue<T> extends Value<T> {
         super.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(source);
+        map.values().forEach(action);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return child == source;     //only the mapped value is evaluated
+    }
+
     @Override
     protected MapperValue<T> clone() {
         return new MapperValue<>(this);
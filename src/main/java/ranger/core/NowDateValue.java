@@ -14,6 +14,6 @@ public class NowDateValue extends Value<Date> {
 
     @Override
     protected NowDateValue clone() {
-        return this;
+        return new NowDateValue();
     }
 }
@@ -14,6 +14,6 @@ public class NowLocalDateTimeValue extends Value<LocalDateTime> {
 
     @Override
     protected NowLocalDateTimeValue clone() {
-        return this;
+        return new NowLocalDateTimeValue();
     }
 }
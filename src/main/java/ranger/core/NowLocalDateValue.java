@@ -14,6 +14,6 @@ public class NowLocalDateValue extends Value<LocalDate> {
 
     @Override
     protected NowLocalDateValue clone() {
-        return this;
+        return new NowLocalDateValue();
     }
 }
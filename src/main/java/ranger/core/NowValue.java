@@ -12,6 +12,6 @@ public class NowValue extends Value<Long> {
 
     @Override
     protected NowValue clone() {
-        return this;
+        return new NowValue();
     }
 }
@@ -9,4 +9,9 @@ public class NullValue extends Value<Object> {
     protected NullValue clone() {
         return this;
     }
+
+    @Override
+    protected boolean isConstant() {
+        return true;
+    }
 }
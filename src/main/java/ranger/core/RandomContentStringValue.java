@@ -1,6 +1,7 @@
 package ranger.core;
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 import java.util.ArrayList;
@@ -8,6 +9,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Generates random strings of specified <code>length</code> and from specified character ranges.
@@ -78,6 +80,21 @@ public class RandomContentStringValue extends Value<String> {
         lengthValue.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(lengthValue);
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected RandomContentStringValue clone() {
         return new RandomContentStringValue(this);
@@ -85,7 +102,7 @@ public class RandomContentStringValue extends Value<String> {
 
     @Override
     protected void eval() {
-        int length = lengthValue.get();
+        int length = lengthValue.getInt();
         if (length < 1) {
             throw new ValueException("Generated length cannot be less than 1, but was: " + length);
         }
@@ -1,11 +1,13 @@
 package ranger.core;
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Generates random length list out of specified values.
@@ -62,11 +64,31 @@ public class RandomLengthListValue<T> extends Value<List<T>> {
         this.distribution = source.distribution.clone();
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected RandomLengthListValue<T> clone() {
         return new RandomLengthListValue<>(this);
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(elementGenerator);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return false;   //evaluated for each element
+    }
+
     @Override
     protected void eval() {
         int randomLength = distribution.nextInt(minLength, maxLength);
@@ -2,6 +2,7 @@ package ranger.core;
 
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 /**
@@ -105,6 +106,27 @@ public abstract class RangeValue<T extends Comparable<T>> extends Value<T> {
         return new UniformDistribution();
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected void seek(long index) {
+        beginningEdgeCaseUsed = index > 0;    //edge cases are generated first
+        endEdgeCaseUsed = index > 1;
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return true;
+    }
+
     @Override
     protected abstract RangeValue<T> clone();
 }
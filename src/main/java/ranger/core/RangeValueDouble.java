@@ -2,12 +2,16 @@ package ranger.core;
 
 import ranger.distribution.Distribution;
 
+import java.io.IOException;
+
 /**
  * Randomly generates {@link Double} value within specified range.
  */
 @SuppressWarnings("ALL")
 public class RangeValueDouble extends RangeValue<Double> {
 
+    private double doubleVal;
+
     /**
      * Epsilon value used for edge cases.
      */
@@ -48,6 +52,7 @@ public class RangeValueDouble extends RangeValue<Double> {
      */
     private RangeValueDouble(RangeValueDouble source) {
         super(source);
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -55,18 +60,64 @@ public class RangeValueDouble extends RangeValue<Double> {
         return new RangeValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        double[] doubles = column.allocateDoubles();
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = getDouble();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
     @Override
     protected void eval() {
+        val = null;
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            doubleVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - EPSILON;
+            doubleVal = end - EPSILON;
             return;
         }
-        val = distribution.nextDouble(beginning, end);
+        doubleVal = distribution.nextDouble(beginning, end);
     }
 }
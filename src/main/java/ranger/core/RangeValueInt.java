@@ -2,12 +2,16 @@ package ranger.core;
 
 import ranger.distribution.Distribution;
 
+import java.io.IOException;
+
 /**
  * Randomly generates {@link Integer} value within specified range.
  */
 @SuppressWarnings("DuplicatedCode")
 public class RangeValueInt extends RangeValue<Integer> {
 
+    private int intVal;
+
     /**
      * Constructs range with specified <code>range</code>.
      *
@@ -43,6 +47,7 @@ public class RangeValueInt extends RangeValue<Integer> {
      */
     private RangeValueInt(RangeValueInt source) {
         super(source);
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -50,18 +55,64 @@ public class RangeValueInt extends RangeValue<Integer> {
         return new RangeValueInt(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        int[] ints = column.allocateInts();
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = getInt();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
     @Override
     protected void eval() {
+        val = null;
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            intVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - 1;
+            intVal = end - 1;
             return;
         }
-        val = distribution.nextInt(beginning, end);
+        intVal = distribution.nextInt(beginning, end);
     }
 }
@@ -3,6 +3,7 @@ package ranger.core;
 
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 import java.time.LocalDate;
@@ -86,6 +87,27 @@ public class RangeValueLocalDate extends Value<LocalDate> {
         this.endEdgeCaseUsed = source.endEdgeCaseUsed;
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected void seek(long index) {
+        beginningEdgeCaseUsed = index > 0;    //edge cases are generated first
+        endEdgeCaseUsed = index > 1;
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return true;
+    }
+
     @Override
     protected RangeValueLocalDate clone() {
         return new RangeValueLocalDate(this);
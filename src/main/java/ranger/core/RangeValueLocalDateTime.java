@@ -1,6 +1,7 @@
 package ranger.core;
 
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
 import java.time.LocalDateTime;
@@ -87,6 +88,27 @@ public class RangeValueLocalDateTime extends Value<LocalDateTime> {
         this.endEdgeCaseUsed = source.endEdgeCaseUsed;
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected void seek(long index) {
+        beginningEdgeCaseUsed = index > 0;    //edge cases are generated first
+        endEdgeCaseUsed = index > 1;
+    }
+
+    @Override
+    protected boolean isPositional() {
+        return true;
+    }
+
     @Override
     protected RangeValueLocalDateTime clone() {
         return new RangeValueLocalDateTime(this);
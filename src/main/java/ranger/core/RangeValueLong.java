@@ -3,12 +3,16 @@ package ranger.core;
 
 import ranger.distribution.Distribution;
 
+import java.io.IOException;
+
 /**
  * Randomly generates long value within specified range.
  */
 @SuppressWarnings("DuplicatedCode")
 public class RangeValueLong extends RangeValue<Long> {
 
+    private long longVal;
+
     /**
      * Constructs range with specified <code>range</code>.
      *
@@ -44,6 +48,7 @@ public class RangeValueLong extends RangeValue<Long> {
      */
     private RangeValueLong(RangeValueLong source) {
         super(source);
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -51,18 +56,64 @@ public class RangeValueLong extends RangeValue<Long> {
         return new RangeValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        long[] longs = column.allocateLongs();
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = getLong();
+            setEvaluated(false);
+        }
+        return true;
+    }
+
     @Override
     protected void eval() {
+        val = null;
         if (useEdgeCases && !beginningEdgeCaseUsed) {
             beginningEdgeCaseUsed = true;
-            val = beginning;
+            longVal = beginning;
             return;
         }
         if (useEdgeCases && !endEdgeCaseUsed) {
             endEdgeCaseUsed = true;
-            val = end - 1;
+            longVal = end - 1;
             return;
         }
-        val = distribution.nextLong(beginning, end);
+        longVal = distribution.nextLong(beginning, end);
     }
 }
@@ -0,0 +1,205 @@
+package ranger.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Sink that records the events of any number of records in flat arrays and replays them into another sink later, so
+ * records can be generated ahead of writing them, for example by several threads, without building objects. Strings
+ * and other objects are stored by reference, primitives are stored unboxed.
+ * A buffer must not be used by several threads at once.
+ */
+public class RecordBuffer implements RecordSink {
+
+    private static final byte BEGIN_RECORD = 0;
+    private static final byte END_RECORD = 1;
+    private static final byte BEGIN_OBJECT = 2;
+    private static final byte NAME = 3;
+    private static final byte END_OBJECT = 4;
+    private static final byte BEGIN_LIST = 5;
+    private static final byte END_LIST = 6;
+    private static final byte STRING = 7;
+    private static final byte INT = 8;
+    private static final byte LONG = 9;
+    private static final byte DOUBLE = 10;
+    private static final byte BOOLEAN = 11;
+    private static final byte NULL = 12;
+    private static final byte OTHER = 13;
+
+    private byte[] events = new byte[1024];
+    private int eventCount;
+    private long[] primitives = new long[256];
+    private int primitiveCount;
+    private Object[] objects = new Object[256];
+    private int objectCount;
+    private int recordCount;
+
+    /**
+     * @return Number of records in this buffer.
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Removes all records.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, objectCount, null);
+        eventCount = 0;
+        primitiveCount = 0;
+        objectCount = 0;
+        recordCount = 0;
+    }
+
+    /**
+     * Pushes all records of this buffer into <code>sink</code>, in the order they were recorded. Records stay in this
+     * buffer until cleared.
+     *
+     * @param sink Sink to push the records to.
+     */
+    public void replay(RecordSink sink) throws IOException {
+        int primitive = 0;
+        int object = 0;
+        for (int i = 0; i < eventCount; i++) {
+            switch (events[i]) {
+                case BEGIN_RECORD:
+                    sink.beginRecord();
+                    break;
+                case END_RECORD:
+                    sink.endRecord();
+                    break;
+                case BEGIN_OBJECT:
+                    sink.beginObject();
+                    break;
+                case NAME:
+                    sink.name((String) objects[object++]);
+                    break;
+                case END_OBJECT:
+                    sink.endObject();
+                    break;
+                case BEGIN_LIST:
+                    sink.beginList();
+                    break;
+                case END_LIST:
+                    sink.endList();
+                    break;
+                case STRING:
+                    sink.value((String) objects[object++]);
+                    break;
+                case INT:
+                    sink.value((int) primitives[primitive++]);
+                    break;
+                case LONG:
+                    sink.value(primitives[primitive++]);
+                    break;
+                case DOUBLE:
+                    sink.value(Double.longBitsToDouble(primitives[primitive++]));
+                    break;
+                case BOOLEAN:
+                    sink.value(primitives[primitive++] != 0);
+                    break;
+                case NULL:
+                    sink.nullValue();
+                    break;
+                default:
+                    sink.otherValue(objects[object++]);
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void beginRecord() {
+        add(BEGIN_RECORD);
+    }
+
+    @Override
+    public void endRecord() {
+        add(END_RECORD);
+        recordCount++;
+    }
+
+    @Override
+    public void beginObject() {
+        add(BEGIN_OBJECT);
+    }
+
+    @Override
+    public void name(String name) {
+        add(NAME, name);
+    }
+
+    @Override
+    public void endObject() {
+        add(END_OBJECT);
+    }
+
+    @Override
+    public void beginList() {
+        add(BEGIN_LIST);
+    }
+
+    @Override
+    public void endList() {
+        add(END_LIST);
+    }
+
+    @Override
+    public void value(String value) {
+        add(STRING, value);
+    }
+
+    @Override
+    public void value(int value) {
+        add(INT, value);
+    }
+
+    @Override
+    public void value(long value) {
+        add(LONG, value);
+    }
+
+    @Override
+    public void value(double value) {
+        add(DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void value(boolean value) {
+        add(BOOLEAN, value ? 1 : 0);
+    }
+
+    @Override
+    public void nullValue() {
+        add(NULL);
+    }
+
+    @Override
+    public void otherValue(Object value) {
+        add(OTHER, value);
+    }
+
+    private void add(byte event) {
+        if (eventCount == events.length) {
+            events = Arrays.copyOf(events, eventCount * 2);
+        }
+        events[eventCount++] = event;
+    }
+
+    private void add(byte event, long primitive) {
+        add(event);
+        if (primitiveCount == primitives.length) {
+            primitives = Arrays.copyOf(primitives, primitiveCount * 2);
+        }
+        primitives[primitiveCount++] = primitive;
+    }
+
+    private void add(byte event, Object object) {
+        add(event);
+        if (objectCount == objects.length) {
+            objects = Arrays.copyOf(objects, objectCount * 2);
+        }
+        objects[objectCount++] = object;
+    }
+}
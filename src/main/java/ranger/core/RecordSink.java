@@ -0,0 +1,100 @@
+package ranger.core;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives generated objects as a stream of events instead of as objects. Values push their results into a sink
+ * (see {@link Value#writeTo(RecordSink)}), so composite and list values never build the Maps and Lists they would
+ * evaluate to. Each record is framed by {@link #beginRecord()} and {@link #endRecord()} and contains exactly one value,
+ * which is either a primitive, an object (properties are announced by {@link #name(String)} before their value) or a
+ * list.
+ */
+public interface RecordSink {
+
+    void beginRecord() throws IOException;
+
+    void endRecord() throws IOException;
+
+    void beginObject() throws IOException;
+
+    /**
+     * Announces the name of the property whose value is pushed next.
+     *
+     * @param name Name of the property.
+     */
+    void name(String name) throws IOException;
+
+    void endObject() throws IOException;
+
+    void beginList() throws IOException;
+
+    void endList() throws IOException;
+
+    void value(String value) throws IOException;
+
+    void value(int value) throws IOException;
+
+    void value(long value) throws IOException;
+
+    void value(double value) throws IOException;
+
+    void value(boolean value) throws IOException;
+
+    void nullValue() throws IOException;
+
+    /**
+     * Receives values of all other types, like floats, characters and dates.
+     *
+     * @param value The value, not null.
+     */
+    void otherValue(Object value) throws IOException;
+
+    /**
+     * Pushes an evaluated object, decomposing Maps and Lists into objects and lists.
+     *
+     * @param value The value, may be null.
+     */
+    default void value(Object value) throws IOException {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof String) {
+            value((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            value(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            value((long) (Long) value);
+        } else if (value instanceof Double) {
+            value((double) (Double) value);
+        } else if (value instanceof Boolean) {
+            value((boolean) (Boolean) value);
+        } else if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            endObject();
+        } else if (value instanceof List) {
+            beginList();
+            for (Object element : (List<?>) value) {
+                value(element);
+            }
+            endList();
+        } else {
+            otherValue(value);
+        }
+    }
+
+    /**
+     * Pushes an evaluated object as one record.
+     *
+     * @param value The value, may be null.
+     */
+    default void record(Object value) throws IOException {
+        beginRecord();
+        value(value);
+        endRecord();
+    }
+}
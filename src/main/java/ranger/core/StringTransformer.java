@@ -4,6 +4,7 @@ import org.slf4j.helpers.MessageFormatter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Creates a formatted string using the specified format string and values.
@@ -42,7 +43,7 @@ public class StringTransformer extends Transformer<String> {
         this.formatValue = source.formatValue.getClone();
         this.values = new ArrayList<>(source.values.size());
         source.values.forEach(v -> this.values.add(v.getClone()));
-        this.calculatedValues = source.calculatedValues;
+        this.calculatedValues = new Object[this.values.size()];
     }
 
     @Override
@@ -57,6 +58,12 @@ public class StringTransformer extends Transformer<String> {
         values.forEach(Value::reset);
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(formatValue);
+        values.forEach(action);
+    }
+
     @Override
     protected void eval() {
         String formatString = formatValue.get();
@@ -2,6 +2,7 @@ package ranger.core;
 
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Selects a Value of it's list that relates to source's randomly selected value.
@@ -54,4 +55,29 @@ public class SwitchValue<T> extends DiscreteValue<T> {
         super.reset();
     }
 
+    @Override
+    protected boolean drawsRandom() {
+        return false;   //follows the index of source
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        return false;
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        super.forEachChild(action);
+        action.accept((Value<?>) source);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return child == source;     //only the chosen value is evaluated
+    }
+
+    Switchable<?> getSource() {
+        return source;
+    }
+
 }
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.function.Consumer;
 
 /**
  * Creates a formatted string using a specified time format and long value representing time in epoch milliseconds.
@@ -63,6 +64,12 @@ public class TimeFormatTransformer extends Transformer<String> {
         value.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(formatValue);
+        action.accept(value);
+    }
+
     @Override
     protected void eval() {
         String nextFormatString = formatValue.get();
@@ -2,6 +2,8 @@ package ranger.core;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.function.Consumer;
+
 /**
  * Converts value to specified type.
  *
@@ -69,6 +71,11 @@ public class TypeConverterValue<T> extends Transformer<T> {
         value.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(value);
+    }
+
     @Override
     protected void eval() {
         Object object = value.get();
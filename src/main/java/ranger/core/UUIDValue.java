@@ -1,5 +1,7 @@
 package ranger.core;
 
+import ranger.distribution.FastRandom;
+
 import java.util.UUID;
 
 /**
@@ -7,6 +9,8 @@ import java.util.UUID;
  */
 public class UUIDValue extends Value<String> {
 
+    private FastRandom random;  //set when part of an evaluation plan, otherwise a secure random generator is used
+
     public UUIDValue() {}
 
     /*
@@ -16,6 +20,16 @@ public class UUIDValue extends Value<String> {
         super(source);
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected Value<String> clone() {
         return new UUIDValue(this);
@@ -23,6 +37,12 @@ public class UUIDValue extends Value<String> {
 
     @Override
     public void eval() {
-        val = UUID.randomUUID().toString();
+        if (random == null) {
+            val = UUID.randomUUID().toString();
+            return;
+        }
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;                         //version 4
+        long leastSigBits = (random.nextLong() & ~0xC000000000000000L) | 0x8000000000000000L;  //IETF variant
+        val = new UUID(mostSigBits, leastSigBits).toString();
     }
 }
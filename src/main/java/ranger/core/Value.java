@@ -1,7 +1,11 @@
 package ranger.core;
 
-import java.util.HashMap;
+import ranger.distribution.FastRandom;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Root of type hierarchy. It can evaluate to a value.
@@ -11,18 +15,25 @@ import java.util.Map;
 public abstract class Value<T> {
 
     /**
-     * Indicates whether value is evaluated or not.
+     * Epoch this value is attached to. Values that are not part of an {@link EvaluationPlan} stay on
+     * {@link Epoch#DETACHED}, which never advances.
+     */
+    Epoch epoch = Epoch.DETACHED;
+
+    /**
+     * Epoch in which value was evaluated last, or {@link Epoch#STALE}.
      */
-    protected boolean evaluated = false;
+    long evaluatedAt = Epoch.STALE;
 
     /**
      * The value.
      */
     protected T val;
 
-    // For cloning
-    private static final Map<Value<?>, Value<?>> clones = new HashMap<>();
-    private static int openClones = 0;
+    // For cloning; Values cloned within the outermost getClone() call of current thread
+    private static final ThreadLocal<Map<Value<?>, Value<?>>> clones = new ThreadLocal<>();
+    // Whether the outermost clone call of current thread is getParallelClone()
+    private static final ThreadLocal<Boolean> parallelCloning = ThreadLocal.withInitial(() -> false);
 
     public Value() {
 
@@ -33,7 +44,7 @@ public abstract class Value<T> {
      */
     protected Value(Value<T> source) {
         this.val = source.val;
-        this.evaluated = source.evaluated;
+        setEvaluated(source.isEvaluated());
     }
 
     /**
@@ -42,18 +53,98 @@ public abstract class Value<T> {
      * @return A value depending on concrete implementation.
      */
     public T get() {
-        if (!evaluated) {
+        evaluate();
+        return val;
+    }
+
+    /**
+     * Returns value as primitive int. Values evaluating to a primitive number override this to avoid boxing.
+     *
+     * @return Value as primitive int.
+     * @throws ValueException if value does not evaluate to a number
+     */
+    public int getInt() {
+        return getNumber().intValue();
+    }
+
+    /**
+     * Returns value as primitive long. Values evaluating to a primitive number override this to avoid boxing.
+     *
+     * @return Value as primitive long.
+     * @throws ValueException if value does not evaluate to a number
+     */
+    public long getLong() {
+        return getNumber().longValue();
+    }
+
+    /**
+     * Returns value as primitive float. Values evaluating to a primitive number override this to avoid boxing.
+     *
+     * @return Value as primitive float.
+     * @throws ValueException if value does not evaluate to a number
+     */
+    public float getFloat() {
+        return getNumber().floatValue();
+    }
+
+    /**
+     * Returns value as primitive double. Values evaluating to a primitive number override this to avoid boxing.
+     *
+     * @return Value as primitive double.
+     * @throws ValueException if value does not evaluate to a number
+     */
+    public double getDouble() {
+        return getNumber().doubleValue();
+    }
+
+    private Number getNumber() {
+        T value = get();
+        if (!(value instanceof Number)) { throw new ValueException("Value does not evaluate to a number: " + value); }
+        return (Number) value;
+    }
+
+    /**
+     * Calls {@link #eval()} unless value is already evaluated in current epoch.
+     */
+    protected final void evaluate() {
+        long current = epoch.current;
+        if (evaluatedAt != current) {
             eval();
-            evaluated = true;
+            evaluatedAt = current;
         }
-        return val;
     }
 
     /**
      * Enforces reevaluation of value for next {@link #get()} invocation.
      */
     public void reset() {
-        evaluated = false;
+        evaluatedAt = Epoch.STALE;
+    }
+
+    /**
+     * @return true if {@link #val} holds the value of current evaluation, false otherwise.
+     */
+    protected final boolean isEvaluated() {
+        return evaluatedAt == epoch.current;
+    }
+
+    /**
+     * Marks {@link #val} as value of current evaluation or enforces its reevaluation, without touching child values.
+     *
+     * @param evaluated Whether {@link #val} holds the value of current evaluation.
+     */
+    protected final void setEvaluated(boolean evaluated) {
+        evaluatedAt = evaluated ? epoch.current : Epoch.STALE;
+    }
+
+    /**
+     * Constant values never need reevaluation and may be shared between clones, so they are never attached to an
+     * epoch.
+     *
+     * @return true if value always evaluates to the same object, false otherwise.
+     */
+    protected boolean isConstant() {
+        return false;
     }
 
     /**
@@ -63,21 +154,163 @@ public abstract class Value<T> {
     }
 
     /**
+     * Performs given <code>action</code> for each value this value reads from during {@link #eval()}.
+     * Used to flatten value hierarchy into an {@link EvaluationPlan}.
+     *
+     * @param action Action to be performed for each child value.
+     */
+    protected void forEachChild(Consumer<Value<?>> action) {
+    }
+
+    /**
+     * Makes random sources of this value, not of its children, draw from <code>random</code>. All values of an
+     * {@link EvaluationPlan} share the plan's random generator, so seeding the generator seeds the whole hierarchy.
+     *
+     * @param random Random generator of the plan.
+     */
+    protected void setRandom(FastRandom random) {
+    }
+
+    /**
+     * Values drawing from the plan's random generator must draw in evaluation order to generate the same objects as
+     * generating them one by one, so {@link ColumnBatch} only fills their columns at once if no other value draws.
+     *
+     * @return true if this value, not its children, draws from the random generator of the plan, false otherwise.
+     */
+    protected boolean drawsRandom() {
+        return false;
+    }
+
+    /**
+     * Derives state that is fixed for a whole seeded sequence rather than drawn per object, like the order of a
+     * shuffle. Called by {@link EvaluationPlan} with a distinct seed per value whenever the seed of the sequence
+     * changes.
+     *
+     * @param seed Seed derived from the seed of the sequence.
+     */
+    protected void setSequenceSeed(long seed) {
+    }
+
+    /**
+     * Positions value as if <code>index</code> objects had been generated before, so that values depending on how many
+     * values they generated before, like circular values, compute their state arithmetically instead of generating
+     * all preceding values. Used by {@link EvaluationPlan#seek(long, long)}.
+     *
+     * @param index Index of the object generated next.
+     */
+    protected void seek(long index) {
+    }
+
+    /**
+     * Seeking happens before every object of seeded generators, so {@link EvaluationPlan} collects the values to
+     * position once and skips all others. Values overriding {@link #seek(long)} must override this as well.
+     *
+     * @return true if {@link #seek(long)} positions this value, false otherwise.
+     */
+    protected boolean isPositional() {
+        return false;
+    }
+
+    /**
+     * Seeking positions values as if they were evaluated once per object. Values below a value evaluating them
+     * conditionally, like switch branches, or repeatedly, like elements of random length lists, are evaluated a varying
+     * number of times per object, so {@link EvaluationPlan} treats positional ones among them as sequential state.
+     *
+     * @param child Value this value reads from.
+     * @return true if each evaluation of this value evaluates <code>child</code> exactly once, false otherwise.
+     */
+    protected boolean evaluatesOnce(Value<?> child) {
+        return true;
+    }
+
+    /**
+     * Values with sequential state, like sequentially read CSV files, generate values depending on values they
+     * generated before in a way that neither reseeding nor {@link #seek(long)} can reproduce, so split parts of a
+     * generation would repeat them.
+     *
+     * @return true if next values depend on previously generated values, false otherwise.
+     */
+    protected boolean hasSequentialState() {
+        return false;
+    }
+
+    /**
+     * Fills all rows of <code>column</code> at once, as if this value were evaluated once per row. Only called by
+     * {@link ColumnBatch} when no other column reads from this value or its children. Values that cannot fill columns
+     * natively return false without touching the column, the column is then filled row by row.
+     *
+     * @param column Column to fill.
+     * @return true if column was filled, false otherwise.
+     */
+    protected boolean fill(Column column) {
+        return false;
+    }
+
+    /**
+     * Pushes value to <code>sink</code> as if {@link #get()} was pushed. Values evaluating to Maps, Lists or primitive
+     * numbers override this to push their children or primitives instead of building the object.
+     *
+     * @param sink Sink to push the value to.
+     * @throws IOException if sink fails to write the value
+     */
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(get());
+    }
+
+    /**
+     * Copies every value of the hierarchy, values shared within the hierarchy only once. Clones only share immutable
+     * data, like parser settings, loaded CSV records and weights, so each clone costs a full copy of the hierarchy.
+     * Different threads may clone the same hierarchy concurrently.
+     *
      * @return a new instance of Value that generates same type of object.
      */
     @SuppressWarnings("unchecked")
     public Value<T> getClone() {
-        openClones++;
-        if (!clones.containsKey(this)) {
-            // Put all cloned values into a HashMap to ensure that each value is cloned only once across value hierarchy
-            clones.put(this, this.clone());
+        Map<Value<?>, Value<?>> cloned = clones.get();
+        boolean outermost = cloned == null;
+        if (outermost) {
+            // Put all cloned values into a map to ensure that each value is cloned only once across value hierarchy
+            cloned = new IdentityHashMap<>();
+            clones.set(cloned);
         }
-        Value<T> clone = (Value<T>) clones.get(this);
-        openClones--;
-        if (openClones == 0) {
-            clones.clear();
+        try {
+            Value<?> clone = cloned.get(this);
+            if (clone == null) {
+                clone = this.clone();
+                cloned.put(this, clone);
+            }
+            return (Value<T>) clone;
+        } finally {
+            if (outermost) {
+                clones.remove();
+            }
         }
-        return clone;
+    }
+
+    /**
+     * Clones value like {@link #getClone()} for generating another part of the same sequence of objects, for example
+     * on another thread. Unlike independent clones, parallel clones continue reading the sequentially read CSV files
+     * of this value, so this value and its parallel clones together read each record once.
+     *
+     * @return a new instance of Value that generates same type of object.
+     */
+    public Value<T> getParallelClone() {
+        if (parallelCloning.get()) {
+            return getClone();
+        }
+        parallelCloning.set(true);
+        try {
+            return getClone();
+        } finally {
+            parallelCloning.remove();
+        }
+    }
+
+    /**
+     * @return true while values are cloned by {@link #getParallelClone()} on current thread, false otherwise.
+     */
+    protected static boolean isParallelCloning() {
+        return parallelCloning.get();
     }
 
     protected abstract Value<T> clone();
@@ -0,0 +1,392 @@
+package ranger.core;
+
+import org.objectweb.asm.ClassTooLargeException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodTooLargeException;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import ranger.distribution.Distribution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compiles value hierarchy into a value class generated at runtime. Generated class builds the whole object in one
+ * method: maps, lists and string templates are assembled inline, proxies are bypassed, and switches and random
+ * selections become table switches. Every other value is invoked through a field of its concrete class, so that
+ * each call site is monomorphic and the JIT can inline it, instead of dispatching through the megamorphic
+ * {@link Value#get()} call sites of {@link CompositeValue} and friends.
+ * <p>
+ * Compiled value evaluates to the same objects as the source hierarchy, drawing random numbers in the same order.
+ */
+public final class ValueCompiler {
+
+    private static final String COMPILED_VALUE = Type.getInternalName(CompiledValue.class);
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String GET_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class));
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Value.class, Object[].class,
+            MethodHandle.class);
+    private static final int MAX_INLINE_DEPTH = 256;
+    private static final AtomicInteger COMPILED_CLASSES = new AtomicInteger();
+
+    private ValueCompiler() {
+    }
+
+    /**
+     * Compiles value hierarchy starting at <code>value</code>. Compiled value shares the hierarchy with
+     * <code>value</code>.
+     *
+     * @param value Root of value hierarchy to compile.
+     * @param <T> Type value would evaluate to.
+     * @return Compiled value.
+     * @throws ValueException if value is null or value hierarchy cannot be compiled
+     */
+    public static <T> Value<T> compile(Value<T> value) {
+        if (value == null) { throw new ValueException("value cannot be null"); }
+        String className = COMPILED_VALUE + "$" + COMPILED_CLASSES.incrementAndGet();
+        Generator generator = new Generator(value);
+        byte[] bytecode;
+        try {
+            bytecode = generator.generate(className);
+        } catch (MethodTooLargeException | ClassTooLargeException e) {
+            throw new ValueException("Value hierarchy is too large to be compiled", e);
+        }
+        MethodHandle constructor;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> compiledClass = lookup.defineClass(bytecode);
+            constructor = lookup.findConstructor(compiledClass, CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new ValueException("Value hierarchy could not be compiled", e);
+        }
+        return instantiate(constructor, value, generator.inputs);
+    }
+
+    /**
+     * Creates another instance of an already compiled class for <code>source</code>, which must have the same
+     * structure as the value hierarchy the class was compiled from.
+     */
+    static <T> CompiledValue<T> instantiate(MethodHandle constructor, Value<T> source) {
+        return instantiate(constructor, source, new Generator(source).collectInputs());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CompiledValue<T> instantiate(MethodHandle constructor, Value<T> source, List<Object> inputs) {
+        try {
+            return (CompiledValue<T>) constructor.invoke(source, inputs.toArray(), constructor);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ValueException("Compiled value could not be instantiated", e);
+        }
+    }
+
+    /**
+     * Walks value hierarchy and emits code which evaluates it. Walking the same hierarchy always yields the same code
+     * and the same inputs, the objects generated class keeps in its fields.
+     */
+    private static final class Generator {
+
+        private final Value<?> root;
+        private final Map<Value<?>, Integer> references;
+        private final List<Object> inputs = new ArrayList<>();
+        private final List<Class<?>> inputTypes = new ArrayList<>();
+        private final Map<Object, Integer> inputIndexes = new IdentityHashMap<>();
+        private String className;
+        private MethodVisitor method;
+
+        Generator(Value<?> root) {
+            this.root = root;
+            this.references = countReferences(root);
+        }
+
+        List<Object> collectInputs() {
+            method = new MethodVisitor(ASM9) {
+            };
+            emit(root, true, 0);
+            return inputs;
+        }
+
+        byte[] generate(String className) {
+            this.className = className;
+            ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    return OBJECT;  //branches only merge objects that are used as Object afterwards
+                }
+            };
+            classWriter.visit(V11, ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, className, null, COMPILED_VALUE, null);
+
+            method = classWriter.visitMethod(ACC_PROTECTED, "assemble", GET_DESCRIPTOR, null, null);
+            method.visitCode();
+            emit(root, true, 0);
+            method.visitInsn(ARETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+
+            for (int i = 0; i < inputs.size(); i++) {
+                classWriter.visitField(ACC_PRIVATE | ACC_FINAL, field(i), Type.getDescriptor(inputTypes.get(i)),
+                        null, null).visitEnd();
+            }
+
+            method = classWriter.visitMethod(0, "<init>", CONSTRUCTOR_TYPE.toMethodDescriptorString(), null, null);
+            method.visitCode();
+            method.visitVarInsn(ALOAD, 0);
+            method.visitVarInsn(ALOAD, 1);
+            method.visitVarInsn(ALOAD, 3);
+            method.visitMethodInsn(INVOKESPECIAL, COMPILED_VALUE, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE,
+                    Type.getType(Value.class), Type.getType(MethodHandle.class)), false);
+            for (int i = 0; i < inputs.size(); i++) {
+                method.visitVarInsn(ALOAD, 0);
+                method.visitVarInsn(ALOAD, 2);
+                pushInt(i);
+                method.visitInsn(AALOAD);
+                if (inputTypes.get(i) != Object.class) {
+                    method.visitTypeInsn(CHECKCAST, Type.getInternalName(inputTypes.get(i)));
+                }
+                method.visitFieldInsn(PUTFIELD, className, field(i), Type.getDescriptor(inputTypes.get(i)));
+            }
+            method.visitInsn(RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+
+            classWriter.visitEnd();
+            return classWriter.toByteArray();
+        }
+
+        /**
+         * Emits code that pushes evaluated <code>value</code> onto the stack. Values which are reachable only
+         * through this call site (<code>exclusive</code>) can be assembled inline, shared values are evaluated
+         * through their own {@link Value#get()} so that they keep caching their result.
+         */
+        private void emit(Value<?> value, boolean exclusive, int depth) {
+            exclusive = exclusive && references.getOrDefault(value, 0) <= 1 && depth < MAX_INLINE_DEPTH;
+            Class<?> type = value.getClass();
+            if (value.isConstant()) {
+                loadInput(value.get(), Object.class);
+            } else if (type == ValueProxy.class && ((ValueProxy<?>) value).getDelegate() != null) {
+                emit(((ValueProxy<?>) value).getDelegate(), exclusive, depth + 1);
+            } else if (exclusive && type == CompositeValue.class) {
+                emitComposite((CompositeValue) value, depth);
+            } else if (exclusive && type == ListValue.class) {
+                emitList((ListValue<?>) value, depth);
+            } else if (exclusive && type == StringTransformer.class && isInlineTemplate((StringTransformer) value)) {
+                emitTemplate((StringTransformer) value, depth);
+            } else if (exclusive && type == SwitchValue.class && isSwitchableType(((SwitchValue<?>) value).getSource())) {
+                emitSwitch((SwitchValue<?>) value, depth);
+            } else if (exclusive && type == DiscreteValue.class) {
+                emitDiscrete((DiscreteValue<?>) value, depth);
+            } else {
+                emitGet(value);
+            }
+        }
+
+        private void emitGet(Value<?> value) {
+            Class<?> type = loadInput(value, accessibleType(value.getClass()));
+            method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(type), "get", GET_DESCRIPTOR, false);
+        }
+
+        private void emitComposite(CompositeValue composite, int depth) {
+            Map<String, Value<?>> values = composite.getValues();
+            method.visitTypeInsn(NEW, Type.getInternalName(LinkedHashMap.class));
+            method.visitInsn(DUP);
+            pushInt(values.size());
+            method.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(LinkedHashMap.class), "<init>", "(I)V", false);
+            values.forEach((name, value) -> {
+                method.visitInsn(DUP);
+                method.visitLdcInsn(name);
+                emit(value, true, depth + 1);
+                method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(LinkedHashMap.class), "put",
+                        "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", false);
+                method.visitInsn(POP);
+            });
+            method.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Collections.class), "unmodifiableMap",
+                    "(Ljava/util/Map;)Ljava/util/Map;", false);
+        }
+
+        private void emitList(ListValue<?> list, int depth) {
+            List<Value<?>> values = new ArrayList<>();
+            list.forEachChild(values::add);
+            method.visitTypeInsn(NEW, Type.getInternalName(ArrayList.class));
+            method.visitInsn(DUP);
+            pushInt(values.size());
+            method.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(ArrayList.class), "<init>", "(I)V", false);
+            for (Value<?> value : values) {
+                method.visitInsn(DUP);
+                emit(value, true, depth + 1);
+                method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(ArrayList.class), "add",
+                        "(Ljava/lang/Object;)Z", false);
+                method.visitInsn(POP);
+            }
+            method.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Collections.class), "unmodifiableList",
+                    "(Ljava/util/List;)Ljava/util/List;", false);
+        }
+
+        private boolean isInlineTemplate(StringTransformer transformer) {
+            if (!transformer.formatValue.isConstant()) {
+                return false;
+            }
+            String format = transformer.formatValue.get();
+            return format != null && !format.isEmpty() && format.indexOf('\\') < 0;    //escaped placeholders are left to MessageFormatter
+        }
+
+        private void emitTemplate(StringTransformer transformer, int depth) {
+            String format = transformer.formatValue.get();
+            String builder = Type.getInternalName(StringBuilder.class);
+            method.visitTypeInsn(NEW, builder);
+            method.visitInsn(DUP);
+            method.visitMethodInsn(INVOKESPECIAL, builder, "<init>", "()V", false);
+            int position = 0;
+            for (Value<?> value : transformer.values) {
+                int placeholder = format.indexOf("{}", position);
+                if (placeholder < 0) {  //surplus values are evaluated but not used, as with MessageFormatter
+                    emit(value, true, depth + 1);
+                    method.visitInsn(POP);
+                    continue;
+                }
+                appendLiteral(format.substring(position, placeholder));
+                emit(value, true, depth + 1);
+                method.visitMethodInsn(INVOKESTATIC, COMPILED_VALUE, "appendArgument",
+                        "(Ljava/lang/StringBuilder;Ljava/lang/Object;)Ljava/lang/StringBuilder;", false);
+                position = placeholder + 2;
+            }
+            appendLiteral(format.substring(position));
+            method.visitMethodInsn(INVOKEVIRTUAL, builder, "toString", "()Ljava/lang/String;", false);
+        }
+
+        private void appendLiteral(String literal) {
+            if (literal.isEmpty()) {
+                return;
+            }
+            method.visitLdcInsn(literal);
+            method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(StringBuilder.class), "append",
+                    "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+        }
+
+        private boolean isSwitchableType(Switchable<?> source) {
+            return Switchable.class.isAssignableFrom(accessibleType(source.getClass()));
+        }
+
+        private void emitSwitch(SwitchValue<?> switchValue, int depth) {
+            Value<?> source = (Value<?>) switchValue.getSource();
+            emitGet(source);    //source must be evaluated before retrieving index
+            method.visitInsn(POP);
+            Class<?> sourceType = loadInput(source, accessibleType(source.getClass()));
+            method.visitMethodInsn(sourceType.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+                    Type.getInternalName(sourceType), "getIndex", "()I", sourceType.isInterface());
+            emitBranches(switchValue.values, depth, () -> emitGet(switchValue));  //interpreted switch reports the invalid index
+        }
+
+        private void emitDiscrete(DiscreteValue<?> discreteValue, int depth) {
+            Distribution distribution = discreteValue.distribution;
+            Class<?> distributionType = accessibleType(distribution.getClass());
+            if (!Distribution.class.isAssignableFrom(distributionType)) {
+                distributionType = Distribution.class;
+            }
+            loadInput(distribution, distributionType);
+            pushInt(discreteValue.values.size());
+            method.visitMethodInsn(distributionType.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+                    Type.getInternalName(distributionType), "nextInt", "(I)I", distributionType.isInterface());
+            emitBranches(discreteValue.values, depth, () -> {
+                String exception = Type.getInternalName(IndexOutOfBoundsException.class);
+                method.visitTypeInsn(NEW, exception);
+                method.visitInsn(DUP);
+                method.visitLdcInsn("Distribution returned index out of bounds for length " + discreteValue.values.size());
+                method.visitMethodInsn(INVOKESPECIAL, exception, "<init>", "(Ljava/lang/String;)V", false);
+                method.visitInsn(ATHROW);
+            });
+        }
+
+        /**
+         * Emits table switch over the index on top of the stack. Each branch pushes its evaluated value;
+         * <code>outOfBounds</code> emits code that either pushes a value as well or throws.
+         */
+        private void emitBranches(List<? extends Value<?>> values, int depth, Runnable outOfBounds) {
+            Label end = new Label();
+            Label defaultBranch = new Label();
+            Label[] branches = new Label[values.size()];
+            for (int i = 0; i < branches.length; i++) {
+                branches[i] = new Label();
+            }
+            method.visitTableSwitchInsn(0, branches.length - 1, defaultBranch, branches);
+            for (int i = 0; i < branches.length; i++) {
+                method.visitLabel(branches[i]);
+                emit(values.get(i), true, depth + 1);
+                method.visitJumpInsn(GOTO, end);
+            }
+            method.visitLabel(defaultBranch);
+            outOfBounds.run();
+            method.visitLabel(end);
+        }
+
+        private Class<?> loadInput(Object input, Class<?> type) {
+            Integer index = inputIndexes.get(input);
+            if (index == null) {
+                index = inputs.size();
+                inputs.add(input);
+                inputTypes.add(type);
+                inputIndexes.put(input, index);
+            }
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, className, field(index), Type.getDescriptor(inputTypes.get(index)));
+            return inputTypes.get(index);
+        }
+
+        private void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                method.visitInsn(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                method.visitIntInsn(BIPUSH, value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                method.visitIntInsn(SIPUSH, value);
+            } else {
+                method.visitLdcInsn(value);
+            }
+        }
+
+        private static String field(int index) {
+            return "input" + index;
+        }
+
+        private static Map<Value<?>, Integer> countReferences(Value<?> root) {
+            Map<Value<?>, Integer> references = new IdentityHashMap<>();
+            for (Value<?> value : EvaluationPlan.order(root)) {
+                value.forEachChild(child -> references.merge(child, 1, Integer::sum));
+            }
+            return references;
+        }
+
+        /**
+         * Returns most specific class of the hierarchy of <code>type</code> which generated class can refer to.
+         */
+        private static Class<?> accessibleType(Class<?> type) {
+            while (!isAccessible(type)) {
+                type = type.getSuperclass();
+            }
+            return type;
+        }
+
+        private static boolean isAccessible(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers()) && !type.getPackageName().equals(ValueCompiler.class.getPackageName())) {
+                return false;
+            }
+            try {
+                return Class.forName(type.getName(), false, ValueCompiler.class.getClassLoader()) == type;
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+    }
+}
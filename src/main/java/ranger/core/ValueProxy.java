@@ -1,5 +1,8 @@
 package ranger.core;
 
+import java.io.IOException;
+import java.util.function.Consumer;
+
 /**
  * Proxy around value that can cache value and can reset cache.
  *
@@ -59,6 +62,49 @@ public class ValueProxy<T> extends Value<T> {
         delegate.reset();
     }
 
+    @Override
+    public int getInt() {
+        checkDelegate();
+        return delegate.getInt();
+    }
+
+    @Override
+    public long getLong() {
+        checkDelegate();
+        return delegate.getLong();
+    }
+
+    @Override
+    public float getFloat() {
+        checkDelegate();
+        return delegate.getFloat();
+    }
+
+    @Override
+    public double getDouble() {
+        checkDelegate();
+        return delegate.getDouble();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        checkDelegate();
+        delegate.writeTo(sink);
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        if (delegate != null) {
+            action.accept(delegate);
+        }
+    }
+
+    @Override
+    protected boolean fill(Column column) {
+        checkDelegate();
+        return delegate.fill(column);
+    }
+
     @Override
     protected ValueProxy<T> clone() {
         return new ValueProxy<>(this);
@@ -1,12 +1,13 @@
 package ranger.core;
 
-import org.apache.commons.math3.distribution.EnumeratedDistribution;
-import org.apache.commons.math3.util.Pair;
+import ranger.distribution.AliasTable;
+import ranger.distribution.FastRandom;
+import ranger.distribution.RandomAlgorithm;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Randomly selects one of the provided values following the provided weights.
@@ -15,9 +16,9 @@ import java.util.stream.IntStream;
  */
 public class WeightedValue<T> extends Value<T> implements Switchable<T> {
 
-    private final List<Pair<Integer, Double>> weightList;
+    private final AliasTable aliasTable;
     private final List<Value<T>> values;
-    private final EnumeratedDistribution<Integer> enumeratedDistribution;
+    private FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
     private int currentIndex;
 
     /**
@@ -30,9 +31,8 @@ public class WeightedValue<T> extends Value<T> implements Switchable<T> {
         if (weightedValuePairs == null || weightedValuePairs.isEmpty()) {
             throw new ValueException("List of weighted values cannot be null nor empty.");
         }
-        this.weightList = IntStream.range(0, weightedValuePairs.size()).mapToObj(i -> new Pair<>(i, weightedValuePairs.get(i).getWeight())).collect(Collectors.toList());  //list containing Index-Weight-Pairs
+        this.aliasTable = new AliasTable(weightedValuePairs.stream().mapToDouble(WeightedValuePair::getWeight).toArray());
         this.values = weightedValuePairs.stream().map(WeightedValuePair::getValue).collect(Collectors.toList());    //list containing corresponding values
-        this.enumeratedDistribution = new EnumeratedDistribution<>(weightList);
         this.currentIndex = -1;
     }
 
@@ -41,10 +41,9 @@ public class WeightedValue<T> extends Value<T> implements Switchable<T> {
      */
     private WeightedValue(WeightedValue<T> source) {
         super(source);
-        this.weightList = source.weightList;
+        this.aliasTable = source.aliasTable;     //immutable, shared by all clones
         this.values = new ArrayList<>(source.values.size());
         source.values.forEach(v -> this.values.add(v.getClone()));
-        this.enumeratedDistribution = new EnumeratedDistribution<>(this.weightList);
         this.currentIndex = source.currentIndex;
     }
 
@@ -62,13 +61,33 @@ public class WeightedValue<T> extends Value<T> implements Switchable<T> {
         values.forEach(Value::reset);
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        values.forEach(action);
+    }
+
+    @Override
+    protected boolean evaluatesOnce(Value<?> child) {
+        return false;   //only the chosen value is evaluated
+    }
+
     @Override
     protected void eval() {
-        currentIndex = enumeratedDistribution.sample();
+        currentIndex = aliasTable.sample(random);
         Value<T> chosenValue = values.get(currentIndex);
         val = chosenValue.get();
     }
 
+    @Override
+    protected void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected WeightedValue<T> clone() {
         return new WeightedValue<>(this);
@@ -1,9 +1,12 @@
 package ranger.core;
 
 import nl.flotsam.xeger.Xeger;
+import ranger.distribution.FastRandom;
+import ranger.distribution.RandomAlgorithm;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -23,6 +26,7 @@ public class XegerValue extends Value<String> {
     static final List<String> NEED_ESCAPE_CHARACTERS = Arrays.asList("#", "@", "<", ">", "~");                      //allowed
 
     private final Value<String> regexValue;
+    private FastRandom random;
     private String regexPattern = null;
     private Xeger xeger;
 
@@ -35,16 +39,16 @@ public class XegerValue extends Value<String> {
     public XegerValue(Value<String> regexValue) {
         if (regexValue == null) { throw new ValueException("regex value cannot be null"); }
         this.regexValue = regexValue;
+        this.random = RandomAlgorithm.defaultAlgorithm().create();
     }
 
     /*
-    Copy constructor
+    Copy constructor; Xeger is created again on first evaluation, so that it uses random generator of the clone
      */
     private XegerValue(XegerValue source) {
         super(source);
         this.regexValue = source.regexValue.getClone();
-        this.regexPattern = source.regexPattern;
-        this.xeger = source.xeger;
+        this.random = RandomAlgorithm.defaultAlgorithm().create();
     }
 
     @Override
@@ -55,7 +59,7 @@ public class XegerValue extends Value<String> {
             validateRegExPattern(nextRegexPattern);
             regexPattern = nextRegexPattern;
             try {
-                xeger = new Xeger(replaceSpecialCharacters(regexPattern));
+                xeger = new Xeger(replaceSpecialCharacters(regexPattern), random);
             } catch (RuntimeException e) {
                 throw new RegexException("Error generating xeger value from pattern '" + regexPattern + "': " + e.getMessage());
             }
@@ -74,6 +78,22 @@ public class XegerValue extends Value<String> {
         super.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(regexValue);
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        this.random = random;
+        this.regexPattern = null;   //Xeger is created again with new random generator
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
     @Override
     protected XegerValue clone() {
         return new XegerValue(this);
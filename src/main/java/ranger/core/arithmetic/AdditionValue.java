@@ -3,6 +3,8 @@ package ranger.core.arithmetic;
 import ranger.core.Value;
 import ranger.core.ValueException;
 
+import java.util.function.Consumer;
+
 /**
  * Abstract super class for all Values performing addition
  * @param <T> the Number type the Value returns
@@ -41,6 +43,12 @@ public abstract class AdditionValue<T extends Number> extends Value<T> {
         summand2.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(summand1);
+        action.accept(summand2);
+    }
+
     @Override
     protected abstract AdditionValue<T> clone();
 
@@ -32,6 +32,6 @@ public class AdditionValueByte extends AdditionValue<Byte> {
 
     @Override
     protected void eval() {
-        val = (byte) (summand1.get().byteValue() + summand2.get().byteValue());
+        val = (byte) ((byte) summand1.getInt() + (byte) summand2.getInt());
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Adds up two values and returns result as {@code Double} type.
  */
 public class AdditionValueDouble extends AdditionValue<Double> {
 
+    private double doubleVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -23,6 +28,7 @@ public class AdditionValueDouble extends AdditionValue<Double> {
     */
     protected AdditionValueDouble(AdditionValueDouble source) {
         super(source);
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class AdditionValueDouble extends AdditionValue<Double> {
         return new AdditionValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
     @Override
     protected void eval() {
-        val = summand1.get().doubleValue() + summand2.get().doubleValue();
+        doubleVal = summand1.getDouble() + summand2.getDouble();
+        val = null;
     }
 }
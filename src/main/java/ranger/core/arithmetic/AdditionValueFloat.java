@@ -32,6 +32,6 @@ public class AdditionValueFloat extends AdditionValue<Float> {
 
     @Override
     protected void eval() {
-        val = summand1.get().floatValue() + summand2.get().floatValue();
+        val = summand1.getFloat() + summand2.getFloat();
     }
 }
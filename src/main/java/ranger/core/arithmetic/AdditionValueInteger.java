@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Adds up two values and returns result as {@code Integer} type.
  */
 public class AdditionValueInteger extends AdditionValue<Integer> {
 
+    private int intVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -23,6 +28,7 @@ public class AdditionValueInteger extends AdditionValue<Integer> {
     */
     protected AdditionValueInteger(AdditionValueInteger source) {
         super(source);
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class AdditionValueInteger extends AdditionValue<Integer> {
         return new AdditionValueInteger(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
     @Override
     protected void eval() {
-        val = summand1.get().intValue() + summand2.get().intValue();
+        intVal = summand1.getInt() + summand2.getInt();
+        val = null;
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Adds up two values and returns result as {@code Long} type.
  */
 public class AdditionValueLong extends AdditionValue<Long> {
 
+    private long longVal;
+
     /**
      * Creates Addition value with specified <code>summand1</code> and <code>summand2</code>.
      *
@@ -23,6 +28,7 @@ public class AdditionValueLong extends AdditionValue<Long> {
     */
     protected AdditionValueLong(AdditionValueLong source) {
         super(source);
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class AdditionValueLong extends AdditionValue<Long> {
         return new AdditionValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
     @Override
     protected void eval() {
-        val = summand1.get().longValue() + summand2.get().longValue();
+        longVal = summand1.getLong() + summand2.getLong();
+        val = null;
     }
 }
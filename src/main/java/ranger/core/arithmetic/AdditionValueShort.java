@@ -32,6 +32,6 @@ public class AdditionValueShort extends AdditionValue<Short> {
 
     @Override
     protected void eval() {
-        val = (short) (summand1.get().shortValue() + summand2.get().shortValue());
+        val = (short) ((short) summand1.getInt() + (short) summand2.getInt());
     }
 }
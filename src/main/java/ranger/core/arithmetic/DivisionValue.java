@@ -3,6 +3,8 @@ package ranger.core.arithmetic;
 import ranger.core.Value;
 import ranger.core.ValueException;
 
+import java.util.function.Consumer;
+
 /**
  * Abstract super class for all Values performing division
  * @param <T> the Number type the Value returns
@@ -41,6 +43,12 @@ public abstract class DivisionValue<T extends Number> extends Value<T> {
         divisor.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(dividend);
+        action.accept(divisor);
+    }
+
     @Override
     protected abstract DivisionValue<T> clone();
 
@@ -32,6 +32,6 @@ public class DivisionValueByte extends DivisionValue<Byte> {
 
     @Override
     protected void eval() {
-        val = (byte) (dividend.get().byteValue() / divisor.get().byteValue());
+        val = (byte) ((byte) dividend.getInt() / (byte) divisor.getInt());
     }
 }
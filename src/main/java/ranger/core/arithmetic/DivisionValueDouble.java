@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Divides two values and returns result as {@code Double} type.
  */
 public class DivisionValueDouble extends DivisionValue<Double> {
 
+    private double doubleVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -23,6 +28,7 @@ public class DivisionValueDouble extends DivisionValue<Double> {
     */
     protected DivisionValueDouble(DivisionValueDouble source) {
         super(source);
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class DivisionValueDouble extends DivisionValue<Double> {
         return new DivisionValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
     @Override
     protected void eval() {
-        val = dividend.get().doubleValue() / divisor.get().doubleValue();
+        doubleVal = dividend.getDouble() / divisor.getDouble();
+        val = null;
     }
 }
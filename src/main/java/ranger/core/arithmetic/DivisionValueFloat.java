@@ -32,6 +32,6 @@ public class DivisionValueFloat extends DivisionValue<Float> {
 
     @Override
     protected void eval() {
-        val = dividend.get().floatValue() / divisor.get().floatValue();
+        val = dividend.getFloat() / divisor.getFloat();
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Divides two values and returns result as {@code Integer} type.
  */
 public class DivisionValueInteger extends DivisionValue<Integer> {
 
+    private int intVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -23,6 +28,7 @@ public class DivisionValueInteger extends DivisionValue<Integer> {
     */
     protected DivisionValueInteger(DivisionValueInteger source) {
         super(source);
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class DivisionValueInteger extends DivisionValue<Integer> {
         return new DivisionValueInteger(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
     @Override
     protected void eval() {
-        val = dividend.get().intValue() / divisor.get().intValue();
+        intVal = dividend.getInt() / divisor.getInt();
+        val = null;
     }
 }
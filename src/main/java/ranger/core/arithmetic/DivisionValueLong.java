@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Divides two values and returns result as {@code Long} type.
  */
 public class DivisionValueLong extends DivisionValue<Long> {
 
+    private long longVal;
+
     /**
      * Creates Division value with specified <code>dividend</code> and <code>divisor</code>.
      *
@@ -23,6 +28,7 @@ public class DivisionValueLong extends DivisionValue<Long> {
     */
     protected DivisionValueLong(DivisionValueLong source) {
         super(source);
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class DivisionValueLong extends DivisionValue<Long> {
         return new DivisionValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
     @Override
     protected void eval() {
-        val = dividend.get().longValue() / divisor.get().longValue();
+        longVal = dividend.getLong() / divisor.getLong();
+        val = null;
     }
 }
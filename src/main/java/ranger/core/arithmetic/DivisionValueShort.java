@@ -32,6 +32,6 @@ public class DivisionValueShort extends DivisionValue<Short> {
 
     @Override
     protected void eval() {
-        val = (short) (dividend.get().shortValue() / divisor.get().shortValue());
+        val = (short) ((short) dividend.getInt() / (short) divisor.getInt());
     }
 }
@@ -3,6 +3,8 @@ package ranger.core.arithmetic;
 import ranger.core.Value;
 import ranger.core.ValueException;
 
+import java.util.function.Consumer;
+
 /**
  * Abstract super class for all Values performing multiplication
  * @param <T> the Number type the Value returns
@@ -41,6 +43,12 @@ public abstract class MultiplicationValue<T extends Number> extends Value<T> {
         factor2.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(factor1);
+        action.accept(factor2);
+    }
+
     @Override
     protected abstract MultiplicationValue<T> clone();
 
@@ -32,6 +32,6 @@ public class MultiplicationValueByte extends MultiplicationValue<Byte> {
 
     @Override
     protected void eval() {
-        val = (byte) (factor1.get().byteValue() * factor2.get().byteValue());
+        val = (byte) ((byte) factor1.getInt() * (byte) factor2.getInt());
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Multiplies two values and returns result as {@code Double} type.
  */
 public class MultiplicationValueDouble extends MultiplicationValue<Double> {
 
+    private double doubleVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -23,6 +28,7 @@ public class MultiplicationValueDouble extends MultiplicationValue<Double> {
     */
     protected MultiplicationValueDouble(MultiplicationValueDouble source) {
         super(source);
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class MultiplicationValueDouble extends MultiplicationValue<Double> {
         return new MultiplicationValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
     @Override
     protected void eval() {
-        val = factor1.get().doubleValue() * factor2.get().doubleValue();
+        doubleVal = factor1.getDouble() * factor2.getDouble();
+        val = null;
     }
 }
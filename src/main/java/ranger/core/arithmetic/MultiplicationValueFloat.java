@@ -32,6 +32,6 @@ public class MultiplicationValueFloat extends MultiplicationValue<Float> {
 
     @Override
     protected void eval() {
-        val = factor1.get().floatValue() * factor2.get().floatValue();
+        val = factor1.getFloat() * factor2.getFloat();
     }
 }
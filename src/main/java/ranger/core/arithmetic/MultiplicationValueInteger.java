@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Multiplies two values and returns result as {@code Integer} type.
  */
 public class MultiplicationValueInteger extends MultiplicationValue<Integer> {
 
+    private int intVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -23,6 +28,7 @@ public class MultiplicationValueInteger extends MultiplicationValue<Integer> {
     */
     protected MultiplicationValueInteger(MultiplicationValueInteger source) {
         super(source);
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class MultiplicationValueInteger extends MultiplicationValue<Integer> {
         return new MultiplicationValueInteger(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
     @Override
     protected void eval() {
-        val = factor1.get().intValue() * factor2.get().intValue();
+        intVal = factor1.getInt() * factor2.getInt();
+        val = null;
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Multiplies two values and returns result as {@code Long} type.
  */
 public class MultiplicationValueLong extends MultiplicationValue<Long> {
 
+    private long longVal;
+
     /**
      * Creates Multiplication value with specified <code>factor1</code> and <code>factor2</code>.
      *
@@ -23,6 +28,7 @@ public class MultiplicationValueLong extends MultiplicationValue<Long> {
     */
     protected MultiplicationValueLong(MultiplicationValueLong source) {
         super(source);
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class MultiplicationValueLong extends MultiplicationValue<Long> {
         return new MultiplicationValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
     @Override
     protected void eval() {
-        val = factor1.get().longValue() * factor2.get().longValue();
+        longVal = factor1.getLong() * factor2.getLong();
+        val = null;
     }
 }
@@ -32,6 +32,6 @@ public class MultiplicationValueShort extends MultiplicationValue<Short> {
 
     @Override
     protected void eval() {
-        val = (short) (factor1.get().shortValue() * factor2.get().shortValue());
+        val = (short) ((short) factor1.getInt() * (short) factor2.getInt());
     }
 }
@@ -3,6 +3,8 @@ package ranger.core.arithmetic;
 import ranger.core.Value;
 import ranger.core.ValueException;
 
+import java.util.function.Consumer;
+
 /**
  * Abstract super class for all Values performing subtraction
  * @param <T> the Number type the Value returns
@@ -41,6 +43,12 @@ public abstract class SubtractionValue<T extends Number> extends Value<T> {
         subtrahend.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(minuend);
+        action.accept(subtrahend);
+    }
+
     @Override
     protected abstract SubtractionValue<T> clone();
 
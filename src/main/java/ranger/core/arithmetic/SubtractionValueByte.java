@@ -32,6 +32,6 @@ public class SubtractionValueByte extends SubtractionValue<Byte> {
 
     @Override
     protected void eval() {
-        val = (byte) (minuend.get().byteValue() - subtrahend.get().byteValue());
+        val = (byte) ((byte) minuend.getInt() - (byte) subtrahend.getInt());
     }
 }
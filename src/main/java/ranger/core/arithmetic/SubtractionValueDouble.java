@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Subtracts two values and returns result as {@code Double} type.
  */
 public class SubtractionValueDouble extends SubtractionValue<Double> {
 
+    private double doubleVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -23,6 +28,7 @@ public class SubtractionValueDouble extends SubtractionValue<Double> {
     */
     protected SubtractionValueDouble(SubtractionValueDouble source) {
         super(source);
+        this.doubleVal = source.doubleVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class SubtractionValueDouble extends SubtractionValue<Double> {
         return new SubtractionValueDouble(this);
     }
 
+    @Override
+    public Double get() {
+        evaluate();
+        if (val == null) {
+            val = doubleVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    @Override
+    public long getLong() {
+        return (long) getDouble();
+    }
+
+    @Override
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    @Override
+    public double getDouble() {
+        evaluate();
+        return doubleVal;
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getDouble());
+    }
+
     @Override
     protected void eval() {
-        val = minuend.get().doubleValue() - subtrahend.get().doubleValue();
+        doubleVal = minuend.getDouble() - subtrahend.getDouble();
+        val = null;
     }
 }
@@ -32,6 +32,6 @@ public class SubtractionValueFloat extends SubtractionValue<Float> {
 
     @Override
     protected void eval() {
-        val = minuend.get().floatValue() - subtrahend.get().floatValue();
+        val = minuend.getFloat() - subtrahend.getFloat();
     }
 }
@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Subtracts two values and returns result as {@code Integer} type.
  */
 public class SubtractionValueInteger extends SubtractionValue<Integer> {
 
+    private int intVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -23,6 +28,7 @@ public class SubtractionValueInteger extends SubtractionValue<Integer> {
     */
     protected SubtractionValueInteger(SubtractionValueInteger source) {
         super(source);
+        this.intVal = source.intVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class SubtractionValueInteger extends SubtractionValue<Integer> {
         return new SubtractionValueInteger(this);
     }
 
+    @Override
+    public Integer get() {
+        evaluate();
+        if (val == null) {
+            val = intVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        evaluate();
+        return intVal;
+    }
+
+    @Override
+    public long getLong() {
+        return getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        return getInt();
+    }
+
+    @Override
+    public double getDouble() {
+        return getInt();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getInt());
+    }
+
     @Override
     protected void eval() {
-        val = minuend.get().intValue() - subtrahend.get().intValue();
+        intVal = minuend.getInt() - subtrahend.getInt();
+        val = null;
     }
 }
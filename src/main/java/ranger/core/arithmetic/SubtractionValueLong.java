@@ -1,13 +1,18 @@
 package ranger.core.arithmetic;
 
 
+import ranger.core.RecordSink;
 import ranger.core.Value;
 
+import java.io.IOException;
+
 /**
  * Subtracts two values and returns result as {@code Long} type.
  */
 public class SubtractionValueLong extends SubtractionValue<Long> {
 
+    private long longVal;
+
     /**
      * Creates Subtraction value with specified <code>minuend</code> and <code>subtrahend</code>.
      *
@@ -23,6 +28,7 @@ public class SubtractionValueLong extends SubtractionValue<Long> {
     */
     protected SubtractionValueLong(SubtractionValueLong source) {
         super(source);
+        this.longVal = source.longVal;
     }
 
     @Override
@@ -30,8 +36,44 @@ public class SubtractionValueLong extends SubtractionValue<Long> {
         return new SubtractionValueLong(this);
     }
 
+    @Override
+    public Long get() {
+        evaluate();
+        if (val == null) {
+            val = longVal;
+        }
+        return val;
+    }
+
+    @Override
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() {
+        evaluate();
+        return longVal;
+    }
+
+    @Override
+    public float getFloat() {
+        return getLong();
+    }
+
+    @Override
+    public double getDouble() {
+        return getLong();
+    }
+
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.value(getLong());
+    }
+
     @Override
     protected void eval() {
-        val = minuend.get().longValue() - subtrahend.get().longValue();
+        longVal = minuend.getLong() - subtrahend.getLong();
+        val = null;
     }
 }
@@ -32,6 +32,6 @@ public class SubtractionValueShort extends SubtractionValue<Short> {
 
     @Override
     protected void eval() {
-        val = (short) (minuend.get().shortValue() - subtrahend.get().shortValue());
+        val = (short) ((short) minuend.getInt() - (short) subtrahend.getInt());
     }
 }
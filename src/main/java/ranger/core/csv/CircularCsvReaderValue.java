@@ -2,47 +2,78 @@ package ranger.core.csv;
 
 import ranger.core.ValueException;
 
-import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Value that reads CSV file sequentially. It returns each record as Map with columns as properties: 'c0', 'c1', c2', ...
  * (or header key properties if given). Restarts at first record again after reaching last record.
+ * The file is parsed once into the shared {@link CsvTable}, which is then cycled through by index. Files above
+ * {@link ranger.util.RangerConfig#getCsvMemoryLimit()} bytes are streamed from disk in blocks instead.
  */
 public class CircularCsvReaderValue extends CsvReaderValue {
 
+    private Iterator<List<String>> rows;
+
     /**
      * Constructs CircularCsvReaderValue from parserSettings that reads the specified CSV file
      * record-by-record. It supplies each record as Map with columns as properties: 'c0', 'c1', c2', ...
      * (or header key properties if given). Jumps to first record again after reaching CSV's last record.
      *
      * @param parserSettings Settings for the CSV parser
+     * @throws ValueException if CSV file does not contain any record
      * @throws ValueException if an IO error occurs during parsing the CSV file
      */
     public CircularCsvReaderValue(CSVParserSettings parserSettings) {
-        super(parserSettings);
+        super(parserSettings, true);
+    }
+
+    /*
+    Copy constructor; Shares table and starts at first record
+     */
+    private CircularCsvReaderValue(CircularCsvReaderValue source) {
+        super(source);
     }
 
     @Override
-    protected CircularCsvReaderValue clone() {
-        return new CircularCsvReaderValue(this.parserSettings);
+    public int getSize() {
+        return table().getRowCount();
     }
 
     @Override
-    protected void eval() {
-        if(!iterator.hasNext()){
-            try {
-                refresh();
-            } catch (IOException e) {
-                throw new ValueException("Error parsing csv file", e);
-            }
-        }
-        super.eval();
+    protected void seek(long index) {
+        this.index = (int) Math.floorMod(index - 1, (long) table().getRowCount());  //eval advances to index
+        this.rows = null;
     }
 
-    private void refresh() throws IOException {
-        this.csvParser.close();
-        this.csvParser = createCSVParser(parserSettings);
-        this.iterator = csvParser.iterator();
-        this.index = 0;
+    @Override
+    protected boolean isPositional() {
+        return true;
+    }
+
+    @Override
+    public void project(Collection<String> keys) {
+        super.project(keys);
+        this.rows = null;   //rows of previous table
+    }
+
+    @Override
+    protected boolean hasSequentialState() {
+        return false;
+    }
+
+    @Override
+    protected CircularCsvReaderValue clone() {
+        return new CircularCsvReaderValue(this);
+    }
+
+    @Override
+    protected Iterable<String> nextRecord() {
+        index = (index + 1) % table().getRowCount();
+        if (rows == null || !rows.hasNext()) {    //restarts at first record after last record
+            rows = table().rows(index);
+        }
+        return rows.next();
     }
 }
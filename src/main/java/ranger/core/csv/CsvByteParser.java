@@ -0,0 +1,314 @@
+package ranger.core.csv;
+
+import ranger.core.ValueException;
+import ranger.util.RangerConfig;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Parses CSV records directly from the bytes of a local file, producing the same values as the CSV parser of commons-csv
+ * for the same settings. Works only for files a {@link CsvScanner} can scan (see
+ * {@link CsvScanner#scannablePath(CSVParserSettings)}), as it finds delimiters, quotes and line breaks by comparing
+ * bytes. The bytes are scanned 8 at a time: each word is XORed with the searched byte repeated 8 times, which turns
+ * matching bytes into zero bytes, and zero bytes are found with a few arithmetic operations
+ * (<code>(x - 0x01..01) &amp; ~x &amp; 0x80..80</code>). The file is read in large blocks through positioned reads,
+ * and a record only stores the positions of its fields. Fields are decoded to strings when requested, so fields that
+ * are never requested cost almost nothing.
+ * A parser must not be used by several threads at once.
+ */
+final class CsvByteParser {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long CARRIAGE_RETURNS = '\r' * ONES;
+    private static final long LINE_FEEDS = '\n' * ONES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int NEED_MORE = -1;
+
+    private final Charset encoding;
+    private final byte delimiter;
+    private final long delimiters;
+    private final int quote;
+    private final long quotes;
+    private final byte commentMarker;
+    private final boolean ignoreEmptyLines;
+    private final boolean trim;
+    private final String nullString;
+    private final FileChannel channel;
+    private final long end;
+    private long position;          //file position of next byte to read into buffer
+    private byte[] buffer;
+    private int start;              //start of next record within buffer
+    private int limit;              //end of valid bytes within buffer
+    private boolean complete;       //whether buffer contains all remaining bytes
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private int size;
+
+    /**
+     * Constructs parser for the records between byte offsets <code>start</code> and <code>end</code> of a file, which
+     * must be the start and end of records.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param channel Channel of the CSV file, only used for positioned reads, so it may be shared.
+     * @param start Offset of the first record.
+     * @param end Offset after the last record.
+     */
+    CsvByteParser(CSVParserSettings parserSettings, FileChannel channel, long start, long end) {
+        this(parserSettings, channel, start, end, BUFFER_SIZE);
+    }
+
+    CsvByteParser(CSVParserSettings parserSettings, FileChannel channel, long start, long end, int bufferSize) {
+        this(parserSettings, channel, start, end, new byte[(int) Math.max(Long.BYTES, Math.min(bufferSize, end - start))], 0, false);
+    }
+
+    /**
+     * Constructs parser for the records contained in the first <code>length</code> bytes of <code>bytes</code>.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param bytes Bytes of the records, not copied.
+     * @param length Number of bytes.
+     */
+    CsvByteParser(CSVParserSettings parserSettings, byte[] bytes, int length) {
+        this(parserSettings, null, 0, 0, bytes, length, true);
+    }
+
+    private CsvByteParser(CSVParserSettings parserSettings, FileChannel channel, long start, long end, byte[] buffer,
+                          int limit, boolean complete) {
+        this.encoding = RangerConfig.getEncoding();
+        this.delimiter = (byte) parserSettings.getDelimiter();
+        this.delimiters = broadcast(delimiter);
+        this.quote = parserSettings.getQuote() == null ? -1 : parserSettings.getQuote();
+        this.quotes = quote < 0 ? 0 : broadcast((byte) quote);
+        this.commentMarker = (byte) parserSettings.getCommentMarker();
+        this.ignoreEmptyLines = parserSettings.isIgnoreEmptyLines();
+        this.trim = parserSettings.isTrim();
+        this.nullString = parserSettings.getNullString();
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.buffer = buffer;
+        this.limit = limit;
+        this.complete = complete;
+    }
+
+    private static long broadcast(byte b) {
+        return (b & 0xFF) * ONES;
+    }
+
+    /**
+     * Advances to the next record, skipping comments and ignored empty lines. Invalidates fields of the previous record.
+     *
+     * @return Whether there is a next record.
+     * @throws ValueException if the record is malformed or an IO error occurs during reading the CSV file
+     */
+    boolean next() {
+        while (true) {
+            while (start >= limit) {
+                if (!fill()) { return false; }
+            }
+            int next = parseRecord(start);
+            if (next == NEED_MORE) {
+                fill();     //record continues after buffer
+                continue;
+            }
+            start = next;
+            if (size > 0) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return Number of fields of the current record.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Decodes a field of the current record.
+     *
+     * @param index Index of the field.
+     * @return Value of the field, null if it equals the null string.
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    String get(int index) {
+        if (index < 0 || index >= size) { throw new IndexOutOfBoundsException("index: " + index + ", size: " + size); }
+        int from = fieldStarts[index];
+        int to = fieldEnds[index];
+        String value;
+        if (escaped[index]) {   //drop first quote of each doubled quote
+            byte[] unescaped = new byte[to - from];
+            int length = 0;
+            for (int i = from; i < to; i++) {
+                unescaped[length++] = buffer[i];
+                if (buffer[i] == quote) { i++; }
+            }
+            value = new String(unescaped, 0, length, encoding);
+        } else {
+            value = new String(buffer, from, to - from, encoding);
+        }
+        if (trim) {
+            value = value.trim();
+        }
+        return value.equals(nullString) ? null : value;
+    }
+
+    /*
+    Parses record starting at from and returns its end, or NEED_MORE if the buffer ends before the record. Sets size to
+    0 if the line is a comment or an ignored empty line
+     */
+    private int parseRecord(int from) {
+        size = 0;
+        int p = from;
+        byte b = buffer[p];
+        if (b == commentMarker) {
+            return lineEnd(find(p, 0, false));
+        }
+        if (b == '\r' || b == '\n') {
+            if (!ignoreEmptyLines) {
+                addField(p, p, false);
+            }
+            return lineEnd(p);
+        }
+        while (true) {
+            if (p >= limit) {   //empty last field
+                if (!complete) { return NEED_MORE; }
+                addField(p, p, false);
+                return limit;
+            }
+            if (quote >= 0 && buffer[p] == quote) {
+                int closing = p + 1;
+                boolean hasEscapes = false;
+                while (true) {
+                    closing = find(closing, quotes, true);
+                    if (closing + 1 >= limit && !complete) { return NEED_MORE; }
+                    if (closing >= limit) { throw new ValueException("Error parsing csv file: EOF reached before quoted field finished"); }
+                    if (closing + 1 < limit && buffer[closing + 1] == quote) {  //escaped quote
+                        hasEscapes = true;
+                        closing += 2;
+                        continue;
+                    }
+                    break;
+                }
+                addField(p + 1, closing, hasEscapes);
+                p = closing + 1;
+                while (p < limit && buffer[p] != delimiter && buffer[p] != '\r' && buffer[p] != '\n') {
+                    if (!Character.isWhitespace((char) (buffer[p] & 0xFF)) || buffer[p] < 0) {
+                        throw new ValueException("Error parsing csv file: invalid char between quoted field and delimiter");
+                    }
+                    p++;
+                }
+            } else {
+                int fieldEnd = find(p, delimiters, false);
+                addField(p, fieldEnd, false);
+                p = fieldEnd;
+            }
+            if (p >= limit) {
+                return complete ? limit : NEED_MORE;
+            }
+            if (buffer[p] != delimiter) {
+                return lineEnd(p);
+            }
+            p++;
+        }
+    }
+
+    /*
+    Returns the position after the line break at p, or NEED_MORE if it cannot be determined within the buffer
+     */
+    private int lineEnd(int p) {
+        if (p >= limit) {
+            return complete ? limit : NEED_MORE;
+        }
+        if (buffer[p] == '\n') {
+            return p + 1;
+        }
+        if (p + 1 >= limit) {
+            return complete ? p + 1 : NEED_MORE;
+        }
+        return buffer[p + 1] == '\n' ? p + 2 : p + 1;
+    }
+
+    /*
+    Returns position of the first byte at or after from that is a line break or, if onlyPattern is true, matches
+    pattern, or that matches pattern in addition to line breaks otherwise. A pattern of 0 matches nothing but line
+    breaks. Returns limit if there is no such byte
+     */
+    private int find(int from, long pattern, boolean onlyPattern) {
+        int p = from;
+        for (; p + Long.BYTES <= limit; p += Long.BYTES) {
+            long word = (long) LONGS.get(buffer, p);
+            long matches = onlyPattern ? zeroBytes(word ^ pattern)
+                    : zeroBytes(word ^ CARRIAGE_RETURNS) | zeroBytes(word ^ LINE_FEEDS) | (pattern == 0 ? 0 : zeroBytes(word ^ pattern));
+            if (matches != 0) {     //lowest marked byte is always a match, higher ones may be false positives
+                return p + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        byte searched = (byte) pattern;
+        for (; p < limit; p++) {
+            byte b = buffer[p];
+            if (onlyPattern ? b == searched : b == '\r' || b == '\n' || (pattern != 0 && b == searched)) {
+                return p;
+            }
+        }
+        return limit;
+    }
+
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    private void addField(int from, int to, boolean hasEscapes) {
+        if (size == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, size * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, size * 2);
+            escaped = Arrays.copyOf(escaped, size * 2);
+        }
+        fieldStarts[size] = from;
+        fieldEnds[size] = to;
+        escaped[size] = hasEscapes;
+        size++;
+    }
+
+    /*
+    Moves the unparsed bytes to the start of the buffer, growing it if they fill it, and reads more bytes behind them.
+    Returns false if there are no more bytes
+     */
+    private boolean fill() {
+        if (complete) {
+            return false;
+        }
+        int remaining = limit - start;
+        if (remaining == buffer.length) {    //record longer than buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, remaining);
+        }
+        start = 0;
+        limit = remaining;
+        try {
+            ByteBuffer target = ByteBuffer.wrap(buffer, limit, (int) Math.min(buffer.length - limit, end - position));
+            while (target.hasRemaining()) {
+                int n = channel.read(target, position);
+                if (n < 0) { break; }
+                position += n;
+            }
+            limit = target.position();
+        } catch (IOException e) {
+            throw new ValueException("Error parsing csv file", e);
+        }
+        complete = position >= end || limit < buffer.length;
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package ranger.core.csv;
+
+import ranger.distribution.AliasTable;
+import ranger.distribution.FastRandom;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable hash index of the records of a {@link CsvTable} by the value of a key column. The records of each key are
+ * stored as consecutive range of record indexes, so a record matching a key is drawn in constant time, uniformly or,
+ * if weighted, through one {@link AliasTable} per key. Records whose key is null or whose weight is zero are left
+ * out, as they can never be drawn. Indexes are shared by a value and its clones.
+ */
+final class CsvLookupIndex {
+
+    private final Map<String, Integer> groups;     //key to group
+    private final int[] starts;                     //records of group g are rows[starts[g]] to rows[starts[g + 1] - 1]
+    private final int[] rows;
+    private final AliasTable[] aliasTables;         //null if unweighted, null element for groups of one record
+
+    /**
+     * Builds index of the records of <code>table</code> by the values of a column.
+     *
+     * @param table Table to index.
+     * @param keyColumn Index of the key column within the table.
+     * @param weightColumn Index of the weight column within the table, or -1 to draw records uniformly.
+     * @param weightParser Converts values of the weight column to weights, may throw an exception for invalid values.
+     */
+    CsvLookupIndex(CsvTable table, int keyColumn, int weightColumn, MappedCsvTable.WeightParser weightParser) {
+        int rowCount = table.getRowCount();
+        this.groups = new HashMap<>();
+        int[] groupOf = new int[rowCount];
+        double[] weights = weightColumn < 0 ? null : new double[rowCount];
+        int[] counts = new int[16];
+        Iterator<List<String>> records = table.rows(0);     //streams tables on disk
+        for (int row = 0; row < rowCount; row++) {
+            List<String> record = records.next();
+            String key = record.get(keyColumn);
+            if (weights != null) {
+                weights[row] = weightParser.parse(row, record.get(weightColumn));
+            }
+            if (key == null || (weights != null && weights[row] == 0)) {
+                groupOf[row] = -1;
+                continue;
+            }
+            Integer group = groups.get(key);
+            if (group == null) {
+                group = groups.size();
+                groups.put(key, group);
+                if (group == counts.length) {
+                    counts = Arrays.copyOf(counts, group * 2);
+                }
+            }
+            groupOf[row] = group;
+            counts[group]++;
+        }
+        this.starts = new int[groups.size() + 1];
+        for (int group = 0; group < groups.size(); group++) {
+            starts[group + 1] = starts[group] + counts[group];
+        }
+        this.rows = new int[starts[groups.size()]];
+        int[] next = Arrays.copyOf(starts, groups.size());
+        for (int row = 0; row < rowCount; row++) {  //records of each group stay in file order
+            if (groupOf[row] >= 0) {
+                rows[next[groupOf[row]]++] = row;
+            }
+        }
+        this.aliasTables = weights == null ? null : new AliasTable[groups.size()];
+        if (aliasTables != null) {
+            for (int group = 0; group < groups.size(); group++) {
+                if (starts[group + 1] - starts[group] > 1) {
+                    double[] groupWeights = new double[starts[group + 1] - starts[group]];
+                    for (int i = 0; i < groupWeights.length; i++) {
+                        groupWeights[i] = weights[rows[starts[group] + i]];
+                    }
+                    aliasTables[group] = new AliasTable(groupWeights);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws a record whose key column equals <code>key</code>.
+     *
+     * @param key Value of the key column.
+     * @param random Source of random bits.
+     * @return Index of the record, or -1 if no record matches key.
+     */
+    int sample(String key, FastRandom random) {
+        Integer group = groups.get(key);
+        if (group == null) {
+            return -1;
+        }
+        int start = starts[group];
+        int count = starts[group + 1] - start;
+        if (aliasTables == null) {
+            return rows[start + random.nextInt(count)];
+        }
+        return rows[start + (count == 1 ? 0 : aliasTables[group].sample(random))];
+    }
+}
@@ -0,0 +1,174 @@
+package ranger.core.csv;
+
+import ranger.core.Column;
+import ranger.core.Value;
+import ranger.core.ValueException;
+import ranger.distribution.FastRandom;
+import ranger.distribution.RandomAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Value that reads CSV file and returns random record whose key field equals the value of another value, like a random
+ * street of a previously chosen city. It returns a Map with columns as properties: 'c0', 'c1', c2', ... (or header key
+ * properties if given). Records are drawn uniformly or with respect to each record's weight.
+ * On first use, the records are indexed by key field (see {@link CsvLookupIndex}), so each lookup takes constant time.
+ */
+public class CsvLookupValue extends CsvReaderValue {
+
+    private final String keyField;
+    private final int keyFieldColumn;
+    private final String weightField;       //null if records are drawn uniformly
+    private final int weightFieldColumn;
+    private final Value<?> key;
+    private CsvLookupIndex lookupIndex;
+    private FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
+
+    /**
+     * Constructs CsvLookupValue that reads CSV file and returns random record whose key field equals the value of key.
+     * It returns Map with columns as properties 'c0', 'c1', c2', ... (or header properties if given)
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param keyField CSV column that is compared with key (must be either a header key or key in c0, c1, .. cn syntax).
+     * @param key Value whose value is looked up, compared by its string representation.
+     * @throws ValueException if any argument is null or CSV file does not contain keyField
+     * @throws ValueException on evaluation if key evaluates to null or to a value no record contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public CsvLookupValue(CSVParserSettings parserSettings, String keyField, Value<?> key) {
+        this(parserSettings, keyField, key, null);
+    }
+
+    /**
+     * Constructs CsvLookupValue that reads CSV file and returns random record whose key field equals the value of key,
+     * with respect to each record's weight.
+     * It returns Map with columns as properties 'c0', 'c1', c2', ... (or header properties if given)
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param keyField CSV column that is compared with key (must be either a header key or key in c0, c1, .. cn syntax).
+     * @param key Value whose value is looked up, compared by its string representation.
+     * @param weightField CSV column that contains the weight for each record, or null to draw records uniformly.
+     * @throws ValueException if parserSettings, keyField or key is null or CSV file does not contain keyField or
+     *                        weightField
+     * @throws ValueException on first use if weightField's value is not a number or if a weight is negative
+     * @throws ValueException on evaluation if key evaluates to null or to a value no record with positive weight
+     *                        contains in keyField
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public CsvLookupValue(CSVParserSettings parserSettings, String keyField, Value<?> key, String weightField) {
+        super(parserSettings, true);
+        if (keyField == null || keyField.isEmpty()) { throw new ValueException("keyField must not be null nor empty"); }
+        if (key == null) { throw new ValueException("key cannot be null."); }
+        if (weightField != null && weightField.isEmpty()) { throw new ValueException("weightField must not be empty"); }
+        this.keyField = keyField;
+        this.keyFieldColumn = columnOf(keyField);
+        this.weightField = weightField;
+        this.weightFieldColumn = weightField == null ? -1 : columnOf(weightField);
+        this.key = key;
+    }
+
+    /*
+    Copy constructor; Shares table and index and clones key
+     */
+    private CsvLookupValue(CsvLookupValue source) {
+        super(source);
+        source.loadIndex();     //index once for source and clones
+        this.keyField = source.keyField;
+        this.keyFieldColumn = source.keyFieldColumn;
+        this.weightField = source.weightField;
+        this.weightFieldColumn = source.weightFieldColumn;
+        this.key = source.key.getClone();
+        this.lookupIndex = source.lookupIndex;
+    }
+
+    /*
+    Indexes the records of the table by key field if not indexed yet
+     */
+    private void loadIndex() {
+        if (lookupIndex != null) {
+            return;
+        }
+        int keyPosition = Arrays.binarySearch(columns, keyFieldColumn);    //key column within table
+        int weightPosition = weightField == null ? -1 : Arrays.binarySearch(columns, weightFieldColumn);
+        this.lookupIndex = new CsvLookupIndex(table(), keyPosition, weightPosition,
+                (row, value) -> WeightedCsvReaderValue.parseWeight(parserSettings, weightField, row, value));
+    }
+
+    /**
+     * Restricts this value to the specified columns, the key column and the weight column and indexes the records
+     * right away (see {@link CsvReaderValue#project(Collection)}).
+     */
+    @Override
+    public void project(Collection<String> keys) {
+        if (keys == null) { throw new ValueException("keys cannot be null."); }
+        List<String> keysWithLookupFields = new ArrayList<>(keys);
+        keysWithLookupFields.add(headerKeys.get(keyFieldColumn));   //index is built from table
+        if (weightField != null) {
+            keysWithLookupFields.add(headerKeys.get(weightFieldColumn));
+        }
+        this.lookupIndex = null;
+        super.project(keysWithLookupFields);
+        loadIndex();
+    }
+
+    @Override
+    public int getSize() {
+        return table().getRowCount();
+    }
+
+    @Override
+    public void reset() {
+        key.reset();
+        super.reset();
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(key);
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected boolean hasSequentialState() {
+        return false;
+    }
+
+    @Override
+    protected boolean fill(Map<String, Column> columns) {
+        return false;   //key changes with each object
+    }
+
+    @Override
+    protected CsvLookupValue clone() {
+        return new CsvLookupValue(this);
+    }
+
+    @Override
+    protected Iterable<String> nextRecord() {
+        loadIndex();
+        Object keyValue = key.get();
+        if (keyValue == null) { throw new ValueException(String.format("csvLookup()'s key for field '%s' in file '%s' must not be null", keyField, parserSettings.getUrl().getPath())); }
+        String lookedUp = Objects.toString(keyValue);
+        index = lookupIndex.sample(lookedUp, random);
+        if (index < 0) {
+            throw new ValueException(String.format("CSV file '%s' does not contain a record%s with field '%s' equal to '%s'",
+                    parserSettings.getUrl().getPath(), weightField == null ? "" : " of positive weight", keyField, lookedUp));
+        }
+        return table().row(index);
+    }
+}
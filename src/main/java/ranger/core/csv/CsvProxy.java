@@ -4,6 +4,7 @@ import ranger.core.Switchable;
 import ranger.core.Value;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Value that holds a reference to CsvReaderValue and
@@ -32,6 +33,13 @@ public class CsvProxy extends Value<String> implements Switchable {
         this.parentCsvReader.csvProxies.put("c"+columnPos, this);
     }
 
+    /**
+     * @return Header key of the column this proxy returns.
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
     void setValue(String value) {
         this.val = value;
     }
@@ -47,6 +55,11 @@ public class CsvProxy extends Value<String> implements Switchable {
         super.reset();
     }
 
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        action.accept(parentCsvReader);
+    }
+
     @Override
     public int getIndex() {
         return parentCsvReader.getIndex();
@@ -2,35 +2,47 @@ package ranger.core.csv;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import ranger.core.Column;
 import ranger.core.Composite;
 import ranger.core.Switchable;
+import ranger.core.Value;
 import ranger.core.ValueException;
 import ranger.util.RangerConfig;
 
 import java.io.BufferedReader;
-import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Value that reads CSV file sequentially. It returns each record as Map with columns as properties: 'c0', 'c1', c2', ...
  * (or header key properties if given). Can only generate as many Maps as CSV contains records.
+ * Clones read the file from the start on their own. Parallel clones (see {@link Value#getParallelClone()}) continue
+ * reading the same file instead, so a value and its parallel clones together return each record exactly once, even
+ * when used by different threads. Each of them reads consecutive parts of the file (see {@link CsvSplits}), so records
+ * are only returned in file order if a single value reads the file.
+ * A value may be restricted to the columns that are actually used (see {@link #project(Collection)}).
  */
 public class CsvReaderValue extends Composite<String> implements Switchable<Map<String, String>> {
 
     protected final CSVParserSettings parserSettings;
-    protected CSVParser csvParser;
-    protected Iterator<CSVRecord> iterator;
+    protected CsvTable table;
     protected final List<String> headerKeys;
     protected final Map<String, CsvProxy> csvProxies;
+    protected int[] columns;
     protected int index = -1;
+    private final boolean useTable;
+    private boolean projected;
+    private final CsvSplits splits;
+    private CsvSplits.Split split;
 
     /**
      * Constructs CsvReaderValue from parserSettings that reads the specified CSV file
@@ -42,38 +54,69 @@ public class CsvReaderValue extends Composite<String> implements Switchable<Map<
      * @throws ValueException if an IO error occurs during parsing the CSV file
      */
     public CsvReaderValue(CSVParserSettings parserSettings) {
+        this(parserSettings, false);
+    }
+
+    /**
+     * Constructs CsvReaderValue from parserSettings that either reads the specified CSV file record-by-record or reads
+     * its records from the {@link CsvTable} shared by all values reading the same file. The table is loaded on first
+     * use, so it only contains the columns this value is restricted to. Subclasses using the table choose the records
+     * by overriding {@link #nextRecord()}.
+     *
+     * @param parserSettings Settings for the CSV parser
+     * @param useTable Whether to read records from the shared table instead of the CSV file.
+     * @throws ValueException if useTable is true and CSV file does not contain any record
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    protected CsvReaderValue(CSVParserSettings parserSettings, boolean useTable) {
         if (parserSettings == null) {
             throw new ValueException("parserSettings cannot be null.");
         }
         this.parserSettings = parserSettings;
-        CSVParser scout = createCSVParser(parserSettings);
-        int columnCount = scout.iterator().next().size(); //read first line and check it's size
-        try {
-            scout.close();
-        } catch (IOException e) {
-            throw new ValueException("Error parsing csv file", e);
+        this.csvProxies = new LinkedHashMap<>();
+        this.useTable = useTable;
+        if (useTable) {
+            this.splits = null;
+            this.headerKeys = CsvTable.readHeaderKeys(parserSettings, true);
+        } else {
+            this.splits = new CsvSplits(parserSettings);
+            this.headerKeys = splits.getHeaderKeys();
         }
-        this.csvParser = createCSVParser(parserSettings);
-        this.iterator = csvParser.iterator();
+        this.columns = CsvTable.selectColumns(null, headerKeys.size());
+        addCsvProxies();
+    }
+
+    /*
+    Copy constructor; Shares parser settings, header keys, columns and table. Parallel clones share splits of the CSV
+    file, so the source and all of its parallel clones together read each record once
+     */
+    protected CsvReaderValue(CsvReaderValue source) {
+        this.parserSettings = source.parserSettings;
+        this.useTable = source.useTable;
+        this.table = useTable ? source.table() : null;   //load once for source and clones
+        this.splits = useTable ? null : isParallelCloning() ? source.splits : new CsvSplits(parserSettings);
+        this.headerKeys = source.headerKeys;
+        this.columns = source.columns;
+        this.projected = source.projected;
         this.csvProxies = new LinkedHashMap<>();
-        if (!parserSettings.isWithHeader()) {
-            this.headerKeys = new ArrayList<>(columnCount);
-            for (int i = 0; i < columnCount; i++) {  //add c0,c1,...cn proxies
-                String columnName = "c"+i;
-                headerKeys.add(columnName);
-                CsvProxy columnProxy = new CsvProxy(this, columnName);
-                csvProxies.put(columnName, columnProxy);
-                values.put(columnName, columnProxy);
-            }
-        } else {    //add header proxies
-            this.headerKeys = new ArrayList<>(csvParser.getHeaderMap().keySet());
-            for (int i = 0; i < headerKeys.size(); i++) {  //add proxies for c0,c1,...cn and header keys
-                String columnName = headerKeys.get(i);
-                CsvProxy columnProxy = new CsvProxy(this, columnName);
-                csvProxies.put(columnName, columnProxy);
-                csvProxies.put("c"+i, columnProxy);
-                values.put(columnName, columnProxy);
-            }
+        addCsvProxies();
+    }
+
+    static List<String> positionalKeys(int columnCount) {
+        List<String> columnNames = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columnNames.add("c"+i);
+        }
+        return Collections.unmodifiableList(columnNames);
+    }
+
+    private void addCsvProxies() {
+        for (int i = 0; i < headerKeys.size(); i++) {
+            String columnName = headerKeys.get(i);
+            CsvProxy columnProxy = new CsvProxy(this, columnName);
+            csvProxies.put(columnName, columnProxy);
+            csvProxies.put("c"+i, columnProxy);
+            values.put(columnName, columnProxy);
         }
     }
 
@@ -81,6 +124,80 @@ public class CsvReaderValue extends Composite<String> implements Switchable<Map<
         return Collections.unmodifiableMap(csvProxies);
     }
 
+    public CSVParserSettings getParserSettings() {
+        return parserSettings;
+    }
+
+    /**
+     * @return Header keys if CSV file has a header, 'c0', 'c1', c2', ... otherwise.
+     */
+    public List<String> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    /**
+     * Restricts this value to the specified columns. Only they are stored in the table, returned in the Maps and set
+     * in the column proxies, all other columns evaluate to null. The first call replaces the initial restriction to all
+     * columns, later calls add columns, so values shared by several configurations read the columns of all of them.
+     * Values reading a table load it right away, so errors in the CSV file show up before generating. Must be called
+     * before the value is cloned.
+     *
+     * @param keys Header keys or positional keys ('c0', 'c1', c2', ...) of the columns.
+     * @throws ValueException if keys is null or the CSV file does not contain one of the keys
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public void project(Collection<String> keys) {
+        if (keys == null) { throw new ValueException("keys cannot be null."); }
+        boolean[] selected = new boolean[headerKeys.size()];
+        if (projected) {
+            for (int column : columns) { selected[column] = true; }
+        }
+        for (String key : keys) {
+            selected[columnOf(key)] = true;
+        }
+        int[] projection = new int[headerKeys.size()];
+        int count = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) { projection[count++] = i; }
+        }
+        this.columns = Arrays.copyOf(projection, count);
+        this.projected = true;
+        this.table = null;
+        setEvaluated(false);
+        if (useTable) {
+            table();    //load with new columns
+        }
+    }
+
+    /**
+     * Returns the index of a column within the CSV file.
+     *
+     * @param key Header key or positional key ('c0', 'c1', c2', ...) of the column.
+     * @return Index of the column.
+     * @throws ValueException if the CSV file does not contain the key
+     */
+    protected int columnOf(String key) {
+        int column = headerKeys.indexOf(key);
+        if (column < 0 && key.matches("c[0-9]{1,9}")) {   //positional key
+            column = Integer.parseInt(key.substring(1));
+        }
+        if (column < 0 || column >= headerKeys.size()) { throw new ValueException(String.format("CSV file '%s' does not contain field '%s'", parserSettings.getUrl().getPath(), key)); }
+        return column;
+    }
+
+    /**
+     * Returns the table shared by all values reading the same columns of the same file, loading it on first use.
+     *
+     * @return Table containing the columns of this value, columns are numbered as in {@link #columns}.
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    protected CsvTable table() {
+        if (table == null) {
+            table = CsvTable.of(parserSettings, columns);
+        }
+        return table;
+    }
+
     @Override
     public int getIndex() {
         return index;
@@ -93,47 +210,106 @@ public class CsvReaderValue extends Composite<String> implements Switchable<Map<
 
     @Override
     public void reset() {
-        evaluated = false;
+        setEvaluated(false);
+    }
+
+    @Override
+    protected void forEachChild(Consumer<Value<?>> action) {
+        //column proxies read from this reader, not the other way round
+    }
+
+    @Override
+    protected boolean hasSequentialState() {
+        return true;
     }
 
     @Override
     protected CsvReaderValue clone() {
-        return new CsvReaderValue(
-                this.parserSettings);    //Need to recreate whole CsvReaderValue because we cannot clone Iterator
+        return new CsvReaderValue(this);
     }
 
     @Override
     protected void eval() {
-        if (!iterator.hasNext()) { throw new ValueException("No more CSV records available in file: '" + parserSettings.getUrl().getPath() + "'"); }
+        eval(nextRecord());
+    }
+
+    /**
+     * Advances to next record and returns the values of its columns this value is restricted to (see
+     * {@link #columns}).
+     *
+     * @return Column values of next record.
+     */
+    protected Iterable<String> nextRecord() {
+        String[] values;
+        while ((values = split == null ? null : split.next(columns)) == null) {
+            split = splits.next(split);
+            if (split == null) { throw new ValueException("No more CSV records available in file: '" + parserSettings.getUrl().getPath() + "'"); }
+        }
         index++;
-        CSVRecord record = iterator.next();
-        eval(record);
+        return Arrays.asList(values);
+    }
+
+    @Override
+    protected boolean fill(Map<String, Column> columns) {
+        Column[] columnsByPosition = new Column[this.columns.length];
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            int position = Arrays.binarySearch(this.columns, headerKeys.indexOf(entry.getKey()));
+            if (position < 0) {
+                return false;   //column was not read
+            }
+            columnsByPosition[position] = entry.getValue();
+        }
+        int rows = columns.values().iterator().next().size();
+        for (int row = 0; row < rows; row++) {
+            if (row == 0 && isEvaluated()) {    //first row is current record
+                for (int i = 0; i < columnsByPosition.length; i++) {
+                    if (columnsByPosition[i] != null) {
+                        columnsByPosition[i].set(row, val.get(headerKeys.get(this.columns[i])));
+                    }
+                }
+                continue;
+            }
+            Iterator<String> values = nextRecord().iterator();
+            for (Column column : columnsByPosition) {
+                String value = values.hasNext() ? values.next() : null;
+                if (column != null) {
+                    column.set(row, value);
+                }
+            }
+        }
+        setEvaluated(false);
+        return true;
     }
 
     protected void eval(Iterable<String> record) {
         LinkedHashMap<String, String> evaluatedValues = new LinkedHashMap<>();
         Iterator<String> values = record.iterator();
-        headerKeys.forEach(k -> {
+        for (int column : columns) {
+            String key = headerKeys.get(column);
             String value;
             if (values.hasNext()) {
                 value = values.next();
             } else {
                 value = null;
             }
-            evaluatedValues.put(k, value);
-            csvProxies.get(k).setValue(value);
-        });
+            evaluatedValues.put(key, value);
+            csvProxies.get(key).setValue(value);
+        }
         val = Collections.unmodifiableMap(evaluatedValues);
     }
 
-    static CSVParser createCSVParser(CSVParserSettings parserSettings) {
-        CSVFormat csvFormat = CSVFormat.DEFAULT.withDelimiter(parserSettings.getDelimiter())
+    static CSVFormat createCSVFormat(CSVParserSettings parserSettings) {
+        return CSVFormat.DEFAULT.withDelimiter(parserSettings.getDelimiter())
                 .withRecordSeparator(parserSettings.getRecordSeparator())
                 .withTrim(parserSettings.isTrim())
                 .withQuote(parserSettings.getQuote())
                 .withCommentMarker(parserSettings.getCommentMarker())
                 .withIgnoreEmptyLines(parserSettings.isIgnoreEmptyLines())
                 .withNullString(parserSettings.getNullString());
+    }
+
+    static CSVParser createCSVParser(CSVParserSettings parserSettings) {
+        CSVFormat csvFormat = createCSVFormat(parserSettings);
         if (parserSettings.isWithHeader()) {
             csvFormat = csvFormat.withFirstRecordAsHeader();
         }
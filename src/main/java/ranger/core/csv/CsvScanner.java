@@ -0,0 +1,155 @@
+package ranger.core.csv;
+
+import ranger.util.RangerConfig;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Finds record boundaries of a local CSV file without parsing its values. Scans the bytes for line breaks outside of
+ * quoted fields and comments, which requires delimiter, quote and comment marker to be ASCII characters and an
+ * encoding that stores them as single bytes (see {@link #scannablePath(CSVParserSettings)}). Records are delimited
+ * like the CSV parser does: a quote only starts a quoted field at the beginning of a field, doubled quotes within
+ * quoted fields are escaped quotes and <code>\r\n</code> is a single line break.
+ */
+final class CsvScanner {
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private static final int RECORD_START = 0;
+    private static final int FIELD_START = 1;
+    private static final int UNQUOTED = 2;
+    private static final int QUOTED = 3;
+    private static final int QUOTE_IN_QUOTED = 4;
+    private static final int COMMENT = 5;
+    private static final int CARRIAGE_RETURN = 6;
+
+    private final CSVParserSettings parserSettings;
+    private final FileChannel channel;
+    private final long size;
+
+    CsvScanner(CSVParserSettings parserSettings, FileChannel channel, long size) {
+        this.parserSettings = parserSettings;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Returns path of the CSV file if it is a local file which can be scanned.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @return Path of the CSV file, or null if it cannot be scanned.
+     */
+    static Path scannablePath(CSVParserSettings parserSettings) {
+        if (!"file".equals(parserSettings.getUrl().getProtocol())) {
+            return null;
+        }
+        Character quote = parserSettings.getQuote();
+        String controlCharacters = "\r\n" + parserSettings.getDelimiter() + parserSettings.getCommentMarker()
+                + (quote == null ? "" : quote);
+        Charset encoding = RangerConfig.getEncoding();
+        if (!controlCharacters.chars().allMatch(c -> c < 0x80)
+                || !Arrays.equals(controlCharacters.getBytes(encoding), controlCharacters.getBytes(StandardCharsets.US_ASCII))) {
+            return null;    //control characters may not be found by comparing bytes
+        }
+        try {
+            return Paths.get(parserSettings.getUrl().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scans records starting at byte offset <code>from</code>, which must be the start of a record, and returns the
+     * end of the first record ending at or after <code>minEnd</code>, after at least <code>minRecords</code> records
+     * which are neither comments nor ignored empty lines.
+     *
+     * @param from Offset to start at.
+     * @param minEnd Minimum offset of returned end.
+     * @param minRecords Minimum number of records before returned end.
+     * @param recordStarts Accepts start offset of each scanned record which is neither comment nor ignored empty line,
+     *                     may be null.
+     * @return End of record, or file size if no such record ends before.
+     * @throws IOException if an IO error occurs during reading the CSV file
+     */
+    long scan(long from, long minEnd, int minRecords, LongConsumer recordStarts) throws IOException {
+        int delimiter = parserSettings.getDelimiter();
+        int quote = parserSettings.getQuote() == null ? -1 : parserSettings.getQuote();
+        int commentMarker = parserSettings.getCommentMarker();
+        boolean ignoreEmptyLines = parserSettings.isIgnoreEmptyLines();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        int state = RECORD_START;
+        boolean data = false;   //whether current record is neither comment nor ignored empty line
+        long recordStart = from;
+        int records = 0;
+        for (long offset = from; offset < size; ) {
+            buffer.clear();
+            int n = channel.read(buffer, offset);
+            if (n < 0) { break; }
+            for (int i = 0; i < n; i++) {
+                int b = bytes[i] & 0xFF;   //bytes of multi-byte characters are not ASCII and never match
+                if (state == CARRIAGE_RETURN) {     //record ended with \r, a following \n belongs to it
+                    long end = b == '\n' ? offset + i + 1 : offset + i;
+                    if (data) {
+                        records++;
+                        if (recordStarts != null) { recordStarts.accept(recordStart); }
+                    }
+                    if (records >= minRecords && end >= minEnd) { return end; }
+                    state = RECORD_START;
+                    if (b == '\n') { continue; }
+                }
+                if (state == RECORD_START) {
+                    recordStart = offset + i;
+                    if (b == commentMarker) {
+                        state = COMMENT;
+                        data = false;
+                        continue;
+                    }
+                    data = (b != '\r' && b != '\n') || !ignoreEmptyLines;
+                    state = FIELD_START;
+                }
+                if (state == QUOTED) {
+                    if (b == quote) { state = QUOTE_IN_QUOTED; }
+                    continue;
+                }
+                if (state == QUOTE_IN_QUOTED) {
+                    if (b == quote) {   //escaped quote
+                        state = QUOTED;
+                        continue;
+                    }
+                    state = UNQUOTED;   //field was closed
+                }
+                if (b == '\r') {
+                    state = CARRIAGE_RETURN;
+                } else if (b == '\n') {
+                    if (data) {
+                        records++;
+                        if (recordStarts != null) { recordStarts.accept(recordStart); }
+                    }
+                    if (records >= minRecords && offset + i + 1 >= minEnd) { return offset + i + 1; }
+                    state = RECORD_START;
+                } else if (state != COMMENT) {
+                    if (b == delimiter) {
+                        state = FIELD_START;
+                    } else {
+                        state = state == FIELD_START && b == quote ? QUOTED : UNQUOTED;
+                    }
+                }
+            }
+            offset += n;
+        }
+        if (state != RECORD_START && data && recordStarts != null) {     //last record without line break
+            recordStarts.accept(recordStart);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,173 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import ranger.core.ValueException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hands out consecutive parts of a CSV file to the {@link CsvReaderValue}s sharing it, which are a value and its
+ * clones. Together they read each record exactly once. Local files are split into byte ranges of about
+ * {@link #SPLIT_SIZE} bytes that end at record boundaries, so each value parses its split on its own with a
+ * {@link CsvByteParser} through positioned reads of a shared {@link FileChannel}. Boundaries are found by a {@link CsvScanner}. Other files, like
+ * resources within jars, are read as a single split.
+ * A value which runs out of splits continues with the split of another value, so no records are left unread while
+ * a value needs records. A single value reads all splits in order, so it reads the records in file order.
+ */
+final class CsvSplits {
+
+    static final long SPLIT_SIZE = 8L << 20;
+
+    private final CSVParserSettings parserSettings;
+    private final long splitSize;
+    private final List<String> headerKeys;
+    private final List<Split> active = new ArrayList<>();
+    private FileChannel channel;        //null if file is read as single split
+    private CsvScanner scanner;
+    private long size;
+    private long position;              //start of next split
+    private Split single;
+
+    /**
+     * Constructs splits of the CSV file specified by <code>parserSettings</code> of about {@link #SPLIT_SIZE} bytes.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @throws ValueException if CSV file has no header and does not contain any record
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    CsvSplits(CSVParserSettings parserSettings) {
+        this(parserSettings, SPLIT_SIZE);
+    }
+
+    CsvSplits(CSVParserSettings parserSettings, long splitSize) {
+        this.parserSettings = parserSettings;
+        this.splitSize = splitSize;
+        CSVParser csvParser = CsvReaderValue.createCSVParser(parserSettings);
+        Iterator<CSVRecord> iterator = csvParser.iterator();
+        CSVRecord first = null;
+        if (parserSettings.isWithHeader()) {
+            this.headerKeys = Collections.unmodifiableList(new ArrayList<>(csvParser.getHeaderMap().keySet()));
+        } else {    //read first record to count columns, it is the first record of the first split
+            if (!iterator.hasNext()) { throw new ValueException(String.format("CSV file %s does not contain any record", parserSettings.getUrl().getPath())); }
+            first = iterator.next();
+            this.headerKeys = CsvReaderValue.positionalKeys(first.size());
+        }
+        Path path = CsvScanner.scannablePath(parserSettings);
+        try {
+            if (path == null) {
+                this.single = new Split(csvParser, first);
+            } else {
+                csvParser.close();
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+                this.size = channel.size();
+                this.scanner = new CsvScanner(parserSettings, channel, size);
+                this.position = parserSettings.isWithHeader() ? scanner.scan(0, 0, 1, null) : 0;   //splits start after header
+            }
+        } catch (IOException e) {
+            throw new ValueException("Error parsing csv file", e);
+        }
+    }
+
+    List<String> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    /**
+     * Returns the split to continue with after <code>previous</code> has no records left. That is the next unread
+     * split of the file or, after all splits have been handed out, a split still being read by another value.
+     *
+     * @param previous Split without records left, or null.
+     * @return Split to continue with, or null if all records have been read.
+     * @throws ValueException if an IO error occurs during scanning the CSV file
+     */
+    synchronized Split next(Split previous) {
+        active.remove(previous);
+        Split split = null;
+        if (single != null) {
+            split = single;
+            single = null;
+        } else if (channel != null && position < size) {
+            long start = position;
+            try {
+                position = scanner.scan(start, start + splitSize, 0, null);
+            } catch (IOException e) {
+                throw new ValueException("Error parsing csv file", e);
+            }
+            split = new Split(new CsvByteParser(parserSettings, channel, start, position));
+        }
+        if (split != null) {
+            active.add(split);
+            return split;
+        }
+        return active.isEmpty() ? null : active.get(0);
+    }
+
+    /**
+     * Consecutive records of a CSV file. May be read by several values at once after all splits have been handed out.
+     */
+    static final class Split {
+        private final CSVParser csvParser;          //null if split is parsed from bytes
+        private final Iterator<CSVRecord> iterator;
+        private final CsvByteParser byteParser;
+        private CSVRecord first;
+
+        private Split(CSVParser csvParser, CSVRecord first) {
+            this.csvParser = csvParser;
+            this.iterator = csvParser.iterator();
+            this.byteParser = null;
+            this.first = first;
+        }
+
+        private Split(CsvByteParser byteParser) {
+            this.csvParser = null;
+            this.iterator = null;
+            this.byteParser = byteParser;
+        }
+
+        /**
+         * Returns the values of some columns of the next record. Other fields are not decoded.
+         *
+         * @param columns Indexes of the columns to return.
+         * @return Values of the columns of the next record of this split, missing values are null. Null if this split
+         * has no records left.
+         * @throws ValueException if the record is malformed or an IO error occurs during reading the CSV file
+         */
+        synchronized String[] next(int[] columns) {
+            String[] values = new String[columns.length];
+            if (byteParser != null) {
+                if (!byteParser.next()) {
+                    return null;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns[i] < byteParser.size() ? byteParser.get(columns[i]) : null;
+                }
+                return values;
+            }
+            CSVRecord record = first;
+            first = null;
+            if (record == null && iterator.hasNext()) {
+                record = iterator.next();
+            }
+            if (record == null) {
+                try {
+                    csvParser.close();
+                } catch (IOException e) {
+                    throw new ValueException("Error parsing csv file", e);
+                }
+                return null;
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns[i] < record.size() ? record.get(columns[i]) : null;
+            }
+            return values;
+        }
+    }
+}
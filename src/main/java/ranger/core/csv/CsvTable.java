@@ -0,0 +1,228 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import ranger.core.ValueException;
+import ranger.util.RangerConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Immutable random access view of all records of a CSV file. Tables are shared by all values reading the same file with
+ * the same settings (see {@link #of(CSVParserSettings)}), so clones and values of parallel tasks do not load the file
+ * again. Files up to {@link RangerConfig#getCsvMemoryLimit()} bytes are loaded into memory column by column
+ * ({@link DictionaryCsvTable}), larger local files are read on demand through an index of record offsets kept on disk
+ * ({@link MappedCsvTable}). A table may be restricted to some columns of the file, then all other columns are neither
+ * stored nor parsed and columns are numbered within the table.
+ */
+public abstract class CsvTable {
+
+    private static final Map<TableKey, WeakReference<CsvTable>> TABLES = new HashMap<>();
+
+    protected final CSVParserSettings parserSettings;
+    private final long lastModified;
+
+    protected CsvTable(CSVParserSettings parserSettings) {
+        this.parserSettings = parserSettings;
+        this.lastModified = lastModified(parserSettings.getUrl());
+    }
+
+    /**
+     * Returns the table of the CSV file specified by <code>parserSettings</code>. Loads the file only if no table with
+     * equal settings is referenced anymore or if the file was modified since it was loaded.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @return Table containing all records of the CSV file.
+     * @throws ValueException if parserSettings is null
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static CsvTable of(CSVParserSettings parserSettings) {
+        return of(parserSettings, null);
+    }
+
+    /**
+     * Returns the table of the specified columns of the CSV file specified by <code>parserSettings</code>. Loads the
+     * file only if no table with equal settings and columns is referenced anymore or if the file was modified since it
+     * was loaded.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param columns Ascending indexes of the columns within the CSV file, or null for all columns.
+     * @return Table containing the specified columns of all records of the CSV file.
+     * @throws ValueException if parserSettings is null
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    public static synchronized CsvTable of(CSVParserSettings parserSettings, int[] columns) {
+        if (parserSettings == null) {
+            throw new ValueException("parserSettings cannot be null.");
+        }
+        TableKey key = new TableKey(parserSettings, columns);
+        WeakReference<CsvTable> reference = TABLES.get(key);
+        CsvTable table = reference == null ? null : reference.get();
+        if (table == null || table.lastModified != lastModified(parserSettings.getUrl())) {
+            TABLES.values().removeIf(r -> r.get() == null);
+            Path path = CsvScanner.scannablePath(parserSettings);
+            if (path != null && path.toFile().length() > RangerConfig.getCsvMemoryLimit()) {
+                table = new MappedCsvTable(parserSettings, path, columns);
+            } else {
+                table = new DictionaryCsvTable(parserSettings, columns);
+            }
+            TABLES.put(key, new WeakReference<>(table));
+        }
+        return table;
+    }
+
+    /**
+     * Reads the header keys of a CSV file without reading the records.
+     *
+     * @param parserSettings Settings for the CSV parser.
+     * @param requireRecord Whether the CSV file must contain at least one record.
+     * @return Header keys if CSV file has a header, 'c0', 'c1', c2', ... otherwise.
+     * @throws ValueException if requireRecord is true and CSV file does not contain any record
+     * @throws ValueException if an IO error occurs during parsing the CSV file
+     */
+    static List<String> readHeaderKeys(CSVParserSettings parserSettings, boolean requireRecord) {
+        try (CSVParser csvParser = CsvReaderValue.createCSVParser(parserSettings)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            CSVRecord first = iterator.hasNext() ? iterator.next() : null;
+            if (first == null && requireRecord) { throw new ValueException(String.format("CSV file %s does not contain any record", parserSettings.getUrl().getPath())); }
+            if (parserSettings.isWithHeader()) {
+                return Collections.unmodifiableList(new ArrayList<>(csvParser.getHeaderMap().keySet()));
+            }
+            return first == null ? Collections.<String>emptyList() : CsvReaderValue.positionalKeys(first.size());
+        } catch (IOException e) {
+            throw new ValueException("Error parsing csv file", e);
+        }
+    }
+
+    /*
+    Returns a copy of the given columns, or all columns if null
+     */
+    static int[] selectColumns(int[] columns, int columnCount) {
+        if (columns != null) {
+            return columns.clone();
+        }
+        int[] all = new int[columnCount];
+        Arrays.setAll(all, i -> i);
+        return all;
+    }
+
+    /*
+    Returns the header keys of the given columns
+     */
+    static List<String> selectHeaderKeys(List<String> headerKeys, int[] columns) {
+        List<String> selected = new ArrayList<>(columns.length);
+        for (int column : columns) {
+            if (column < 0 || column >= headerKeys.size()) { throw new ValueException("CSV file does not contain column " + column); }
+            selected.add(headerKeys.get(column));
+        }
+        return Collections.unmodifiableList(selected);
+    }
+
+    static long lastModified(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return 0;   //resources within jars do not change
+        }
+        try {
+            return new File(url.toURI()).lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    public CSVParserSettings getParserSettings() {
+        return parserSettings;
+    }
+
+    /**
+     * @return Header keys of the columns of this table if CSV file has a header, 'c0', 'c1', c2', ... otherwise.
+     */
+    public abstract List<String> getHeaderKeys();
+
+    public abstract int getRowCount();
+
+    /**
+     * Returns value of a field.
+     *
+     * @param row Index of the record.
+     * @param column Index of the column within this table.
+     * @return Value of the field, may be null.
+     * @throws IndexOutOfBoundsException if row or column is out of bounds
+     */
+    public abstract String get(int row, int column);
+
+    /**
+     * Returns a record as unmodifiable list with one value per column of this table. Missing values are null.
+     *
+     * @param row Index of the record.
+     * @return Values of all fields of the record.
+     * @throws IndexOutOfBoundsException if row is out of bounds
+     */
+    public abstract List<String> row(int row);
+
+    /**
+     * Returns the records from <code>from</code> to the last record in order. Tables reading records on demand read
+     * consecutive records in blocks, which is faster than reading each record with {@link #row(int)}.
+     *
+     * @param from Index of the first record.
+     * @return Iterator over the records, see {@link #row(int)}.
+     * @throws IndexOutOfBoundsException if from is negative or larger than the number of records
+     */
+    public Iterator<List<String>> rows(int from) {
+        if (from < 0 || from > getRowCount()) { throw new IndexOutOfBoundsException("row: " + from + ", rows: " + getRowCount()); }
+        return new Iterator<List<String>>() {
+            private int row = from;
+
+            @Override
+            public boolean hasNext() {
+                return row < getRowCount();
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                return row(row++);
+            }
+        };
+    }
+
+    protected void checkRow(int row) {
+        if (row < 0 || row >= getRowCount()) { throw new IndexOutOfBoundsException("row: " + row + ", rows: " + getRowCount()); }
+    }
+
+    private static final class TableKey {
+        private final CSVParserSettings parserSettings;
+        private final int[] columns;
+
+        private TableKey(CSVParserSettings parserSettings, int[] columns) {
+            this.parserSettings = parserSettings;
+            this.columns = columns == null ? null : columns.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TableKey that = (TableKey) o;
+            return parserSettings.equals(that.parserSettings) && Arrays.equals(columns, that.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parserSettings, Arrays.hashCode(columns));
+        }
+    }
+}
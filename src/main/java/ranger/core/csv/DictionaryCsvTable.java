@@ -0,0 +1,190 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import ranger.core.ValueException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of a CSV file, stored column by column. Each column keeps its distinct values in a
+ * dictionary and one code per record, which takes one byte per record for columns with up to 256 distinct values, two
+ * bytes for up to 65536 distinct values and four bytes otherwise. Equal strings are stored once across all columns.
+ * Columns not selected are skipped while loading.
+ */
+final class DictionaryCsvTable extends CsvTable {
+
+    private final List<String> headerKeys;
+    private final DictionaryColumn[] columns;
+    private final int rowCount;
+
+    DictionaryCsvTable(CSVParserSettings parserSettings) {
+        this(parserSettings, null);
+    }
+
+    DictionaryCsvTable(CSVParserSettings parserSettings, int[] selectedColumns) {
+        super(parserSettings);
+        List<String> fileHeaderKeys = readHeaderKeys(parserSettings, false);
+        int[] selected = selectColumns(selectedColumns, fileHeaderKeys.size());
+        this.headerKeys = selectHeaderKeys(fileHeaderKeys, selected);
+        Map<String, String> pool = new HashMap<>();     //shares equal strings between columns
+        ColumnBuilder[] builders = new ColumnBuilder[selected.length];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = new ColumnBuilder(pool);
+        }
+        Path path = CsvScanner.scannablePath(parserSettings);
+        this.rowCount = path != null ? loadBytes(path, selected, builders) : loadRecords(selected, builders);
+        this.columns = new DictionaryColumn[builders.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = builders[i].build();
+        }
+    }
+
+    /*
+    Adds selected fields of all records to builders using the byte parser, which only decodes selected fields
+     */
+    private int loadBytes(Path path, int[] selected, ColumnBuilder[] builders) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            CsvByteParser parser = new CsvByteParser(parserSettings, channel, 0, channel.size());
+            if (parserSettings.isWithHeader()) {
+                parser.next();
+            }
+            int rows = 0;
+            while (parser.next()) {
+                for (int i = 0; i < builders.length; i++) {     //missing fields are null, surplus fields dropped
+                    builders[i].add(selected[i] < parser.size() ? parser.get(selected[i]) : null);
+                }
+                rows++;
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new ValueException("Error parsing csv file", e);
+        }
+    }
+
+    /*
+    Adds selected fields of all records to builders using the CSV parser
+     */
+    private int loadRecords(int[] selected, ColumnBuilder[] builders) {
+        try (CSVParser csvParser = CsvReaderValue.createCSVParser(parserSettings)) {
+            int rows = 0;
+            for (CSVRecord record : csvParser) {
+                for (int i = 0; i < builders.length; i++) {     //missing fields are null, surplus fields dropped
+                    builders[i].add(selected[i] < record.size() ? record.get(selected[i]) : null);
+                }
+                rows++;
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new ValueException("Error parsing csv file", e);
+        }
+    }
+
+    @Override
+    public List<String> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String get(int row, int column) {
+        checkRow(row);
+        return columns[column].get(row);
+    }
+
+    @Override
+    public List<String> row(int row) {
+        checkRow(row);
+        return new AbstractList<String>() {
+            @Override
+            public String get(int column) {
+                return columns[column].get(row);
+            }
+
+            @Override
+            public int size() {
+                return columns.length;
+            }
+        };
+    }
+
+    /**
+     * Distinct values of a column and the code of each record's value, in the smallest array type that fits.
+     */
+    private static final class DictionaryColumn {
+        private final String[] dictionary;
+        private final byte[] byteCodes;
+        private final char[] charCodes;
+        private final int[] intCodes;
+
+        private DictionaryColumn(String[] dictionary, int[] codes, int rowCount) {
+            this.dictionary = dictionary;
+            byte[] bytes = null;
+            char[] chars = null;
+            int[] ints = null;
+            if (dictionary.length <= 1 << Byte.SIZE) {
+                bytes = new byte[rowCount];
+                for (int i = 0; i < rowCount; i++) { bytes[i] = (byte) codes[i]; }
+            } else if (dictionary.length <= 1 << Character.SIZE) {
+                chars = new char[rowCount];
+                for (int i = 0; i < rowCount; i++) { chars[i] = (char) codes[i]; }
+            } else {
+                ints = Arrays.copyOf(codes, rowCount);
+            }
+            this.byteCodes = bytes;
+            this.charCodes = chars;
+            this.intCodes = ints;
+        }
+
+        private String get(int row) {
+            if (byteCodes != null) { return dictionary[byteCodes[row] & 0xFF]; }
+            if (charCodes != null) { return dictionary[charCodes[row]]; }
+            return dictionary[intCodes[row]];
+        }
+    }
+
+    private static final class ColumnBuilder {
+        private final Map<String, String> pool;
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] codes = new int[16];
+        private int size = 0;
+
+        private ColumnBuilder(Map<String, String> pool) {
+            this.pool = pool;
+        }
+
+        private void add(String value) {
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                String pooled = value == null ? null : pool.computeIfAbsent(value, v -> v);
+                dictionary.add(pooled);
+                codesByValue.put(pooled, code);
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = code;
+        }
+
+        private DictionaryColumn build() {
+            return new DictionaryColumn(dictionary.toArray(new String[0]), codes, size);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package ranger.core.csv;
+
+import ranger.core.ValueException;
+import ranger.distribution.FastRandom;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Table of a CSV file larger than the heap. A single pass over the file writes the byte offset of each record to an
+ * index file next to the CSV file (or to the temporary directory if that is not writable), which is reused as long
+ * as the CSV file is not modified. Records are parsed on demand by a {@link CsvByteParser} from a memory-mapped view of the CSV file, so reading
+ * a random record takes constant time and the table takes almost no heap. Only the selected columns of a record are
+ * copied out of the parsed record. Consecutive records (see {@link #rows(int)}) are copied and parsed in blocks of
+ * about 1 MiB, so reading the file in order streams it.
+ */
+final class MappedCsvTable extends CsvTable {
+
+    private static final long MAGIC = 0x52414E4745524944L;     //"RANGERID"
+    private static final long VERSION = 1;
+    private static final long HEADER_SIZE = 5 * Long.BYTES;     //magic, version, CSV size, CSV modification, key
+    private static final long BLOCK_SIZE = 1 << 20;
+
+    private final Path path;
+    private final List<String> headerKeys;
+    private final int[] columns;
+    private final MappedFile csv;
+    private final MappedFile offsets;
+    private final int rowCount;
+
+    MappedCsvTable(CSVParserSettings parserSettings, Path path) {
+        this(parserSettings, path, null);
+    }
+
+    MappedCsvTable(CSVParserSettings parserSettings, Path path, int[] selectedColumns) {
+        super(parserSettings);
+        this.path = path;
+        List<String> fileHeaderKeys = readHeaderKeys(parserSettings, false);
+        this.columns = selectColumns(selectedColumns, fileHeaderKeys.size());
+        this.headerKeys = selectHeaderKeys(fileHeaderKeys, columns);
+        try {
+            this.csv = new MappedFile(path);
+            this.offsets = sidecar(".ranger-index", parserSettings.hashCode(), this::writeOffsets);
+        } catch (IOException | UncheckedIOException e) {
+            throw new ValueException("Error indexing csv file", e);
+        }
+        long rows = (offsets.size() - HEADER_SIZE) / Long.BYTES;
+        if (rows > Integer.MAX_VALUE) { throw new ValueException(String.format("CSV file %s contains more than %d records", path, Integer.MAX_VALUE)); }
+        this.rowCount = (int) rows;
+    }
+
+    private void writeOffsets(DataOutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            boolean[] header = {parserSettings.isWithHeader()};
+            new CsvScanner(parserSettings, channel, csv.size()).scan(0, Long.MAX_VALUE, Integer.MAX_VALUE, start -> {
+                if (header[0]) {
+                    header[0] = false;
+                    return;
+                }
+                try {
+                    out.writeLong(start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<String> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String get(int row, int column) {
+        if (column < 0 || column >= headerKeys.size()) { throw new IndexOutOfBoundsException("column: " + column + ", columns: " + headerKeys.size()); }
+        return row(row).get(column);
+    }
+
+    @Override
+    public List<String> row(int row) {
+        checkRow(row);
+        long start = offset(row);
+        long end = row + 1 < rowCount ? offset(row + 1) : csv.size();
+        byte[] bytes = csv.getBytes(start, (int) (end - start));
+        return nextRecord(new CsvByteParser(parserSettings, bytes, bytes.length));
+    }
+
+    @Override
+    public Iterator<List<String>> rows(int from) {
+        return rows(from, BLOCK_SIZE);
+    }
+
+    /*
+    Returns iterator that copies and parses consecutive records in blocks of about blockSize bytes
+     */
+    Iterator<List<String>> rows(int from, long blockSize) {
+        if (from < 0 || from > rowCount) { throw new IndexOutOfBoundsException("row: " + from + ", rows: " + rowCount); }
+        return new Iterator<List<String>>() {
+            private int row = from;
+            private int blockEnd = from;    //first record after current block
+            private CsvByteParser parser;
+
+            @Override
+            public boolean hasNext() {
+                return row < rowCount;
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                if (row == blockEnd) {
+                    long start = offset(row);
+                    do {
+                        blockEnd++;
+                    } while (blockEnd < rowCount && offset(blockEnd) - start < blockSize);
+                    long end = blockEnd < rowCount ? offset(blockEnd) : csv.size();
+                    byte[] bytes = csv.getBytes(start, (int) (end - start));
+                    parser = new CsvByteParser(parserSettings, bytes, bytes.length);
+                }
+                row++;
+                return nextRecord(parser);
+            }
+        };
+    }
+
+    private long offset(int row) {
+        return offsets.getLong(HEADER_SIZE + (long) row * Long.BYTES);
+    }
+
+    /*
+    Parses next record, which may be followed by comments or empty lines, and returns its selected columns
+     */
+    private List<String> nextRecord(CsvByteParser parser) {
+        parser.next();
+        String[] values = new String[headerKeys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns[i] < parser.size() ? parser.get(columns[i]) : null;
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Returns the cumulative weights of all records, which are written to a file next to the index when first used.
+     *
+     * @param column Index of the column within this table containing the weight of each record.
+     * @param weightParser Converts values of the field to weights, may throw an exception for invalid values.
+     * @return Cumulative weights of all records.
+     * @throws ValueException if an IO error occurs during reading the CSV file
+     */
+    Weights weights(int column, WeightParser weightParser) {
+        int fileColumn = columns[column];
+        try {
+            MappedFile file = sidecar(".ranger-weights-" + fileColumn, Objects.hash(parserSettings, fileColumn), out -> {
+                double total = 0;
+                int row = 0;
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    CsvByteParser parser = new CsvByteParser(parserSettings, channel, 0, csv.size());
+                    if (parserSettings.isWithHeader()) {
+                        parser.next();
+                    }
+                    while (parser.next()) {
+                        total += weightParser.parse(row++, fileColumn < parser.size() ? parser.get(fileColumn) : null);
+                        out.writeDouble(total);
+                    }
+                }
+            });
+            if (file.size() - HEADER_SIZE != (long) rowCount * Double.BYTES) { throw new ValueException("Weight index does not match csv file " + path); }
+            return new Weights(file, rowCount);
+        } catch (IOException | UncheckedIOException e) {
+            throw new ValueException("Error indexing csv file", e);
+        }
+    }
+
+    /*
+    Returns a valid existing sidecar file with specified suffix or writes a new one next to the CSV file or, if that
+    fails, to the temporary directory
+     */
+    private MappedFile sidecar(String suffix, long key, SidecarWriter writer) throws IOException {
+        String name = path.getFileName() + suffix;
+        List<Path> candidates = Arrays.asList(path.resolveSibling(name), Paths.get(System.getProperty("java.io.tmpdir"),
+                "ranger-" + Integer.toHexString(path.toAbsolutePath().hashCode()) + "-" + name));
+        for (Path candidate : candidates) {
+            if (isValid(candidate, key)) {
+                return new MappedFile(candidate);
+            }
+        }
+        IOException failure = null;
+        for (Path candidate : candidates) {
+            try {
+                write(candidate, key, writer);
+                return new MappedFile(candidate);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    private boolean isValid(Path sidecar, long key) throws IOException {
+        if (!Files.isRegularFile(sidecar) || Files.size(sidecar) < HEADER_SIZE) {
+            return false;
+        }
+        MappedFile file = new MappedFile(sidecar);
+        return file.getLong(0) == MAGIC && file.getLong(8) == VERSION && file.getLong(16) == csv.size()
+                && file.getLong(24) == path.toFile().lastModified() && file.getLong(32) == key
+                && (file.size() - HEADER_SIZE) % Long.BYTES == 0;
+    }
+
+    private void write(Path sidecar, long key, SidecarWriter writer) throws IOException {
+        Path temporary = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeLong(MAGIC);
+                out.writeLong(VERSION);
+                out.writeLong(csv.size());
+                out.writeLong(path.toFile().lastModified());
+                out.writeLong(key);
+                writer.write(out);
+            }
+            Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING);    //readers never see partial files
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private interface SidecarWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Converts the weight field of a record to its weight.
+     */
+    interface WeightParser {
+        double parse(int row, String value);
+    }
+
+    /**
+     * Cumulative weights of all records in a memory-mapped file. Draws a record with respect to its weight by binary
+     * search in <code>O(log n)</code>.
+     */
+    static final class Weights {
+        private final MappedFile file;
+        private final int size;
+        private final double total;
+
+        private Weights(MappedFile file, int size) {
+            this.file = file;
+            this.size = size;
+            this.total = size == 0 ? 0 : cumulative(size - 1);
+        }
+
+        private double cumulative(int row) {
+            return file.getDouble(HEADER_SIZE + (long) row * Double.BYTES);
+        }
+
+        double getTotal() {
+            return total;
+        }
+
+        int sample(FastRandom random) {
+            double target = Math.min(random.nextDouble() * total, Math.nextDown(total));    //rounding may reach total
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {    //first record whose cumulative weight exceeds target
+                int middle = (low + high) >>> 1;
+                if (cumulative(middle) > target) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
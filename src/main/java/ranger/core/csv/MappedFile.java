@@ -0,0 +1,67 @@
+package ranger.core.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only memory-mapped view of a file of any size. Files are mapped in chunks of 1 GiB because a single mapping is
+ * limited to 2 GiB. Only absolute reads are used, so a view can be read by several threads at once. Longs and doubles
+ * must be read at offsets divisible by 8, so they never cross chunks.
+ */
+final class MappedFile {
+
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    private static final int CHUNK_MASK = (int) CHUNK_SIZE - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    MappedFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {   //mappings stay valid
+            this.size = channel.size();
+            this.chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = i * CHUNK_SIZE;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+            }
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getLong(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getLong((int) position & CHUNK_MASK);
+    }
+
+    double getDouble(long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].getDouble((int) position & CHUNK_MASK);
+    }
+
+    /**
+     * Copies <code>length</code> bytes starting at <code>position</code>.
+     *
+     * @param position Offset of first byte.
+     * @param length Number of bytes.
+     * @return Copied bytes.
+     */
+    byte[] getBytes(long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {   //copy part within each chunk
+            long p = position + copied;
+            ByteBuffer chunk = chunks[(int) (p >>> CHUNK_BITS)].duplicate();   //own position for each caller
+            chunk.position((int) p & CHUNK_MASK);
+            int n = Math.min(length - copied, chunk.remaining());
+            chunk.get(bytes, copied, n);
+            copied += n;
+        }
+        return bytes;
+    }
+}
@@ -1,12 +1,10 @@
 package ranger.core.csv;
 
-import org.apache.commons.csv.CSVRecord;
 import ranger.core.ValueException;
 import ranger.distribution.Distribution;
+import ranger.distribution.FastRandom;
 import ranger.distribution.UniformDistribution;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -15,10 +13,8 @@ import java.util.Objects;
  */
 public class RandomCsvReaderValue extends CsvReaderValue {
 
-    protected final List<List<String>> records;
     protected final Distribution distribution;
 
-
     /**
      * Constructs CsvReaderValue from parserSettings that reads the specified CSV file
      * and returns random record. It supplies each record as Map with columns as properties:
@@ -39,35 +35,42 @@ public class RandomCsvReaderValue extends CsvReaderValue {
      *
      * @param parserSettings settings for the CSV parser.
      * @param distribution Distribution that generates the line number of next random record
+     * @throws ValueException if CSV file does not contain any record
      * @throws ValueException if an IO error occurs during parsing the CSV file
      */
     public RandomCsvReaderValue(CSVParserSettings parserSettings, Distribution distribution) {
-        super(parserSettings);
-        this.records = new ArrayList<>();
-        while (iterator.hasNext()) {    //load all records into list
-            CSVRecord next = iterator.next();
-            List<String> list = new ArrayList<>(next.size());
-            next.iterator().forEachRemaining(list::add);    //convert CSVRecord to list to save CSVRecords' redundant attributes
-            records.add(list);
-        }
-        if (records.isEmpty()) { throw new ValueException(String.format("CSV file %s does not contain any record", parserSettings.getUrl().getPath())); }
+        super(parserSettings, true);
         this.distribution = Objects.requireNonNull(distribution);
     }
 
     /*
-    Copy constructor; Only clones distribution
+    Copy constructor; Shares table and only clones distribution
      */
     protected RandomCsvReaderValue(RandomCsvReaderValue source) {
-        super(source.parserSettings);
+        super(source);
         this.val = source.val;
-        this.evaluated = source.evaluated;
-        this.records = source.records;
+        setEvaluated(source.isEvaluated());
         this.distribution = source.distribution.clone();
     }
 
     @Override
     public int getSize() {
-        return records.size();
+        return table().getRowCount();
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        distribution.setRandom(random);
+    }
+
+    @Override
+    protected boolean drawsRandom() {
+        return true;
+    }
+
+    @Override
+    protected boolean hasSequentialState() {
+        return false;
     }
 
     @Override
@@ -76,10 +79,9 @@ public class RandomCsvReaderValue extends CsvReaderValue {
     }
 
     @Override
-    protected void eval() {
-        index = distribution.nextInt(records.size());
-        List<String> nextRecord = records.get(index);
-        super.eval(nextRecord);
+    protected Iterable<String> nextRecord() {
+        index = distribution.nextInt(table().getRowCount());
+        return table().row(index);
     }
 
 }
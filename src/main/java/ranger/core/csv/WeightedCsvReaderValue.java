@@ -1,62 +1,135 @@
 package ranger.core.csv;
 
-import org.apache.commons.math3.distribution.EnumeratedDistribution;
-import org.apache.commons.math3.util.Pair;
 import ranger.core.ValueException;
+import ranger.distribution.AliasTable;
+import ranger.distribution.FastRandom;
+import ranger.distribution.RandomAlgorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Value that reads CSV file and returns random record with respect to each record's weight.
  * It returns a Map with columns as properties: 'c0', 'c1', c2', ... (or header key properties if given).
+ * The weights are read together with the table on first use.
  */
 public class WeightedCsvReaderValue extends RandomCsvReaderValue {
 
-    private final List<Pair<Integer, Double>> weightList;
-    private final EnumeratedDistribution<Integer> enumeratedDistribution;
+    private final String weightField;
+    private final int weightFieldColumn;
+    private AliasTable aliasTable;
+    private MappedCsvTable.Weights cumulativeWeights;
+    private FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
 
     /**
      * Constructs WeightedCsvReaderValue that reads CSV file and returns random record with respect to each record's weight.
      * It returns Map with columns as properties 'c0', 'c1', c2', ... (or header properties if given)
      * @param parserSettings settings for the CSV parser
      * @param weightField CSV column that contains the weight for each record (must be either a header key or key in c0, c1, .. cn syntax
-     * @throws ValueException if CSV file does not contain weightField or if weightField's value is not a number
+     * @throws ValueException if CSV file does not contain weightField
+     * @throws ValueException on first use if weightField's value is not a number, if a weight is negative or if all
+     *                        weights are zero
      * @throws ValueException if an IO error occurs during parsing the CSV file
      */
     public WeightedCsvReaderValue(CSVParserSettings parserSettings, String weightField) {
         super(parserSettings);
         if (weightField == null || weightField.isEmpty()) { throw new ValueException("weightField must not be null nor empty"); }
-        int weightFieldColumn;
+        this.weightField = weightField;
         if (weightField.matches("c[0-9]+")) {   //weightField is positional key
             int column = Integer.parseInt(weightField.substring(1));
-            if (column >= records.get(0).size()) { throw new ValueException(String.format("CSV file '%s' does not contain field '%s'", parserSettings.getUrl().getPath(), weightField)); }
-            weightFieldColumn = column;   //key is index
+            if (column >= headerKeys.size()) { throw new ValueException(String.format("CSV file '%s' does not contain field '%s'", parserSettings.getUrl().getPath(), weightField)); }
+            this.weightFieldColumn = column;   //key is index
         } else {                                      //weightField is header key
             if (!headerKeys.contains(weightField)) { throw new ValueException(String.format("CSV file '%s' does not contain field '%s'. Check again or use c0,c1..cn syntax", parserSettings.getUrl().getPath(), weightField)); }
-            weightFieldColumn = headerKeys.indexOf(weightField);  //key is header field
+            this.weightFieldColumn = headerKeys.indexOf(weightField);  //key is header field
         }
-        this.weightList = new ArrayList<>(records.size());
-        for (int i = 0; i < records.size(); i++) {
-            List<String> record = records.get(i);
-            String weightValue = record.get(weightFieldColumn).replace(',', '.'); //replace decimal divisor
-            try {
-                double weight = Double.parseDouble(weightValue);
-                weightList.add(new Pair<>(i, weight));
-            } catch (NumberFormatException n) {
-                throw new ValueException(String.format("weightField '%s' contains illegal value in line %d in file '%s': '%s' (weightField's values must be numeric)", weightField, parserSettings.isWithHeader() ? i+2 : i+1, parserSettings.getUrl().getPath(), weightValue));
+    }
+
+    /*
+    Reads the weights of all records from the table if not read yet
+     */
+    private void loadWeights() {
+        if (aliasTable != null || cumulativeWeights != null) {
+            return;
+        }
+        CsvTable table = table();
+        int position = Arrays.binarySearch(columns, weightFieldColumn);     //weight column within table
+        if (table instanceof MappedCsvTable) {  //too large for memory, draw from cumulative weights on disk
+            MappedCsvTable.Weights weights = ((MappedCsvTable) table).weights(position, this::parseWeight);
+            if (!(weights.getTotal() > 0) || Double.isInfinite(weights.getTotal())) {
+                throw new ValueException(String.format("weightField '%s' in file '%s' must contain at least one positive weight", weightField, parserSettings.getUrl().getPath()));
             }
+            this.cumulativeWeights = weights;
+            return;
+        }
+        double[] weights = new double[table.getRowCount()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = parseWeight(i, table.get(i, position));
+        }
+        try {
+            this.aliasTable = new AliasTable(weights);
+        } catch (ArithmeticException e) {
+            throw new ValueException(String.format("weightField '%s' in file '%s' must contain at least one positive weight", weightField, parserSettings.getUrl().getPath()), e);
+        }
+    }
+
+    private double parseWeight(int row, String weightValue) {
+        return parseWeight(parserSettings, weightField, row, weightValue);
+    }
+
+    /*
+    Converts value of weightField in specified record to weight
+     */
+    static double parseWeight(CSVParserSettings parserSettings, String weightField, int row, String weightValue) {
+        int line = parserSettings.isWithHeader() ? row+2 : row+1;
+        if (weightValue == null) {
+            throw new ValueException(String.format("weightField '%s' contains illegal value in line %d in file '%s': null (weightField's values must be numeric)", weightField, line, parserSettings.getUrl().getPath()));
+        }
+        weightValue = weightValue.replace(',', '.'); //replace decimal divisor
+        double weight;
+        try {
+            weight = Double.parseDouble(weightValue);
+        } catch (NumberFormatException n) {
+            throw new ValueException(String.format("weightField '%s' contains illegal value in line %d in file '%s': '%s' (weightField's values must be numeric)", weightField, line, parserSettings.getUrl().getPath(), weightValue));
         }
-        this.enumeratedDistribution = new EnumeratedDistribution<>(weightList);
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new ValueException(String.format("weightField '%s' contains illegal value in line %d in file '%s': '%s' (weightField's values must not be negative)", weightField, line, parserSettings.getUrl().getPath(), weightValue));
+        }
+        return weight;
     }
 
     /*
-    Copy constructor; Only clones distribution
+    Copy constructor; Shares table and alias table or cumulative weights
      */
     private WeightedCsvReaderValue(WeightedCsvReaderValue source) {
         super(source);
-        this.weightList = source.weightList;
-        this.enumeratedDistribution = new EnumeratedDistribution<>(this.weightList);
+        source.loadWeights();   //load once for source and clones
+        this.weightField = source.weightField;
+        this.weightFieldColumn = source.weightFieldColumn;
+        this.aliasTable = source.aliasTable;
+        this.cumulativeWeights = source.cumulativeWeights;
+    }
+
+    /**
+     * Restricts this value to the specified columns and the weight column and reads the weights right away (see
+     * {@link CsvReaderValue#project(Collection)}).
+     */
+    @Override
+    public void project(Collection<String> keys) {
+        if (keys == null) { throw new ValueException("keys cannot be null."); }
+        List<String> keysWithWeight = new ArrayList<>(keys);
+        keysWithWeight.add(headerKeys.get(weightFieldColumn));   //weights are read from table
+        this.aliasTable = null;
+        this.cumulativeWeights = null;
+        super.project(keysWithWeight);
+        loadWeights();
+    }
+
+    @Override
+    protected void setRandom(FastRandom random) {
+        this.random = random;
     }
 
     @Override
@@ -65,10 +138,10 @@ public class WeightedCsvReaderValue extends RandomCsvReaderValue {
     }
 
     @Override
-    protected void eval() {
-        index = enumeratedDistribution.sample();
-        List<String> nextRecord = records.get(index);
-        super.eval(nextRecord);
+    protected Iterable<String> nextRecord() {
+        loadWeights();
+        index = aliasTable != null ? aliasTable.sample(random) : cumulativeWeights.sample(random);
+        return table().row(index);
     }
 
 }
@@ -0,0 +1,89 @@
+package ranger.distribution;
+
+/**
+ * Samples indexes with probabilities proportional to their weights in constant time, using the alias method in the
+ * numerically stable variant of Vose. Each index owns one column holding its own probability and one alias index
+ * taking the rest of the column. Sampling picks a column uniformly and flips a biased coin between its index and alias.
+ * Tables are immutable, so they are built once and shared by all clones.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds alias table for specified <code>weights</code>.
+     *
+     * @param weights Weights of the indexes, need not sum up to 1.
+     * @throws ArithmeticException if weights is empty, contains a negative or not finite weight or sums up to zero
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) { throw new ArithmeticException("weights must not be empty"); }
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new ArithmeticException("weights must be non-negative finite numbers");
+            }
+            sum += weight;
+        }
+        if (!(sum > 0) || Double.isInfinite(sum)) { throw new ArithmeticException("sum of weights must be positive and finite"); }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];   //work lists of columns below and above average, filled from opposite ends
+        int smallCount = 0;
+        int[] large = small;
+        int largeStart = n;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[--largeStart] = i;
+            }
+        }
+        while (smallCount > 0 && largeStart < n) {
+            int less = small[--smallCount];
+            int more = large[largeStart++];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;   //grouped this way to limit rounding errors
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[--largeStart] = more;
+            }
+        }
+        //remaining columns are full up to rounding errors
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+        while (largeStart < n) {
+            int i = large[largeStart++];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * @return Number of indexes.
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Draws random index.
+     *
+     * @param random Source of random bits.
+     * @return Random index from zero (inclusive) to size (exclusive).
+     */
+    public int sample(FastRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
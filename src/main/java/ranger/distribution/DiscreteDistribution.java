@@ -0,0 +1,63 @@
+package ranger.distribution;
+
+/**
+ * Distribution of whole numbers counted from the lower bound of the range requested by the caller, so that value
+ * <code>lower + k</code> is drawn with probability of <code>k</code>. Values that would not fit the range are never
+ * drawn. Ranges of doubles get whole-number offsets from their lower bound.
+ */
+public abstract class DiscreteDistribution implements Distribution {
+
+    protected FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
+
+    /**
+     * Draws next value of the distribution.
+     *
+     * @param size Number of possible values, must be positive.
+     * @return Random value from zero (inclusive) to size (exclusive).
+     */
+    protected abstract long sample(long size);
+
+    @Override
+    public int nextInt(int bound) {
+        return (int) sample(bound);
+    }
+
+    @Override
+    public int nextInt(int lower, int upper) {
+        return (int) (lower + sample((long) upper - lower));
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return sample(bound);
+    }
+
+    @Override
+    public long nextLong(long lower, long upper) {
+        long size = upper - lower;
+        return lower + sample(size > 0 ? size : Long.MAX_VALUE);    //range is not representable as long
+    }
+
+    @Override
+    public double nextDouble(double lower, double upper) {
+        return lower + sample(Math.max(1, (long) Math.ceil(upper - lower)));
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return sample(2) == 0;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public abstract DiscreteDistribution clone();
+}
@@ -55,6 +55,20 @@ public interface Distribution {
      */
     boolean nextBoolean();
 
+    /**
+     * Sets the seed of the underlying random generator, so that same seed results in same sequence of values.
+     *
+     * @param seed the seed.
+     */
+    void setSeed(long seed);
+
+    /**
+     * Makes this distribution draw from <code>random</code> instead of its own random generator.
+     *
+     * @param random the random generator.
+     */
+    void setRandom(FastRandom random);
+
     /**
      *
      * @return new Instance of Distribution with the same properties as this.
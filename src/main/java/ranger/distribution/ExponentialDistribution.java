@@ -0,0 +1,47 @@
+package ranger.distribution;
+
+/**
+ * Exponential distribution, suits waiting times and other values where small values are most frequent. Sampled by
+ * inverting its cumulative distribution function, so each value takes one random double and one logarithm.
+ */
+public class ExponentialDistribution extends ScaledDistribution {
+
+    private final double lambda;
+    private final double mass;
+
+    /**
+     * Constructs Exponential distribution.
+     * <code>lambda</code> is set to 1, <code>lower</code> is set to 0 and <code>upper</code> is set to 5.
+     */
+    public ExponentialDistribution() {
+        this(1, 0, 5);
+    }
+
+    /**
+     * Constructs Exponential distribution with specified <code>lambda</code>, <code>lower</code> and
+     * <code>upper</code>.
+     *
+     * @param lambda Rate of the distribution, mean is <code>1 / lambda</code>.
+     * @param lower Lower bound, no values lower than this will be generated.
+     * @param upper Upper bound, no values higher than this will be generated.
+     * @throws ArithmeticException if lower is negative, lower is not less than upper or lambda is not positive
+     */
+    public ExponentialDistribution(double lambda, double lower, double upper) {
+        super(lower, upper);
+        if (lower < 0) { throw new ArithmeticException("lower bound must not be negative"); }
+        if (!(lambda > 0)) { throw new ArithmeticException("lambda must be positive"); }
+        this.lambda = lambda;
+        this.mass = StrictMath.expm1(-lambda * (upper - lower));    //negated probability of [lower, upper] after lower
+    }
+
+    @Override
+    public ExponentialDistribution clone() {
+        return new ExponentialDistribution(lambda, lower, upper);
+    }
+
+    @Override
+    protected double sample() {
+        //distribution is memoryless, values after lower are distributed like values after zero
+        return Math.min(upper, lower - StrictMath.log1p(random.nextDouble() * mass) / lambda);
+    }
+}
@@ -0,0 +1,162 @@
+package ranger.distribution;
+
+import java.util.Random;
+
+/**
+ * Base class for non-synchronized random generators producing 64 random bits per step. Bounded values are drawn with
+ * Lemire's multiply-and-reject method, which is unbiased and needs a division only in rare cases, normal values with
+ * the {@link Ziggurat} method. Extends
+ * {@link Random} so that generators can be passed to libraries expecting one, but shares none of its synchronized
+ * state. Instances must not be used by multiple threads concurrently.
+ */
+public abstract class FastRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * Constructs random generator with a random seed.
+     */
+    protected FastRandom() {
+        super();
+    }
+
+    /**
+     * Constructs random generator with specified <code>seed</code>.
+     *
+     * @param seed The seed.
+     */
+    protected FastRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Initializes state of the generator from <code>seed</code>.
+     *
+     * @param seed The seed.
+     */
+    protected abstract void seed(long seed);
+
+    /**
+     * @return Next 64 random bits.
+     */
+    @Override
+    public abstract long nextLong();
+
+    /**
+     * @return Algorithm of this generator.
+     */
+    public abstract RandomAlgorithm getAlgorithm();
+
+    @Override
+    public final void setSeed(long seed) {
+        seed(seed);
+    }
+
+    @Override
+    protected final int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) { throw new IllegalArgumentException("bound must be positive"); }
+        long m = (nextLong() >>> 32) * bound;
+        if ((m & 0xFFFFFFFFL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while ((m & 0xFFFFFFFFL) < threshold) {
+                m = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Returns random int between <code>lower</code> (inclusive) and <code>upper</code> (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive).
+     * @return Random int within bounds.
+     * @throws IllegalArgumentException if lower is not less than upper
+     */
+    public int nextInt(int lower, int upper) {
+        if (lower >= upper) { throw new IllegalArgumentException("bound must be greater than origin"); }
+        return (int) (lower + nextLong((long) upper - lower));
+    }
+
+    /**
+     * Returns random long between zero (inclusive) and <code>bound</code> (exclusive).
+     *
+     * @param bound Upper bound (exclusive).
+     * @return Random long within bounds.
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    public long nextLong(long bound) {
+        if (bound <= 0) { throw new IllegalArgumentException("bound must be positive"); }
+        long x = nextLong();
+        long low = x * bound;
+        if (Long.compareUnsigned(low, bound) < 0) {
+            long threshold = Long.remainderUnsigned(-bound, bound);
+            while (Long.compareUnsigned(low, threshold) < 0) {
+                x = nextLong();
+                low = x * bound;
+            }
+        }
+        return Math.multiplyHigh(x, bound) + ((x >> 63) & bound);  //high bits of unsigned product
+    }
+
+    /**
+     * Returns random long between <code>lower</code> (inclusive) and <code>upper</code> (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive).
+     * @return Random long within bounds.
+     * @throws IllegalArgumentException if lower is not less than upper
+     */
+    public long nextLong(long lower, long upper) {
+        if (lower >= upper) { throw new IllegalArgumentException("bound must be greater than origin"); }
+        long n = upper - lower;
+        if (n > 0) {
+            return lower + nextLong(n);
+        }
+        long r;
+        do {    //range is not representable as long, reject values outside of range
+            r = nextLong();
+        } while (r < lower || r >= upper);
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns random double between <code>lower</code> (inclusive) and <code>upper</code> (exclusive).
+     *
+     * @param lower Lower bound (inclusive).
+     * @param upper Upper bound (exclusive).
+     * @return Random double within bounds.
+     * @throws IllegalArgumentException if lower is not less than upper
+     */
+    public double nextDouble(double lower, double upper) {
+        if (!(lower < upper)) { throw new IllegalArgumentException("bound must be greater than origin"); }
+        double r = nextDouble() * (upper - lower) + lower;
+        return r < upper ? r : Math.nextDown(upper);    //rounding may reach upper
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public double nextGaussian() {
+        return Ziggurat.normal(this);
+    }
+}
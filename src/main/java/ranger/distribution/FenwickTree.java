@@ -0,0 +1,92 @@
+package ranger.distribution;
+
+/**
+ * Counts per index in a Fenwick tree (binary indexed tree), so that changing a count and finding the index a running
+ * total falls into both take <code>O(log n)</code>. Drawing an index with probability proportional to its count and
+ * decrementing that count samples without replacement from millions of indexes with 64-bit totals.
+ */
+public final class FenwickTree {
+
+    private final long[] tree;     //1-based, tree[i] holds sum of counts (i - lowestOneBit(i), i]
+    private long total;
+
+    /**
+     * Constructs tree holding specified <code>counts</code>.
+     *
+     * @param counts Counts per index, must not be negative.
+     * @throws ArithmeticException if a count is negative or total of counts overflows
+     */
+    public FenwickTree(long[] counts) {
+        this.tree = new long[counts.length + 1];
+        for (int i = 1; i <= counts.length; i++) {
+            if (counts[i - 1] < 0) { throw new ArithmeticException("counts must not be negative"); }
+            total = Math.addExact(total, counts[i - 1]);
+            tree[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Constructs copy of <code>source</code>, further changes of either tree do not affect the other.
+     *
+     * @param source Tree to copy.
+     */
+    public FenwickTree(FenwickTree source) {
+        this.tree = source.tree.clone();
+        this.total = source.total;
+    }
+
+    /**
+     * @return Number of indexes.
+     */
+    public int size() {
+        return tree.length - 1;
+    }
+
+    /**
+     * @return Sum of all counts.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Adds <code>delta</code> to count at <code>index</code>.
+     *
+     * @param index The index.
+     * @param delta Value to add, the count must not become negative.
+     */
+    public void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+        total += delta;
+    }
+
+    /**
+     * Finds index whose range of the running total contains <code>position</code>, that is the index <code>i</code>
+     * where sum of counts before <code>i</code> is at most <code>position</code> and sum including <code>i</code>
+     * exceeds it. Indexes with count zero are never found.
+     *
+     * @param position Position from zero (inclusive) to total (exclusive).
+     * @return Index containing the position.
+     * @throws IndexOutOfBoundsException if position is not within zero and total
+     */
+    public int find(long position) {
+        if (position < 0 || position >= total) {
+            throw new IndexOutOfBoundsException("position " + position + " is out of bounds for total " + total);
+        }
+        int index = 0;
+        for (int step = Integer.highestOneBit(size()); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] <= position) {
+                index = next;
+                position -= tree[next];
+            }
+        }
+        return index;
+    }
+}
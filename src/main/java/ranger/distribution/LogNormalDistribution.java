@@ -0,0 +1,50 @@
+package ranger.distribution;
+
+/**
+ * Log-normal distribution, the distribution of <code>e<sup>X</sup></code> for normally distributed
+ * <code>X</code>. Suits right-skewed values like sizes, durations or prices.
+ */
+public class LogNormalDistribution extends ScaledDistribution {
+
+    private final double mu;
+    private final double sigma;
+    private final TruncatedNormal normal;
+
+    /**
+     * Constructs Log-normal distribution.
+     * <code>mu</code> is set to 0, <code>sigma</code> is set to 1, <code>lower</code> is set to 0 and
+     * <code>upper</code> is set to 10.
+     */
+    public LogNormalDistribution() {
+        this(0, 1, 0, 10);
+    }
+
+    /**
+     * Constructs Log-normal distribution with specified <code>mu</code>, <code>sigma</code>, <code>lower</code> and
+     * <code>upper</code>.
+     *
+     * @param mu Mean of the logarithm of values.
+     * @param sigma Standard deviation of the logarithm of values.
+     * @param lower Lower bound, no values lower than this will be generated.
+     * @param upper Upper bound, no values higher than this will be generated.
+     * @throws ArithmeticException if lower is negative, lower is not less than upper or sigma is not positive
+     */
+    public LogNormalDistribution(double mu, double sigma, double lower, double upper) {
+        super(lower, upper);
+        if (lower < 0) { throw new ArithmeticException("lower bound must not be negative"); }
+        if (!(sigma > 0)) { throw new ArithmeticException("sigma must be positive"); }
+        this.mu = mu;
+        this.sigma = sigma;
+        this.normal = new TruncatedNormal((StrictMath.log(lower) - mu) / sigma, (StrictMath.log(upper) - mu) / sigma);
+    }
+
+    @Override
+    public LogNormalDistribution clone() {
+        return new LogNormalDistribution(mu, sigma, lower, upper);
+    }
+
+    @Override
+    protected double sample() {
+        return Math.max(lower, Math.min(upper, StrictMath.exp(mu + sigma * normal.sample(random))));
+    }
+}
@@ -1,14 +1,13 @@
 package ranger.distribution;
 
 /**
- * Normal Distribution.
+ * Normal Distribution. Values outside of bounds are never drawn, so narrow bounds do not slow down sampling.
  */
-public class NormalDistribution implements Distribution {
+public class NormalDistribution extends ScaledDistribution {
 
-    private final org.apache.commons.math3.distribution.NormalDistribution delegate;
-    private final double lower;
-    private final double upper;
-    private final double innerRange;
+    private final double mean;
+    private final double standardDeviation;
+    private final TruncatedNormal normal;
 
     /**
      * Constructs Normal distribution.
@@ -26,63 +25,24 @@ public class NormalDistribution implements Distribution {
      * @param standardDeviation Standard deviation of Normal distribution.
      * @param lower Lower bound, no values lower than this will be generated.
      * @param upper Upper bound, no values higher than this will be generated.
-     * @throws ArithmeticException if mean is not within lower and upper
+     * @throws ArithmeticException if mean is not within lower and upper or standard deviation is not positive
      */
     public NormalDistribution(double mean, double standardDeviation, double lower, double upper) {
+        super(lower, upper);
         if(mean < lower || mean > upper) { throw new ArithmeticException("mean must be in between lower and upper bounds"); }
-        this.delegate = new org.apache.commons.math3.distribution.NormalDistribution(mean, standardDeviation);
-        this.lower = lower;
-        this.upper = upper;
-        this.innerRange = upper - lower;
-    }
-
-    @Override
-    public int nextInt(int bound) {
-        return (int) normalize(delegate.sample(), 0, bound);
-    }
-
-    @Override
-    public int nextInt(int lower, int upper) {
-        return (int) normalize(delegate.sample(), lower, upper);
-    }
-
-    @Override
-    public long nextLong(long bound) {
-        return (long) normalize(delegate.sample(), 0, bound);
-    }
-
-    @Override
-    public long nextLong(long lower, long upper) {
-        return (int) normalize(delegate.sample(), lower, upper);
-    }
-
-    @Override
-    public double nextDouble(double lower, double upper) {
-        return normalize(delegate.sample(), lower, upper);
-    }
-
-    @Override
-    public boolean nextBoolean() {
-        return ((long) normalize(delegate.sample(), 0, 100)) % 2 == 0;
+        if (!(standardDeviation > 0)) { throw new ArithmeticException("standard deviation must be positive"); }
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.normal = new TruncatedNormal((lower - mean) / standardDeviation, (upper - mean) / standardDeviation);
     }
 
     @Override
     public NormalDistribution clone() {
-        return new NormalDistribution(delegate.getMean(), delegate.getStandardDeviation(), this.lower, this.upper);
+        return new NormalDistribution(mean, standardDeviation, lower, upper);
     }
 
-    private double normalize(double value, double normalizationLowerBound, double normalizationUpperBound) {
-        double boundedValue = boundValue(value);
-        // normalize boundedValue to new range
-        double normalizedRange = normalizationUpperBound - normalizationLowerBound;
-        return (((boundedValue - lower) * normalizedRange) / innerRange) + normalizationLowerBound;
-    }
-
-    private double boundValue(double value) {
-        double boundedValue = value;
-        while (boundedValue < lower || boundedValue > upper) {  //skip all values that are outside range
-            boundedValue = delegate.sample();
-        }
-        return boundedValue;
+    @Override
+    protected double sample() {
+        return Math.max(lower, Math.min(upper, mean + standardDeviation * normal.sample(random)));
     }
 }
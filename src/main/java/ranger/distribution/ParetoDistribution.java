@@ -0,0 +1,46 @@
+package ranger.distribution;
+
+/**
+ * Pareto distribution, a power law where few large values take a big share of the total, like file sizes or
+ * incomes. Sampled by inverting its cumulative distribution function, so each value takes one random double.
+ */
+public class ParetoDistribution extends ScaledDistribution {
+
+    private final double alpha;
+    private final double mass;
+
+    /**
+     * Constructs Pareto distribution.
+     * <code>alpha</code> is set to 1.16 (the 80-20 rule), <code>lower</code> is set to 1 and <code>upper</code> is set
+     * to 100.
+     */
+    public ParetoDistribution() {
+        this(1.16, 1, 100);
+    }
+
+    /**
+     * Constructs Pareto distribution with specified <code>alpha</code>, <code>lower</code> and <code>upper</code>.
+     *
+     * @param alpha Shape of the distribution, smaller values give heavier tails.
+     * @param lower Lower bound and scale of the distribution, its most probable value.
+     * @param upper Upper bound, no values higher than this will be generated.
+     * @throws ArithmeticException if lower is not positive, lower is not less than upper or alpha is not positive
+     */
+    public ParetoDistribution(double alpha, double lower, double upper) {
+        super(lower, upper);
+        if (!(lower > 0)) { throw new ArithmeticException("lower bound must be positive"); }
+        if (!(alpha > 0)) { throw new ArithmeticException("alpha must be positive"); }
+        this.alpha = alpha;
+        this.mass = 1 - StrictMath.pow(lower / upper, alpha);
+    }
+
+    @Override
+    public ParetoDistribution clone() {
+        return new ParetoDistribution(alpha, lower, upper);
+    }
+
+    @Override
+    protected double sample() {
+        return Math.min(upper, lower * StrictMath.pow(1 - random.nextDouble() * mass, -1 / alpha));
+    }
+}
@@ -0,0 +1,68 @@
+package ranger.distribution;
+
+/**
+ * Random generator based on PCG64 (128-bit linear congruential generator with XSL-RR output function) by O'Neill.
+ * Period is 2<sup>128</sup>. Not thread-safe.
+ */
+public class Pcg64Random extends FastRandom {
+
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER_HIGH = 0x2360ED051FC65DA4L;
+    private static final long MULTIPLIER_LOW = 0x4385DF649FCCF645L;
+    private static final long INCREMENT_HIGH = 0x5851F42D4C957F2DL;
+    private static final long INCREMENT_LOW = 0x14057B7EF767814FL;
+
+    //no initializers, Random's constructor already seeds them through setSeed
+    private long high;
+    private long low;
+
+    /**
+     * Constructs random generator with a random seed.
+     */
+    public Pcg64Random() {
+        super();
+    }
+
+    /**
+     * Constructs random generator with specified <code>seed</code>.
+     *
+     * @param seed The seed.
+     */
+    public Pcg64Random(long seed) {
+        super(seed);
+    }
+
+    @Override
+    protected void seed(long seed) {
+        high = 0;
+        low = 0;
+        step();
+        long seedLow = Seeds.mix(seed, 1);
+        long sum = low + seedLow;
+        high += Seeds.mix(seed, 0) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        low = sum;
+        step();
+    }
+
+    @Override
+    public long nextLong() {
+        step();
+        return Long.rotateRight(high ^ low, (int) (high >>> 58));
+    }
+
+    /**
+     * Advances 128-bit state: state = state * multiplier + increment (mod 2<sup>128</sup>).
+     */
+    private void step() {
+        long productHigh = Math.multiplyHigh(low, MULTIPLIER_LOW) + ((low >> 63) & MULTIPLIER_LOW)
+                + ((MULTIPLIER_LOW >> 63) & low) + low * MULTIPLIER_HIGH + high * MULTIPLIER_LOW;
+        long productLow = low * MULTIPLIER_LOW;
+        low = productLow + INCREMENT_LOW;
+        high = productHigh + INCREMENT_HIGH + (Long.compareUnsigned(low, productLow) < 0 ? 1 : 0);
+    }
+
+    @Override
+    public RandomAlgorithm getAlgorithm() {
+        return RandomAlgorithm.PCG64;
+    }
+}
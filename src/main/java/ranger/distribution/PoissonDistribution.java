@@ -0,0 +1,121 @@
+package ranger.distribution;
+
+import org.apache.commons.math3.special.Gamma;
+
+/**
+ * Poisson distribution, the number of events in a fixed interval when events occur at rate <code>lambda</code>.
+ * Small rates are sampled by inversion, large rates with the PTRS method of H&ouml;rmann, so that each value takes
+ * constant time on average. When the range leaves out most of the probability, values are drawn only from the range
+ * instead of being rejected.
+ */
+public class PoissonDistribution extends DiscreteDistribution {
+
+    private static final double INVERSION_MAX_LAMBDA = 10;
+    private static final double REJECTION_MIN_MASS = 0.25;  //at most 4 attempts per value on average
+
+    private final double lambda;
+    private final double logLambda;
+    private final double a;
+    private final double b;
+    private final double logInvAlpha;
+    private final double vr;
+
+    //probability of the last size, ranges usually sample the same size repeatedly
+    private long size;
+    private double mass;
+
+    /**
+     * Constructs Poisson distribution with <code>lambda</code> set to 1.
+     */
+    public PoissonDistribution() {
+        this(1);
+    }
+
+    /**
+     * Constructs Poisson distribution with specified <code>lambda</code>.
+     *
+     * @param lambda Mean of the distribution.
+     * @throws ArithmeticException if lambda is not positive
+     */
+    public PoissonDistribution(double lambda) {
+        if (!(lambda > 0)) { throw new ArithmeticException("lambda must be positive"); }
+        this.lambda = lambda;
+        this.logLambda = StrictMath.log(lambda);
+        this.b = 0.931 + 2.53 * Math.sqrt(lambda);
+        this.a = -0.059 + 0.02483 * b;
+        this.logInvAlpha = StrictMath.log(1.1239 + 1.1328 / (b - 3.4));
+        this.vr = 0.9277 - 3.6224 / (b - 2);
+    }
+
+    @Override
+    public PoissonDistribution clone() {
+        return new PoissonDistribution(lambda);
+    }
+
+    @Override
+    protected long sample(long size) {
+        if (size <= 0) { throw new IllegalArgumentException("bound must be positive"); }
+        if (size != this.size) {
+            setSize(size);
+        }
+        if (mass < REJECTION_MIN_MASS) {
+            return sampleFromTop(size);
+        }
+        long k;
+        do {
+            k = lambda < INVERSION_MAX_LAMBDA ? sampleByInversion() : sampleByTransformedRejection();
+        } while (k >= size);
+        return k;
+    }
+
+    private void setSize(long size) {
+        this.size = size;
+        this.mass = Gamma.regularizedGammaQ(size, lambda);     //probability of values less than size
+    }
+
+    private long sampleByInversion() {
+        double u = random.nextDouble();
+        double p = StrictMath.exp(-lambda);
+        double cumulative = p;
+        long k = 0;
+        while (u > cumulative && p > 0) {
+            k++;
+            p *= lambda / k;
+            cumulative += p;
+        }
+        return k;
+    }
+
+    private long sampleByTransformedRejection() {
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = random.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + lambda + 0.43);
+            if (us >= 0.07 && v <= vr) {
+                return k;
+            }
+            if (k < 0 || (us < 0.013 && v > us)) {
+                continue;
+            }
+            if (StrictMath.log(v) + logInvAlpha - StrictMath.log(a / (us * us) + b)
+                    <= -lambda + k * logLambda - Gamma.logGamma(k + 1)) {
+                return k;
+            }
+        }
+    }
+
+    //most probability lies just below size, so inversion walks down from there
+    private long sampleFromTop(long size) {
+        double u = random.nextDouble() * mass;
+        long k = size - 1;
+        double p = StrictMath.exp(-lambda + k * logLambda - Gamma.logGamma(k + 1));
+        double cumulative = p;
+        while (u > cumulative && k > 0 && p > 0) {
+            p *= k / lambda;
+            k--;
+            cumulative += p;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,48 @@
+package ranger.distribution;
+
+import java.util.function.Supplier;
+
+/**
+ * Algorithms of random generators values draw their random numbers from.
+ */
+public enum RandomAlgorithm {
+
+    /**
+     * SplitMix64, fastest to seed, 64 bits of state (see {@link SplitMix64Random}).
+     */
+    SPLITMIX64(SplitMix64Random::new),
+
+    /**
+     * xoshiro256++, 256 bits of state (see {@link Xoshiro256PlusPlusRandom}).
+     */
+    XOSHIRO256PP(Xoshiro256PlusPlusRandom::new),
+
+    /**
+     * PCG64, 128 bits of state (see {@link Pcg64Random}).
+     */
+    PCG64(Pcg64Random::new);
+
+    private final Supplier<FastRandom> factory;
+
+    RandomAlgorithm(Supplier<FastRandom> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Default algorithm.
+     *
+     * @return Default algorithm.
+     */
+    public static RandomAlgorithm defaultAlgorithm() {
+        return SPLITMIX64;
+    }
+
+    /**
+     * Creates random generator of this algorithm with a random seed.
+     *
+     * @return New random generator.
+     */
+    public FastRandom create() {
+        return factory.get();
+    }
+}
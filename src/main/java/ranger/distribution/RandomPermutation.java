@@ -0,0 +1,73 @@
+package ranger.distribution;
+
+/**
+ * Pseudorandom permutation of positions <code>0</code> to <code>size - 1</code> defined by a key. Positions are
+ * encrypted by a four-round Feistel network over the smallest even number of bits covering size, and results beyond
+ * size are encrypted again until they fall inside (cycle walking), which takes less than four rounds on average.
+ * Each position is mapped independently in constant time and memory, so permutations of any size can be read at
+ * arbitrary positions and by many threads at once.
+ */
+public final class RandomPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys;
+
+    /**
+     * Constructs permutation of specified <code>size</code>.
+     *
+     * @param size Number of positions.
+     * @param key Key selecting the permutation, equal keys result in equal permutations.
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public RandomPermutation(long size, long key) {
+        if (size <= 0) { throw new IllegalArgumentException("size must be positive"); }
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        this.size = size;
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.roundKeys = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = Seeds.mix(key, i);
+        }
+    }
+
+    /**
+     * @return Number of positions.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Maps <code>position</code> to its position in the permutation.
+     *
+     * @param position Position from zero (inclusive) to size (exclusive).
+     * @return Permuted position from zero (inclusive) to size (exclusive).
+     * @throws IndexOutOfBoundsException if position is not within zero and size
+     */
+    public long apply(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + " is out of bounds for size " + size);
+        }
+        long x = position;
+        do {
+            x = encrypt(x);
+        } while (Long.compareUnsigned(x, size) >= 0);
+        return x;
+    }
+
+    private long encrypt(long x) {
+        long left = x >>> halfBits;
+        long right = x & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (Seeds.scramble(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+}
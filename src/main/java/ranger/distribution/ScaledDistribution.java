@@ -0,0 +1,81 @@
+package ranger.distribution;
+
+/**
+ * Continuous distribution truncated to <code>[lower, upper]</code>. Samples are scaled linearly from this range to
+ * the range requested by the caller, so that the shape of the distribution is kept for any range.
+ */
+public abstract class ScaledDistribution implements Distribution {
+
+    protected final double lower;
+    protected final double upper;
+    private final double innerRange;
+    protected FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
+
+    /**
+     * Constructs distribution truncated to <code>lower</code> and <code>upper</code>.
+     *
+     * @param lower Lower bound, no values lower than this will be generated.
+     * @param upper Upper bound, no values higher than this will be generated.
+     * @throws ArithmeticException if lower is not less than upper
+     */
+    protected ScaledDistribution(double lower, double upper) {
+        if (!(lower < upper)) { throw new ArithmeticException("lower bound must be less than upper bound"); }
+        this.lower = lower;
+        this.upper = upper;
+        this.innerRange = upper - lower;
+    }
+
+    /**
+     * Draws next value of the distribution.
+     *
+     * @return Random value between <code>lower</code> and <code>upper</code>.
+     */
+    protected abstract double sample();
+
+    @Override
+    public int nextInt(int bound) {
+        return nextInt(0, bound);
+    }
+
+    @Override
+    public int nextInt(int lower, int upper) {
+        return (int) Math.min((long) scale(sample(), lower, upper), upper - 1L);
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return nextLong(0, bound);
+    }
+
+    @Override
+    public long nextLong(long lower, long upper) {
+        return Math.min((long) scale(sample(), lower, upper), upper - 1);
+    }
+
+    @Override
+    public double nextDouble(double lower, double upper) {
+        return Math.min(scale(sample(), lower, upper), Math.nextDown(upper));
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return ((long) scale(sample(), 0, 100)) % 2 == 0;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public abstract ScaledDistribution clone();
+
+    private double scale(double value, double scaledLower, double scaledUpper) {
+        return (((value - lower) * (scaledUpper - scaledLower)) / innerRange) + scaledLower;
+    }
+}
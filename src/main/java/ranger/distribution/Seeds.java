@@ -0,0 +1,34 @@
+package ranger.distribution;
+
+/**
+ * Derives independent seeds from a root seed, so that each random source gets a seed depending only on the root seed
+ * and its position, not on the order or thread in which sources are seeded.
+ */
+public final class Seeds {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Seeds() {
+    }
+
+    /**
+     * Mixes <code>seed</code> with <code>salt</code> using the SplitMix64 finalizer. Different salts give
+     * statistically independent seeds.
+     *
+     * @param seed Root seed.
+     * @param salt Position of the random source, for example index of a value or of a chunk.
+     * @return Derived seed.
+     */
+    public static long mix(long seed, long salt) {
+        return scramble(seed + (salt + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * SplitMix64 finalizer, maps consecutive inputs to statistically independent outputs.
+     */
+    static long scramble(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
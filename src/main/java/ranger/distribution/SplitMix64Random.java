@@ -0,0 +1,44 @@
+package ranger.distribution;
+
+/**
+ * Random generator based on SplitMix64. Its state is a single counter, so reseeding is a plain assignment and values
+ * can be reseeded per generated object without noticeable cost. Period is 2<sup>64</sup>. Not thread-safe.
+ */
+public class SplitMix64Random extends FastRandom {
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;     //no initializer, Random's constructor already seeds it through setSeed
+
+    /**
+     * Constructs random generator with a random seed.
+     */
+    public SplitMix64Random() {
+        super();
+    }
+
+    /**
+     * Constructs random generator with specified <code>seed</code>.
+     *
+     * @param seed The seed.
+     */
+    public SplitMix64Random(long seed) {
+        super(seed);
+    }
+
+    @Override
+    protected void seed(long seed) {
+        state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return Seeds.scramble(state += GOLDEN_GAMMA);
+    }
+
+    @Override
+    public RandomAlgorithm getAlgorithm() {
+        return RandomAlgorithm.SPLITMIX64;
+    }
+}
@@ -0,0 +1,113 @@
+package ranger.distribution;
+
+import org.apache.commons.math3.special.Erf;
+
+/**
+ * Standard normal distribution truncated to <code>[alpha, beta]</code>. Wide intervals are sampled with the
+ * {@link Ziggurat} and rejection of the few values outside, narrow intervals and intervals in the tails by inverting
+ * the cumulative distribution function, so that sampling never needs more than one attempt.
+ */
+final class TruncatedNormal {
+
+    private static final double ZIGGURAT_MIN_MASS = 0.8;    //at most 1.25 attempts per value on average
+    private static final double SQRT2 = Math.sqrt(2);
+
+    private final double alpha;
+    private final double beta;
+    private final boolean reflected;
+    private final double lowerProbability;
+    private final double mass;
+    private final boolean ziggurat;
+
+    /**
+     * @param alpha Lower bound.
+     * @param beta Upper bound.
+     * @throws ArithmeticException if alpha is not less than beta
+     */
+    TruncatedNormal(double alpha, double beta) {
+        if (!(alpha < beta)) { throw new ArithmeticException("lower bound must be less than upper bound"); }
+        //cumulative probabilities are only precise below zero, so sample intervals in the upper tail reflected
+        this.reflected = alpha + beta > 0;
+        this.alpha = reflected ? -beta : alpha;
+        this.beta = reflected ? -alpha : beta;
+        this.lowerProbability = cdf(this.alpha);
+        this.mass = cdf(this.beta) - lowerProbability;
+        this.ziggurat = mass >= ZIGGURAT_MIN_MASS;
+    }
+
+    /**
+     * @param random Source of random bits.
+     * @return Random value within bounds.
+     */
+    double sample(FastRandom random) {
+        double x;
+        if (ziggurat) {
+            do {
+                x = random.nextGaussian();
+            } while (x < alpha || x > beta);
+        } else if (mass > 0) {
+            x = inverseCdf(lowerProbability + mass * random.nextDouble());
+            x = Math.max(alpha, Math.min(beta, x));    //rounding may leave the interval
+        } else {    //too far in the tail for doubles, density falls off exponentially from beta
+            double rate = -beta;
+            x = beta + StrictMath.log1p(random.nextDouble() * StrictMath.expm1(-rate * (beta - alpha))) / rate;
+        }
+        return reflected ? -x : x;
+    }
+
+    /**
+     * Cumulative distribution function of the standard normal distribution.
+     *
+     * @param x The value.
+     * @return Probability of a value less than or equal to x.
+     */
+    static double cdf(double x) {
+        return 0.5 * Erf.erfc(-x / SQRT2);
+    }
+
+    /**
+     * Inverse of the cumulative distribution function of the standard normal distribution, computed with algorithm
+     * AS 241 of Wichura, which is precise to about 16 digits.
+     *
+     * @param p Probability between 0 and 1.
+     * @return Value whose cumulative probability is p.
+     */
+    static double inverseCdf(double p) {
+        double q = p - 0.5;
+        if (Math.abs(q) <= 0.425) {
+            double r = 0.180625 - q * q;
+            return q * (((((((2.5090809287301226727e+3 * r + 3.3430575583588128105e+4) * r
+                    + 6.7265770927008700853e+4) * r + 4.5921953931549871457e+4) * r
+                    + 1.3731693765509461125e+4) * r + 1.9715909503065514427e+3) * r
+                    + 1.3314166789178437745e+2) * r + 3.3871328727963666080e+0)
+                    / (((((((5.2264952788528545610e+3 * r + 2.8729085735721942674e+4) * r
+                    + 3.9307895800092710610e+4) * r + 2.1213794301586595867e+4) * r
+                    + 5.3941960214247511077e+3) * r + 6.8718700749205790830e+2) * r
+                    + 4.2313330701600911252e+1) * r + 1.0);
+        }
+        double r = Math.sqrt(-StrictMath.log(q < 0 ? p : 1 - p));
+        double x;
+        if (r <= 5) {
+            r -= 1.6;
+            x = (((((((7.74545014278341407640e-4 * r + 2.27238449892691845833e-2) * r
+                    + 2.41780725177450611770e-1) * r + 1.27045825245236838258e+0) * r
+                    + 3.64784832476320460504e+0) * r + 5.76949722146069140550e+0) * r
+                    + 4.63033784615654529590e+0) * r + 1.42343711074968357734e+0)
+                    / (((((((1.05075007164441684324e-9 * r + 5.47593808499534494600e-4) * r
+                    + 1.51986665636164571966e-2) * r + 1.48103976427480074590e-1) * r
+                    + 6.89767334985100004550e-1) * r + 1.67638483018380384940e+0) * r
+                    + 2.05319162663775882187e+0) * r + 1.0);
+        } else {
+            r -= 5;
+            x = (((((((2.01033439929228813265e-7 * r + 2.71155556874348757815e-5) * r
+                    + 1.24266094738807843860e-3) * r + 2.65321895265761230930e-2) * r
+                    + 2.96560571828504891230e-1) * r + 1.78482653991729133580e+0) * r
+                    + 5.46378491116411436990e+0) * r + 6.65790464350110377720e+0)
+                    / (((((((2.04426310338993978564e-15 * r + 1.42151175831644588870e-7) * r
+                    + 1.84631831751005468180e-5) * r + 7.86869131145613259100e-4) * r
+                    + 1.48753612908506148525e-2) * r + 1.36929880922735805310e-1) * r
+                    + 5.99832206555887937690e-1) * r + 1.0);
+        }
+        return q < 0 ? -x : x;
+    }
+}
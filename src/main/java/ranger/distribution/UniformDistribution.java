@@ -1,14 +1,11 @@
 package ranger.distribution;
 
-import java.util.Random;
-
 /**
  * Uniform distribution.
  */
-@SuppressWarnings("OptionalGetWithoutIsPresent")
 public class UniformDistribution implements Distribution {
 
-    private final Random random = new Random();
+    private FastRandom random = RandomAlgorithm.defaultAlgorithm().create();
 
     @Override
     public int nextInt(int bound) {
@@ -17,22 +14,22 @@ public class UniformDistribution implements Distribution {
 
     @Override
     public int nextInt(int lower, int upper) {
-        return random.ints(1, lower, upper).findFirst().getAsInt();
+        return random.nextInt(lower, upper);
     }
 
     @Override
     public long nextLong(long bound) {
-        return random.longs(1, 0, bound).findFirst().getAsLong();
+        return random.nextLong(bound);
     }
 
     @Override
     public long nextLong(long lower, long upper) {
-        return random.longs(1, lower, upper).findFirst().getAsLong();
+        return random.nextLong(lower, upper);
     }
 
     @Override
     public double nextDouble(double lower, double upper) {
-        return random.doubles(1, lower, upper).findFirst().getAsDouble();
+        return random.nextDouble(lower, upper);
     }
 
     @Override
@@ -40,6 +37,16 @@ public class UniformDistribution implements Distribution {
         return random.nextBoolean();
     }
 
+    @Override
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public void setRandom(FastRandom random) {
+        this.random = random;
+    }
+
     @Override
     public UniformDistribution clone() {
         return new UniformDistribution();
@@ -0,0 +1,58 @@
+package ranger.distribution;
+
+/**
+ * Random generator based on xoshiro256++ by Blackman and Vigna. Has 256 bits of state, which are initialized from the
+ * seed with SplitMix64. Period is 2<sup>256</sup>-1. Not thread-safe.
+ */
+public class Xoshiro256PlusPlusRandom extends FastRandom {
+
+    private static final long serialVersionUID = 1L;
+
+    //no initializers, Random's constructor already seeds them through setSeed
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Constructs random generator with a random seed.
+     */
+    public Xoshiro256PlusPlusRandom() {
+        super();
+    }
+
+    /**
+     * Constructs random generator with specified <code>seed</code>.
+     *
+     * @param seed The seed.
+     */
+    public Xoshiro256PlusPlusRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    protected void seed(long seed) {
+        s0 = Seeds.mix(seed, 0);    //never all zero, as mixing is a bijection of distinct inputs
+        s1 = Seeds.mix(seed, 1);
+        s2 = Seeds.mix(seed, 2);
+        s3 = Seeds.mix(seed, 3);
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public RandomAlgorithm getAlgorithm() {
+        return RandomAlgorithm.XOSHIRO256PP;
+    }
+}
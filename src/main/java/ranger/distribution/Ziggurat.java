@@ -0,0 +1,67 @@
+package ranger.distribution;
+
+/**
+ * Ziggurat method of Marsaglia and Tsang for standard normal values, in the variant of Doornik with 128 layers.
+ * Almost all values need one random long and one multiplication, the rest falls back to exact rejection in the
+ * wedges and in the tail. Uses {@link StrictMath}, so that same seed results in same values on every platform.
+ */
+final class Ziggurat {
+
+    private static final int LAYERS = 128;
+    private static final double R = 3.442619855899;             //start of the tail
+    private static final double V = 9.91256303526217e-3;        //area of each layer
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final double[] X = new double[LAYERS + 1];
+    private static final double[] RATIO = new double[LAYERS];
+
+    static {
+        double f = StrictMath.exp(-0.5 * R * R);
+        X[0] = V / f;
+        X[1] = R;
+        X[LAYERS] = 0;
+        for (int i = 2; i < LAYERS; i++) {
+            X[i] = Math.sqrt(-2 * StrictMath.log(V / X[i - 1] + f));
+            f = StrictMath.exp(-0.5 * X[i] * X[i]);
+        }
+        for (int i = 0; i < LAYERS; i++) {
+            RATIO[i] = X[i + 1] / X[i];
+        }
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * @param random Source of random bits.
+     * @return Standard normal value.
+     */
+    static double normal(FastRandom random) {
+        while (true) {
+            long bits = random.nextLong();
+            int i = (int) bits & (LAYERS - 1);
+            double u = 2 * ((bits >>> 11) * DOUBLE_UNIT) - 1;   //upper 53 bits, independent of layer bits
+            if (Math.abs(u) < RATIO[i]) {   //inside the rectangle of the layer
+                return u * X[i];
+            }
+            if (i == 0) {
+                return tail(random, u < 0);
+            }
+            double x = u * X[i];
+            double f0 = StrictMath.exp(-0.5 * (X[i] * X[i] - x * x));
+            double f1 = StrictMath.exp(-0.5 * (X[i + 1] * X[i + 1] - x * x));
+            if (f1 + random.nextDouble() * (f0 - f1) < 1.0) {
+                return x;
+            }
+        }
+    }
+
+    private static double tail(FastRandom random, boolean negative) {
+        double x, y;
+        do {
+            x = -StrictMath.log(1 - random.nextDouble()) / R;
+            y = -StrictMath.log(1 - random.nextDouble());
+        } while (y + y < x * x);
+        return negative ? -x - R : x + R;
+    }
+}
@@ -0,0 +1,87 @@
+package ranger.distribution;
+
+/**
+ * Zipf distribution, where the value with rank <code>k</code> has a probability proportional to
+ * <code>1 / k<sup>exponent</sup></code>. Suits skewed keys with few hot values, like popular items or partitions.
+ * The first value of a range has rank 1. Sampled with the rejection-inversion method of H&ouml;rmann and Derflinger,
+ * which needs about one attempt per value and no table, so ranges of any size take constant time and memory.
+ */
+public class ZipfDistribution extends DiscreteDistribution {
+
+    private final double exponent;
+
+    //parameters of the last size, ranges usually sample the same size repeatedly
+    private long size;
+    private double hIntegralX1;
+    private double hIntegralSize;
+    private double s;
+
+    /**
+     * Constructs Zipf distribution with <code>exponent</code> set to 1.
+     */
+    public ZipfDistribution() {
+        this(1);
+    }
+
+    /**
+     * Constructs Zipf distribution with specified <code>exponent</code>.
+     *
+     * @param exponent Exponent of the distribution, greater values make the first values more probable.
+     * @throws ArithmeticException if exponent is not positive
+     */
+    public ZipfDistribution(double exponent) {
+        if (!(exponent > 0)) { throw new ArithmeticException("exponent must be positive"); }
+        this.exponent = exponent;
+    }
+
+    @Override
+    public ZipfDistribution clone() {
+        return new ZipfDistribution(exponent);
+    }
+
+    @Override
+    protected long sample(long size) {
+        if (size <= 0) { throw new IllegalArgumentException("bound must be positive"); }
+        if (size != this.size) {
+            setSize(size);
+        }
+        while (true) {
+            double u = hIntegralSize + random.nextDouble() * (hIntegralX1 - hIntegralSize);
+            double x = hIntegralInverse(u);
+            long k = Math.max(1, Math.min(size, (long) (x + 0.5)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    private void setSize(long size) {
+        this.size = size;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralSize = hIntegral(size + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    //h(x) = 1 / x^exponent is the unnormalized probability, hIntegral its antiderivative
+    private double h(double x) {
+        return StrictMath.exp(-exponent * StrictMath.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = StrictMath.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1, x * (1 - exponent));
+        return StrictMath.exp(log1pOverX(t) * x);
+    }
+
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? StrictMath.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? StrictMath.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -5,15 +5,20 @@ import org.parboiled.parserunners.ReportingParseRunner;
 import org.parboiled.support.ParsingResult;
 import ranger.ObjectGenerator;
 import ranger.core.*;
+import ranger.core.csv.CsvProxy;
+import ranger.core.csv.CsvReaderValue;
 import ranger.util.UrlUtils;
 import ranger.util.YamlUtils;
 
 import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import static ranger.util.YamlUtils.*;
 
@@ -152,7 +157,9 @@ public class ConfigurationParser {
     @SuppressWarnings({ "unchecked" })
     public <T> ObjectGenerator<T> build() throws ConfigException {
         buildModel();
-        return new ObjectGenerator<>((Value<T>) parseSimpleValue("", outputExpression));
+        Value<T> output = (Value<T>) parseSimpleValue("", outputExpression);
+        projectCsvColumns(output);
+        return new ObjectGenerator<>(output);
     }
 
     /**
@@ -166,7 +173,56 @@ public class ConfigurationParser {
      */
     public <T> ObjectGenerator<T> build(Class<T> objectType) throws ConfigException {
         buildModel();
-        return new ObjectGenerator<>(new TypeConverterValue<>(objectType, parseSimpleValue("", outputExpression)));
+        Value<?> output = parseSimpleValue("", outputExpression);
+        projectCsvColumns(output);
+        return new ObjectGenerator<>(new TypeConverterValue<>(objectType, output));
+    }
+
+    /**
+     * Restricts each CSV value reachable from output to the columns that are actually used, so columns nobody reads
+     * are neither stored nor returned. A column is used if its proxy ($csv.column) or a get() of it is reachable. All
+     * columns are used if the CSV value itself is reachable in any other way, for example as whole Map in output.
+     * @param output Value generating output
+     * @throws ConfigException if a CSV file contains invalid records
+     */
+    private void projectCsvColumns(Value<?> output) throws ConfigException {
+        Map<CsvReaderValue, Set<String>> usedColumns = new IdentityHashMap<>();
+        if (output instanceof CsvReaderValue) {
+            usedColumns.put((CsvReaderValue) output, null);
+        }
+        EvaluationPlan.forEachReference(output, (parent, child) -> {
+            if (!(child instanceof CsvReaderValue)) {
+                return;
+            }
+            CsvReaderValue csvValue = (CsvReaderValue) child;
+            if (!usedColumns.containsKey(csvValue)) {
+                usedColumns.put(csvValue, new HashSet<>());
+            }
+            Set<String> columns = usedColumns.get(csvValue);
+            if (columns == null) {
+                return;     //all columns used anyway
+            }
+            if (parent instanceof CsvProxy) {
+                columns.add(((CsvProxy) parent).getColumnName());
+            } else if (parent instanceof GetterTransformer) {
+                String key = ((GetterTransformer<?>) parent).getKeyName();
+                if (csvValue.getHeaderKeys().contains(key)) {     //other keys evaluate to null anyway
+                    columns.add(key);
+                }
+            } else {
+                usedColumns.put(csvValue, null);
+            }
+        });
+        for (Map.Entry<CsvReaderValue, Set<String>> entry : usedColumns.entrySet()) {
+            CsvReaderValue csvValue = entry.getKey();
+            try {
+                csvValue.project(entry.getValue() == null ? csvValue.getHeaderKeys() : entry.getValue());
+            } catch (RuntimeException e) {
+                ConfigException configException = new ConfigException("Error reading csv file '" + csvValue.getParserSettings().getUrl().getPath() + "': ");
+                configException.addBlock("Caused by " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                throw configException;
+            }
+        }
     }
 
     /**
@@ -67,13 +67,19 @@ import ranger.core.arithmetic.SubtractionValueLong;
 import ranger.core.arithmetic.SubtractionValueShort;
 import ranger.core.csv.CSVParserSettings;
 import ranger.core.csv.CircularCsvReaderValue;
+import ranger.core.csv.CsvLookupValue;
 import ranger.core.csv.CsvProxy;
 import ranger.core.csv.CsvReaderValue;
 import ranger.core.csv.RandomCsvReaderValue;
 import ranger.core.csv.WeightedCsvReaderValue;
 import ranger.distribution.Distribution;
+import ranger.distribution.ExponentialDistribution;
+import ranger.distribution.LogNormalDistribution;
 import ranger.distribution.NormalDistribution;
+import ranger.distribution.ParetoDistribution;
+import ranger.distribution.PoissonDistribution;
 import ranger.distribution.UniformDistribution;
+import ranger.distribution.ZipfDistribution;
 import ranger.util.UrlUtils;
 
 import java.io.File;
@@ -713,13 +719,59 @@ public class ValueExpressionParser extends BaseParser<Object> {
         return Sequence(function("normal", list(numberLiteral())), push(createNormalDistribution()));
     }
 
+    /**
+     * Log-normal distribution definition.
+     *
+     * @return Log-normal distribution definition rule.
+     */
+    public Rule lognormalDistribution() {
+        return Sequence(function("lognormal", list(numberLiteral())), push(createLogNormalDistribution()));
+    }
+
+    /**
+     * Exponential distribution definition.
+     *
+     * @return Exponential distribution definition rule.
+     */
+    public Rule exponentialDistribution() {
+        return Sequence(function("exponential", list(numberLiteral())), push(createExponentialDistribution()));
+    }
+
+    /**
+     * Pareto distribution definition.
+     *
+     * @return Pareto distribution definition rule.
+     */
+    public Rule paretoDistribution() {
+        return Sequence(function("pareto", list(numberLiteral())), push(createParetoDistribution()));
+    }
+
+    /**
+     * Poisson distribution definition.
+     *
+     * @return Poisson distribution definition rule.
+     */
+    public Rule poissonDistribution() {
+        return Sequence(function("poisson", list(numberLiteral())), push(createPoissonDistribution()));
+    }
+
+    /**
+     * Zipf distribution definition.
+     *
+     * @return Zipf distribution definition rule.
+     */
+    public Rule zipfDistribution() {
+        return Sequence(function("zipf", list(numberLiteral())), push(createZipfDistribution()));
+    }
+
     /**
      * Distribution definition.
      *
      * @return Distribution definition rule.
      */
     public Rule distribution() {
-        return FirstOf(uniformDistribution(), normalDistribution());
+        return FirstOf(uniformDistribution(), normalDistribution(), lognormalDistribution(), exponentialDistribution(),
+                paretoDistribution(), poissonDistribution(), zipfDistribution());
     }
 
 
@@ -811,8 +863,8 @@ public class ValueExpressionParser extends BaseParser<Object> {
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public Rule exactWeightedValue() {
-        return Sequence(function("exactly", bracketList(countValuePair())),
-                push(new ExactWeightedValue<>((List) pop())));
+        return Sequence(function("exactly", Sequence(bracketList(countValuePair()), Optional(comma(), booleanLiteral()))),
+                push(createExactWeightedValue()));
     }
 
 
@@ -1062,6 +1114,36 @@ public class ValueExpressionParser extends BaseParser<Object> {
                 push(createWeightedCsvReaderValue()));
     }
 
+    /**
+     * CSV lookup value definition.
+     *
+     * @return CSV lookup value definition rule.
+     */
+    public Rule csvLookupValue() {
+        return Sequence(
+                function("csvLookup",
+                        FirstOf(Sequence(stringLiteral(), comma(), charLiteral(), comma(), booleanLiteral(), comma(), stringLiteral(), comma(), booleanLiteral(), comma(), FirstOf(nullValue(), charLiteral()), comma(), charLiteral(), comma(), booleanLiteral(), comma(), FirstOf(nullValue(), stringLiteral()), comma(), stringLiteral(), comma(), value()),
+                                Sequence(stringLiteral(), comma(), charLiteral(), comma(), booleanLiteral(), comma(), stringLiteral(), comma(), value()),
+                                Sequence(stringLiteral(), comma(), charLiteral(), comma(), stringLiteral(), comma(), value()),
+                                Sequence(stringLiteral(), comma(), stringLiteral(), comma(), value()))),
+                push(createCsvLookupValue(false)));
+    }
+
+    /**
+     * Weighted CSV lookup value definition.
+     *
+     * @return Weighted CSV lookup value definition rule.
+     */
+    public Rule csvWeightedLookupValue() {
+        return Sequence(
+                function("csvWeightedLookup",
+                        FirstOf(Sequence(stringLiteral(), comma(), charLiteral(), comma(), booleanLiteral(), comma(), stringLiteral(), comma(), booleanLiteral(), comma(), FirstOf(nullValue(), charLiteral()), comma(), charLiteral(), comma(), booleanLiteral(), comma(), FirstOf(nullValue(), stringLiteral()), comma(), stringLiteral(), comma(), value(), comma(), stringLiteral()),
+                                Sequence(stringLiteral(), comma(), charLiteral(), comma(), booleanLiteral(), comma(), stringLiteral(), comma(), value(), comma(), stringLiteral()),
+                                Sequence(stringLiteral(), comma(), charLiteral(), comma(), stringLiteral(), comma(), value(), comma(), stringLiteral()),
+                                Sequence(stringLiteral(), comma(), stringLiteral(), comma(), value(), comma(), stringLiteral()))),
+                push(createCsvLookupValue(true)));
+    }
+
 
 
     //DEPENDENT VALUES
@@ -1126,7 +1208,8 @@ public class ValueExpressionParser extends BaseParser<Object> {
                 randomLengthListValue(), weightedValue(), exactWeightedValue(), switchValue(), mapValue(),
                 randomContentStringValue(), xegerValue(), now(), nowDate(), nowLocalDate(), nowLocalDateTime(), additionValue(),
                 subtractionValue(), multiplicationValue(), divisionValue(), csvReaderValue(),
-                csvCircularReaderValue(), csvRandomReaderValue(), csvWeightedReaderValue());
+                csvCircularReaderValue(), csvRandomReaderValue(), csvWeightedReaderValue(), csvLookupValue(),
+                csvWeightedLookupValue());
     }
 
 
@@ -1280,6 +1363,102 @@ public class ValueExpressionParser extends BaseParser<Object> {
                 args.get(3).doubleValue());
     }
 
+    /**
+     * Creates log-normal distribution.
+     *
+     * @return Instance of {@link LogNormalDistribution}.
+     * @throws ParseException if called with incorrect number of arguments
+     */
+    @SuppressWarnings({ "unchecked"})
+    protected LogNormalDistribution createLogNormalDistribution() {
+        List<Number> args = (List<Number>) pop();
+        if (args.isEmpty()) {
+            return new LogNormalDistribution();
+        }
+        if (args.size() != 4) {
+            throw new ParseException("Log-normal distribution must have following parameters:"
+                    + " mu, sigma, lower bound and upper bound.");
+        }
+        return new LogNormalDistribution(args.get(0).doubleValue(), args.get(1).doubleValue(),
+                args.get(2).doubleValue(), args.get(3).doubleValue());
+    }
+
+    /**
+     * Creates exponential distribution.
+     *
+     * @return Instance of {@link ExponentialDistribution}.
+     * @throws ParseException if called with incorrect number of arguments
+     */
+    @SuppressWarnings({ "unchecked"})
+    protected ExponentialDistribution createExponentialDistribution() {
+        List<Number> args = (List<Number>) pop();
+        if (args.isEmpty()) {
+            return new ExponentialDistribution();
+        }
+        if (args.size() != 3) {
+            throw new ParseException("Exponential distribution must have following parameters:"
+                    + " lambda, lower bound and upper bound.");
+        }
+        return new ExponentialDistribution(args.get(0).doubleValue(), args.get(1).doubleValue(),
+                args.get(2).doubleValue());
+    }
+
+    /**
+     * Creates pareto distribution.
+     *
+     * @return Instance of {@link ParetoDistribution}.
+     * @throws ParseException if called with incorrect number of arguments
+     */
+    @SuppressWarnings({ "unchecked"})
+    protected ParetoDistribution createParetoDistribution() {
+        List<Number> args = (List<Number>) pop();
+        if (args.isEmpty()) {
+            return new ParetoDistribution();
+        }
+        if (args.size() != 3) {
+            throw new ParseException("Pareto distribution must have following parameters:"
+                    + " alpha, lower bound and upper bound.");
+        }
+        return new ParetoDistribution(args.get(0).doubleValue(), args.get(1).doubleValue(),
+                args.get(2).doubleValue());
+    }
+
+    /**
+     * Creates poisson distribution.
+     *
+     * @return Instance of {@link PoissonDistribution}.
+     * @throws ParseException if called with incorrect number of arguments
+     */
+    @SuppressWarnings({ "unchecked"})
+    protected PoissonDistribution createPoissonDistribution() {
+        List<Number> args = (List<Number>) pop();
+        if (args.isEmpty()) {
+            return new PoissonDistribution();
+        }
+        if (args.size() != 1) {
+            throw new ParseException("Poisson distribution must have following parameter: lambda.");
+        }
+        return new PoissonDistribution(args.get(0).doubleValue());
+    }
+
+    /**
+     * Creates zipf distribution.
+     *
+     * @return Instance of {@link ZipfDistribution}.
+     * @throws ParseException if called with incorrect number of arguments
+     */
+    @SuppressWarnings({ "unchecked"})
+    protected ZipfDistribution createZipfDistribution() {
+        List<Number> args = (List<Number>) pop();
+        if (args.isEmpty()) {
+            return new ZipfDistribution();
+        }
+        if (args.size() != 1) {
+            throw new ParseException("Zipf distribution must have following parameter: exponent.");
+        }
+        return new ZipfDistribution(args.get(0).doubleValue());
+    }
+
     /**
      * Creates discrete value.
      *
@@ -1320,6 +1499,17 @@ public class ValueExpressionParser extends BaseParser<Object> {
         throw new ParseException("Unsupported number type: " + beginning.getClass().getName());
     }
 
+    /**
+     * Creates exact weighted value.
+     *
+     * @return Instance of {@link ExactWeightedValue}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected ExactWeightedValue<?> createExactWeightedValue() {
+        boolean shuffle = peek() instanceof Boolean ? (Boolean) pop() : false;
+        return new ExactWeightedValue<>((List) pop(), shuffle);
+    }
+
     /**
      * Creates long range value.
      *
@@ -1565,6 +1755,22 @@ public class ValueExpressionParser extends BaseParser<Object> {
         return parsedValue;
     }
 
+    /**
+     * Creates CSV lookup value.
+     *
+     * @param weighted Whether the last argument is the weight field.
+     * @return An CSV value.
+     */
+    protected CsvLookupValue createCsvLookupValue(boolean weighted) {
+        String weightField = weighted ? (String) pop() : null;
+        Value<?> key = (Value<?>) pop();
+        String keyField = (String) pop();
+        CSVParserSettings parserSettings = getCsvParserSettings();
+        CsvLookupValue parsedValue = new CsvLookupValue(parserSettings, keyField, key, weightField);
+        addCsvValueProxies(currentPath, parsedValue.getCsvProxies());
+        return parsedValue;
+    }
+
     /**
      * Adds proxies for CSV columns
      */
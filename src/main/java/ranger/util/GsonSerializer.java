@@ -23,12 +23,34 @@ public class GsonSerializer {
     private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER_ISO_8601 = DateTimeFormatter.ofPattern(
             DATE_FORMAT_ISO_8601);
     private static final JsonSerializer<Date> dateSerializer =
-            (src, typeOfSrc, context) -> new JsonPrimitive(DATE_FORMATTER_ISO_8601.format(src));
+            (src, typeOfSrc, context) -> new JsonPrimitive(formatDate(src));
     private static final JsonSerializer<LocalDate> localDateSerializer =
-            (src, typeOfSrc, context) -> new JsonPrimitive(src.format(DateTimeFormatter.ISO_DATE));
+            (src, typeOfSrc, context) -> new JsonPrimitive(formatLocalDate(src));
     private static final JsonSerializer<LocalDateTime> localDateTimeSerializer =
-            (src, typeOfSrc, context) -> new JsonPrimitive(
-                    ZonedDateTime.of(src, ZoneId.systemDefault()).format(LOCAL_DATE_TIME_FORMATTER_ISO_8601));
+            (src, typeOfSrc, context) -> new JsonPrimitive(formatLocalDateTime(src));
+
+    /**
+     * @return date as serialized by Gson instances of this class, without quotes.
+     */
+    public static String formatDate(Date date) {
+        synchronized (DATE_FORMATTER_ISO_8601) {    //SimpleDateFormat is not thread-safe
+            return DATE_FORMATTER_ISO_8601.format(date);
+        }
+    }
+
+    /**
+     * @return date as serialized by Gson instances of this class, without quotes.
+     */
+    public static String formatLocalDate(LocalDate date) {
+        return date.format(DateTimeFormatter.ISO_DATE);
+    }
+
+    /**
+     * @return date time as serialized by Gson instances of this class, without quotes.
+     */
+    public static String formatLocalDateTime(LocalDateTime dateTime) {
+        return ZonedDateTime.of(dateTime, ZoneId.systemDefault()).format(LOCAL_DATE_TIME_FORMATTER_ISO_8601);
+    }
 
     public static Gson newGsonInstance() {
         return new GsonBuilder()
@@ -5,6 +5,7 @@ import java.nio.charset.StandardCharsets;
 
 public class RangerConfig {
     private static Charset encoding = StandardCharsets.UTF_8;
+    private static long csvMemoryLimit = 256L << 20;
 
     public static Charset getEncoding() {
         return encoding;
@@ -13,4 +14,16 @@ public class RangerConfig {
     public static void setEncoding(Charset encoding) {
         RangerConfig.encoding = encoding;
     }
+
+    /**
+     * @return Size in bytes up to which randomly read CSV files are loaded into memory. Larger local files are read
+     * through an index on disk instead.
+     */
+    public static long getCsvMemoryLimit() {
+        return csvMemoryLimit;
+    }
+
+    public static void setCsvMemoryLimit(long csvMemoryLimit) {
+        RangerConfig.csvMemoryLimit = csvMemoryLimit;
+    }
 }
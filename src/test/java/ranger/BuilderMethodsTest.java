@@ -7,10 +7,16 @@ import ranger.core.arithmetic.DivisionValueInteger;
 import ranger.core.arithmetic.MultiplicationValueInteger;
 import ranger.core.arithmetic.SubtractionValueInteger;
 import ranger.core.csv.CircularCsvReaderValue;
+import ranger.core.csv.CsvLookupValue;
 import ranger.core.csv.CsvReaderValue;
 import ranger.core.csv.RandomCsvReaderValue;
 import ranger.core.csv.WeightedCsvReaderValue;
+import ranger.distribution.ExponentialDistribution;
+import ranger.distribution.LogNormalDistribution;
 import ranger.distribution.NormalDistribution;
+import ranger.distribution.ParetoDistribution;
+import ranger.distribution.PoissonDistribution;
+import ranger.distribution.ZipfDistribution;
 import ranger.distribution.UniformDistribution;
 
 import java.util.Arrays;
@@ -63,6 +69,34 @@ class BuilderMethodsTest {
         assertThat(circularWithin.next(), is(oneOf(1, 2)));
     }
 
+    @Test
+    void testPrimitiveRandomWithin() {
+        ObjectGenerator<Integer> randomIntWithin = randomIntWithin(1, 2);
+        assertThat(randomIntWithin.value, is(instanceOf(RangeValueInt.class)));
+        assertThat(randomIntWithin.nextInt(), is(equalTo(1)));
+        ObjectGenerator<Long> randomLongWithin = randomLongWithin(1L, 2L);
+        assertThat(randomLongWithin.value, is(instanceOf(RangeValueLong.class)));
+        assertThat(randomLongWithin.nextLong(), is(equalTo(1L)));
+        ObjectGenerator<Double> randomDoubleWithin = randomDoubleWithin(1.0, 2.0);
+        assertThat(randomDoubleWithin.value, is(instanceOf(RangeValueDouble.class)));
+        assertThat(randomDoubleWithin.nextDouble(), is(both(greaterThanOrEqualTo(1.0)).and(lessThan(2.0))));
+    }
+
+    @Test
+    void testPrimitiveCircularWithin() {
+        ObjectGenerator<Integer> circularIntWithin = circularIntWithin(1, 2, 1);
+        assertThat(circularIntWithin.value, is(instanceOf(CircularRangeValueInt.class)));
+        assertThat(circularIntWithin.nextInt(), is(equalTo(1)));
+        assertThat(circularIntWithin.nextInt(), is(equalTo(2)));
+        ObjectGenerator<Long> circularLongWithin = circularLongWithin(1L, 2L, 1L);
+        assertThat(circularLongWithin.value, is(instanceOf(CircularRangeValueLong.class)));
+        assertThat(circularLongWithin.nextLong(), is(equalTo(1L)));
+        ObjectGenerator<Double> circularDoubleWithin = circularDoubleWithin(1.0, 2.0, 0.5);
+        assertThat(circularDoubleWithin.value, is(instanceOf(CircularRangeValueDouble.class)));
+        assertThat(circularDoubleWithin.nextDouble(), is(equalTo(1.0)));
+        assertThat(circularDoubleWithin.nextDouble(), is(equalTo(1.5)));
+    }
+
     @Test
     void testWeighted() {
         ObjectGenerator<String> weighted = weighted(weightPair("yes", 60));
@@ -87,6 +121,27 @@ class BuilderMethodsTest {
         assertThat(normal(1, 0.5, 0, 2), is(instanceOf(NormalDistribution.class)));
     }
 
+    @Test
+    void testSkewedDistributions() {
+        assertThat(lognormal(0, 1, 0, 10), is(instanceOf(LogNormalDistribution.class)));
+        assertThat(exponential(2, 0, 5), is(instanceOf(ExponentialDistribution.class)));
+        assertThat(pareto(1.16, 1, 100), is(instanceOf(ParetoDistribution.class)));
+        assertThat(poisson(4.5), is(instanceOf(PoissonDistribution.class)));
+        assertThat(zipf(1.2), is(instanceOf(ZipfDistribution.class)));
+    }
+
+    @Test
+    void testRandomWithZipf() {
+        ObjectGenerator<Integer> generator = randomWithin(1, 1001, false, zipf(1.2));
+        int first = 0;
+        for (int i = 0; i < 1000; i++) {
+            int value = generator.next();
+            assertThat(value, is(both(greaterThanOrEqualTo(1)).and(lessThan(1001))));
+            if (value == 1) { first++; }
+        }
+        assertThat(first, is(greaterThan(100)));
+    }
+
     @Test
     void testRandomContentString() {
         ObjectGenerator<String> randomContentString = randomContentString(constant(2), range('a', 'a'));
@@ -190,6 +245,11 @@ class BuilderMethodsTest {
         assertThat(csvCircular.value, is(instanceOf(CircularCsvReaderValue.class)));
         assertThat(csvRandom.value, is(instanceOf(RandomCsvReaderValue.class)));
         assertThat(csvWeighted.value, is(instanceOf(WeightedCsvReaderValue.class)));
+        ObjectGenerator<Map<String, String>> csvLookup = csvLookup(path, "username", constant("test76"));
+        ObjectGenerator<Map<String, String>> csvWeightedLookup = csvWeightedLookup(path, "username", constant("test76"), "income");
+        assertThat(csvLookup.value, is(instanceOf(CsvLookupValue.class)));
+        assertThat(csvLookup.next().get("username"), is("test76"));
+        assertThat(csvWeightedLookup.next().get("username"), is("test76"));
     }
 
 
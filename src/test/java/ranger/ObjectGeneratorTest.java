@@ -1,18 +1,50 @@
 package ranger;
 
 import org.junit.jupiter.api.Test;
+import ranger.cli.writer.JsonlWriter;
 import ranger.core.CircularRangeValueInt;
+import ranger.core.CircularValue;
+import ranger.core.ColumnBatch;
 import ranger.core.CompositeValue;
 import ranger.core.ConstantValue;
+import ranger.core.ExactWeightedValue;
+import ranger.core.ListValue;
+import ranger.core.RandomLengthListValue;
 import ranger.core.Range;
+import ranger.core.RangeValueDouble;
+import ranger.core.RangeValueInt;
+import ranger.core.RangeValueLong;
+import ranger.core.SwitchValue;
+import ranger.core.UUIDValue;
+import ranger.core.Value;
+import ranger.core.ValueException;
+import ranger.core.ValueProxy;
+import ranger.core.arithmetic.AdditionValueLong;
+import ranger.distribution.RandomAlgorithm;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ObjectGeneratorTest {
@@ -30,10 +62,265 @@ class ObjectGeneratorTest {
         }
     }
 
+    @Test
+    void testNextPrimitive() {
+        ObjectGenerator<Long> generator = new ObjectGenerator<>(new AdditionValueLong(new CircularRangeValueInt(new Range<>(1, 3), 1), ConstantValue.of(10L)));
+        assertThat(generator.nextLong(), is(equalTo(11L)));
+        assertThat(generator.nextInt(), is(equalTo(12)));
+        assertThat(generator.nextDouble(), is(equalTo(13.0)));
+        assertThat(generator.next(), is(equalTo(11L)));
+    }
+
+    @Test
+    void testErrorNextPrimitiveOfNonNumber() {
+        ObjectGenerator<String> generator = new ObjectGenerator<>(ConstantValue.of("value"));
+        assertThrows(ValueException.class, generator::nextInt);
+    }
+
+    @Test
+    void testConcurrentClones() throws Exception {
+        ValueProxy<Integer> shared = new ValueProxy<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("first", shared);
+        values.put("second", new AdditionValueLong(shared, ConstantValue.of(10L)));
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(new CompositeValue(values));
+        List<Map<String, Object>> expected = generator.getClone().generate(50);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Map<String, Object>>>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> generator.getClone().generate(50)));
+            }
+            for (Future<List<Map<String, Object>>> result : results) {
+                assertThat(result.get(), is(equalTo(expected)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testStream() {
+        ObjectGenerator<Integer> firstGenerator = new ObjectGenerator<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        ObjectGenerator<Integer> secondGenerator = new ObjectGenerator<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        assertThat(firstGenerator.stream(150).collect(Collectors.toList()), is(equalTo(secondGenerator.generate(150))));
+        assertThat(firstGenerator.stream().limit(3).collect(Collectors.toList()), is(equalTo(Arrays.asList(51, 52, 53))));
+    }
+
+    @Test
+    void testParallelStream() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        Map<Integer, Long> counts = generator.stream(100_000).parallel()
+                .collect(Collectors.groupingByConcurrent(i -> i, Collectors.counting()));
+        assertThat(counts.values().stream().mapToLong(Long::longValue).sum(), is(100_000L));
+        assertThat(counts.keySet().stream().allMatch(i -> i >= 1 && i <= 100), is(true));
+    }
+
+    @Test
+    void testSpliteratorSplitsIntoClones() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        Spliterator<Integer> spliterator = generator.spliterator(10_000);
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertThat(prefix.estimateSize() + spliterator.estimateSize(), is(10_000L));
+        List<Integer> first = new ArrayList<>();
+        prefix.tryAdvance(first::add);
+        spliterator.tryAdvance(first::add);
+        assertThat(first, is(equalTo(Arrays.asList(1, 1))));
+        assertThat(generator.spliterator(10).trySplit(), is(nullValue()));
+    }
+
+    @Test
+    void testGenerateAt() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createSeekableHierarchy());
+        ObjectGenerator<Map<String, Object>> other = new ObjectGenerator<>(createSeekableHierarchy());
+        generator.setSeed(42);
+        other.setSeed(42);
+        List<Map<String, Object>> objects = generator.generate(300);
+
+        assertThat(other.generateAt(250), is(equalTo(objects.get(250))));
+        assertThat(other.next(), is(equalTo(objects.get(251))));
+        assertThat(other.generateAt(7), is(equalTo(objects.get(7))));
+        assertThat(objects.get(250).get("number"), is(51));
+    }
+
+    @Test
+    void testSeededBatch() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createSeekableHierarchy());
+        ObjectGenerator<Map<String, Object>> other = new ObjectGenerator<>(createSeekableHierarchy());
+        generator.setSeed(42);
+        other.setSeed(42);
+        List<Map<String, Object>> objects = generator.generate(300);
+
+        ColumnBatch batch = other.generateBatch(250);
+        for (int row = 0; row < 250; row++) {
+            assertThat(batch.getRow(row), is(equalTo(objects.get(row))));
+        }
+        assertThat(other.getIndex(), is(250L));
+        assertThat(other.next(), is(equalTo(objects.get(250))));
+        assertThat(other.generateBatch(10).getRow(0), is(equalTo(objects.get(251))));
+    }
+
+    @Test
+    void testNextToSinkGeneratesSameObjects() throws IOException {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createNestedHierarchy());
+        ObjectGenerator<Map<String, Object>> other = new ObjectGenerator<>(createNestedHierarchy());
+        generator.setSeed(42);
+        other.setSeed(42);
+        StringWriter expected = new StringWriter();
+        StringWriter pushed = new StringWriter();
+        JsonlWriter expectedWriter = new JsonlWriter(expected);
+        JsonlWriter pushedWriter = new JsonlWriter(pushed);
+
+        for (int i = 0; i < 100; i++) {
+            expectedWriter.writeObject(generator.next());
+            other.next(pushedWriter);
+        }
+        expectedWriter.writeObject(generator.generateAt(7));
+        other.generateAt(7, pushedWriter);
+
+        assertThat(pushed.toString(), is(equalTo(expected.toString())));
+        assertThat(pushed.toString(), containsString("\"scores\":["));
+    }
+
+    @Test
+    void testSeededParallelStream() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createSeekableHierarchy());
+        generator.setSeed(42);
+        List<Map<String, Object>> parallel = generator.stream(10_000).parallel().collect(Collectors.toList());
+        generator.setSeed(42);
+        assertThat(parallel, is(equalTo(generator.generate(10_000))));
+    }
+
+    @Test
+    void testSeededSplitWithSequentialState() {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("exact", new ExactWeightedValue<>(Collections.singletonList(
+                new ExactWeightedValue.CountValuePair<>(ConstantValue.of("value"), 1_000_000))));
+        values.put("random", new RangeValueLong(new Range<>(0L, Long.MAX_VALUE)));
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(new CompositeValue(values));
+        generator.setSeed(42);
+        Spliterator<Map<String, Object>> spliterator = generator.spliterator(4 * GeneratorSpliterator.MIN_SPLIT_SIZE);
+        Spliterator<Map<String, Object>> prefix = spliterator.trySplit();
+        Set<Object> randoms = new HashSet<>();
+
+        prefix.forEachRemaining(object -> randoms.add(object.get("random")));
+        spliterator.forEachRemaining(object -> randoms.add(object.get("random")));
+
+        assertThat(randoms, hasSize(4 * (int) GeneratorSpliterator.MIN_SPLIT_SIZE));
+    }
+
+    @Test
+    void testSeededInfiniteSplitIsReproducible() {
+        ObjectGenerator<Long> generator = new ObjectGenerator<>(new RangeValueLong(new Range<>(0L, Long.MAX_VALUE)));
+        ObjectGenerator<Long> other = new ObjectGenerator<>(new RangeValueLong(new Range<>(0L, Long.MAX_VALUE)));
+        generator.setSeed(42);
+        other.setSeed(42);
+        Spliterator<Long> spliterator = generator.stream().spliterator();
+        Spliterator<Long> otherSpliterator = other.stream().spliterator();
+        List<Long> first = new ArrayList<>();
+        List<Long> otherFirst = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            spliterator.trySplit().tryAdvance(first::add);
+            otherSpliterator.trySplit().tryAdvance(otherFirst::add);
+        }
+        spliterator.tryAdvance(first::add);
+        otherSpliterator.tryAdvance(otherFirst::add);
+
+        assertThat(first, is(equalTo(otherFirst)));
+        assertThat(new HashSet<>(first), hasSize(4));
+    }
+
+    @Test
+    void testSeededListOfCircularValues() {
+        ObjectGenerator<List<Integer>> generator = new ObjectGenerator<>(
+                new RandomLengthListValue<>(3, 4, new CircularRangeValueInt(new Range<>(1, 9), 1)));
+        generator.setSeed(42);
+
+        assertThat(generator.generate(3), is(equalTo(Arrays.asList(
+                Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7, 8, 9)))));
+        assertThat(generator.isSeekable(), is(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSeededSwitchOfCircularValues() {
+        CircularValue<String> source = new CircularValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b")));
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new SwitchValue<>(source, Arrays.asList(
+                (Value<Integer>) (Value<?>) new CircularRangeValueInt(new Range<>(1, 9), 1), ConstantValue.of(0))));
+        generator.setSeed(42);
+
+        assertThat(generator.generate(6), is(equalTo(Arrays.asList(1, 0, 2, 0, 3, 0))));
+        assertThat(generator.isSeekable(), is(false));
+    }
+
+    @Test
+    void testSeededListOfShuffledExactValuesKeepsCounts() {
+        ObjectGenerator<List<String>> generator = new ObjectGenerator<>(new RandomLengthListValue<>(2, 3,
+                new ExactWeightedValue<>(Arrays.asList(
+                        new ExactWeightedValue.CountValuePair<>(ConstantValue.of("a"), 3),
+                        new ExactWeightedValue.CountValuePair<>(ConstantValue.of("b"), 3)), true)));
+        generator.setSeed(42);
+        List<String> values = generator.generate(3).stream().flatMap(List::stream).collect(Collectors.toList());
+
+        assertThat(Collections.frequency(values, "a"), is(3));
+        assertThat(Collections.frequency(values, "b"), is(3));
+    }
+
+    @Test
+    void testRandomAlgorithm() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createSeekableHierarchy());
+        ObjectGenerator<Map<String, Object>> other = new ObjectGenerator<>(createSeekableHierarchy());
+        generator.setRandomAlgorithm(RandomAlgorithm.PCG64);
+        generator.setSeed(42);
+        other.setSeed(42);
+        assertThat(generator.generateAt(10), is(not(equalTo(other.generateAt(10)))));
+
+        other.setRandomAlgorithm(RandomAlgorithm.PCG64);
+        assertThat(other.generateAt(10), is(equalTo(generator.generateAt(10))));
+        ObjectGenerator<Map<String, Object>> clone = generator.getClone();
+        assertThat(clone.getRandomAlgorithm(), is(RandomAlgorithm.PCG64));
+        assertThat(clone.generateAt(10), is(equalTo(generator.generateAt(10))));
+    }
+
+    @Test
+    void testErrorGenerateAtWithSequentialState() {
+        ObjectGenerator<String> generator = new ObjectGenerator<>(new ExactWeightedValue<>(Collections.singletonList(
+                new ExactWeightedValue.CountValuePair<>(ConstantValue.of("value"), 10))));
+        assertThrows(ValueException.class, () -> generator.generateAt(5));
+        assertThrows(IllegalArgumentException.class, () -> new ObjectGenerator<>(ConstantValue.of(1)).generateAt(-1));
+    }
+
+    @Test
+    void testErrorStreamNegativeCount() {
+        ObjectGenerator<String> generator = new ObjectGenerator<>(ConstantValue.of("value"));
+        assertThrows(IllegalArgumentException.class, () -> generator.stream(-1));
+    }
+
     @Test
     void testErrorGenerateNegativeCount() {
         ObjectGenerator<String> generator = new ObjectGenerator<>(ConstantValue.of("value"));
         assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
     }
 
-}
\ No newline at end of file
+    private static CompositeValue createNestedHierarchy() {
+        Map<String, Value<?>> nested = new LinkedHashMap<>();
+        nested.put("big", new RangeValueLong(new Range<>(0L, Long.MAX_VALUE)));
+        nested.put("constant", ConstantValue.of("<constant>"));
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("seekable", createSeekableHierarchy());
+        values.put("scores", new ListValue<>(Arrays.asList(new RangeValueDouble(new Range<>(0.0, 1.0)),
+                new RangeValueDouble(new Range<>(1.0, 2.0)))));
+        values.put("nested", new CompositeValue(nested));
+        return new CompositeValue(values);
+    }
+
+    private static CompositeValue createSeekableHierarchy() {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("id", new UUIDValue());
+        values.put("number", new CircularRangeValueInt(new Range<>(1, 100), 1));
+        values.put("age", new RangeValueInt(new Range<>(18, 99), true));
+        return new CompositeValue(values);
+    }
+}
@@ -0,0 +1,91 @@
+package ranger.cli;
+
+import org.junit.jupiter.api.Test;
+import ranger.ObjectGenerator;
+import ranger.cli.writer.OutputWriter;
+import ranger.core.ListValue;
+import ranger.core.Range;
+import ranger.core.RangeValueInt;
+import ranger.core.Value;
+import ranger.core.ValueProxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationTaskTest {
+
+    @Test
+    void testTasksShareChunks() throws InterruptedException {
+        Value<Integer> value = new RangeValueInt(new Range<>(0, 100));
+        ObjectGenerator<List<Integer>> generator = new ObjectGenerator<>(new ListValue<>(Arrays.asList(value, value)));
+        CollectingWriter first = new CollectingWriter();
+        CollectingWriter second = new CollectingWriter();
+        List<Long> counts = Arrays.asList(12_345L, 4_321L);
+        Chunks chunks = new Chunks(counts, 100);
+        List<GenerationTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new GenerationTask(generator.getParallelClone(), Arrays.asList(first, second), counts, null, chunks));
+        }
+        for (GenerationTask task : tasks) {
+            task.start();
+        }
+        for (GenerationTask task : tasks) {
+            task.join();
+        }
+        chunks.checkFailure();
+
+        assertThat(first.objects, hasSize(12_345));
+        assertThat(second.objects, hasSize(4_321));
+    }
+
+    @Test
+    void testSingleTask() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new RangeValueInt(new Range<>(0, 100)));
+        CollectingWriter writer = new CollectingWriter();
+
+        new GenerationTask(generator, Collections.singletonList(writer), Collections.singletonList(25_001L), null)
+                .run();
+
+        assertThat(writer.objects, hasSize(25_001));
+    }
+
+    @Test
+    void testFailureIsReported() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new ValueProxy<>());
+        List<Long> counts = Collections.singletonList(100L);
+        Chunks chunks = new Chunks(counts);
+
+        new GenerationTask(generator, Collections.singletonList(new CollectingWriter()), counts, null, chunks).run();
+
+        assertThrows(ValueProxy.DelegateNotSetException.class, chunks::checkFailure);
+    }
+
+    @Test
+    void testChunkSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new Chunks(Collections.singletonList(100L), 0));
+    }
+
+    private static class CollectingWriter extends OutputWriter {
+        private final List<Object> objects = new ArrayList<>();
+
+        @Override
+        public synchronized OutputWriter writeObject(Object o) {
+            objects.add(o);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
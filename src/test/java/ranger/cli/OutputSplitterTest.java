@@ -0,0 +1,45 @@
+package ranger.cli;
+
+import org.junit.jupiter.api.Test;
+import ranger.cli.writer.JsonlWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OutputSplitterTest {
+
+    @Test
+    void testElementsArePushedToOneSinkEachUntilCountIsReached() throws IOException {
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+        StringWriter third = new StringWriter();
+        long[] remaining = {3, 1, 0};
+        OutputSplitter splitter = new OutputSplitter(Arrays.asList(new JsonlWriter(first), new JsonlWriter(second),
+                new JsonlWriter(third)), remaining);
+
+        for (int i = 0; i < 3; i++) {
+            splitter.record(Arrays.asList(Collections.singletonMap("values", Arrays.asList(i, null)), "s" + i, i));
+        }
+
+        String separator = System.lineSeparator();
+        assertThat(first.toString(), is(equalTo("{\"values\":[0,null]}" + separator + "{\"values\":[1,null]}"
+                + separator + "{\"values\":[2,null]}" + separator)));
+        assertThat(second.toString(), is(equalTo("\"s0\"" + separator)));
+        assertThat(third.toString(), is(equalTo("")));
+        assertThat(remaining, is(equalTo(new long[]{0, 0, 0})));
+    }
+
+    @Test
+    void testErrorRecordIsNoList() {
+        OutputSplitter splitter = new OutputSplitter(Collections.singletonList(new JsonlWriter(new StringWriter())),
+                new long[]{1});
+        assertThrows(IllegalArgumentException.class, () -> splitter.record("single"));
+    }
+}
@@ -0,0 +1,126 @@
+package ranger.cli;
+
+import org.junit.jupiter.api.Test;
+import ranger.ObjectGenerator;
+import ranger.cli.writer.OutputWriter;
+import ranger.core.CompositeValue;
+import ranger.core.ListValue;
+import ranger.core.Range;
+import ranger.core.RangeValueInt;
+import ranger.core.UUIDValue;
+import ranger.core.Value;
+import ranger.core.ValueProxy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeededGenerationTaskTest {
+
+    private static final long COUNT = 3 * Chunks.DEFAULT_SIZE + 123;
+
+    @Test
+    void testOutputIndependentOfThreadCount() throws InterruptedException {
+        List<Object> singleThreaded = generate(createGenerator(), 42, 1);
+        List<Object> multiThreaded = generate(createGenerator(), 42, 4);
+
+        assertThat(singleThreaded, hasSize((int) COUNT));
+        assertThat(multiThreaded, is(equalTo(singleThreaded)));
+        assertThat(generate(createGenerator(), 43, 1), is(not(equalTo(singleThreaded))));
+    }
+
+    @Test
+    void testOutputIndependentOfChunkSize() throws InterruptedException {
+        List<Object> defaultChunks = generate(createGenerator(), 42, 1);
+
+        assertThat(generate(createGenerator(), 42, 3, 777), is(equalTo(defaultChunks)));
+        assertThat(generate(createGenerator(), 42, 2, 1), is(equalTo(defaultChunks)));
+    }
+
+    @Test
+    void testMultipleOutputs() {
+        Value<Integer> value = new RangeValueInt(new Range<>(0, 100));
+        ObjectGenerator<List<Integer>> generator = new ObjectGenerator<>(new ListValue<>(Arrays.asList(value, value)));
+        CollectingWriter first = new CollectingWriter();
+        CollectingWriter second = new CollectingWriter();
+        List<Long> counts = Arrays.asList(COUNT, 5L);
+
+        new SeededGenerationTask(generator, Arrays.asList(first, second), counts, null, 42,
+                new Chunks(counts)).run();
+
+        assertThat(first.objects, hasSize((int) COUNT));
+        assertThat(second.objects, is(equalTo(first.objects.subList(0, 5))));
+    }
+
+    @Test
+    void testFailureIsReported() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new ValueProxy<>());
+        List<Long> counts = Collections.singletonList(COUNT);
+        Chunks chunks = new Chunks(counts);
+
+        new SeededGenerationTask(generator, Collections.singletonList(new CollectingWriter()), counts, null, 42,
+                chunks).run();
+
+        assertThrows(ValueProxy.DelegateNotSetException.class, chunks::checkFailure);
+    }
+
+    private static List<Object> generate(ObjectGenerator<?> generator, long seed, int numThreads)
+            throws InterruptedException {
+        return generate(generator, seed, numThreads, Chunks.DEFAULT_SIZE);
+    }
+
+    private static List<Object> generate(ObjectGenerator<?> generator, long seed, int numThreads, int chunkSize)
+            throws InterruptedException {
+        CollectingWriter writer = new CollectingWriter();
+        List<Long> counts = Collections.singletonList(COUNT);
+        Chunks chunks = new Chunks(counts, chunkSize);
+        List<SeededGenerationTask> tasks = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            tasks.add(new SeededGenerationTask(generator.getParallelClone(), Collections.singletonList(writer), counts, null,
+                    seed, chunks));
+        }
+        for (SeededGenerationTask task : tasks) {
+            task.start();
+        }
+        for (SeededGenerationTask task : tasks) {
+            task.join();
+        }
+        chunks.checkFailure();
+        return writer.objects;
+    }
+
+    private static ObjectGenerator<Map<String, Object>> createGenerator() {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("id", new UUIDValue());
+        values.put("age", new RangeValueInt(new Range<>(18, 99)));
+        return new ObjectGenerator<>(new CompositeValue(values));
+    }
+
+    private static class CollectingWriter extends OutputWriter {
+        private final List<Object> objects = new ArrayList<>();
+
+        @Override
+        public synchronized OutputWriter writeObject(Object o) {
+            objects.add(o);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
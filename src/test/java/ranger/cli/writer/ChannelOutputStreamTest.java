@@ -0,0 +1,82 @@
+package ranger.cli.writer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChannelOutputStreamTest {
+
+    @TempDir
+    File tempdir;
+
+    @Test
+    void testBytesAreWrittenAcrossBuffers() throws IOException {
+        File file = new File(tempdir, "test.bin");
+        byte[] bytes = new byte[10_000];
+        new Random(42).nextBytes(bytes);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        try (ChannelOutputStream out = new ChannelOutputStream(file, false, 64)) {
+            for (int length = 0; length < 150; length++) {
+                out.write(bytes, length, length);
+                out.write(bytes[length]);
+                expected.write(bytes, length, length);
+                expected.write(bytes[length]);
+            }
+            out.write(bytes);
+            expected.write(bytes);
+        }
+
+        assertThat(Files.readAllBytes(file.toPath()), is(equalTo(expected.toByteArray())));
+    }
+
+    @Test
+    void testFlushWritesBytesToFile() throws IOException {
+        File file = new File(tempdir, "test.bin");
+        try (ChannelOutputStream out = new ChannelOutputStream(file, false, 64)) {
+            out.write(new byte[]{1, 2, 3});
+            out.flush();
+
+            assertThat(Files.readAllBytes(file.toPath()), is(equalTo(new byte[]{1, 2, 3})));
+            out.write(new byte[100]);
+            out.flush();
+
+            assertThat(Files.size(file.toPath()), is(equalTo(103L)));
+        }
+    }
+
+    @Test
+    void testAppendAndTruncate() throws IOException {
+        File file = new File(tempdir, "test.bin");
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+
+        try (ChannelOutputStream out = new ChannelOutputStream(file, true)) {
+            out.write(4);
+        }
+        assertThat(Files.readAllBytes(file.toPath()), is(equalTo(new byte[]{1, 2, 3, 4})));
+
+        try (ChannelOutputStream out = new ChannelOutputStream(file, false)) {
+            out.write(5);
+        }
+        assertThat(Files.readAllBytes(file.toPath()), is(equalTo(new byte[]{5})));
+    }
+
+    @Test
+    void testWriteAfterCloseFails() throws IOException {
+        ChannelOutputStream out = new ChannelOutputStream(new File(tempdir, "test.bin"), false);
+        out.close();
+        out.close();
+
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IOException.class, out::flush);
+    }
+}
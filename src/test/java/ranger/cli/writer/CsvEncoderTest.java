@@ -0,0 +1,124 @@
+package ranger.cli.writer;
+
+import com.google.gson.Gson;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+import org.junit.jupiter.api.Test;
+import ranger.util.GsonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class CsvEncoderTest {
+
+    private static final List<String> VALUES = Arrays.asList("", "plain", " leading", "trailing ", "#hash", "!bang",
+            "$dollar", "a,b", "a;b", "tab\there", "line\nbreak", "cr\rreturn", "\"quoted\"", "O'Brien", "<b>&x=y",
+            "back\\slash", "ümläut €uro", "emoji \uD83D\uDE00", "\u2028 separators \u2029", "-12", "1.5E10", "a|b",
+            "u0020", "\u0001control");
+    private static final List<Character> DELIMITERS = Arrays.asList(',', ';', '\t', '|', ' ', '-', '0', 'u', '\\',
+            '<', '#');
+
+    private final Gson gson = GsonSerializer.newGsonInstance();
+
+    @Test
+    void testTextIsQuotedLikeCsvPrinter() throws IOException {
+        for (char delimiter : DELIMITERS) {
+            CSVFormat format = CSVFormat.DEFAULT.withDelimiter(delimiter);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CsvEncoder encoder = new CsvEncoder(out, format);
+            StringBuilder expected = new StringBuilder();
+            CSVPrinter printer = new CSVPrinter(expected, format);
+            for (String value : VALUES) {
+                encoder.text(value);
+                encoder.number(-42L);
+                encoder.nullField();
+                encoder.endRecord();
+                printer.printRecord(value, -42L, null);
+            }
+            encoder.flush();
+
+            assertThat("delimiter " + delimiter, out.toString(StandardCharsets.UTF_8.name()),
+                    is(equalTo(expected.toString())));
+        }
+    }
+
+    @Test
+    void testStringsAreEscapedLikeGsonAndQuotedLikeCsvPrinter() throws IOException {
+        for (char delimiter : DELIMITERS) {
+            CSVFormat format = CSVFormat.DEFAULT.withDelimiter(delimiter);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CsvEncoder encoder = new CsvEncoder(out, format);
+            StringBuilder expected = new StringBuilder();
+            CSVPrinter printer = new CSVPrinter(expected, format);
+            for (String value : VALUES) {
+                encoder.string(value);
+                encoder.string(value);
+                encoder.endRecord();
+                String json = gson.toJson(value);
+                String escaped = json.substring(1, json.length() - 1);
+                printer.printRecord(escaped, escaped);
+            }
+            encoder.flush();
+
+            assertThat("delimiter " + delimiter, out.toString(StandardCharsets.UTF_8.name()),
+                    is(equalTo(expected.toString())));
+        }
+    }
+
+    @Test
+    void testJsonIsQuotedLikeCsvPrinter() throws IOException {
+        String json = gson.toJson(Arrays.asList("a,b", "ü", 1, null));
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvEncoder encoder = new CsvEncoder(out, CSVFormat.DEFAULT);
+
+        encoder.json(bytes, bytes.length);
+        encoder.endRecord();
+        encoder.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8.name()), is(equalTo(CSVFormat.DEFAULT.format(json) + "\r\n")));
+    }
+
+    @Test
+    void testOtherFormatsArePrintedByCsvPrinter() throws IOException {
+        List<CSVFormat> formats = Arrays.asList(CSVFormat.DEFAULT.withQuoteMode(QuoteMode.ALL),
+                CSVFormat.DEFAULT.withQuoteMode(QuoteMode.NON_NUMERIC), CSVFormat.DEFAULT.withNullString("NULL"),
+                CSVFormat.DEFAULT.withEscape('\\').withQuote(null), CSVFormat.DEFAULT.withDelimiter('\u00a7'),
+                CSVFormat.DEFAULT.withHeader("first", "second").withHeaderComments("comment"),
+                CSVFormat.DEFAULT.withTrim().withTrailingDelimiter());
+        for (CSVFormat format : formats) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CsvEncoder encoder = new CsvEncoder(out, format);
+            StringBuilder expected = new StringBuilder();
+            CSVPrinter printer = new CSVPrinter(expected, format);
+            for (String value : VALUES) {
+                encoder.text(value);
+                encoder.number(7L);
+                encoder.number(1.5);
+                encoder.other(true);
+                encoder.nullField();
+                encoder.endRecord();
+                printer.printRecord(value, 7L, 1.5, true, null);
+            }
+            encoder.flush();
+
+            assertThat(format.toString(), out.toString(StandardCharsets.UTF_8.name()),
+                    is(equalTo(expected.toString())));
+        }
+    }
+
+    @Test
+    void testEscape() {
+        for (String value : VALUES) {
+            String json = gson.toJson(value);
+            assertThat(CsvEncoder.escape(value), is(equalTo(json.substring(1, json.length() - 1))));
+        }
+    }
+}
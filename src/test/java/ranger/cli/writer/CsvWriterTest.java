@@ -1,16 +1,25 @@
 package ranger.cli.writer;
 
+import com.google.gson.Gson;
+import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.csv.QuoteMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import ranger.util.GsonSerializer;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -82,5 +91,87 @@ public class CsvWriterTest {
         }
     }
 
+    @Test
+    void testNestedValuesAreSerializedLikeGson() throws IOException {
+        Gson gson = GsonSerializer.newGsonInstance();
+        Map<String, Object> record = createNestedRecord();
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out, CSVFormat.DEFAULT).writeObject(record).writeObject(record).flush();
+
+        String gsonName = gson.toJson(record.get("name"));     //strings are escaped like by Gson, without quotes
+        String row = CSVFormat.DEFAULT.format(7, gsonName.substring(1, gsonName.length() - 1), Long.MAX_VALUE, true,
+                gson.toJson(record.get("nested"))) + "\r\n";
+        assertThat(out.toString(), is(equalTo("id,name,big,active,nested\r\n" + row + row)));
+    }
+
+    @Test
+    void testSingleValuesAreWrittenAsOneField() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out, CSVFormat.DEFAULT).writeObject(Arrays.asList(1, "two")).writeObject("three")
+                .writeObject(4.5f).flush();
 
+        assertThat(out.toString(), is(equalTo("\"[1,\"\"two\"\"]\"\r\nthree\r\n4.5\r\n")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNestedObjectsAreFlattened() throws IOException {
+        Gson gson = GsonSerializer.newGsonInstance();
+        Map<String, Object> record = createNestedRecord();
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("city", "Berlin");
+        ((Map<String, Object>) record.get("nested")).put("inner", inner);
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out, CSVFormat.DEFAULT, true).writeObject(record).flush();
+
+        String gsonName = gson.toJson(record.get("name"));
+        String gsonDate = gson.toJson(new Date(0));
+        String row = CSVFormat.DEFAULT.format(7, gsonName.substring(1, gsonName.length() - 1), Long.MAX_VALUE, true,
+                gsonDate.substring(1, gsonDate.length() - 1), null, "[1.5,null,2.5]", "Berlin") + "\r\n";
+        assertThat(out.toString(), is(equalTo("id,name,big,active,nested.date,nested.missing,nested.scores," +
+                "nested.inner.city\r\n" + row)));
+    }
+
+    @Test
+    void testOtherFormatsAreWrittenLikeCsvPrinter() throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.withQuoteMode(QuoteMode.ALL).withDelimiter(';');
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out, format).writeObject(Collections.singletonMap("id", 7)).writeObject(
+                Collections.singletonMap("id", 8)).flush();
+
+        assertThat(out.toString(), is(equalTo("\"id\"\r\n\"7\"\r\n\"8\"\r\n")));
+    }
+
+    @Test
+    void testColumnTypesMayChange() throws IOException {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("value", new Date(0));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("value", 2.5f);
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out, CSVFormat.DEFAULT).writeObject(first).writeObject(second).flush();
+
+        String gsonDate = GsonSerializer.newGsonInstance().toJson(new Date(0));
+        assertThat(out.toString(), is(equalTo("value\r\n" + gsonDate.substring(1, gsonDate.length() - 1) +
+                "\r\n2.5\r\n")));
+    }
+
+    private static Map<String, Object> createNestedRecord() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("date", new Date(0));
+        nested.put("missing", null);
+        nested.put("scores", Arrays.asList(1.5, null, 2.5f));
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", 7);
+        record.put("name", "<O'Brien & \"Sons\">");
+        record.put("big", Long.MAX_VALUE);
+        record.put("active", true);
+        record.put("nested", nested);
+        return record;
+    }
 }
@@ -0,0 +1,177 @@
+package ranger.cli.writer;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import ranger.util.GsonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonEncoderTest {
+
+    private final Gson gson = GsonSerializer.newGsonInstance();
+
+    @Test
+    void testStringsAreEscapedLikeGson() throws IOException {
+        StringBuilder allChars = new StringBuilder();
+        for (char c = 0; c < 0x100; c++) {
+            allChars.append(c);
+        }
+        String[] values = {"", "plain ascii", "<O'Brien & \"Sons\"> a=b \\ /", allChars.toString(),
+                "ümläut €uro 日本", "emoji \uD83D\uDE00 pair", "\u2028 separators \u2029", "unpaired \uD83D end",
+                "\uDE00 low first"};
+        for (String value : values) {
+            assertThat(value, encode(value), is(equalTo(gsonBytes(value))));
+        }
+    }
+
+    @Test
+    void testLongStringsAreSplitAcrossBuffers() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            value.append(i % 7 == 0 ? "\u00fc\uD83D\uDE00<" : "ab");
+        }
+        Map<String, Object> record = Collections.singletonMap("text", value.toString());
+
+        assertThat(encode(record), is(equalTo(gsonBytes(record))));
+    }
+
+    @Test
+    void testNumbersAreWrittenLikeGson() throws IOException {
+        Object[] values = {0, -1, 42, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, (short) -7, (byte) 3, 0.0,
+                -0.0, 1.5, 1e-10, 1.2345678901234567E300, Double.MIN_VALUE, 2.5f, Float.MAX_VALUE,
+                new BigDecimal("1.000")};
+        for (Object value : values) {
+            assertThat(String.valueOf(value), encode(value), is(equalTo(gsonBytes(value))));
+        }
+    }
+
+    @Test
+    void testNonFiniteNumbersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> encode(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> encode(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> encode(Float.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    void testNullPropertiesAreOmittedLikeGson() throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("first", null);
+        record.put("second", 1);
+        record.put("third", null);
+        record.put("list", Arrays.asList(null, 1, null));
+        record.put("empty", new LinkedHashMap<>());
+        record.put("last", null);
+
+        assertThat(encode(record), is(equalTo(gsonBytes(record))));
+        assertThat(encode(null), is(equalTo("null")));
+    }
+
+    @Test
+    void testDatesAreFormattedLikeGson() throws IOException {
+        Object[] values = {new Date(1_600_000_000_000L), LocalDate.of(2020, 2, 29),
+                LocalDateTime.of(2021, 6, 1, 12, 30, 15), 'c', new int[]{1, 2}};
+        for (Object value : values) {
+            assertThat(String.valueOf(value), encode(value), is(equalTo(gsonBytes(value))));
+        }
+    }
+
+    @Test
+    void testOtherCharsetsAreTranscoded() throws IOException {
+        String value = "ümläut €uro";
+        ByteArrayOutputStream latin = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(latin, StandardCharsets.ISO_8859_1);
+        JsonEncoder encoder = new JsonEncoder(new DecodingOutputStream(writer), gson);
+
+        encoder.value(value);
+        encoder.close();
+
+        assertThat(latin.toByteArray(), is(equalTo(gson.toJson(value).getBytes(StandardCharsets.ISO_8859_1))));
+    }
+
+    @Test
+    void testAsciiIsWrittenLikeJavaEncoder() throws IOException {
+        String[] values = {"plain ascii", "ümläut €uro 日本", "emoji \uD83D\uDE00 pair", "unpaired \uD83D end"};
+        for (String value : values) {
+            ByteArrayOutputStream ascii = new ByteArrayOutputStream();
+            JsonEncoder encoder = new JsonEncoder(Utf8Encoder.transcoding(ascii, StandardCharsets.US_ASCII), gson);
+
+            encoder.value(value);
+            encoder.close();
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(expected, StandardCharsets.US_ASCII)) {
+                writer.write(gson.toJson(value));
+            }
+            assertThat(value, ascii.toByteArray(), is(equalTo(expected.toByteArray())));
+        }
+    }
+
+    private String encode(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonEncoder encoder = new JsonEncoder(out, gson);
+        if (value == null) {
+            encoder.nullValue();
+        } else if (value instanceof Map) {
+            encodeMap(encoder, (Map<?, ?>) value);
+        } else {
+            encoder.otherValue(value);
+        }
+        encoder.flush();
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static void encodeMap(JsonEncoder encoder, Map<?, ?> map) throws IOException {
+        encoder.beginObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            encoder.name((String) entry.getKey());
+            if (entry.getValue() == null) {
+                encoder.nullValue();
+            } else if (entry.getValue() instanceof Map) {
+                encodeMap(encoder, (Map<?, ?>) entry.getValue());
+            } else if (entry.getValue() instanceof Iterable) {
+                encoder.beginArray();
+                for (Object element : (Iterable<?>) entry.getValue()) {
+                    if (element == null) {
+                        encoder.nullValue();
+                    } else {
+                        encoder.otherValue(element);
+                    }
+                }
+                encoder.endArray();
+            } else {
+                encoder.otherValue(entry.getValue());
+            }
+        }
+        encoder.endObject();
+    }
+
+    /*
+    Returns JSON of value as Gson writes it in UTF-8
+     */
+    private String gsonBytes(Object value) throws IOException {
+        StringWriter json = new StringWriter();
+        gson.toJson(value, json);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+}
@@ -4,12 +4,17 @@ import com.google.gson.Gson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import ranger.util.GsonSerializer;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -87,5 +92,31 @@ public class JsonWriterTest {
         }
     }
 
+    @Test
+    void testRecordsAreSerializedLikeGson() throws IOException {
+        Map<String, Object> record = createNestedRecord();
+        StringWriter out = new StringWriter();
+
+        JsonWriter writer = new JsonWriter(out);
+        writer.writeObject(record).writeObject(Arrays.asList(1, "two"));
+        writer.close();
 
+        String json = GsonSerializer.newGsonInstance().toJson(record);
+        String separator = System.lineSeparator();
+        assertThat(out.toString(), is(equalTo("[" + separator + json + "," + separator + "[1,\"two\"]" + separator + "]")));
+    }
+
+    private static Map<String, Object> createNestedRecord() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("date", new Date(0));
+        nested.put("missing", null);
+        nested.put("scores", Arrays.asList(1.5, null, 2.5f));
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", 7);
+        record.put("name", "<O'Brien & \"Sons\">");
+        record.put("big", Long.MAX_VALUE);
+        record.put("active", true);
+        record.put("nested", nested);
+        return record;
+    }
 }
@@ -4,14 +4,19 @@ import com.google.gson.Gson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import ranger.util.GsonSerializer;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -80,5 +85,29 @@ public class JsonlWriterTest {
 
     }
 
+    @Test
+    void testRecordsAreSerializedLikeGson() throws IOException {
+        Map<String, Object> record = createNestedRecord();
+        StringWriter out = new StringWriter();
+
+        new JsonlWriter(out).writeObject(record).writeObject("single");
 
+        String expected = GsonSerializer.newGsonInstance().toJson(record) + System.lineSeparator() + "\"single\""
+                + System.lineSeparator();
+        assertThat(out.toString(), is(equalTo(expected)));
+    }
+
+    private static Map<String, Object> createNestedRecord() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("date", new Date(0));
+        nested.put("missing", null);
+        nested.put("scores", Arrays.asList(1.5, null, 2.5f));
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", 7);
+        record.put("name", "<O'Brien & \"Sons\">");
+        record.put("big", Long.MAX_VALUE);
+        record.put("active", true);
+        record.put("nested", nested);
+        return record;
+    }
 }
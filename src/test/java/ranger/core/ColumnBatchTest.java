@@ -0,0 +1,138 @@
+package ranger.core;
+
+import org.junit.jupiter.api.Test;
+import ranger.ObjectGenerator;
+import ranger.core.arithmetic.AdditionValueInteger;
+import ranger.core.csv.CircularCsvReaderValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isIn;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ranger.core.csv.CsvReaderValueTest.PARSER_SETTINGS_WITH_HEADER;
+
+class ColumnBatchTest {
+
+    @Test
+    void testBatchEqualsGeneratedObjects() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createHierarchy());
+        ObjectGenerator<Map<String, Object>> batchGenerator = new ObjectGenerator<>(createHierarchy());
+
+        List<Map<String, Object>> objects = generator.generate(30);
+        ColumnBatch batch = batchGenerator.generateBatch(30);
+
+        assertThat(batch.size(), is(30));
+        for (int row = 0; row < 30; row++) {
+            assertThat(batch.getRow(row), is(equalTo(objects.get(row))));
+        }
+        assertThat(batchGenerator.next(), is(equalTo(generator.next())));
+    }
+
+    @Test
+    void testBatchWithRandomValuesEqualsGeneratedObjects() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createRandomHierarchy(true));
+        ObjectGenerator<Map<String, Object>> batchGenerator = new ObjectGenerator<>(createRandomHierarchy(true));
+        generator.getEvaluationPlan().setSeed(42);
+        batchGenerator.getEvaluationPlan().setSeed(42);
+
+        List<Map<String, Object>> objects = generator.generate(30);
+        ColumnBatch batch = batchGenerator.generateBatch(30);
+
+        for (int row = 0; row < 30; row++) {
+            assertThat(batch.getRow(row), is(equalTo(objects.get(row))));
+        }
+        assertThat(batchGenerator.next(), is(equalTo(generator.next())));
+    }
+
+    @Test
+    void testSingleRandomValueIsFilledAtOnce() {
+        ObjectGenerator<Map<String, Object>> generator = new ObjectGenerator<>(createRandomHierarchy(false));
+        ObjectGenerator<Map<String, Object>> batchGenerator = new ObjectGenerator<>(createRandomHierarchy(false));
+        generator.getEvaluationPlan().setSeed(42);
+        batchGenerator.getEvaluationPlan().setSeed(42);
+
+        List<Map<String, Object>> objects = generator.generate(30);
+        ColumnBatch batch = batchGenerator.generateBatch(30);
+
+        assertThat(batch.getColumn("amount").getType(), is(Column.Type.LONG));
+        for (int row = 0; row < 30; row++) {
+            assertThat(batch.getRow(row), is(equalTo(objects.get(row))));
+        }
+    }
+
+    @Test
+    void testColumnTypes() {
+        ColumnBatch batch = new ObjectGenerator<>(createHierarchy()).generateBatch(5);
+
+        assertThat(batch.getColumn("id").getType(), is(Column.Type.INT));
+        assertThat(batch.getColumn("id").getInts(), is(equalTo(new int[]{1, 2, 3, 4, 5})));
+        assertThat(batch.getColumn("amount").getType(), is(Column.Type.LONG));
+        assertThat(batch.getColumn("ratio").getType(), is(Column.Type.DOUBLE));
+        assertThat(batch.getColumn("username").getType(), is(Column.Type.STRING));
+        assertThat(batch.getColumn("username").getStrings()[0], is("nick999"));
+        assertThat(batch.getColumn("shared").getType(), is(Column.Type.OBJECT));
+        assertThat(batch.getColumn("empty").getType(), is(Column.Type.OBJECT));
+        assertThat(batch.getColumn("empty").isNull(4), is(true));
+        assertThat(batch.getColumn("empty").getNulls().cardinality(), is(5));
+    }
+
+    @Test
+    void testDiscreteConstantsColumn() {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("color", new DiscreteValue<>(Arrays.asList(ConstantValue.of("red"), ConstantValue.of("green"))));
+        ColumnBatch batch = new ObjectGenerator<>(new CompositeValue(values)).generateBatch(50);
+
+        Column column = batch.getColumn("color");
+        assertThat(column.getType(), is(Column.Type.STRING));
+        for (String color : column.getStrings()) {
+            assertThat(color, isIn(Arrays.asList("red", "green")));
+        }
+    }
+
+    @Test
+    void testErrorWrongColumnType() {
+        ColumnBatch batch = new ObjectGenerator<>(createHierarchy()).generateBatch(1);
+        assertThrows(ValueException.class, () -> batch.getColumn("id").getLongs());
+        assertThrows(ValueException.class, () -> batch.getColumn("missing"));
+    }
+
+    @Test
+    void testErrorNonCompositeValue() {
+        ObjectGenerator<Integer> generator = new ObjectGenerator<>(new CircularRangeValueInt(new Range<>(1, 10), 1));
+        assertThrows(ValueException.class, () -> generator.generateBatch(10));
+    }
+
+    private static CompositeValue createRandomHierarchy(boolean multipleRandomValues) {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("id", new CircularRangeValueInt(new Range<>(1, 100), 1));
+        values.put("amount", new RangeValueLong(new Range<>(10L, 5000L)));
+        if (multipleRandomValues) {
+            values.put("ratio", new RangeValueDouble(new Range<>(0.0, 1.0)));
+            values.put("color", new DiscreteValue<>(Arrays.asList(ConstantValue.of("red"), ConstantValue.of("green"))));
+            values.put("uuid", new UUIDValue());
+        }
+        return new CompositeValue(values);
+    }
+
+    private static CompositeValue createHierarchy() {
+        CircularCsvReaderValue csv = new CircularCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        ValueProxy<Integer> shared = new ValueProxy<>(new CircularRangeValueInt(new Range<>(1, 4), 1));
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("id", new CircularRangeValueInt(new Range<>(1, 100), 1));
+        values.put("amount", new ValueProxy<>(new CircularRangeValueLong(new Range<>(10L, 50L), 10L)));
+        values.put("ratio", new CircularRangeValueDouble(new Range<>(0.0, 1.0), 0.25));
+        values.put("name", new CircularValue<>(Arrays.asList(ConstantValue.of("John"), ConstantValue.of("Ann"))));
+        values.put("username", new ValueProxy<>(new ValueProxy<>(csv.getCsvProxies().get("username"))));
+        values.put("income", new ValueProxy<>(csv.getCsvProxies().get("income")));
+        values.put("shared", shared);
+        values.put("sum", new AdditionValueInteger(shared, ConstantValue.of(10)));
+        values.put("empty", new NullValue());
+        return new CompositeValue(values);
+    }
+}
@@ -0,0 +1,266 @@
+package ranger.core;
+
+import org.junit.jupiter.api.Test;
+import ranger.core.WeightedValue.WeightedValuePair;
+import ranger.distribution.FastRandom;
+import ranger.distribution.NormalDistribution;
+import ranger.distribution.RandomAlgorithm;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EvaluationPlanTest {
+
+    @Test
+    void testSharedValueOccupiesSingleSlot() {
+        ValueProxy<String> shared = new ValueProxy<>(new CircularValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b"))));
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("first", shared);
+        values.put("second", shared);
+        values.put("third", new ListValue<>(Arrays.asList(shared, shared)));
+        CompositeValue root = new CompositeValue(values);
+
+        EvaluationPlan plan = EvaluationPlan.of(root);
+
+        int occurrences = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.getSlot(i) == shared) {
+                occurrences++;
+            }
+        }
+        assertThat(occurrences, is(1));
+        assertThat(plan.size(), is(6));
+    }
+
+    @Test
+    void testChildrenPrecedeParents() {
+        Value<Integer> child = ConstantValue.of(1);
+        ValueProxy<Integer> parent = new ValueProxy<>(child);
+        ListValue<Integer> root = new ListValue<>(Arrays.asList(parent, child));
+
+        EvaluationPlan plan = EvaluationPlan.of(root);
+
+        assertThat(indexOf(plan, child), is(lessThan(indexOf(plan, parent))));
+        assertThat(indexOf(plan, parent), is(lessThan(indexOf(plan, root))));
+        assertThat(plan.getSlot(plan.size() - 1), is(root));
+    }
+
+    @Test
+    void testInvalidateEnforcesReevaluation() {
+        CircularValue<String> circular = new CircularValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b")));
+        ValueProxy<String> shared = new ValueProxy<>(circular);
+        ListValue<String> root = new ListValue<>(Arrays.asList(shared, shared));
+        EvaluationPlan plan = EvaluationPlan.of(root);
+
+        assertThat(root.get(), is(equalTo(Arrays.asList("a", "a"))));
+        assertThat(root.get(), is(equalTo(Arrays.asList("a", "a"))));
+        plan.invalidate();
+        assertThat(root.get(), is(equalTo(Arrays.asList("b", "b"))));
+        plan.invalidate();
+        assertThat(root.get(), is(equalTo(Arrays.asList("a", "a"))));
+    }
+
+    @Test
+    void testValueSharedBetweenPlansIsInvalidatedByEach() {
+        CircularValue<String> shared = new CircularValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b"), ConstantValue.of("c")));
+        ValueProxy<String> first = new ValueProxy<>(shared);
+        ValueProxy<String> second = new ValueProxy<>(shared);
+        EvaluationPlan firstPlan = EvaluationPlan.of(first);
+        EvaluationPlan secondPlan = EvaluationPlan.of(second);
+
+        assertThat(first.get(), is("a"));
+        firstPlan.invalidate();
+        assertThat(second.get(), is("b"));
+        secondPlan.invalidate();
+        assertThat(first.get(), is("c"));
+    }
+
+    @Test
+    void testEvaluatedValueStaysEvaluatedWhenAttached() {
+        CircularRangeValueInt circular = new CircularRangeValueInt(new Range<>(1, 3), 1);
+        EvaluationPlan plan = EvaluationPlan.of(circular);
+
+        assertThat(circular.get(), is(1));
+        plan.invalidate();
+        assertThat(circular.get(), is(2));
+    }
+
+    @Test
+    void testDeepHierarchy() {
+        Value<Integer> value = ConstantValue.of(1);
+        for (int i = 0; i < 100_000; i++) {
+            value = new ValueProxy<>(value);
+        }
+
+        EvaluationPlan plan = EvaluationPlan.of(value);
+
+        assertThat(plan.size(), is(100_001));
+    }
+
+    @Test
+    void testSetSeed() {
+        EvaluationPlan first = EvaluationPlan.of(createRandomHierarchy());
+        EvaluationPlan second = EvaluationPlan.of(createRandomHierarchy());
+        first.setSeed(42);
+        second.setSeed(42);
+        for (int i = 0; i < 20; i++) {
+            assertThat(first.getRoot().get(), is(equalTo(second.getRoot().get())));
+            first.invalidate();
+            second.invalidate();
+        }
+    }
+
+    @Test
+    void testValuesShareRandom() {
+        FastRandom random = RandomAlgorithm.XOSHIRO256PP.create();
+        EvaluationPlan first = EvaluationPlan.of(createRandomHierarchy(), random);
+        EvaluationPlan second = EvaluationPlan.of(createRandomHierarchy());
+        second.setRandom(RandomAlgorithm.XOSHIRO256PP.create());
+        assertThat(first.getRandom(), is(sameInstance(random)));
+        random.setSeed(7);
+        second.getRandom().setSeed(7);
+        for (int i = 0; i < 20; i++) {
+            assertThat(first.getRoot().get(), is(equalTo(second.getRoot().get())));
+            first.invalidate();
+            second.invalidate();
+        }
+        assertThrows(ValueException.class, () -> first.setRandom(null));
+    }
+
+    @Test
+    void testHasSequentialState() {
+        assertThat(EvaluationPlan.of(createRandomHierarchy()).hasSequentialState(), is(false));
+        ListValue<Integer> circular = new ListValue<>(Arrays.asList(new RangeValueInt(new Range<>(1, 10), true), new CircularRangeValueInt(new Range<>(1, 10), 1)));
+        assertThat(EvaluationPlan.of(circular).hasSequentialState(), is(false));
+        ExactWeightedValue<String> exactly = new ExactWeightedValue<>(Arrays.asList(new ExactWeightedValue.CountValuePair<>(ConstantValue.of("a"), 10)));
+        assertThat(EvaluationPlan.of(exactly).hasSequentialState(), is(true));
+    }
+
+    @Test
+    void testSeek() {
+        EvaluationPlan sequential = EvaluationPlan.of(createRandomHierarchy());
+        EvaluationPlan seeking = EvaluationPlan.of(createRandomHierarchy());
+        Object[] objects = new Object[20];
+        for (int i = 0; i < objects.length; i++) {
+            sequential.seek(42, i);
+            objects[i] = sequential.getRoot().get();
+        }
+        for (int i = objects.length - 1; i >= 0; i--) {
+            seeking.seek(42, i);
+            assertThat(seeking.getRoot().get(), is(equalTo(objects[i])));
+        }
+    }
+
+    @Test
+    void testSeekPositionsCircularValues() {
+        ListValue<Object> sequential = createCircularHierarchy();
+        ListValue<Object> seeking = createCircularHierarchy();
+        EvaluationPlan sequentialPlan = EvaluationPlan.of(sequential);
+        EvaluationPlan plan = EvaluationPlan.of(seeking);
+        Object[] objects = new Object[25];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = sequential.get();
+            sequentialPlan.invalidate();
+        }
+        for (int i = objects.length - 1; i >= 0; i--) {
+            plan.seek(42, i);
+            assertThat(seeking.get(), is(equalTo(objects[i])));
+        }
+    }
+
+    @Test
+    void testSeekSkipsValuesThatAreNotPositional() {
+        SeekCountingValue positional = new SeekCountingValue(true);
+        SeekCountingValue other = new SeekCountingValue(false);
+        EvaluationPlan plan = EvaluationPlan.of(new ListValue<>(Arrays.asList(positional, other)));
+        for (int i = 0; i < 3; i++) {
+            plan.seek(42, i);
+        }
+
+        assertThat(positional.seeks, is(3));
+        assertThat(other.seeks, is(0));
+    }
+
+    @Test
+    void testErrorRootIsNull() {
+        assertThrows(ValueException.class, () -> EvaluationPlan.of(null));
+    }
+
+    private static CompositeValue createRandomHierarchy() {
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("int", new RangeValueInt(new Range<>(0, 1000)));
+        values.put("double", new RangeValueDouble(new Range<>(0.0, 1.0), false, new NormalDistribution()));
+        values.put("discrete", new DiscreteValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b"), ConstantValue.of("c"))));
+        values.put("weighted", new WeightedValue<>(Arrays.asList(new WeightedValuePair<>(ConstantValue.of(1), 0.3), new WeightedValuePair<>(ConstantValue.of(2), 0.7))));
+        values.put("uuid", new UUIDValue());
+        values.put("xeger", new XegerValue(ConstantValue.of("[a-z]{10}")));
+        return new CompositeValue(values);
+    }
+
+    @Test
+    void testSeekPositionsEdgeCases() {
+        RangeValueInt value = new RangeValueInt(new Range<>(1, 1000), true);
+        EvaluationPlan plan = EvaluationPlan.of(value);
+        plan.seek(42, 1);
+        assertThat(value.get(), is(999));
+        plan.seek(42, 0);
+        assertThat(value.get(), is(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ListValue<Object> createCircularHierarchy() {
+        return new ListValue<>(Arrays.asList(
+                (Value<Object>) (Value<?>) new CircularValue<>(Arrays.asList(ConstantValue.of("a"), ConstantValue.of("b"), ConstantValue.of("c"))),
+                (Value<Object>) (Value<?>) new CircularRangeValueInt(new Range<>(1, 10), 2),
+                (Value<Object>) (Value<?>) new CircularRangeValueLong(new Range<>(100L, 10L), -15L),
+                (Value<Object>) (Value<?>) new CircularRangeValueDouble(new Range<>(0.0, 1.0), 0.25),
+                (Value<Object>) (Value<?>) new CircularRangeValueChar(new Range<>('a', 'k'), 3)));
+    }
+
+    private static class SeekCountingValue extends Value<Integer> {
+
+        private final boolean positional;
+        private int seeks;
+
+        SeekCountingValue(boolean positional) {
+            this.positional = positional;
+        }
+
+        @Override
+        protected void eval() {
+            val = seeks;
+        }
+
+        @Override
+        protected void seek(long index) {
+            seeks++;
+        }
+
+        @Override
+        protected boolean isPositional() {
+            return positional;
+        }
+
+        @Override
+        protected SeekCountingValue clone() {
+            return new SeekCountingValue(positional);
+        }
+    }
+
+    private static int indexOf(EvaluationPlan plan, Value<?> value) {
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.getSlot(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,9 +1,12 @@
 package ranger.core;
 
 import org.junit.jupiter.api.Test;
+import ranger.ObjectGenerator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -56,6 +59,88 @@ class ExactWeightedValueTest {
     }
 
 
+    @Test
+    void testExactWeightedValueManyValues() {
+        List<ExactWeightedValue.CountValuePair<Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            pairs.add(new ExactWeightedValue.CountValuePair<>(ConstantValue.of(i), i % 3 + 1));
+        }
+        ExactWeightedValue<Integer> value = new ExactWeightedValue<>(pairs);
+
+        int[] counts = new int[pairs.size()];
+        for (int i = 0; i < 19_999; i++) {
+            counts[value.get()]++;
+            assertThat(value.getIndex(), is(equalTo(value.get())));     //indexes stay stable for switch()
+            value.reset();
+        }
+        for (int i = 0; i < counts.length; i++) {
+            assertThat(counts[i], is(equalTo(i % 3 + 1)));
+        }
+        assertThrows(ExactWeightedValue.ExactWeightedValueDepletedException.class, value::get);
+    }
+
+    @Test
+    void testChosenValueIsReset() {
+        ExactWeightedValue<Integer> value = new ExactWeightedValue<>(Arrays.asList(
+                new ExactWeightedValue.CountValuePair<>(new CircularRangeValueInt(new Range<>(1, 10), 1), 3),
+                new ExactWeightedValue.CountValuePair<>(new CircularRangeValueInt(new Range<>(100, 110), 1), 3)));
+        List<Integer> generated = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            generated.add(value.get());
+            value.reset();
+        }
+
+        assertThat(generated, containsInAnyOrder(1, 2, 3, 100, 101, 102));
+    }
+
+    @Test
+    void testExactWeightedValueLongTotal() {
+        ExactWeightedValue<String> value = new ExactWeightedValue<>(Arrays.asList(new ExactWeightedValue.CountValuePair<>(ConstantValue.of("a"), 3_000_000_000L), new ExactWeightedValue.CountValuePair<>(ConstantValue.of("b"), 7_000_000_000L)));
+        int aCount = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (value.get().equals("a")) { aCount++; }
+            value.reset();
+        }
+        assertThat(aCount / 10_000.0, is(closeTo(0.3, 0.03)));
+    }
+
+    @Test
+    void testExactWeightedValueShuffle() {
+        ExactWeightedValue<String> value = new ExactWeightedValue<>(Arrays.asList(new ExactWeightedValue.CountValuePair<>(ConstantValue.of("female"), 60), new ExactWeightedValue.CountValuePair<>(ConstantValue.of("male"), 40)), true);
+
+        int femaleCount = 0;
+        for (int i = 1; i <= 100; i++) {
+            if (value.get().equals("female")) { femaleCount++; }
+            value.reset();
+        }
+        assertThat(value.isShuffle(), is(true));
+        assertThat(value.hasSequentialState(), is(false));
+        assertThat(femaleCount, is(equalTo(60)));
+        assertThrows(ExactWeightedValue.ExactWeightedValueDepletedException.class, value::get);
+    }
+
+    @Test
+    void testExactWeightedValueShuffleGenerateAt() {
+        ObjectGenerator<String> generator = new ObjectGenerator<>(new ExactWeightedValue<>(Arrays.asList(new ExactWeightedValue.CountValuePair<>(ConstantValue.of("a"), 500), new ExactWeightedValue.CountValuePair<>(ConstantValue.of("b"), 300), new ExactWeightedValue.CountValuePair<>(ConstantValue.of("c"), 200)), true));
+        generator.setSeed(42);
+        List<String> sequence = generator.generate(1000);
+        ObjectGenerator<String> clone = generator.getClone();
+        clone.setSeed(42);
+
+        assertThat(Collections.frequency(sequence, "a"), is(equalTo(500)));
+        assertThat(Collections.frequency(sequence, "b"), is(equalTo(300)));
+        assertThat(clone.generateAt(700), is(equalTo(sequence.get(700))));
+        assertThat(clone.generateAt(3), is(equalTo(sequence.get(3))));
+        assertThat(clone.generate(996), is(equalTo(sequence.subList(4, 1000))));
+        generator.setSeed(43);
+        assertThat(generator.generate(1000), is(not(equalTo(sequence))));
+    }
+
+    @Test
+    void testErrorConstructWithCountsOverflowing() {
+        assertThrows(ValueException.class, () -> new ExactWeightedValue<>(Arrays.asList(new ExactWeightedValue.CountValuePair<>(ConstantValue.of("a"), Long.MAX_VALUE), new ExactWeightedValue.CountValuePair<>(ConstantValue.of("b"), 1))));
+    }
+
     @Test
     void testErrorConstructWithNullArgument() {
         assertThrows(ValueException.class, () -> new ExactWeightedValue.CountValuePair<>(null, 1));
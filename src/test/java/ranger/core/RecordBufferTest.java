@@ -0,0 +1,138 @@
+package ranger.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class RecordBufferTest {
+
+    @Test
+    void testReplayPushesRecordedEvents() throws IOException {
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("int", 1);
+        object.put("long", Long.MIN_VALUE);
+        object.put("double", -0.5);
+        object.put("boolean", true);
+        object.put("null", null);
+        object.put("date", new Date(0));
+        object.put("list", Arrays.asList("a", Collections.singletonMap("b", 2.5f)));
+        EventLog expected = new EventLog();
+        expected.record(object);
+        expected.record("single");
+        RecordBuffer buffer = new RecordBuffer();
+        buffer.record(object);
+        buffer.record("single");
+
+        EventLog replayed = new EventLog();
+        buffer.replay(replayed);
+        buffer.replay(replayed);
+
+        assertThat(buffer.size(), is(2));
+        assertThat(replayed.events.subList(0, expected.events.size()), is(equalTo(expected.events)));
+        assertThat(replayed.events.subList(expected.events.size(), replayed.events.size()), is(equalTo(expected.events)));
+    }
+
+    @Test
+    void testClearRemovesRecords() throws IOException {
+        RecordBuffer buffer = new RecordBuffer();
+        for (int i = 0; i < 10_000; i++) {     //grows buffer
+            buffer.record(Arrays.asList(i, "value " + i));
+        }
+        buffer.clear();
+        EventLog replayed = new EventLog();
+        buffer.replay(replayed);
+        assertThat(buffer.size(), is(0));
+        assertThat(replayed.events, is(empty()));
+
+        buffer.record(42L);
+        buffer.replay(replayed);
+        assertThat(replayed.events, contains("beginRecord", "long 42", "endRecord"));
+    }
+
+    private static class EventLog implements RecordSink {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void beginRecord() {
+            events.add("beginRecord");
+        }
+
+        @Override
+        public void endRecord() {
+            events.add("endRecord");
+        }
+
+        @Override
+        public void beginObject() {
+            events.add("beginObject");
+        }
+
+        @Override
+        public void name(String name) {
+            events.add("name " + name);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("endObject");
+        }
+
+        @Override
+        public void beginList() {
+            events.add("beginList");
+        }
+
+        @Override
+        public void endList() {
+            events.add("endList");
+        }
+
+        @Override
+        public void value(String value) {
+            events.add("string " + value);
+        }
+
+        @Override
+        public void value(int value) {
+            events.add("int " + value);
+        }
+
+        @Override
+        public void value(long value) {
+            events.add("long " + value);
+        }
+
+        @Override
+        public void value(double value) {
+            events.add("double " + value);
+        }
+
+        @Override
+        public void value(boolean value) {
+            events.add("boolean " + value);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+
+        @Override
+        public void otherValue(Object value) {
+            events.add("other " + value);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ranger.core;
+
+import org.junit.jupiter.api.Test;
+import ranger.ObjectGenerator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValueCompilerTest {
+
+    @Test
+    void testCompiledValueGeneratesSameObjects() {
+        ObjectGenerator<Map<String, Object>> interpreted = new ObjectGenerator<>(createHierarchy());
+        ObjectGenerator<Map<String, Object>> compiled = new ObjectGenerator<>(createHierarchy()).compile();
+
+        assertThat(compiled, is(not(sameInstance(interpreted))));
+        assertThat(compiled.getValue(), is(instanceOf(CompiledValue.class)));
+        assertThat(compiled.generate(20), is(equalTo(interpreted.generate(20))));
+    }
+
+    @Test
+    void testSharedValueIsEvaluatedOncePerObject() {
+        ValueProxy<Integer> shared = new ValueProxy<>(new CircularRangeValueInt(new Range<>(1, 100), 1));
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("first", shared);
+        values.put("second", shared);
+        ObjectGenerator<Map<String, Object>> compiled = new ObjectGenerator<>(new CompositeValue(values)).compile();
+
+        for (int i = 1; i <= 5; i++) {
+            Map<String, Object> result = compiled.next();
+            assertThat(result.get("first"), is(i));
+            assertThat(result.get("second"), is(i));
+        }
+    }
+
+    @Test
+    void testCompiledValueClone() {
+        Value<Map<String, Object>> compiled = ValueCompiler.compile(createHierarchy());
+        compiled.get();
+        compiled.reset();
+
+        Value<Map<String, Object>> clone = compiled.getClone();
+
+        assertThat(clone, is(instanceOf(CompiledValue.class)));
+        assertThat(clone, is(not(sameInstance(compiled))));
+        assertThat(clone.get(), is(equalTo(compiled.get())));
+    }
+
+    @Test
+    void testCompiledValueReset() {
+        Value<Map<String, Object>> interpreted = createHierarchy();
+        Value<Map<String, Object>> compiled = ValueCompiler.compile(createHierarchy());
+        assertThat(compiled.get(), is(equalTo(interpreted.get())));
+
+        interpreted.reset();
+        compiled.reset();
+
+        assertThat(compiled.get(), is(equalTo(interpreted.get())));
+    }
+
+    @Test
+    void testCompileNullValue() {
+        assertThrows(ValueException.class, () -> ValueCompiler.compile(null));
+    }
+
+    private static CompositeValue createHierarchy() {
+        CircularValue<String> names = new CircularValue<>(Arrays.asList(ConstantValue.of("John"), ConstantValue.of("Ann"), ConstantValue.of("Bob")));
+        ValueProxy<String> name = new ValueProxy<>(names);
+        CircularRangeValueInt age = new CircularRangeValueInt(new Range<>(18, 30), 3);
+        List<Value<String>> greetings = Arrays.asList(ConstantValue.of("Mr."), ConstantValue.of("Ms."), ConstantValue.of("Mr."));
+
+        Map<String, Value<?>> address = new LinkedHashMap<>();
+        address.put("city", ConstantValue.of("Novi Sad"));
+        address.put("number", new CircularRangeValueLong(new Range<>(1L, 7L), 2L));
+
+        Map<String, Value<?>> values = new LinkedHashMap<>();
+        values.put("name", name);
+        values.put("age", age);
+        values.put("greeting", new SwitchValue<>(names, greetings));
+        values.put("label", new StringTransformer(ConstantValue.of("{} is {}"), Arrays.asList(name, age)));
+        values.put("tags", new ListValue<>(Arrays.asList(ConstantValue.of("a"), name, ConstantValue.of("c"))));
+        values.put("single", new DiscreteValue<>(Arrays.asList(ConstantValue.of(42))));
+        values.put("address", new CompositeValue(address));
+        return new CompositeValue(values);
+    }
+}
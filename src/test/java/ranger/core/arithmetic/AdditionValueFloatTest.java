@@ -29,5 +29,15 @@ class AdditionValueFloatTest {
         value.reset();
         assertThat(value.get(), is(equalTo(3.5f)));
     }
+
+    @Test
+    void testAdditionValueFloatLargeLongSourceIsRoundedOnce() {
+        long large = (1L << 60) + (1L << 36) + 1;   //rounds differently through double
+        AdditionValueFloat value = new AdditionValueFloat(ConstantValue.of(large), ConstantValue.of(0L));
+        AdditionValueFloat primitive = new AdditionValueFloat(
+                new AdditionValueLong(ConstantValue.of(large), ConstantValue.of(0L)), ConstantValue.of(0L));
+        assertThat(value.get(), is(equalTo((float) large)));
+        assertThat(primitive.get(), is(equalTo((float) large)));
+    }
     
 }
\ No newline at end of file
@@ -4,15 +4,24 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import ranger.core.ValueException;
+import ranger.util.RangerConfig;
+import ranger.util.UrlUtils;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ranger.core.csv.CsvReaderValueTest.*;
@@ -57,6 +66,78 @@ public class CircularCsvReaderValueTest {   //uses constants from CsvReaderValue
         assertThat(nextRecord, is(equalTo(actualRecords.get(0).toMap())));     //check if we get the first record again
     }
 
+    @Test
+    void testCloneStartsAtFirstRecord() throws IOException {
+        //Given
+        CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(new FileReader(TEST_CSV_PATH));
+        List<CSVRecord> actualRecords = parser.getRecords();
+        parser.close();
+        CircularCsvReaderValue circularCsvReaderValue = new CircularCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        circularCsvReaderValue.get();
+        //When
+        CircularCsvReaderValue clone = (CircularCsvReaderValue) circularCsvReaderValue.getClone();
+        //Then
+        for (int i = 0; i < 2*actualRecords.size(); i++) {  //test if clone restarts at first record after reaching last record
+            assertThat(clone.get(), is(equalTo(actualRecords.get(i % actualRecords.size()).toMap())));
+            assertThat(clone.getIndex(), is(i % actualRecords.size()));
+            clone.reset();
+        }
+    }
+
+    @Test
+    void testSeek() {
+        CircularCsvReaderValue circularCsvReaderValue = new CircularCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        List<Map<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < 2 * circularCsvReaderValue.getSize() + 3; i++) {
+            records.add(circularCsvReaderValue.get());
+            circularCsvReaderValue.reset();
+        }
+        CircularCsvReaderValue other = new CircularCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        for (int i = records.size() - 1; i >= 0; i -= 7) {
+            other.seek(i);
+            assertThat(other.get(), is(equalTo(records.get(i))));
+            other.reset();
+        }
+        assertThat(other.hasSequentialState(), is(false));
+    }
+
+    @Test
+    void testLargeFileIsStreamedFromDisk(@TempDir Path dir) throws IOException {
+        StringBuilder csv = new StringBuilder("id,text\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append(i).append(",\"text\n").append(i).append("\"\n");
+        }
+        Path file = dir.resolve("large.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        CSVParserSettings settings = new CSVParserSettings(UrlUtils.URLof(file.toString()), ',', true);
+        RangerConfig.setCsvMemoryLimit(0);
+        try {
+            CircularCsvReaderValue circularCsvReaderValue = new CircularCsvReaderValue(settings);
+            assertThat(circularCsvReaderValue.table(), is(instanceOf(MappedCsvTable.class)));
+            for (int i = 0; i < 2500; i++) {
+                Map<String, String> record = circularCsvReaderValue.get();
+                assertThat(record.get("id"), is(String.valueOf(i % 1000)));
+                assertThat(record.get("text"), is("text\n" + (i % 1000)));
+                circularCsvReaderValue.reset();
+            }
+            circularCsvReaderValue.seek(1998);
+            assertThat(circularCsvReaderValue.get().get("id"), is("998"));
+            circularCsvReaderValue.reset();
+            assertThat(circularCsvReaderValue.get().get("id"), is("999"));
+            circularCsvReaderValue.reset();
+            assertThat(circularCsvReaderValue.get().get("id"), is("0"));
+        } finally {
+            RangerConfig.setCsvMemoryLimit(256L << 20);
+        }
+    }
+
+    @Test
+    void testErrorEmptyFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("empty.csv");
+        Files.write(file, Collections.singletonList("a,b"));
+        assertThrows(ValueException.class, () -> new CircularCsvReaderValue(new CSVParserSettings(UrlUtils.URLof(file.toString()))));
+    }
+
     @Test
     void testErrorConstructWithNullArgument() {
         assertThrows(ValueException.class, () -> new CircularCsvReaderValue(null));
@@ -0,0 +1,122 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ranger.core.ValueException;
+import ranger.util.UrlUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvByteParserTest {
+
+    private static final String[] TOKENS = {"a", "bc", "ü€", "x y", " ", "\t", ",", ";", "\"", "\"\"", "'", "#", "\r", "\n",
+            "\r\n", "NULL", "0123456789abcdef"};
+
+    @Test
+    void testRecordsEqualCommonsCsv(@TempDir Path dir) throws IOException {
+        Random random = new Random(42);
+        for (int run = 0; run < 2000; run++) {
+            StringBuilder csv = new StringBuilder();
+            int tokens = random.nextInt(40);
+            for (int i = 0; i < tokens; i++) {
+                csv.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            char delimiter = random.nextBoolean() ? ',' : ';';
+            Character quote = random.nextInt(4) == 0 ? null : random.nextBoolean() ? '"' : '\'';
+            CSVParserSettings settings = write(dir, csv.toString(), delimiter, random.nextBoolean(), quote,
+                    random.nextBoolean(), random.nextBoolean() ? null : "NULL");
+            List<List<String>> expected;
+            try {
+                expected = parseWithCommons(settings);
+            } catch (IllegalStateException | IOException e) {   //malformed
+                for (int bufferSize : new int[]{1, 3, 1 << 20}) {
+                    assertThrows(ValueException.class, () -> parse(dir, settings, bufferSize), csv::toString);
+                }
+                continue;
+            }
+            for (int bufferSize : new int[]{1, 3, 8, 13, 1 << 20}) {
+                assertThat(csv + " with buffer size " + bufferSize, parse(dir, settings, bufferSize), is(equalTo(expected)));
+            }
+        }
+    }
+
+    @Test
+    void testParseBytes() {
+        CSVParserSettings settings = new CSVParserSettings(UrlUtils.URLof("unused.csv"), ',', false, "\n", true, '"', '#',
+                true, "");
+        byte[] bytes = "# comment\n a ,\"b \"\"c\"\"\",,\"\"\r\n".getBytes(StandardCharsets.UTF_8);
+        CsvByteParser parser = new CsvByteParser(settings, bytes, bytes.length);
+
+        assertThat(parser.next(), is(true));
+        assertThat(parser.size(), is(4));
+        assertThat(parser.get(1), is("b \"c\""));
+        assertThat(parser.get(0), is("a"));     //trimmed
+        assertThat(parser.get(2), is((String) null));   //null string
+        assertThat(parser.get(3), is((String) null));
+        assertThat(parser.next(), is(false));
+    }
+
+    @Test
+    void testLongRecordsGrowBuffer(@TempDir Path dir) throws IOException {
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            field.append(i % 10);
+        }
+        CSVParserSettings settings = write(dir, "1," + field + "\n\"" + field + "\n\",2", ',', false, '"', false, null);
+
+        List<List<String>> records = parse(dir, settings, 16);
+        assertThat(records.get(0), contains("1", field.toString()));
+        assertThat(records.get(1), contains(field + "\n", "2"));
+    }
+
+    private static CSVParserSettings write(Path dir, String content, char delimiter, boolean trim, Character quote,
+                                           boolean ignoreEmptyLines, String nullString) throws IOException {
+        Path file = dir.resolve("bytes.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new CSVParserSettings(UrlUtils.URLof(file.toString()), delimiter, false, "\n", trim, quote, '#',
+                ignoreEmptyLines, nullString);
+    }
+
+    private static List<List<String>> parseWithCommons(CSVParserSettings settings) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = CsvReaderValue.createCSVParser(settings)) {
+            for (CSVRecord record : parser) {
+                List<String> values = new ArrayList<>();
+                record.forEach(values::add);
+                records.add(values);
+            }
+        }
+        return records;
+    }
+
+    private static List<List<String>> parse(Path dir, CSVParserSettings settings, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(dir.resolve("bytes.csv"), StandardOpenOption.READ)) {
+            CsvByteParser parser = new CsvByteParser(settings, channel, 0, channel.size(), bufferSize);
+            while (parser.next()) {
+                List<String> values = new ArrayList<>();
+                for (int i = 0; i < parser.size(); i++) {
+                    values.add(parser.get(i));
+                }
+                records.add(values);
+            }
+        }
+        return records;
+    }
+}
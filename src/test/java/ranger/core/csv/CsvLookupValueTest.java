@@ -0,0 +1,155 @@
+package ranger.core.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ranger.core.CircularValue;
+import ranger.core.ConstantValue;
+import ranger.core.Value;
+import ranger.core.ValueException;
+import ranger.util.RangerConfig;
+import ranger.util.UrlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLookupValueTest {
+
+    private static final String CSV = "city,street,weight\n"
+            + "Berlin,Unter den Linden,1\n"
+            + "Hamburg,Reeperbahn,1\n"
+            + "Berlin,Kurfürstendamm,3\n"
+            + "Munich,Marienplatz,1\n"
+            + "Berlin,Friedrichstraße,0\n"
+            + ",Nowhere,1\n";
+
+    @Test
+    void testReturnsRecordsMatchingKey(@TempDir Path dir) throws IOException {
+        CircularValue<String> cities = new CircularValue<>(Arrays.asList(ConstantValue.of("Berlin"), ConstantValue.of("Hamburg"), ConstantValue.of("Munich")));
+        CsvLookupValue lookup = new CsvLookupValue(write(dir), "city", cities);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            Map<String, String> record = lookup.get();
+            assertThat(record.get("city"), is(cities.get()));
+            assertThat(record.get("street"), is(lookup.table().get(lookup.getIndex(), 1)));
+            counts.merge(record.get("street"), 1, Integer::sum);
+            lookup.reset();
+        }
+        assertThat(counts.get("Reeperbahn"), is(1000));
+        assertThat(counts.get("Marienplatz"), is(1000));
+        for (String street : new String[]{"Unter den Linden", "Kurfürstendamm", "Friedrichstraße"}) {    //uniform
+            assertThat(counts.get(street) / 1000.0, is(closeTo(1 / 3.0, 0.07)));
+        }
+    }
+
+    @Test
+    void testWeightedLookupRespectsWeights(@TempDir Path dir) throws IOException {
+        CsvLookupValue lookup = new CsvLookupValue(write(dir), "c0", ConstantValue.of("Berlin"), "weight");
+
+        Map<String, Integer> counts = new HashMap<>();
+        int samples = 40_000;
+        for (int i = 0; i < samples; i++) {
+            counts.merge(lookup.get().get("street"), 1, Integer::sum);
+            lookup.reset();
+        }
+        assertThat(counts.containsKey("Friedrichstraße"), is(false));   //weight 0
+        assertThat(counts.get("Kurfürstendamm") / (double) samples, is(closeTo(0.75, 0.01)));
+    }
+
+    @Test
+    void testKeysAreComparedAsStrings(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("zip.csv");
+        Files.write(file, "zip,city\n10115,Berlin\n20095,Hamburg\n".getBytes(StandardCharsets.UTF_8));
+        CsvLookupValue lookup = new CsvLookupValue(new CSVParserSettings(UrlUtils.URLof(file.toString())), "zip", ConstantValue.of(20095));
+
+        assertThat(lookup.get().get("city"), is("Hamburg"));
+    }
+
+    @Test
+    void testCloneSharesIndexAndClonesKey(@TempDir Path dir) throws IOException {
+        CircularValue<String> cities = new CircularValue<>(Arrays.asList(ConstantValue.of("Hamburg"), ConstantValue.of("Munich")));
+        CsvLookupValue lookup = new CsvLookupValue(write(dir), "city", cities);
+        assertThat(lookup.get().get("street"), is("Reeperbahn"));
+
+        CsvLookupValue clone = (CsvLookupValue) lookup.getClone();
+        assertThat(clone.table(), is(sameInstance(lookup.table())));
+        lookup.reset();
+        assertThat(lookup.get().get("street"), is("Marienplatz"));
+        for (int i = 0; i < 10; i++) {      //clone looks up its own key
+            clone.reset();
+            assertThat(clone.get().get("city"), is(in(Arrays.asList("Hamburg", "Munich"))));
+        }
+        lookup.reset();
+        assertThat(lookup.get().get("street"), is("Reeperbahn"));
+    }
+
+    @Test
+    void testProjectionKeepsKeyAndWeightColumns(@TempDir Path dir) throws IOException {
+        CsvLookupValue lookup = new CsvLookupValue(write(dir), "city", ConstantValue.of("Munich"), "weight");
+        lookup.project(Collections.singleton("street"));
+
+        assertThat(lookup.table().getHeaderKeys(), contains("city", "street", "weight"));
+        assertThat(lookup.get().get("street"), is("Marienplatz"));
+    }
+
+    @Test
+    void testLookupOnMappedTable(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir);
+        RangerConfig.setCsvMemoryLimit(0);
+        try {
+            CsvLookupValue lookup = new CsvLookupValue(settings, "city", ConstantValue.of("Berlin"), "weight");
+            for (int i = 0; i < 100; i++) {
+                assertThat(lookup.get().get("street"), is(in(Arrays.asList("Unter den Linden", "Kurfürstendamm"))));
+                lookup.reset();
+            }
+            assertThat(lookup.table(), is(instanceOf(MappedCsvTable.class)));
+        } finally {
+            RangerConfig.setCsvMemoryLimit(256L << 20);
+        }
+    }
+
+    @Test
+    void testErrorUnknownKey(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir);
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "city", ConstantValue.of("Cologne")).get());
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "city", ConstantValue.of("")).get());    //null string is empty
+    }
+
+    @Test
+    void testErrorNullKey(@TempDir Path dir) throws IOException {
+        Value<String> nullKey = new Value<String>() {
+            @Override
+            protected Value<String> clone() {
+                return this;
+            }
+        };
+        assertThrows(ValueException.class, () -> new CsvLookupValue(write(dir), "city", nullKey).get());
+    }
+
+    @Test
+    void testErrorIllegalArguments(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir);
+        assertThrows(ValueException.class, () -> new CsvLookupValue(null, "city", ConstantValue.of("Berlin")));
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, null, ConstantValue.of("Berlin")));
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "city", null));
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "country", ConstantValue.of("Berlin")));
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "city", ConstantValue.of("Berlin"), "population"));
+        assertThrows(ValueException.class, () -> new CsvLookupValue(settings, "city", ConstantValue.of("Berlin"), "street").get());
+    }
+
+    private static CSVParserSettings write(Path dir) throws IOException {
+        Path file = dir.resolve("streets.csv");
+        Files.write(file, CSV.getBytes(StandardCharsets.UTF_8));
+        return new CSVParserSettings(UrlUtils.URLof(file.toString()), ',', true, "\n", true, '"', '#', true, "");
+    }
+}
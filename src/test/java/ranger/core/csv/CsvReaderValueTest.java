@@ -9,12 +9,16 @@ import ranger.util.UrlUtils;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CsvReaderValueTest {
@@ -57,6 +61,23 @@ public class CsvReaderValueTest {
         }
     }
 
+    @Test
+    void testProjectedColumns() {
+        CsvReaderValue csvReaderValue = new CsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        csvReaderValue.project(Collections.singleton("username"));
+        assertThat(csvReaderValue.get(), is(equalTo(Collections.singletonMap("username", "nick999"))));
+        assertThat(csvReaderValue.getCsvProxies().get("income").get(), is(nullValue()));    //column is not read
+        csvReaderValue.reset();
+
+        csvReaderValue.project(Collections.singleton("c0"));    //adds column
+        Map<String, String> record = csvReaderValue.get();
+        assertThat(new ArrayList<>(record.keySet()), contains("income", "username"));
+        assertThat(record.get("income"), is("2726"));
+        assertThat(csvReaderValue.getCsvProxies().get("c2").get(), is("max123"));
+
+        assertThrows(ValueException.class, () -> csvReaderValue.project(Collections.singleton("country")));
+    }
+
     @Test
     void testCsvReaderValueNoMoreRecords() {
         CsvReaderValue csvReaderValue = new CsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
@@ -69,7 +90,7 @@ public class CsvReaderValueTest {
 
     @Test
     void testErrorConstructWithNullArgument() {
-        assertThrows(ValueException.class, () -> new CsvReaderValue(null));
+        assertThrows(ValueException.class, () -> new CsvReaderValue((CSVParserSettings) null));
     }
 
 }
@@ -0,0 +1,161 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ranger.util.UrlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class CsvSplitsTest {
+
+    private static final String CSV = "name,comment,number\r\n"
+            + "# comment with \"unbalanced quote\n"
+            + "alice,\"multi\nline, with delimiter\",1\r\n"
+            + "bob,\"escaped \"\"quote\"\"\",2\n"
+            + "\n"
+            + "carol,unquoted \"quote,3\r"
+            + "dave,\"\",4\n"
+            + "eve,\"\"\"\r\n\"\"\",5\n"
+            + "frank,last,6";
+
+    private static final int[] COLUMNS = {0, 1, 2};
+    private static final int[] FIRST_COLUMN = {0};
+
+    @Test
+    void testSplitsContainAllRecordsInOrder(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, CSV, ',', true, true);
+        List<List<String>> expected = parse(settings);
+
+        for (long splitSize = 1; splitSize <= CSV.length(); splitSize++) {
+            CsvSplits splits = new CsvSplits(settings, splitSize);
+            assertThat(splits.getHeaderKeys(), contains("name", "comment", "number"));
+            assertThat("split size " + splitSize, readAll(splits), is(equalTo(expected)));
+        }
+    }
+
+    @Test
+    void testSplitsWithoutHeaderKeepingEmptyLines(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, CSV, ',', false, false);
+        List<List<String>> expected = parse(settings);
+
+        for (long splitSize = 1; splitSize <= CSV.length(); splitSize++) {
+            CsvSplits splits = new CsvSplits(settings, splitSize);
+            assertThat(splits.getHeaderKeys(), contains("c0", "c1", "c2"));
+            assertThat("split size " + splitSize, readAll(splits), is(equalTo(expected)));
+        }
+    }
+
+    @Test
+    void testNonAsciiDelimiterIsReadAsSingleSplit(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, "a§b\n1§2\n3§4\n", '§', true, true);
+        CsvSplits splits = new CsvSplits(settings, 1);
+
+        CsvSplits.Split split = splits.next(null);
+        assertThat(split.next(COLUMNS), is(arrayContaining("1", "2", null)));
+        assertThat(split.next(COLUMNS), is(arrayContaining("3", "4", null)));
+        assertThat(split.next(COLUMNS), is(nullValue()));
+        assertThat(splits.next(split), is(nullValue()));
+    }
+
+    @Test
+    void testExhaustedValueContinuesWithSplitOfOtherValue(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, "a\n1\n2\n3\n", ',', true, true);
+        CsvSplits splits = new CsvSplits(settings);
+
+        CsvSplits.Split first = splits.next(null);
+        assertThat(first.next(FIRST_COLUMN), is(arrayContaining("1")));
+        CsvSplits.Split stolen = splits.next(null);
+        assertThat(stolen, is(first));
+        assertThat(stolen.next(FIRST_COLUMN), is(arrayContaining("2")));
+        assertThat(first.next(FIRST_COLUMN), is(arrayContaining("3")));
+        assertThat(stolen.next(FIRST_COLUMN), is(nullValue()));
+        assertThat(splits.next(stolen), is(nullValue()));
+    }
+
+    @Test
+    void testClonesReadEachRecordOnce(@TempDir Path dir) throws IOException, InterruptedException {
+        StringBuilder csv = new StringBuilder("id,text\n");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 500_000; i++) {    //more than one split
+            csv.append(i).append(",\"text\n").append(i).append("\"\n");
+            ids.add(String.valueOf(i));
+        }
+        CSVParserSettings settings = write(dir, csv.toString(), ',', true, true);
+        CsvReaderValue value = new CsvReaderValue(settings);
+        List<String> generated = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            CsvReaderValue clone = (CsvReaderValue) value.getParallelClone();
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < ids.size() / 4; i++) {
+                    Map<String, String> record = clone.get();
+                    assertThat(record.get("text"), is("text\n" + record.get("id")));
+                    generated.add(record.get("id"));
+                    clone.reset();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        generated.sort(Comparator.comparingInt(Integer::parseInt));
+        assertThat(generated, is(equalTo(ids)));
+    }
+
+    private static CSVParserSettings write(Path dir, String content, char delimiter, boolean withHeader,
+                                           boolean ignoreEmptyLines) throws IOException {
+        Path file = dir.resolve("splits.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new CSVParserSettings(UrlUtils.URLof(file.toString()), delimiter, withHeader, "\n", true, '"', '#',
+                ignoreEmptyLines, null);
+    }
+
+    private static List<List<String>> parse(CSVParserSettings settings) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = CsvReaderValue.createCSVParser(settings)) {
+            for (CSVRecord record : parser) {
+                records.add(toList(record));
+            }
+        }
+        return records;
+    }
+
+    private static List<List<String>> readAll(CsvSplits splits) {
+        List<List<String>> records = new ArrayList<>();
+        CsvSplits.Split split = null;
+        while ((split = splits.next(split)) != null) {
+            for (String[] values = split.next(COLUMNS); values != null; values = split.next(COLUMNS)) {
+                records.add(Arrays.asList(values));
+            }
+        }
+        return records;
+    }
+
+    private static List<String> toList(CSVRecord record) {      //missing values are null
+        List<String> list = new ArrayList<>();
+        for (int column : COLUMNS) {
+            list.add(column < record.size() ? record.get(column) : null);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,130 @@
+package ranger.core.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ranger.core.ValueException;
+import ranger.util.UrlUtils;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ranger.core.csv.CsvReaderValueTest.*;
+
+class CsvTableTest {   //uses constants from CsvReaderValueTest
+
+    @Test
+    void testContainsAllRecords() throws IOException {
+        CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(new FileReader(TEST_CSV_PATH));
+        List<CSVRecord> actualRecords = parser.getRecords();
+        parser.close();
+
+        CsvTable table = CsvTable.of(PARSER_SETTINGS_WITH_HEADER);
+
+        assertThat(table.getHeaderKeys(), contains("income", "id", "username"));
+        assertThat(table.getRowCount(), is(actualRecords.size()));
+        for (int row = 0; row < actualRecords.size(); row++) {
+            CSVRecord record = actualRecords.get(row);
+            for (int column = 0; column < record.size(); column++) {
+                assertThat(table.get(row, column), is(record.get(column)));
+            }
+            assertThat(table.row(row), is(equalTo(Arrays.asList(record.get(0), record.get(1), record.get(2)))));
+        }
+    }
+
+    @Test
+    void testWithoutHeader() {
+        CsvTable table = CsvTable.of(PARSER_SETTINGS_NO_HEADER);
+
+        assertThat(table.getHeaderKeys(), contains("c0", "c1", "c2"));
+        assertThat(table.row(0), contains("income", "id", "username"));
+        assertThat(table.getRowCount(), is(CsvTable.of(PARSER_SETTINGS_WITH_HEADER).getRowCount() + 1));
+    }
+
+    @Test
+    void testTablesAreShared() {
+        CsvTable table = CsvTable.of(PARSER_SETTINGS_WITH_HEADER);
+
+        assertThat(CsvTable.of(new CSVParserSettings(UrlUtils.URLof(TEST_CSV_PATH))), is(sameInstance(table)));
+        assertThat(CsvTable.of(PARSER_SETTINGS_NO_HEADER), is(not(sameInstance(table))));
+    }
+
+    @Test
+    void testEqualValuesAreStoredOnce() {
+        CsvTable table = CsvTable.of(PARSER_SETTINGS_WITH_HEADER);
+
+        assertThat(table.get(2, 2), is("test76"));
+        assertThat(table.get(3, 2), is(sameInstance(table.get(2, 2))));
+    }
+
+    @Test
+    void testMissingFieldsAreNull(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("short.csv");
+        Files.write(file, Arrays.asList("a,b,c", "1,2", "3,4,5,6"));
+
+        CsvTable table = CsvTable.of(new CSVParserSettings(UrlUtils.URLof(file.toString())));
+
+        assertThat(table.row(0), contains("1", "2", null));
+        assertThat(table.get(0, 2), is(nullValue()));
+        assertThat(table.row(1), contains("3", "4", "5"));
+    }
+
+    @Test
+    void testManyDistinctValues(@TempDir Path dir) throws IOException {
+        StringBuilder csv = new StringBuilder("id,group\n");
+        for (int i = 0; i < 70_000; i++) {
+            csv.append(i).append(',').append(i % 300).append('\n');
+        }
+        Path file = dir.resolve("large.csv");
+        Files.write(file, csv.toString().getBytes());
+
+        CsvTable table = CsvTable.of(new CSVParserSettings(UrlUtils.URLof(file.toString())));
+
+        assertThat(table.getRowCount(), is(70_000));
+        for (int row = 0; row < 70_000; row += 997) {
+            assertThat(table.get(row, 0), is(String.valueOf(row)));
+            assertThat(table.get(row, 1), is(String.valueOf(row % 300)));
+        }
+    }
+
+    @Test
+    void testReloadsModifiedFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("modified.csv");
+        Files.write(file, Arrays.asList("a", "1"));
+        CSVParserSettings settings = new CSVParserSettings(UrlUtils.URLof(file.toString()));
+        CsvTable table = CsvTable.of(settings);
+
+        Files.write(file, Arrays.asList("a", "2"));
+        file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+
+        assertThat(table.get(0, 0), is("1"));
+        assertThat(CsvTable.of(settings).get(0, 0), is("2"));
+    }
+
+    @Test
+    void testErrorRowOutOfBounds() {
+        CsvTable table = CsvTable.of(PARSER_SETTINGS_WITH_HEADER);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(table.getRowCount(), 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.row(-1));
+    }
+
+    @Test
+    void testErrorNullSettings() {
+        assertThrows(ValueException.class, () -> CsvTable.of(null));
+    }
+}
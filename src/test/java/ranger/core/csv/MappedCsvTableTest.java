@@ -0,0 +1,160 @@
+package ranger.core.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ranger.core.ValueException;
+import ranger.util.RangerConfig;
+import ranger.util.UrlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedCsvTableTest {
+
+    private static final String CSV = "name,comment,weight\r\n"
+            + "# comment with \"unbalanced quote\n"
+            + "alice,\"multi\nline, with delimiter\",1\r\n"
+            + "bob,\"escaped \"\"quote\"\"\",2\n"
+            + "\n"
+            + "carol,unquoted \"quote,0\r"
+            + "dave,\"\",3\n"
+            + "eve,short\n"
+            + "frank,last,4";
+
+    @AfterEach
+    void resetMemoryLimit() {
+        RangerConfig.setCsvMemoryLimit(256L << 20);
+    }
+
+    @Test
+    void testRecordsEqualInMemoryTable(@TempDir Path dir) throws IOException {
+        for (boolean withHeader : new boolean[]{true, false}) {
+            CSVParserSettings settings = write(dir, CSV, withHeader);
+            CsvTable expected = new DictionaryCsvTable(settings);
+
+            MappedCsvTable table = new MappedCsvTable(settings, dir.resolve("data.csv"));
+
+            assertThat(table.getHeaderKeys(), is(equalTo(expected.getHeaderKeys())));
+            assertThat(table.getRowCount(), is(expected.getRowCount()));
+            for (int row = 0; row < table.getRowCount(); row++) {
+                assertThat(table.row(row), is(equalTo(expected.row(row))));
+                for (int column = 0; column < table.getHeaderKeys().size(); column++) {
+                    assertThat(table.get(row, column), is(expected.get(row, column)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRowsEqualSingleRecords(@TempDir Path dir) throws IOException {
+        MappedCsvTable table = new MappedCsvTable(write(dir, CSV, true), dir.resolve("data.csv"));
+
+        for (long blockSize = 1; blockSize <= CSV.length(); blockSize += 7) {
+            for (int from = 0; from <= table.getRowCount(); from++) {
+                List<List<String>> rows = new ArrayList<>();
+                table.rows(from, blockSize).forEachRemaining(rows::add);
+                assertThat(rows.size(), is(table.getRowCount() - from));
+                for (int i = 0; i < rows.size(); i++) {
+                    assertThat(rows.get(i), is(equalTo(table.row(from + i))));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMissingFieldsAreNull(@TempDir Path dir) throws IOException {
+        MappedCsvTable table = new MappedCsvTable(write(dir, CSV, true), dir.resolve("data.csv"));
+
+        assertThat(table.row(4), contains("eve", "short", null));
+        assertThat(table.get(4, 2), is(nullValue()));
+    }
+
+    @Test
+    void testIndexIsReusedUntilFileIsModified(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, CSV, true);
+        Path csv = dir.resolve("data.csv");
+        Path index = dir.resolve("data.csv.ranger-index");
+        new MappedCsvTable(settings, csv);
+        FileTime indexed = FileTime.fromMillis(Files.getLastModifiedTime(index).toMillis() - 10_000);
+        Files.setLastModifiedTime(index, indexed);
+
+        new MappedCsvTable(settings, csv);
+        assertThat(Files.getLastModifiedTime(index), is(indexed));
+
+        Files.write(csv, "name\nzoe\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        MappedCsvTable modified = new MappedCsvTable(settings, csv);
+        assertThat(Files.getLastModifiedTime(index), is(not(indexed)));
+        assertThat(modified.getRowCount(), is(1));
+        assertThat(modified.get(0, 0), is("zoe"));
+    }
+
+    @Test
+    void testLargeFilesAreMapped(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, CSV, true);
+        RangerConfig.setCsvMemoryLimit(CSV.length() - 1);
+
+        assertThat(CsvTable.of(settings), is(instanceOf(MappedCsvTable.class)));
+    }
+
+    @Test
+    void testRandomAndWeightedValuesOnMappedTable(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, "name,weight\nalice,1\nbob,2\ncarol,0\ndave,3\nfrank,4\n", true);
+        RangerConfig.setCsvMemoryLimit(0);
+        RandomCsvReaderValue random = new RandomCsvReaderValue(settings);
+        WeightedCsvReaderValue weighted = new WeightedCsvReaderValue(settings, "weight");
+        assertThat(Files.exists(dir.resolve("data.csv.ranger-weights-1")), is(false));   //read on first use
+        weighted.get();
+        assertThat(Files.exists(dir.resolve("data.csv.ranger-weights-1")), is(true));
+        weighted.reset();
+
+        Map<String, Integer> counts = new HashMap<>();
+        int samples = 100_000;
+        for (int i = 0; i < samples; i++) {
+            assertThat(random.get().get("name"), is(random.table.get(random.getIndex(), 0)));
+            counts.merge(weighted.get().get("name"), 1, Integer::sum);
+            random.reset();
+            weighted.reset();
+        }
+        assertThat(counts.containsKey("carol"), is(false));   //weight 0
+        assertThat(counts.get("alice") / (double) samples, is(closeTo(0.1, 0.01)));
+        assertThat(counts.get("frank") / (double) samples, is(closeTo(0.4, 0.01)));
+    }
+
+    @Test
+    void testErrorIllegalWeightOnMappedTable(@TempDir Path dir) throws IOException {
+        CSVParserSettings settings = write(dir, "name,weight\na,1\nb,-1\n", true);
+        RangerConfig.setCsvMemoryLimit(0);
+
+        WeightedCsvReaderValue weighted = new WeightedCsvReaderValue(settings, "weight");
+        assertThrows(ValueException.class, weighted::get);
+        List<Path> files = new ArrayList<>();
+        Files.list(dir).forEach(files::add);
+        assertThat(files, containsInAnyOrder(dir.resolve("data.csv"), dir.resolve("data.csv.ranger-index")));   //no weight index left
+    }
+
+    private static CSVParserSettings write(Path dir, String content, boolean withHeader) throws IOException {
+        Path file = dir.resolve("data.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new CSVParserSettings(UrlUtils.URLof(file.toString()), ',', withHeader);
+    }
+}
@@ -7,12 +7,16 @@ import org.junit.jupiter.api.Test;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.in;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ranger.core.csv.CsvReaderValueTest.*;
 
@@ -52,6 +56,30 @@ class RandomCsvReaderValueTest {    //uses constants from CsvReaderValueTest
         }
     }
 
+    @Test
+    void testCloneSharesRecords() {
+        RandomCsvReaderValue randomCsvReaderValue = new RandomCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        RandomCsvReaderValue clone = (RandomCsvReaderValue) randomCsvReaderValue.getClone();
+        assertThat(clone.table, is(sameInstance(randomCsvReaderValue.table)));
+        Map<String, String> generatedRecord = clone.get();
+        for (String headerKey : clone.headerKeys) {    //column proxies of clone read from clone
+            assertThat(clone.getCsvProxies().get(headerKey).get(), is(generatedRecord.get(headerKey)));
+        }
+    }
+
+    @Test
+    void testProjectedTableContainsOnlyUsedColumns() {
+        RandomCsvReaderValue randomCsvReaderValue = new RandomCsvReaderValue(PARSER_SETTINGS_WITH_HEADER);
+        randomCsvReaderValue.project(Collections.singleton("id"));
+        RandomCsvReaderValue clone = (RandomCsvReaderValue) randomCsvReaderValue.getClone();
+
+        assertThat(randomCsvReaderValue.table.getHeaderKeys(), contains("id"));
+        assertThat(clone.table, is(sameInstance(randomCsvReaderValue.table)));
+        assertThat(clone.get().keySet(), contains("id"));
+        assertThat(clone.getCsvProxies().get("id").get(), is(clone.get().get("id")));
+        assertThat(clone.getCsvProxies().get("username").get(), is(nullValue()));
+    }
+
     @Test
     void testErrorConstructWithNullArgument() {
         assertThrows(IllegalArgumentException.class, () -> new RandomCsvReaderValue((CSVParserSettings) null));
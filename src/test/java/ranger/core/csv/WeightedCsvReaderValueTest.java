@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,15 @@ class WeightedCsvReaderValueTest {  //uses constants from CsvReaderValueTest
     }
 
 
+    @Test
+    void testProjectionKeepsWeightColumn() {
+        WeightedCsvReaderValue weightedCsvReaderValue = new WeightedCsvReaderValue(PARSER_SETTINGS_WITH_HEADER, "income");
+        weightedCsvReaderValue.project(Collections.singleton("username"));
+
+        assertThat(weightedCsvReaderValue.table.getHeaderKeys(), contains("income", "username"));
+        assertThat(weightedCsvReaderValue.get().keySet(), contains("income", "username"));
+    }
+
     @Test
     void testErrorConstructWithNullArgument() {
         assertThrows(IllegalArgumentException.class, () -> new WeightedCsvReaderValue(null, null));
@@ -0,0 +1,56 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AliasTableTest {
+
+    @Test
+    void testFrequenciesFollowWeights() {
+        double[] weights = {1, 0, 7, 2, 0.5, 9.5};
+        AliasTable table = new AliasTable(weights);
+        FastRandom random = new SplitMix64Random(42);
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < 200_000; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertThat(table.size(), is(weights.length));
+        assertThat(counts[1], is(0));
+        for (int i = 0; i < weights.length; i++) {
+            assertThat(counts[i] / 200_000.0, is(closeTo(weights[i] / 20, 0.005)));
+        }
+    }
+
+    @Test
+    void testManyWeights() {
+        double[] weights = new double[100_000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i % 2 == 0 ? 1 : 3;
+        }
+        AliasTable table = new AliasTable(weights);
+        FastRandom random = new SplitMix64Random(42);
+        int odd = 0;
+        for (int i = 0; i < 100_000; i++) {
+            odd += table.sample(random) % 2;
+        }
+        assertThat(odd / 100_000.0, is(closeTo(0.75, 0.01)));
+    }
+
+    @Test
+    void testSingleWeight() {
+        AliasTable table = new AliasTable(new double[]{5});
+        assertThat(table.sample(new SplitMix64Random(1)), is(0));
+    }
+
+    @Test
+    void testErrorConstructWithInvalidWeights() {
+        assertThrows(ArithmeticException.class, () -> new AliasTable(new double[0]));
+        assertThrows(ArithmeticException.class, () -> new AliasTable(new double[]{1, -1}));
+        assertThrows(ArithmeticException.class, () -> new AliasTable(new double[]{0, 0}));
+        assertThrows(ArithmeticException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+        assertThrows(ArithmeticException.class, () -> new AliasTable(new double[]{1, Double.POSITIVE_INFINITY}));
+    }
+}
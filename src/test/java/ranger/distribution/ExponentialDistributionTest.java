@@ -0,0 +1,60 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExponentialDistributionTest {
+
+    private final ExponentialDistribution distribution = new ExponentialDistribution(2, 0, 10);
+
+    @Test
+    void testNextInt() {
+        for (int i = 0; i < 100; i++) {
+            int nextInt = distribution.nextInt(-10, 10);
+            assertThat(nextInt, is(both(greaterThanOrEqualTo(-10)).and(lessThan(10))));
+        }
+    }
+
+    @Test
+    void testNextLong() {
+        for (int i = 0; i < 100; i++) {
+            long nextLong = distribution.nextLong(-10L, 10L);
+            assertThat(nextLong, is(both(greaterThanOrEqualTo(-10L)).and(lessThan(10L))));
+        }
+    }
+
+    @Test
+    void testMean() {
+        double sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double nextDouble = distribution.nextDouble(0, 10);
+            assertThat(nextDouble, is(both(greaterThanOrEqualTo(0.0)).and(lessThan(10.0))));
+            sum += nextDouble;
+        }
+        assertThat(sum / 100_000, is(closeTo(0.5, 0.01)));
+    }
+
+    @Test
+    void testLowerBoundShiftsDistribution() {
+        ExponentialDistribution distribution = new ExponentialDistribution(1, 100, 101);
+        double sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += distribution.nextDouble(100, 101);
+        }
+        //mean of exponential distribution truncated to 1 is 1 - 1 / (e - 1)
+        assertThat(sum / 100_000, is(closeTo(100 + 1 - 1 / (Math.E - 1), 0.01)));
+    }
+
+    @Test
+    void testErrorConstructWithNegativeLambda() {
+        assertThrows(ArithmeticException.class, () -> new ExponentialDistribution(-1, 0, 1));
+    }
+
+    @Test
+    void testErrorConstructWithNegativeLowerBound() {
+        assertThrows(ArithmeticException.class, () -> new ExponentialDistribution(1, -1, 1));
+    }
+}
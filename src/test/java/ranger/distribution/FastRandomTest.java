@@ -0,0 +1,83 @@
+package ranger.distribution;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastRandomTest {
+
+    @ParameterizedTest
+    @EnumSource(RandomAlgorithm.class)
+    void testSameSeedSameSequence(RandomAlgorithm algorithm) {
+        FastRandom random = algorithm.create();
+        FastRandom other = algorithm.create();
+        random.setSeed(42);
+        other.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(random.nextLong(), is(other.nextLong()));
+        }
+        other.setSeed(43);
+        assertThat(random.nextLong(), is(not(other.nextLong())));
+        assertThat(random.getAlgorithm(), is(algorithm));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RandomAlgorithm.class)
+    void testBoundedValuesAreUniform(RandomAlgorithm algorithm) {
+        FastRandom random = algorithm.create();
+        int[] counts = new int[3];
+        for (int i = 0; i < 30_000; i++) {
+            counts[random.nextInt(3)]++;
+        }
+        for (int count : counts) {
+            assertThat((double) count, is(closeTo(10_000, 500)));
+        }
+        long bound = Long.MAX_VALUE / 3 * 2;
+        long belowThird = 0;
+        for (int i = 0; i < 30_000; i++) {
+            long value = random.nextLong(bound);
+            assertThat(value, is(both(greaterThanOrEqualTo(0L)).and(lessThan(bound))));
+            if (value < bound / 3) {
+                belowThird++;
+            }
+        }
+        assertThat((double) belowThird, is(closeTo(10_000, 500)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RandomAlgorithm.class)
+    void testRanges(RandomAlgorithm algorithm) {
+        FastRandom random = algorithm.create();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(random.nextInt(-10, 10), is(both(greaterThanOrEqualTo(-10)).and(lessThan(10))));
+            assertThat(random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE), is(lessThan(Integer.MAX_VALUE)));
+            assertThat(random.nextLong(Long.MIN_VALUE, 5L), is(lessThan(5L)));
+            assertThat(random.nextDouble(-1.0, 1.0), is(both(greaterThanOrEqualTo(-1.0)).and(lessThan(1.0))));
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> random.nextLong(3L, 3L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RandomAlgorithm.class)
+    void testGaussian(RandomAlgorithm algorithm) {
+        FastRandom random = algorithm.create();
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double value = random.nextGaussian();
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        assertThat(sum / 100_000, is(closeTo(0, 0.02)));
+        assertThat(sumOfSquares / 100_000, is(closeTo(1, 0.02)));
+    }
+}
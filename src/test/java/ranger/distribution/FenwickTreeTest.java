@@ -0,0 +1,61 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FenwickTreeTest {
+
+    @Test
+    void testFind() {
+        FenwickTree tree = new FenwickTree(new long[]{3, 0, 2, 5, 1});
+        int[] expected = {0, 0, 0, 2, 2, 3, 3, 3, 3, 3, 4};
+        assertThat(tree.size(), is(5));
+        assertThat(tree.total(), is(11L));
+        for (int position = 0; position < expected.length; position++) {
+            assertThat(tree.find(position), is(expected[position]));
+        }
+    }
+
+    @Test
+    void testAdd() {
+        FenwickTree tree = new FenwickTree(new long[]{3, 0, 2, 5, 1});
+        FenwickTree copy = new FenwickTree(tree);
+        tree.add(0, -3);
+        tree.add(1, 4_000_000_000L);
+        assertThat(tree.total(), is(4_000_000_008L));
+        assertThat(tree.find(0), is(1));
+        assertThat(tree.find(3_999_999_999L), is(1));
+        assertThat(tree.find(4_000_000_000L), is(2));
+        assertThat(copy.find(0), is(0));
+        assertThat(copy.total(), is(11L));
+    }
+
+    @Test
+    void testFindMatchesLinearScan() {
+        long[] counts = new long[1000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (i * 7919L) % 13;
+        }
+        FenwickTree tree = new FenwickTree(counts);
+        int index = 0;
+        long end = counts[0];
+        for (long position = 0; position < tree.total(); position++) {
+            while (position >= end) {
+                end += counts[++index];
+            }
+            assertThat(tree.find(position), is(index));
+        }
+    }
+
+    @Test
+    void testErrors() {
+        FenwickTree tree = new FenwickTree(new long[]{1, 2});
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.find(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.find(-1));
+        assertThrows(ArithmeticException.class, () -> new FenwickTree(new long[]{1, -1}));
+        assertThrows(ArithmeticException.class, () -> new FenwickTree(new long[]{Long.MAX_VALUE, 1}));
+    }
+}
@@ -0,0 +1,44 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogNormalDistributionTest {
+
+    private final LogNormalDistribution distribution = new LogNormalDistribution(0, 1, 0, 1000);
+
+    @Test
+    void testNextInt() {
+        for (int i = 0; i < 100; i++) {
+            int nextInt = distribution.nextInt(-10, 10);
+            assertThat(nextInt, is(both(greaterThanOrEqualTo(-10)).and(lessThan(10))));
+        }
+    }
+
+    @Test
+    void testMedian() {
+        int belowMedian = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double nextDouble = distribution.nextDouble(0, 1000);
+            assertThat(nextDouble, is(both(greaterThanOrEqualTo(0.0)).and(lessThan(1000.0))));
+            if (nextDouble < 1) { belowMedian++; }
+        }
+        assertThat(belowMedian / 100_000.0, is(closeTo(0.5, 0.01)));
+    }
+
+    @Test
+    void testNarrowBounds() {
+        LogNormalDistribution distribution = new LogNormalDistribution(0, 0.1, 100, 101);
+        for (int i = 0; i < 100; i++) {
+            assertThat(distribution.nextDouble(100, 101), is(both(greaterThanOrEqualTo(100.0)).and(lessThan(101.0))));
+        }
+    }
+
+    @Test
+    void testErrorConstructWithNegativeLowerBound() {
+        assertThrows(ArithmeticException.class, () -> new LogNormalDistribution(0, 1, -1, 1));
+    }
+}
@@ -57,8 +57,45 @@ class NormalDistributionTest {
         }
     }
 
+    @Test
+    void testNarrowBounds() {
+        NormalDistribution distribution = new NormalDistribution(0.5, 1000, 0, 1);  //bounds hold 0.04% of values
+        double sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            double nextDouble = distribution.nextDouble(0, 1);
+            assertThat(nextDouble, is(both(greaterThanOrEqualTo(0.0)).and(lessThan(1.0))));
+            sum += nextDouble;
+        }
+        assertThat(sum / 10_000, is(closeTo(0.5, 0.02)));
+    }
+
+    @Test
+    void testMeanAndStandardDeviation() {
+        NormalDistribution distribution = new NormalDistribution(0, 1, -10, 10);
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double nextDouble = distribution.nextDouble(-10, 10);
+            sum += nextDouble;
+            sumOfSquares += nextDouble * nextDouble;
+        }
+        assertThat(sum / 100_000, is(closeTo(0, 0.02)));
+        assertThat(Math.sqrt(sumOfSquares / 100_000), is(closeTo(1, 0.02)));
+    }
+
     @Test
     void testErrorConstructWithMeanOutsideRange() {
         assertThrows(ArithmeticException.class, () -> new NormalDistribution(10, 2, 1, 5));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSetSeed() {
+        NormalDistribution distribution = new NormalDistribution();
+        NormalDistribution other = distribution.clone();
+        distribution.setSeed(42);
+        other.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(distribution.nextDouble(0, 10), is(other.nextDouble(0, 10)));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParetoDistributionTest {
+
+    private final ParetoDistribution distribution = new ParetoDistribution(1, 1, 100);
+
+    @Test
+    void testNextLong() {
+        for (int i = 0; i < 100; i++) {
+            long nextLong = distribution.nextLong(-10L, 10L);
+            assertThat(nextLong, is(both(greaterThanOrEqualTo(-10L)).and(lessThan(10L))));
+        }
+    }
+
+    @Test
+    void testShape() {
+        int belowTwo = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double nextDouble = distribution.nextDouble(1, 100);
+            assertThat(nextDouble, is(both(greaterThanOrEqualTo(1.0)).and(lessThan(100.0))));
+            if (nextDouble < 2) { belowTwo++; }
+        }
+        //P(X < 2) is (1 - 1/2) / (1 - 1/100)
+        assertThat(belowTwo / 100_000.0, is(closeTo(0.5 / 0.99, 0.01)));
+    }
+
+    @Test
+    void testErrorConstructWithZeroLowerBound() {
+        assertThrows(ArithmeticException.class, () -> new ParetoDistribution(1, 0, 1));
+    }
+}
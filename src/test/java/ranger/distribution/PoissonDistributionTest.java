@@ -0,0 +1,55 @@
+package ranger.distribution;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PoissonDistributionTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, 4, 30, 5000})
+    void testMeanAndVariance(double lambda) {
+        PoissonDistribution distribution = new PoissonDistribution(lambda);
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long nextLong = distribution.nextLong(Long.MAX_VALUE);
+            sum += nextLong;
+            sumOfSquares += (double) nextLong * nextLong;
+        }
+        double mean = sum / 100_000;
+        assertThat(mean, is(closeTo(lambda, 0.02 * lambda)));
+        assertThat(sumOfSquares / 100_000 - mean * mean, is(closeTo(lambda, 0.05 * lambda)));
+    }
+
+    @Test
+    void testNextIntIsOffsetFromLower() {
+        PoissonDistribution distribution = new PoissonDistribution(3);
+        for (int i = 0; i < 100; i++) {
+            int nextInt = distribution.nextInt(100, 105);
+            assertThat(nextInt, is(both(greaterThanOrEqualTo(100)).and(lessThan(105))));
+        }
+    }
+
+    @Test
+    void testRangeBelowMostValues() {
+        PoissonDistribution distribution = new PoissonDistribution(1000);     //values below 900 have probability 0.1%
+        int top = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int nextInt = distribution.nextInt(900);
+            assertThat(nextInt, is(both(greaterThanOrEqualTo(0)).and(lessThan(900))));
+            if (nextInt == 899) { top++; }
+        }
+        //probabilities decrease by factor k / 1000 from k to k - 1, so the top has probability 0.1087
+        assertThat(top / 10_000.0, is(closeTo(0.1087, 0.01)));
+    }
+
+    @Test
+    void testErrorConstructWithNonPositiveLambda() {
+        assertThrows(ArithmeticException.class, () -> new PoissonDistribution(0));
+    }
+}
@@ -0,0 +1,52 @@
+package ranger.distribution;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RandomPermutationTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 17, 1000, 65_537})
+    void testIsPermutation(long size) {
+        RandomPermutation permutation = new RandomPermutation(size, 42);
+        boolean[] seen = new boolean[(int) size];
+        for (long i = 0; i < size; i++) {
+            long permuted = permutation.apply(i);
+            assertThat(permuted, is(both(greaterThanOrEqualTo(0L)).and(lessThan(size))));
+            assertThat(seen[(int) permuted], is(false));
+            seen[(int) permuted] = true;
+        }
+    }
+
+    @Test
+    void testKeySelectsPermutation() {
+        RandomPermutation permutation = new RandomPermutation(1000, 42);
+        RandomPermutation same = new RandomPermutation(1000, 42);
+        RandomPermutation other = new RandomPermutation(1000, 43);
+        int differences = 0;
+        for (long i = 0; i < 1000; i++) {
+            assertThat(permutation.apply(i), is(same.apply(i)));
+            if (permutation.apply(i) != other.apply(i)) { differences++; }
+        }
+        assertThat(differences, is(greaterThan(900)));
+    }
+
+    @Test
+    void testHugeSize() {
+        RandomPermutation permutation = new RandomPermutation(Long.MAX_VALUE, 7);
+        for (long i = 0; i < 1000; i++) {
+            assertThat(permutation.apply(Long.MAX_VALUE - 1 - i), is(both(greaterThanOrEqualTo(0L)).and(lessThan(Long.MAX_VALUE))));
+        }
+    }
+
+    @Test
+    void testErrors() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomPermutation(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> new RandomPermutation(10, 1).apply(10));
+    }
+}
@@ -0,0 +1,27 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SeedsTest {
+
+    @Test
+    void testMixIsDeterministic() {
+        assertThat(Seeds.mix(42, 7), is(Seeds.mix(42, 7)));
+    }
+
+    @Test
+    void testMixDistinctSalts() {
+        Set<Long> seeds = new HashSet<>();
+        for (long salt = 0; salt < 1000; salt++) {
+            seeds.add(Seeds.mix(0, salt));
+        }
+        assertThat(seeds, hasSize(1000));
+        assertThat(Seeds.mix(1, 0), is(not(Seeds.mix(0, 0))));
+    }
+}
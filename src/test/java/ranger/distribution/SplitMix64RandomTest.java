@@ -0,0 +1,47 @@
+package ranger.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+class SplitMix64RandomTest {
+
+    @Test
+    void testSameSeedSameSequence() {
+        SplitMix64Random random = new SplitMix64Random(42);
+        SplitMix64Random other = new SplitMix64Random();
+        other.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(random.nextLong(), is(other.nextLong()));
+        }
+    }
+
+    @Test
+    void testReseedRestartsSequence() {
+        SplitMix64Random random = new SplitMix64Random(7);
+        long first = random.nextLong();
+        double gaussian = random.nextGaussian();
+        random.setSeed(7);
+        assertThat(random.nextLong(), is(first));
+        assertThat(random.nextGaussian(), is(gaussian));
+    }
+
+    @Test
+    void testDifferentSeedsDifferentSequences() {
+        assertThat(new SplitMix64Random(1).nextLong(), is(not(new SplitMix64Random(2).nextLong())));
+    }
+
+    @Test
+    void testBounds() {
+        SplitMix64Random random = new SplitMix64Random(3);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(random.nextDouble(), is(both(greaterThanOrEqualTo(0.0)).and(lessThan(1.0))));
+            assertThat(random.nextInt(7), is(both(greaterThanOrEqualTo(0)).and(lessThan(7))));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ranger.distribution;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TruncatedNormalTest {
+
+    @Test
+    void testInverseCdf() {
+        assertThat(TruncatedNormal.inverseCdf(0.5), is(0.0));
+        assertThat(TruncatedNormal.inverseCdf(0.975), is(closeTo(1.959963984540054, 1e-12)));
+        assertThat(TruncatedNormal.inverseCdf(0.025), is(closeTo(-1.959963984540054, 1e-12)));
+        assertThat(TruncatedNormal.inverseCdf(1e-10), is(closeTo(-6.361340902404056, 1e-9)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-30, -8, -3, -1, -0.1, 0.3, 2, 5})
+    void testInverseCdfInvertsCdf(double x) {
+        assertThat(TruncatedNormal.inverseCdf(TruncatedNormal.cdf(x)), is(closeTo(x, 1e-9 * Math.max(1, Math.abs(x)))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-50, -3, 0, 6, 40})
+    void testSampleWithinNarrowBounds(double alpha) {
+        TruncatedNormal normal = new TruncatedNormal(alpha, alpha + 0.01);
+        FastRandom random = new SplitMix64Random(42);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(normal.sample(random), is(both(greaterThanOrEqualTo(alpha)).and(lessThanOrEqualTo(alpha + 0.01))));
+        }
+    }
+
+    @Test
+    void testSampleInTailFavorsBoundNearMean() {
+        TruncatedNormal normal = new TruncatedNormal(3, 4);
+        FastRandom random = new SplitMix64Random(42);
+        int belowMiddle = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (normal.sample(random) < 3.5) { belowMiddle++; }
+        }
+        //P(3 < X < 3.5) / P(3 < X < 4) is about 0.8476
+        assertThat(belowMiddle / 100_000.0, is(closeTo(0.8476, 0.005)));
+    }
+
+    @Test
+    void testErrorConstructWithEmptyBounds() {
+        assertThrows(ArithmeticException.class, () -> new TruncatedNormal(1, 1));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class UniformDistributionTest {
 
@@ -55,4 +56,31 @@ class UniformDistributionTest {
             boolean nextBoolean = distribution.nextBoolean();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSetSeed() {
+        UniformDistribution other = new UniformDistribution();
+        distribution.setSeed(42);
+        other.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(distribution.nextLong(-1000L, 1000L), is(other.nextLong(-1000L, 1000L)));
+        }
+    }
+
+    @Test
+    void testRangesExceedingPrimitiveType() {
+        for (int i = 0; i < 100; i++) {
+            int nextInt = distribution.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+            assertThat(nextInt, is(lessThan(Integer.MAX_VALUE)));
+            long nextLong = distribution.nextLong(-10L, Long.MAX_VALUE);
+            assertThat(nextLong, is(both(greaterThanOrEqualTo(-10L)).and(lessThan(Long.MAX_VALUE))));
+        }
+    }
+
+    @Test
+    void testErrorEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> distribution.nextInt(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> distribution.nextLong(0L));
+        assertThrows(IllegalArgumentException.class, () -> distribution.nextDouble(1.0, 0.0));
+    }
+}
@@ -0,0 +1,59 @@
+package ranger.distribution;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipfDistributionTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, 1, 2})
+    void testFrequenciesFollowRank(double exponent) {
+        ZipfDistribution distribution = new ZipfDistribution(exponent);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.nextInt(10)]++;
+        }
+        double norm = 0;
+        for (int k = 1; k <= 10; k++) {
+            norm += Math.pow(k, -exponent);
+        }
+        for (int k = 1; k <= 10; k++) {
+            assertThat(counts[k - 1] / 100_000.0, is(closeTo(Math.pow(k, -exponent) / norm, 0.01)));
+        }
+    }
+
+    @Test
+    void testLargeRange() {
+        ZipfDistribution distribution = new ZipfDistribution(1.1);
+        for (int i = 0; i < 1000; i++) {
+            long nextLong = distribution.nextLong(-5L, 1_000_000_000_000L);
+            assertThat(nextLong, is(both(greaterThanOrEqualTo(-5L)).and(lessThan(1_000_000_000_000L))));
+        }
+    }
+
+    @Test
+    void testSetSeed() {
+        ZipfDistribution distribution = new ZipfDistribution(1.5);
+        ZipfDistribution other = distribution.clone();
+        distribution.setSeed(42);
+        other.setSeed(42);
+        for (int i = 0; i < 100; i++) {
+            assertThat(distribution.nextInt(0, 1000), is(other.nextInt(0, 1000)));
+        }
+    }
+
+    @Test
+    void testErrorNonPositiveBound() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution().nextInt(0));
+    }
+
+    @Test
+    void testErrorConstructWithNonPositiveExponent() {
+        assertThrows(ArithmeticException.class, () -> new ZipfDistribution(0));
+    }
+}
@@ -2,17 +2,26 @@ package ranger.parser;
 
 import org.junit.jupiter.api.Test;
 import ranger.ObjectGenerator;
+import ranger.core.EvaluationPlan;
+import ranger.core.csv.CsvReaderValue;
 import ranger.util.YamlUtils;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ConfigurationParserTest {
@@ -54,6 +63,89 @@ public class ConfigurationParserTest {
         assertThat(generator.next(), is(equalTo(expectedMap)));
     }
 
+    @Test
+    void testCsvValuesReadOnlyUsedColumns() {
+        String csv = "csvRandom(\"" + new File("src/test/resources/test.csv").getAbsolutePath().replace('\\', '/') + "\")";
+        Map<String, Object> values = new HashMap<>();
+        values.put("used", csv);
+        values.put("whole", csv);
+        values.put("unused", csv);
+        values.put("id", "get(\"id\", $used)");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "$used.username");
+        row.put("id", "$id");
+        row.put("record", "$whole");
+        values.put("row", row);
+        Map<String, Object> config = new HashMap<>();
+        config.put("values", values);
+        config.put("output", "$row");
+
+        ObjectGenerator<Map<String, Object>> generator = new ConfigurationParser(config).build();
+
+        List<CsvReaderValue> csvValues = new ArrayList<>();
+        EvaluationPlan.forEachReference(generator.getValue(), (parent, child) -> {
+            if (child instanceof CsvReaderValue && !csvValues.contains(child)) { csvValues.add((CsvReaderValue) child); }
+        });
+        assertThat(csvValues.size(), is(2));    //unused value is not reachable
+        for (CsvReaderValue csvValue : csvValues) {
+            if (csvValue.getCsvProxies().get("income").get() == null) {
+                assertThat(csvValue.get().keySet(), containsInAnyOrder("id", "username"));
+            } else {
+                assertThat(csvValue.get().keySet(), contains("income", "id", "username"));
+            }
+        }
+        Map<String, Object> next = generator.next();
+        assertThat(next.get("name"), is(notNullValue()));
+        assertThat(next.get("id"), is(notNullValue()));
+    }
+
+    @Test
+    void testCsvLookupJoinsOnKeyOfOtherCsvValue() {
+        String path = new File("src/test/resources/test.csv").getAbsolutePath().replace('\\', '/');
+        Map<String, Object> values = new LinkedHashMap<>();     //values are referenced in order
+        values.put("user", "csvRandom(\"" + path + "\")");
+        values.put("sameName", "csvLookup(\"" + path + "\", \"username\", $user.username)");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "$user.username");
+        row.put("otherName", "$sameName.username");
+        row.put("otherId", "$sameName.id");
+        values.put("row", row);
+        Map<String, Object> config = new HashMap<>();
+        config.put("values", values);
+        config.put("output", "$row");
+
+        ObjectGenerator<Map<String, Object>> generator = new ConfigurationParser(config).build();
+
+        for (Map<String, Object> next : generator.generate(200)) {
+            assertThat(next.get("otherName"), is(equalTo(next.get("name"))));
+            assertThat(next.get("otherId"), is(notNullValue()));
+        }
+    }
+
+    @Test
+    void testClonedCsvValueReadsFileOnItsOwn() {
+        String path = new File("src/test/resources/test.csv").getAbsolutePath().replace('\\', '/');
+        Map<String, Object> values = new LinkedHashMap<>();     //values are referenced in order
+        values.put("r", "csv(\"" + path + "\")");
+        values.put("rc", "$$r");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("a", "$r.c0");
+        row.put("b", "$rc.c0");
+        values.put("row", row);
+        Map<String, Object> config = new HashMap<>();
+        config.put("values", values);
+        config.put("output", "$row");
+
+        ObjectGenerator<Map<String, Object>> generator = new ConfigurationParser(config).build();
+
+        List<Object> incomes = new ArrayList<>();
+        for (Map<String, Object> next : generator.generate(3)) {
+            assertThat(next.get("b"), is(equalTo(next.get("a"))));
+            incomes.add(next.get("a"));
+        }
+        assertThat(incomes, contains("1659", "2726", "907"));
+    }
+
     @Test
     void testErrorConstructWithNullArgument() {
         assertThrows(IllegalArgumentException.class, () -> new ConfigurationParser(null, "$.values", "$.output"));
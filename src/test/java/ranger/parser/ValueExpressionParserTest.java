@@ -49,11 +49,17 @@ import ranger.core.arithmetic.DivisionValueInteger;
 import ranger.core.arithmetic.MultiplicationValueInteger;
 import ranger.core.arithmetic.SubtractionValueInteger;
 import ranger.core.csv.CircularCsvReaderValue;
+import ranger.core.csv.CsvLookupValue;
 import ranger.core.csv.CsvReaderValue;
 import ranger.core.csv.RandomCsvReaderValue;
 import ranger.core.csv.WeightedCsvReaderValue;
+import ranger.distribution.ExponentialDistribution;
+import ranger.distribution.LogNormalDistribution;
 import ranger.distribution.NormalDistribution;
+import ranger.distribution.ParetoDistribution;
+import ranger.distribution.PoissonDistribution;
 import ranger.distribution.UniformDistribution;
+import ranger.distribution.ZipfDistribution;
 import ranger.util.UrlUtils;
 
 import java.io.FileReader;
@@ -123,6 +129,41 @@ public class ValueExpressionParserTest {
         assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(NormalDistribution.class)));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"lognormal()", "lognormal(0, 1, 0, 10)"})
+    void testLogNormalDistribution(String expression) {
+        ParseRunner<Object> parseRunner = new ReportingParseRunner<>(parser.distribution());
+        assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(LogNormalDistribution.class)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"exponential()", "exponential(2, 0, 5)"})
+    void testExponentialDistribution(String expression) {
+        ParseRunner<Object> parseRunner = new ReportingParseRunner<>(parser.distribution());
+        assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(ExponentialDistribution.class)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"pareto()", "pareto(1.16, 1, 100)"})
+    void testParetoDistribution(String expression) {
+        ParseRunner<Object> parseRunner = new ReportingParseRunner<>(parser.distribution());
+        assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(ParetoDistribution.class)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"poisson()", "poisson(4.5)"})
+    void testPoissonDistribution(String expression) {
+        ParseRunner<Object> parseRunner = new ReportingParseRunner<>(parser.distribution());
+        assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(PoissonDistribution.class)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"zipf()", "zipf(1.2)"})
+    void testZipfDistribution(String expression) {
+        ParseRunner<Object> parseRunner = new ReportingParseRunner<>(parser.distribution());
+        assertThat(parseRunner.run(expression).valueStack.pop(), is(instanceOf(ZipfDistribution.class)));
+    }
+
 
     //RANDOM AND CIRCULAR
 
@@ -205,6 +246,14 @@ public class ValueExpressionParserTest {
         assertThat(exactly.get(), is(equalTo(1)));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"exactly([(1, 100), (2, 5)], true)", "exactly([(1, 100), (2, 5)], false)"})
+    void testExactWeightedValueShuffle(String expression) {
+        Value<?> exactly = parseRunner.run(expression).valueStack.pop();
+        assertThat(exactly, is(instanceOf(ExactWeightedValue.class)));
+        assertThat(((ExactWeightedValue<?>) exactly).isShuffle(), is(expression.endsWith("true)")));
+    }
+
 
     //RANDOM STRINGS
 
@@ -404,7 +453,9 @@ public class ValueExpressionParserTest {
     @ValueSource(strings = {"csv(\"test.csv\")", "csv(\"test.csv\", ',')", "csv(\"test.csv\", ',', true)", "csv(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null())",
                             "csvCircular(\"test.csv\")", "csvCircular(\"test.csv\", ',')", "csvCircular(\"test.csv\", ',', true)", "csvCircular(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null())",
                             "csvRandom(\"test.csv\")", "csvRandom(\"test.csv\", ',')", "csvRandom(\"test.csv\", ',', true)", "csvRandom(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null())", "csvRandom(\"test.csv\", normal())", "csvRandom(\"test.csv\", ',', normal())", "csvRandom(\"test.csv\", ',', true, normal())", "csvRandom(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null(), normal())",
-                            "csvWeighted(\"test.csv\", \"c0\")", "csvWeighted(\"test.csv\", ',', \"c0\")", "csvWeighted(\"test.csv\", ',', true, \"c0\")", "csvWeighted(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null(), \"c0\")"})
+                            "csvWeighted(\"test.csv\", \"c0\")", "csvWeighted(\"test.csv\", ',', \"c0\")", "csvWeighted(\"test.csv\", ',', true, \"c0\")", "csvWeighted(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null(), \"c0\")",
+                            "csvLookup(\"test.csv\", \"username\", \"test76\")", "csvLookup(\"test.csv\", ',', \"username\", \"test76\")", "csvLookup(\"test.csv\", ',', true, \"id\", 10001)", "csvLookup(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null(), \"username\", \"test76\")",
+                            "csvWeightedLookup(\"test.csv\", \"username\", \"test76\", \"income\")", "csvWeightedLookup(\"test.csv\", ',', \"username\", \"test76\", \"c0\")", "csvWeightedLookup(\"test.csv\", ',', true, \"id\", 10001, \"income\")", "csvWeightedLookup(\"test.csv\", ',', true, \"\\\\n\", false, '\"', '#', true, null(), \"username\", \"test76\", \"income\")"})
     @SuppressWarnings({"rawtypes", "unchecked"})
     void testCreateCsvReaderValueWithHeader(String expression) throws IOException {
         //Given
@@ -422,6 +473,7 @@ public class ValueExpressionParserTest {
         if (expression.startsWith("csv("))             { assertThat(result, is(instanceOf(CsvReaderValue.class))); }
         else if (expression.startsWith("csvCircular")) { assertThat(result, is(instanceOf(CircularCsvReaderValue.class))); }
         else if (expression.startsWith("csvRandom"))   { assertThat(result, is(instanceOf(RandomCsvReaderValue.class))); }
+        else if (expression.startsWith("csvWeightedLookup") || expression.startsWith("csvLookup")) { assertThat(result, is(instanceOf(CsvLookupValue.class))); }
         else if (expression.startsWith("csvWeighted")) { assertThat(result, is(instanceOf(WeightedCsvReaderValue.class))); }
         CsvReaderValue csvValue = (CsvReaderValue) result;
         assertThat(valueProxies.keySet(), hasItems("test.CSV.income", "test.CSV.id", "test.CSV.username"));